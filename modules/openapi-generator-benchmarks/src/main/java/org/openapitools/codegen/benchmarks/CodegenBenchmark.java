@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.DefaultCodegen;
+import org.openapitools.codegen.InlineModelResolver;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts every schema, property and operation of a (flattened) synthetic specification with {@link DefaultCodegen},
+ * and unaliases every schema with {@link ModelUtils#unaliasSchema(OpenAPI, Schema)}.
+ * <p>
+ * The codegen instance is reused across invocations, so name conversions are served from warm caches, as they are
+ * for most of a generation run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CodegenBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int schemaCount;
+
+    private OpenAPI openAPI;
+    private Map<String, Schema> schemas;
+    private DefaultCodegen codegen;
+
+    @Setup
+    public void setUp() {
+        openAPI = SyntheticSpecs.build(schemaCount);
+        new InlineModelResolver().flatten(openAPI);
+        schemas = ModelUtils.getSchemas(openAPI);
+        codegen = new DefaultCodegen();
+        codegen.setOpenAPI(openAPI);
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        for (Map.Entry<String, Schema> schema : schemas.entrySet()) {
+            blackhole.consume(codegen.fromModel(schema.getKey(), schema.getValue()));
+        }
+    }
+
+    @Benchmark
+    public void fromProperty(Blackhole blackhole) {
+        for (Schema<?> schema : schemas.values()) {
+            if (schema.getProperties() != null) {
+                for (Map.Entry<String, Schema> property : schema.getProperties().entrySet()) {
+                    blackhole.consume(codegen.fromProperty(property.getKey(), property.getValue()));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void fromOperation(Blackhole blackhole) {
+        for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+            for (Map.Entry<PathItem.HttpMethod, Operation> operation : path.getValue().readOperationsMap().entrySet()) {
+                blackhole.consume(codegen.fromOperation(path.getKey(), operation.getKey().name().toLowerCase(Locale.ROOT),
+                        operation.getValue(), null));
+            }
+        }
+    }
+
+    @Benchmark
+    public void unaliasSchema(Blackhole blackhole) {
+        for (String name : schemas.keySet()) {
+            blackhole.consume(ModelUtils.unaliasSchema(openAPI, new Schema<>().$ref("#/components/schemas/" + name)));
+        }
+    }
+}
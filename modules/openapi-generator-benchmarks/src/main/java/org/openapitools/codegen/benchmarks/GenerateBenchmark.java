@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConfigLoader;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a full {@link DefaultGenerator#generate()} of a synthetic specification in dry-run mode, i.e. everything up to
+ * rendering: processing of models, operations and supporting files. Templates are not rendered in a dry run, see
+ * {@link TemplateBenchmark} for rendering.
+ * <p>
+ * Generation modifies the specification and the generator, so each invocation gets new ones, and runs are measured
+ * one at a time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GenerateBenchmark {
+
+    @Param({"java", "typescript-fetch", "python", "go"})
+    public String generatorName;
+
+    @Param({"100", "1000", "10000"})
+    public int schemaCount;
+
+    private File outputDir;
+    private ClientOptInput input;
+
+    @Setup(Level.Trial)
+    public void createOutputDir() throws IOException {
+        // nothing is written in a dry run, but generators resolve paths relative to the output directory
+        outputDir = Files.createTempDirectory("openapi-generator-benchmark").toFile();
+        outputDir.deleteOnExit();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        CodegenConfig config = CodegenConfigLoader.forName(generatorName);
+        config.setOutputDir(outputDir.getAbsolutePath());
+        input = new ClientOptInput()
+                .openAPI(SyntheticSpecs.build(schemaCount))
+                .config(config);
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        return new DefaultGenerator(true).opts(input).generate();
+    }
+}
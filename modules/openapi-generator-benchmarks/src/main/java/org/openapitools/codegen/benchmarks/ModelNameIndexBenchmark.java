@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.DefaultCodegen;
+import org.openapitools.codegen.utils.ModelNameIndex;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up the schema of every enum model referenced by a property, as enum post-processing does: once through a
+ * {@link ModelNameIndex} built for the lookups, and once by converting every schema key to a model name until one
+ * matches, as was done before the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ModelNameIndexBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int schemaCount;
+
+    private Map<String, Schema> schemas;
+    private DefaultCodegen codegen;
+    private final List<String> enumModelNames = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        schemas = ModelUtils.getSchemas(SyntheticSpecs.build(schemaCount));
+        codegen = new DefaultCodegen();
+        enumModelNames.clear();
+        for (int i = 0; i < schemaCount; i++) {
+            if (SyntheticSpecs.isEnum(i)) {
+                enumModelNames.add(codegen.toModelName(SyntheticSpecs.schemaName(i)));
+            }
+        }
+    }
+
+    @Benchmark
+    public void index(Blackhole blackhole) {
+        ModelNameIndex index = new ModelNameIndex(schemas, codegen::toModelName);
+        for (String modelName : enumModelNames) {
+            blackhole.consume(index.getSchema(modelName));
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        for (String modelName : enumModelNames) {
+            Optional<Schema> schema = schemas.entrySet().stream()
+                    .filter(entry -> modelName.equals(codegen.toModelName(entry.getKey())))
+                    .map(Map.Entry::getValue)
+                    .findFirst();
+            blackhole.consume(schema);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import org.openapitools.codegen.utils.NameCache;
+import org.openapitools.codegen.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts 1000 distinct names with {@link StringUtils#camelize(String)} and {@link StringUtils#underscore(String)},
+ * either from warm name caches (as for most of a generation run), or with the caches cleared before each invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StringUtilsBenchmark {
+    private static final String[] SHAPES = {
+            "pet_store_%d", "PetStore%d", "petStore%d", "PET-STORE-%d", "pet.store.%d", "$petStore%d", "pet store %d",
+            "HTTPResponse%dCode", "x-pet_%d-id", "_%dunderscored"
+    };
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private final List<String> words = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        words.clear();
+        for (int i = 0; i < 1000; i++) {
+            words.add(String.format(Locale.ROOT, SHAPES[i % SHAPES.length], i));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCaches() {
+        if (!cached) {
+            // ending the only run in progress empties the name caches
+            NameCache.startRun(words.size()).close();
+        }
+    }
+
+    @Benchmark
+    public void camelize(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(StringUtils.camelize(word));
+        }
+    }
+
+    @Benchmark
+    public void camelizeLowercaseFirstLetter(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(StringUtils.camelize(word, true));
+        }
+    }
+
+    @Benchmark
+    public void underscore(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(StringUtils.underscore(word));
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.benchmarks;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.DateTimeSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MapSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.servers.Server;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds synthetic specifications of a given number of schemas, which exercise the common shapes of real documents:
+ * objects referencing other schemas, enums, aliases to primitives and arrays, maps, allOf compositions and inline
+ * objects (which are flattened). References are at most a few levels deep. There is one path, with a GET and a POST
+ * operation, per 10 schemas, spread over 20 tags.
+ * <p>
+ * Specifications are deterministic, so results are comparable across runs. Generation modifies its input, so
+ * benchmarks which generate must build a new specification for each invocation.
+ */
+public final class SyntheticSpecs {
+    private static final int SCHEMAS_PER_PATH = 10;
+    private static final int TAGS = 20;
+    private static final int LEAF = 4;
+
+    private SyntheticSpecs() {
+    }
+
+    /**
+     * @param schemaCount The number of schemas in 'components/schemas'
+     * @return A new specification
+     */
+    public static OpenAPI build(int schemaCount) {
+        OpenAPI openAPI = new OpenAPI()
+                .info(new Info().title("Synthetic").version("1.0.0").description("A synthetic specification of " + schemaCount + " schemas"))
+                .servers(Collections.singletonList(new Server().url("http://localhost:8080/api")))
+                .components(new Components().schemas(new LinkedHashMap<>()));
+        for (int i = 0; i < schemaCount; i++) {
+            openAPI.getComponents().addSchemas(schemaName(i), schema(i));
+        }
+
+        Paths paths = new Paths();
+        for (int i = 0; i * SCHEMAS_PER_PATH < schemaCount; i++) {
+            paths.addPathItem("/resource" + i + "/{id}", pathItem(i, schemaCount));
+        }
+        openAPI.setPaths(paths);
+        return openAPI;
+    }
+
+    /**
+     * @param index The index of a schema
+     * @return The name of the schema in 'components/schemas'
+     */
+    public static String schemaName(int index) {
+        switch (kind(index)) {
+            case 0:
+                return "Status" + index;
+            case 1:
+                return "Identifier" + index;
+            case 2:
+                return "List" + index;
+            default:
+                return "Model" + index;
+        }
+    }
+
+    /**
+     * @param index The index of a schema
+     * @return true if the schema is a string enum
+     */
+    public static boolean isEnum(int index) {
+        return kind(index) == 0;
+    }
+
+    private static int kind(int index) {
+        return index % 10;
+    }
+
+    private static Schema ref(int index) {
+        return new Schema().$ref("#/components/schemas/" + schemaName(index));
+    }
+
+    /**
+     * @return The index of an object schema declared before {@code index}, or -1 if there is none
+     */
+    private static int previousObject(int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            if (kind(i) >= 3) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Schema schema(int index) {
+        switch (kind(index)) {
+            case 0:
+                StringSchema status = new StringSchema();
+                status._enum(Arrays.asList("available", "pending", "sold", "status_" + index));
+                return status.description("The status of the resource");
+            case 1:
+                return new StringSchema().format("uuid").maxLength(36).description("An alias to a primitive");
+            case 2:
+                int item = previousObject(index);
+                return new ArraySchema().items(item < 0 ? new StringSchema() : ref(item)).description("An alias to an array");
+            case 3:
+                int parent = previousObject(index);
+                if (parent >= 0) {
+                    ComposedSchema composed = new ComposedSchema();
+                    composed.addAllOfItem(ref(parent));
+                    composed.addAllOfItem(new ObjectSchema()
+                            .addProperties("extra" + index, new StringSchema())
+                            .addProperties("count", new IntegerSchema().minimum(BigDecimal.ZERO)));
+                    return composed.description("A composition of another model");
+                }
+                // fall through to a plain object for the first models
+            default:
+                return object(index);
+        }
+    }
+
+    private static Schema object(int index) {
+        ObjectSchema object = new ObjectSchema();
+        object.description("A model with references to other schemas");
+        object.addProperties("id", new IntegerSchema().format("int64"));
+        object.addProperties("name", new StringSchema().minLength(1).maxLength(255).example("name"));
+        object.addProperties("createdAt", new DateTimeSchema());
+        object.addProperties("price", new NumberSchema().format("double"));
+        object.addProperties("active", new BooleanSchema()._default(true));
+        object.addProperties("tags", new ArraySchema().items(new StringSchema()));
+        object.addProperties("attributes", new MapSchema().additionalProperties(new StringSchema()));
+        if (index >= 10) {
+            object.addProperties("status", ref(index - kind(index)));
+            object.addProperties("identifier", ref(index - kind(index) + 1));
+            // objects only reference leaf objects (the first object of the previous group of 10 schemas), as examples
+            // and nested types grow with the depth of the references
+            if (kind(index) != LEAF) {
+                int leaf = index - kind(index) - 10 + LEAF;
+                object.addProperties("related", ref(leaf));
+                object.addProperties("relatedList", new ArraySchema().items(ref(leaf)));
+                object.addProperties("relatedMap", new MapSchema().additionalProperties(ref(leaf)));
+            }
+        }
+        // an inline object, flattened to a model of its own
+        object.addProperties("details", new ObjectSchema()
+                .addProperties("description", new StringSchema())
+                .addProperties("weight", new NumberSchema().format("float")));
+        object.setRequired(Arrays.asList("id", "name"));
+        return object;
+    }
+
+    private static PathItem pathItem(int index, int schemaCount) {
+        int model = Math.min(index * SCHEMAS_PER_PATH + 4, schemaCount - 1);
+        String tag = "tag" + (index % TAGS);
+        Content modelContent = new Content().addMediaType("application/json", new MediaType().schema(ref(model)));
+
+        Operation get = new Operation()
+                .operationId("getResource" + index)
+                .summary("Gets a resource")
+                .addTagsItem(tag)
+                .addParametersItem(new PathParameter().name("id").schema(new IntegerSchema().format("int64")))
+                .addParametersItem(new QueryParameter().name("filter").schema(new StringSchema()))
+                .addParametersItem(new QueryParameter().name("limit").schema(new IntegerSchema()._default(20)))
+                .responses(new ApiResponses()
+                        .addApiResponse("200", new ApiResponse().description("The resource").content(modelContent))
+                        .addApiResponse("404", new ApiResponse().description("Not found")));
+
+        Map<String, Schema> inlineResponse = new LinkedHashMap<>();
+        inlineResponse.put("id", new IntegerSchema().format("int64"));
+        inlineResponse.put("created", new BooleanSchema());
+        Operation post = new Operation()
+                .operationId("updateResource" + index)
+                .summary("Updates a resource")
+                .addTagsItem(tag)
+                .addParametersItem(new PathParameter().name("id").schema(new IntegerSchema().format("int64")))
+                .requestBody(new RequestBody().required(true).content(modelContent))
+                .responses(new ApiResponses()
+                        .addApiResponse("200", new ApiResponse().description("The result")
+                                .content(new Content().addMediaType("application/json",
+                                        new MediaType().schema(new ObjectSchema().properties(inlineResponse))))));
+
+        return new PathItem().get(get).post(post);
+    }
+}
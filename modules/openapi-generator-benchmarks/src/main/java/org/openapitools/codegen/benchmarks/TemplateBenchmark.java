@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen.benchmarks;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.DefaultCodegen;
+import org.openapitools.codegen.InlineModelResolver;
+import org.openapitools.codegen.TemplateManager;
+import org.openapitools.codegen.api.TemplatePathLocator;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.openapitools.codegen.templating.CommonTemplateContentLocator;
+import org.openapitools.codegen.templating.HandlebarsEngineAdapter;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import org.openapitools.codegen.templating.TemplateManagerOptions;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the same model template ('benchmark/model.mustache', in the common subset of both syntaxes) with Mustache
+ * and Handlebars, for a bundle of models converted from a synthetic specification. Templates are compiled once and
+ * cached by the engines, so this measures rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TemplateBenchmark {
+    private static final String TEMPLATE_FILE = "model.mustache";
+
+    @Param({"mustache", "handlebars"})
+    public String engine;
+
+    @Param({"1", "100"})
+    public int modelCount;
+
+    private TemplatingEngineAdapter adapter;
+    private TemplateManager templateManager;
+    private Map<String, Object> bundle;
+
+    @Setup
+    public void setUp() {
+        adapter = "handlebars".equals(engine) ? new HandlebarsEngineAdapter() : new MustacheEngineAdapter();
+        templateManager = new TemplateManager(
+                new TemplateManagerOptions(false, false),
+                adapter,
+                new TemplatePathLocator[]{new CommonTemplateContentLocator("benchmark")});
+
+        OpenAPI openAPI = SyntheticSpecs.build(Math.max(100, modelCount * 2));
+        new InlineModelResolver().flatten(openAPI);
+        DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(openAPI);
+        List<Map<String, Object>> models = new ArrayList<>();
+        for (int i = 0; models.size() < modelCount; i++) {
+            String name = SyntheticSpecs.schemaName(i);
+            CodegenModel model = codegen.fromModel(name, ModelUtils.getSchemas(openAPI).get(name));
+            if (!model.isEnum && !model.isAlias && !model.isArray) {
+                models.add(Collections.singletonMap("model", model));
+            }
+        }
+        bundle = new HashMap<>();
+        bundle.put("package", "org.openapitools.benchmark");
+        bundle.put("models", models);
+    }
+
+    @Benchmark
+    public String render() throws IOException {
+        return adapter.compileTemplate(templateManager, bundle, TEMPLATE_FILE);
+    }
+}
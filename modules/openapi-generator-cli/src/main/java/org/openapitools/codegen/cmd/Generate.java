@@ -25,6 +25,7 @@ import ch.qos.logback.core.spi.FilterAttachable;
 import io.airlift.airline.Command;
 import io.airlift.airline.Option;
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
@@ -274,6 +275,31 @@ public class Generate extends OpenApiGeneratorCommand {
         description = "Only write output files that have changed.")
     private Boolean minimalUpdate;
 
+    @Option(name = {"--render-threads"},
+        title = "Render threads",
+        description = "Number of worker threads used to render model and API files once all models have been processed. Defaults to 1 (sequential).")
+    private Integer renderThreads;
+
+    @Option(name = {"--post-process-threads"},
+        title = "Post-process threads",
+        description = "Number of worker threads used to post-process output files (see --enable-post-process-file) once all files have been written. Defaults to 1 (sequential).")
+    private Integer postProcessThreads;
+
+    @Option(name = {"--post-process-batch-size"},
+        title = "Post-process batch size",
+        description = "Maximum number of files of the same type post-processed together, e.g. passed to a single invocation of the command of a *_POST_PROCESS_FILE environment variable. Defaults to 1, which post-processes each file on its own; tools given a larger batch size must accept several files.")
+    private Integer postProcessBatchSize;
+
+    @Option(name = {"--post-process-timeout"},
+        title = "Post-process timeout",
+        description = "Time, in seconds per file, after which a post-processing command is stopped. Defaults to 0 (no timeout).")
+    private Integer postProcessFileTimeout;
+
+    @Option(name = {"--profile-report"},
+        title = "Profile report",
+        description = "Writes the time, CPU time and allocated bytes of each phase of the generation, and the slowest models, tags and templates, as JSON to the given file.")
+    private String profileReport;
+
     @Override
     public void execute() {
         if (logToStderr != null) {
@@ -435,6 +461,22 @@ public class Generate extends OpenApiGeneratorCommand {
             configurator.setEnableMinimalUpdate(minimalUpdate);
         }
 
+        if (renderThreads != null) {
+            configurator.setRenderThreads(renderThreads);
+        }
+
+        if (postProcessThreads != null) {
+            configurator.setPostProcessThreads(postProcessThreads);
+        }
+
+        if (postProcessBatchSize != null) {
+            configurator.setPostProcessBatchSize(postProcessBatchSize);
+        }
+
+        if (postProcessFileTimeout != null) {
+            configurator.setPostProcessFileTimeout(postProcessFileTimeout);
+        }
+
         if (strictSpecBehavior != null) {
             configurator.setStrictSpecBehavior(strictSpecBehavior);
         }
@@ -454,19 +496,36 @@ public class Generate extends OpenApiGeneratorCommand {
         applyServerVariablesKvpList(serverVariableOverrides, configurator);
 
         try {
-            final ClientOptInput clientOptInput = configurator.toClientOptInput();
+            final GenerationProfiler profiler = isNotEmpty(profileReport) ? new GenerationProfiler() : GenerationProfiler.DISABLED;
+            final ClientOptInput clientOptInput = profiler.time("parse", configurator::toClientOptInput);
 
             // this null check allows us to inject for unit testing.
             if (generator == null) {
                 generator = new DefaultGenerator(isDryRun);
             }
+            if (generator instanceof DefaultGenerator) {
+                ((DefaultGenerator) generator).setProfiler(profiler);
+            }
 
             generator.opts(clientOptInput);
-            generator.generate();
+            profiler.time("generate", generator::generate);
+
+            if (profiler.isEnabled()) {
+                writeProfileReport(profiler);
+            }
         } catch (GeneratorNotFoundException e) {
             System.err.println(e.getMessage());
             System.err.println("[error] Check the spelling of the generator's name and try again.");
             System.exit(1);
         }
     }
+
+    private void writeProfileReport(GenerationProfiler profiler) {
+        try {
+            profiler.writeReport(new File(profileReport));
+        } catch (IOException e) {
+            System.err.println("[error] Unable to write the profile report: " + e.getMessage());
+            System.exit(1);
+        }
+    }
 }
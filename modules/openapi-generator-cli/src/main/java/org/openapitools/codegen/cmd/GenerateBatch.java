@@ -34,6 +34,7 @@ import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.airlift.airline.Arguments;
 import io.airlift.airline.Command;
 import io.airlift.airline.Option;
+import io.swagger.v3.core.util.Json;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.ClientOptInput;
@@ -47,16 +48,27 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -65,6 +77,25 @@ import java.util.stream.Stream;
 public class GenerateBatch extends OpenApiGeneratorCommand {
     private static AtomicInteger failures = new AtomicInteger(0);
     private static AtomicInteger successes = new AtomicInteger(0);
+    private static AtomicLong cpuTimeNanos = new AtomicLong(0);
+    private static AtomicInteger completed = new AtomicInteger(0);
+    private static final long MB = 1024 * 1024;
+    private static final long HEAP_SAMPLE_MILLIS = 200;
+    /**
+     * The heap of a job whatever the size of its spec: the generator with its options, maps of type and import
+     * mappings and reserved words, its loaded templates, and the compiled templates cached by the template engine.
+     * Each of these is at most a few MB, this is rounded up so that many tiny specs don't all start at once.
+     */
+    private static final long BASE_JOB_HEAP_BYTES = 32 * MB;
+    /**
+     * The heap of a job per byte of its spec file. The parsed document is an object graph of maps, lists and UTF-16
+     * strings, several times the size of the text. A job holds it several times over: the copy given by the shared
+     * spec cache, the schemas added by inline model resolution and normalization, and the codegen models and
+     * operations with their template contexts. This is an upper-end estimate rather than a measurement, and only
+     * decides how many jobs start at once: the peak heap of a batch, see --summary, shows whether it is too high or
+     * too low for a set of specs.
+     */
+    private static final long HEAP_PER_SPEC_BYTE = 30;
     private final Logger LOGGER = LoggerFactory.getLogger(GenerateBatch.class);
 
     @Option(name = {"-v", "--verbose"}, description = "verbose mode")
@@ -85,6 +116,9 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
     @Option(name = {"--timeout"}, description = "execution timeout (minutes)")
     private Integer timeout;
 
+    @Option(name = {"--summary"}, title = "summary file", description = "write a JSON summary of the batch (duration and files of each job, peak heap of the batch) to this file")
+    private String summary;
+
     @Option(name = {"--includes-base-dir"}, description = "base directory used for includes")
     private String includes;
 
@@ -137,13 +171,25 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
             }
         }
 
-        LOGGER.info(String.format(Locale.ROOT, "Batch generation using up to %d threads.\nIncludes: %s\nRoot: %s", numThreads, includesDir.getAbsolutePath(), rootDir.toAbsolutePath().toString()));
+        HeapBudget heapBudget = new HeapBudget(Runtime.getRuntime().maxMemory() / 4 * 3);
+
+        LOGGER.info(String.format(Locale.ROOT, "Batch generation using up to %d threads and %d MB of heap.\nIncludes: %s\nRoot: %s", numThreads, heapBudget.getCapacity() / MB, includesDir.getAbsolutePath(), rootDir.toAbsolutePath().toString()));
 
         // Create a module which loads our config files, but supports a special "!include" key which can point to an existing config file.
         // This allows us to create a sort of meta-config which holds configs which are otherwise required at CLI time (via generate task).
         // That is, this allows us to create a wrapper config for generatorName, inputSpec, outputDir, etc.
         SimpleModule module = getCustomDeserializationModel(includesDir);
-        List<CodegenConfigurator> configurators = configs.stream().map(config -> CodegenConfigurator.fromFile(config, module)).collect(Collectors.toList());
+
+        // Configs often share an input spec, which is then parsed once for all of them, and kept until the last job
+        // using it is done.
+        SharedSpecParser specCache = new SharedSpecParser();
+        List<GenerationRunner> runners = configs.stream().map(config -> {
+            CodegenConfigurator configurator = CodegenConfigurator.fromFile(config, module);
+            configurator.setSpecParser(specCache);
+            specCache.retain(configurator.getInputSpec());
+            return new GenerationRunner(config, configurator, rootDir, Boolean.TRUE.equals(failFast), Boolean.TRUE.equals(clean), heapBudget);
+        }).collect(Collectors.toList());
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
 
         // it doesn't make sense to interleave INFO level logs, so limit these to only ERROR.
         LoggerContext lc = (LoggerContext) LoggerFactory.getILoggerFactory();
@@ -151,13 +197,34 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
                 .map(lc::getLogger)
                 .forEach(logger -> logger.setLevel(Level.ERROR));
 
+        // The cost of a job grows with the size of its spec file, which is not parsed until the job runs.
+        // Starting the most expensive jobs first keeps a large spec from being the last job still running.
+        runners.forEach(GenerationRunner::estimate);
+        List<GenerationRunner> ordered = orderByCost(runners);
+        ordered.forEach(runner -> System.out.printf(Locale.ROOT, "Queued %s (%d KB spec)%n",
+                runner.configFile, runner.specBytes / 1024));
+
         ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "batch-heap-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        heapSampler.scheduleAtFixedRate(() -> {
+            long used = memory.getHeapMemoryUsage().getUsed();
+            runners.forEach(runner -> runner.sampleHeap(used));
+        }, 0, HEAP_SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
 
         // Execute each configurator on a separate pooled thread.
-        configurators.forEach(configurator -> {
-            GenerationRunner runner = new GenerationRunner(configurator, rootDir, Boolean.TRUE.equals(failFast), Boolean.TRUE.equals(clean));
-            executor.execute(runner);
-        });
+        long batchStart = System.nanoTime();
+        ordered.forEach(runner -> executor.execute(() -> {
+            runner.run();
+            specCache.release(runner.configurator.getInputSpec());
+            System.out.printf(Locale.ROOT, "[%s] [%d/%d] %s %s in %d ms (%d files)%n", Thread.currentThread().getName(),
+                    completed.incrementAndGet(), runners.size(), runner.status.get().name().toLowerCase(Locale.ROOT),
+                    runner.name(), runner.durationMillis, runner.files);
+        }));
 
         executor.shutdown();
 
@@ -166,7 +233,22 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
             if (timeout == null) timeout = 10;
             int awaitFor = Math.min(Math.max(timeout, 1), 30);
 
-            executor.awaitTermination(awaitFor, TimeUnit.MINUTES);
+            if (!executor.awaitTermination(awaitFor, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+                runners.stream().filter(GenerationRunner::timeOut).forEach(runner -> {
+                    failures.incrementAndGet();
+                    System.err.printf(Locale.ROOT, "[FAIL] %s did not finish within %d minute(s)%n", runner.name(), awaitFor);
+                });
+            }
+            heapSampler.shutdownNow();
+
+            System.out.printf(Locale.ROOT, "Parsed %d distinct input spec(s) for %d generator(s), shared %d time(s). CPU time: %d ms. Peak heap: %d MB.%n",
+                    specCache.getParsedCount(), runners.size(), specCache.getHitCount(),
+                    TimeUnit.NANOSECONDS.toMillis(cpuTimeNanos.get()), peakHeapBytes() / MB);
+
+            if (summary != null) {
+                writeSummary(new File(summary), runners, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batchStart));
+            }
 
             int failCount = failures.intValue();
             if (failCount > 0) {
@@ -182,17 +264,176 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
         }
     }
 
-    private static class GenerationRunner implements Runnable {
+    /**
+     * @return The runners, the most expensive first (in the order of the configs for equal costs)
+     */
+    static List<GenerationRunner> orderByCost(List<GenerationRunner> runners) {
+        return runners.stream()
+                .sorted(Comparator.comparingLong(GenerationRunner::cost).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private void writeSummary(File file, List<GenerationRunner> runners, long durationMillis) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationMillis", durationMillis);
+        report.put("successes", successes.intValue());
+        report.put("failures", failures.intValue());
+        report.put("cpuTimeMillis", TimeUnit.NANOSECONDS.toMillis(cpuTimeNanos.get()));
+        report.put("peakHeapBytes", peakHeapBytes());
+        report.put("jobs", runners.stream().map(GenerationRunner::toReport).collect(Collectors.toList()));
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                throw new IOException("Unable to create directory " + parent);
+            }
+            Json.pretty().writeValue(file, report);
+            System.out.printf(Locale.ROOT, "Wrote batch summary to %s%n", file.getAbsolutePath());
+        } catch (IOException e) {
+            System.err.printf(Locale.ROOT, "Unable to write batch summary to %s: %s%n", file.getAbsolutePath(), e.getMessage());
+        }
+    }
+
+    /**
+     * @return The sum of the peak usages of the heap memory pools since they were reset, an upper bound of the peak
+     * heap usage
+     */
+    private static long peakHeapBytes() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    /**
+     * Limits the jobs running at once to those whose estimated heap fits in a budget. A job larger than the whole
+     * budget still runs, on its own.
+     */
+    static final class HeapBudget {
+        private final long capacity;
+        private long reserved;
+        private int holders;
+
+        HeapBudget(long capacity) {
+            this.capacity = capacity;
+        }
+
+        long getCapacity() {
+            return capacity;
+        }
+
+        synchronized void acquire(long bytes) throws InterruptedException {
+            while (holders > 0 && reserved + bytes > capacity) {
+                wait();
+            }
+            reserved += bytes;
+            holders++;
+        }
+
+        synchronized void release(long bytes) {
+            reserved -= bytes;
+            holders--;
+            notifyAll();
+        }
+
+        synchronized long getReserved() {
+            return reserved;
+        }
+    }
+
+    enum Status {
+        QUEUED, SUCCEEDED, FAILED, TIMED_OUT
+    }
+
+    static class GenerationRunner implements Runnable {
+        private final String configFile;
         private final CodegenConfigurator configurator;
         private final Path rootDir;
         private final boolean exitOnError;
         private final boolean clean;
-
-        private GenerationRunner(CodegenConfigurator configurator, Path rootDir, boolean failFast, boolean clean) {
+        private final HeapBudget heapBudget;
+
+        private long specBytes;
+        private volatile String name;
+        // set once, by the job or by the batch timeout, whichever completes it first
+        private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+        private volatile boolean running;
+        private volatile long durationMillis;
+        private volatile int files;
+        private volatile String error;
+        // the largest heap usage of the whole JVM sampled while the job ran, which includes the jobs running alongside
+        private final AtomicLong jvmHeapDuringJobBytes = new AtomicLong();
+
+        GenerationRunner(String configFile, CodegenConfigurator configurator, Path rootDir, boolean failFast, boolean clean, HeapBudget heapBudget) {
+            this.configFile = configFile;
             this.configurator = configurator;
             this.rootDir = rootDir;
             this.exitOnError = failFast;
             this.clean = clean;
+            this.heapBudget = heapBudget;
+        }
+
+        /**
+         * Measures the spec of the job without parsing it. The size of a remote spec is not known, so it counts as
+         * empty: its job starts last, and only reserves the base heap.
+         */
+        void estimate() {
+            String inputSpec = configurator.getInputSpec();
+            File file = inputSpec == null ? null : new File(inputSpec);
+            specBytes = file != null && file.isFile() ? file.length() : 0;
+        }
+
+        /**
+         * @return The estimated cost of the job, which grows with the size of its spec file
+         */
+        long cost() {
+            return specBytes;
+        }
+
+        /**
+         * @return The estimated heap used by the job, see {@link #BASE_JOB_HEAP_BYTES} and {@link #HEAP_PER_SPEC_BYTE}
+         */
+        long estimatedHeapBytes() {
+            return BASE_JOB_HEAP_BYTES + specBytes * HEAP_PER_SPEC_BYTE;
+        }
+
+        /**
+         * @param used The heap used by the whole JVM, not only by this job
+         */
+        void sampleHeap(long used) {
+            if (running) {
+                jvmHeapDuringJobBytes.accumulateAndGet(used, Math::max);
+            }
+        }
+
+        /**
+         * Marks the job as timed out, unless it completed.
+         *
+         * @return true if the job had not completed
+         */
+        boolean timeOut() {
+            if (!status.compareAndSet(Status.QUEUED, Status.TIMED_OUT)) {
+                return false;
+            }
+            error = "did not finish before the batch timeout";
+            return true;
+        }
+
+        String name() {
+            return StringUtils.isEmpty(name) ? configFile : name;
+        }
+
+        Map<String, Object> toReport() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("config", configFile);
+            report.put("generator", name);
+            report.put("status", status.get().name().toLowerCase(Locale.ROOT));
+            report.put("estimatedCost", cost());
+            report.put("specBytes", specBytes);
+            report.put("durationMillis", durationMillis);
+            report.put("files", files);
+            report.put("jvmHeapDuringJobBytes", jvmHeapDuringJobBytes.get());
+            report.put("error", error);
+            return report;
         }
 
         /**
@@ -208,8 +449,17 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
          */
         @Override
         public void run() {
-            String name = null;
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            boolean cpuTimeSupported = threadMXBean.isCurrentThreadCpuTimeSupported();
+            long cpuStart = cpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : 0L;
+            long heapBytes = estimatedHeapBytes();
+            boolean acquired = false;
+            long start = System.nanoTime();
             try {
+                heapBudget.acquire(heapBytes);
+                acquired = true;
+                start = System.nanoTime();
+                running = true;
                 GlobalSettings.reset();
 
                 ClientOptInput opts = configurator.toClientOptInput();
@@ -229,23 +479,35 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
                 DefaultGenerator defaultGenerator = new DefaultGenerator();
                 defaultGenerator.opts(opts);
 
-                defaultGenerator.generate();
+                files = defaultGenerator.generate().size();
 
-                System.out.printf(Locale.ROOT, "[%s] Finished generating %s…%n", Thread.currentThread().getName(), name);
-                successes.incrementAndGet();
+                if (status.compareAndSet(Status.QUEUED, Status.SUCCEEDED)) {
+                    successes.incrementAndGet();
+                }
             } catch (Throwable e) {
-                failures.incrementAndGet();
-                String failedOn = name;
-                if (StringUtils.isEmpty(failedOn)) {
-                    failedOn = "unspecified";
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
                 }
-                System.err.printf(Locale.ROOT, "[%s] Generation failed for %s: (%s) %s%n", Thread.currentThread().getName(), failedOn, e.getClass().getSimpleName(), e.getMessage());
-                e.printStackTrace(System.err);
-                if (exitOnError) {
-                    System.exit(1);
+                // a job interrupted by the batch timeout is already reported as timed out
+                if (status.compareAndSet(Status.QUEUED, Status.FAILED)) {
+                    error = String.format(Locale.ROOT, "(%s) %s", e.getClass().getSimpleName(), e.getMessage());
+                    failures.incrementAndGet();
+                    System.err.printf(Locale.ROOT, "[%s] Generation failed for %s: %s%n", Thread.currentThread().getName(), name(), error);
+                    e.printStackTrace(System.err);
+                    if (exitOnError) {
+                        System.exit(1);
+                    }
                 }
             } finally {
+                running = false;
+                durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if (acquired) {
+                    heapBudget.release(heapBytes);
+                }
                 GlobalSettings.reset();
+                if (cpuTimeSupported) {
+                    cpuTimeNanos.addAndGet(threadMXBean.getCurrentThreadCpuTime() - cpuStart);
+                }
             }
         }
 
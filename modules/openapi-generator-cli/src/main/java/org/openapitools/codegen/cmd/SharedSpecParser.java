@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.utils.ParsedSpecCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares parsed specifications between the configurators of a batch, see {@link ParsedSpecCache}.
+ * <p>
+ * Local specifications are keyed by their path and a hash of their content, remote ones by their location.
+ * Specifications which require authorization are not shared. A specification is dropped from the cache once the last
+ * configurator using it is done, see {@link #retain(String)} and {@link #release(String)}.
+ */
+class SharedSpecParser implements CodegenConfigurator.SpecParser {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedSpecParser.class);
+
+    private final CodegenConfigurator.SpecParser parser;
+    private final ParsedSpecCache cache = new ParsedSpecCache();
+    private final LongAdder parsed = new LongAdder();
+    // the number of configurators using each location, and the cache keys it was parsed with
+    private final ConcurrentMap<String, Integer> users = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> keys = new ConcurrentHashMap<>();
+
+    SharedSpecParser() {
+        this(CodegenConfigurator.SpecParser.DEFAULT);
+    }
+
+    /**
+     * @param parser Parses the specifications which are not cached
+     */
+    SharedSpecParser(CodegenConfigurator.SpecParser parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public SwaggerParseResult parse(String location, List<AuthorizationValue> auths, ParseOptions options) {
+        if (auths != null && !auths.isEmpty()) {
+            return parser.parse(location, auths, options);
+        }
+        String key = key(location, options);
+        keys.computeIfAbsent(location, l -> ConcurrentHashMap.newKeySet()).add(key);
+        File file = new File(location);
+        long sourceBytes = file.isFile() ? file.length() : ParsedSpecCache.UNKNOWN_SIZE;
+        return cache.get(key, sourceBytes, () -> {
+            SwaggerParseResult result = parser.parse(location, null, options);
+            if (result != null && result.getOpenAPI() != null) {
+                parsed.increment();
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Registers a configurator which will parse a specification, so that the specification is kept until it is done.
+     *
+     * @param location The location of the specification, may be null
+     */
+    void retain(String location) {
+        if (location != null) {
+            users.merge(location, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Marks a configurator registered with {@link #retain(String)} as done. The specification is dropped from the
+     * cache when its last configurator is done.
+     *
+     * @param location The location of the specification, may be null
+     */
+    void release(String location) {
+        if (location == null) {
+            return;
+        }
+        users.computeIfPresent(location, (l, count) -> {
+            if (count > 1) {
+                return count - 1;
+            }
+            Set<String> parsedKeys = keys.remove(l);
+            if (parsedKeys != null) {
+                parsedKeys.forEach(cache::invalidate);
+            }
+            return null;
+        });
+    }
+
+    private static String key(String location, ParseOptions options) {
+        String resolve = options == null ? "" : options.isResolve() + ":" + options.isResolveFully() + ":" + options.isFlatten() + ":";
+        File file = new File(location);
+        if (file.isFile()) {
+            try {
+                return resolve + "file:" + file.getCanonicalPath() + ":sha256:" + Files.asByteSource(file).hash(Hashing.sha256());
+            } catch (IOException e) {
+                LOGGER.debug("Unable to hash {}: {}", location, e.getMessage());
+            }
+        }
+        return resolve + ParsedSpecCache.locationKey(location);
+    }
+
+    /**
+     * @return The number of distinct specifications parsed
+     */
+    long getParsedCount() {
+        return parsed.sum();
+    }
+
+    /**
+     * @return The number of parses saved by sharing specifications
+     */
+    long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    /**
+     * @return The size of the specifications still cached, as the size of their sources
+     */
+    long getCachedBytes() {
+        return cache.getCachedBytes();
+    }
+}
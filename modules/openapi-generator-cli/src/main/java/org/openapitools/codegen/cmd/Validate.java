@@ -44,6 +44,9 @@ public class Validate extends OpenApiGeneratorCommand {
     @Option(name = { "--recommend"}, title = "recommend spec improvements")
     private Boolean recommend;
 
+    @Option(name = {"--fail-fast"}, title = "fail fast", description = "stop at the first error, e.g. to reject a spec quickly")
+    private Boolean failFast;
+
     @Override
     public void execute() {
         System.out.println("Validating spec (" + spec + ")");
@@ -63,7 +66,11 @@ public class Validate extends OpenApiGeneratorCommand {
         else ruleConfiguration.setEnableRecommendations(false);
 
         OpenApiEvaluator evaluator = new OpenApiEvaluator(ruleConfiguration);
-        ValidationResult validationResult = evaluator.validate(specification);
+        evaluator.setFailFast(Boolean.TRUE.equals(failFast));
+        // errors from the parser already fail the spec
+        ValidationResult validationResult = evaluator.isFailFast() && !errors.isEmpty()
+                ? new ValidationResult()
+                : evaluator.validate(specification);
 
         // TODO: We could also provide description here along with getMessage. getMessage is either a "generic" message or specific (e.g. Model 'Cat' has issues).
         //       This would require that we parse the messageList coming from swagger-parser into a better structure.
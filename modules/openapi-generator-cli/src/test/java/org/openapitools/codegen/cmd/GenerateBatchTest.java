@@ -1,6 +1,7 @@
 package org.openapitools.codegen.cmd;
 
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openapitools.codegen.DefaultGenerator;
 import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.Context;
 import org.openapitools.codegen.config.GeneratorSettings;
@@ -13,11 +14,23 @@ import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.testng.Assert.*;
 
@@ -102,6 +115,168 @@ public class GenerateBatchTest {
         fail("Expected an exception when trying to load a YAML include from a JSON file");
     }
 
+    @Test
+    public void testOrdersJobsByCost() throws IOException {
+        Path specs = Files.createTempDirectory("GenerateBatchTest");
+        try {
+            // a spec file of as many bytes as the number in its name; a remote spec counts as empty
+            List<GenerateBatch.GenerationRunner> runners = Stream.of("small-2", "large-30", "https://example.com/remote-50", "medium-10", "other-10")
+                    .map(name -> {
+                        String spec = name;
+                        if (!name.startsWith("https:")) {
+                            byte[] content = new byte[Integer.parseInt(name.replaceAll("\\D", ""))];
+                            Arrays.fill(content, (byte) ' ');
+                            try {
+                                spec = Files.write(specs.resolve(name), content).toString();
+                            } catch (IOException e) {
+                                throw new RuntimeException(e);
+                            }
+                        }
+                        GenerateBatch.GenerationRunner runner = new GenerateBatch.GenerationRunner(name,
+                                new CodegenConfigurator().setInputSpec(spec), workingDirectory, false, false, new GenerateBatch.HeapBudget(Long.MAX_VALUE));
+                        runner.estimate();
+                        return runner;
+                    })
+                    .collect(Collectors.toList());
+
+            List<String> ordered = GenerateBatch.orderByCost(runners).stream()
+                    .map(GenerateBatch.GenerationRunner::name)
+                    .collect(Collectors.toList());
+
+            assertEquals(ordered, Arrays.asList("large-30", "medium-10", "other-10", "small-2", "https://example.com/remote-50"));
+            assertEquals(runners.get(1).cost(), 30);
+            assertEquals(runners.get(2).cost(), 0);
+        } finally {
+            try (Stream<Path> paths = Files.walk(specs)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testHeapBudgetRunsJobsWhichFitConcurrently() throws Exception {
+        GenerateBatch.HeapBudget budget = new GenerateBatch.HeapBudget(100);
+        // a job larger than the budget runs on its own
+        budget.acquire(150);
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiting = new Thread(() -> {
+            try {
+                budget.acquire(50);
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiting.start();
+        assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+
+        budget.release(150);
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        budget.acquire(50);
+        assertEquals(budget.getReserved(), 100);
+        waiting.join();
+    }
+
+    @DataProvider(name = "sharedSpecs")
+    public Object[][] sharedSpecs() {
+        return new Object[][]{
+                {"../openapi-generator/src/test/resources/2_0/petstore-with-fake-endpoints-models-for-testing.yaml"},
+                // required properties inherited through allOf
+                {"../openapi-generator/src/test/resources/3_0/allOfMultiParent.yaml"}
+        };
+    }
+
+    @Test(dataProvider = "sharedSpecs")
+    public void testBatchGeneratesTheSameFilesAsGenerate(String spec) throws Exception {
+        Path output = Files.createTempDirectory("GenerateBatchTest");
+        try {
+            new DefaultGenerator().opts(javaConfigurator(spec, output.resolve("single")).toClientOptInput()).generate();
+
+            SharedSpecParser cache = new SharedSpecParser();
+            List<GenerateBatch.GenerationRunner> runners = Stream.of("first", "second").map(name -> {
+                CodegenConfigurator configurator = javaConfigurator(spec, output.resolve(name));
+                configurator.setSpecParser(cache);
+                cache.retain(spec);
+                return new GenerateBatch.GenerationRunner(name, configurator, output, false, false, new GenerateBatch.HeapBudget(Long.MAX_VALUE));
+            }).collect(Collectors.toList());
+            runners.forEach(GenerateBatch.GenerationRunner::estimate);
+            runners.forEach(runner -> {
+                runner.run();
+                cache.release(spec);
+            });
+
+            assertEquals(cache.getParsedCount(), 1L);
+            assertEquals(cache.getHitCount(), 1L);
+            assertEquals(cache.getCachedBytes(), 0L);
+            Map<String, String> single = readFiles(output.resolve("single"));
+            assertFalse(single.isEmpty());
+            for (GenerateBatch.GenerationRunner runner : runners) {
+                assertEquals(runner.toReport().get("status"), "succeeded");
+                assertEquals(readFiles(output.resolve((String) runner.toReport().get("config"))), single);
+            }
+        } finally {
+            try (Stream<Path> paths = Files.walk(output)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    @Test
+    public void testTimedOutJobIsNotFailedAgain() {
+        AtomicReference<GenerateBatch.GenerationRunner> running = new AtomicReference<>();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        CodegenConfigurator configurator = new CodegenConfigurator().setGeneratorName("java").setInputSpec("timed-out.yaml");
+        // the batch times out while the job runs, which then fails as its thread is interrupted
+        configurator.setSpecParser((location, auths, options) -> {
+            timedOut.set(running.get().timeOut());
+            throw new IllegalStateException("interrupted");
+        });
+        GenerateBatch.GenerationRunner runner = new GenerateBatch.GenerationRunner("timed-out", configurator, workingDirectory, false, false, new GenerateBatch.HeapBudget(Long.MAX_VALUE));
+        running.set(runner);
+
+        runner.run();
+
+        assertTrue(timedOut.get());
+        assertEquals(runner.toReport().get("status"), "timed_out");
+        assertEquals(runner.toReport().get("error"), "did not finish before the batch timeout");
+        assertFalse(runner.timeOut());
+    }
+
+    @Test
+    public void testFailedJobIsNotTimedOut() {
+        CodegenConfigurator configurator = new CodegenConfigurator().setGeneratorName("java").setInputSpec("failed.yaml");
+        configurator.setSpecParser((location, auths, options) -> {
+            throw new IllegalStateException("unreadable");
+        });
+        GenerateBatch.GenerationRunner runner = new GenerateBatch.GenerationRunner("failed", configurator, workingDirectory, false, false, new GenerateBatch.HeapBudget(Long.MAX_VALUE));
+
+        runner.run();
+
+        assertFalse(runner.timeOut());
+        assertEquals(runner.toReport().get("status"), "failed");
+        assertEquals(runner.toReport().get("error"), "(IllegalStateException) unreadable");
+        // the heap of the whole JVM, sampled by the batch while the job runs
+        assertEquals(runner.toReport().get("jvmHeapDuringJobBytes"), 0L);
+    }
+
+    private static CodegenConfigurator javaConfigurator(String spec, Path outputDir) {
+        return new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec(spec)
+                .setOutputDir(outputDir.toString())
+                .addAdditionalProperty("hideGenerationTimestamp", true);
+    }
+
+    private static Map<String, String> readFiles(Path dir) throws IOException {
+        Map<String, String> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                files.put(dir.relativize(path).toString(), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            }
+        }
+        return files;
+    }
+
     private File getIncludesDir() {
         // The includes directory would be "batch" under resources here, as everything is relative to this directory.
         return workingDirectory.toFile();
@@ -0,0 +1,123 @@
+package org.openapitools.codegen.cmd;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class SharedSpecParserTest {
+    private static final String SPEC_FILE = Paths.get("src", "test", "resources", "batch", "specs", "petstore.yaml").toString();
+
+    private final AtomicInteger parses = new AtomicInteger();
+    private final CodegenConfigurator.SpecParser countingParser = (location, auths, options) -> {
+        parses.incrementAndGet();
+        return CodegenConfigurator.SpecParser.DEFAULT.parse(location, auths, options);
+    };
+
+    @BeforeMethod
+    public void setUp() {
+        parses.set(0);
+    }
+
+    private static ParseOptions resolve() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        return options;
+    }
+
+    @Test
+    public void parsesEachSpecOnceAndReturnsPrivateCopies() throws Exception {
+        SharedSpecParser cache = new SharedSpecParser(countingParser);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<SwaggerParseResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> cache.parse(SPEC_FILE, null, resolve()), executor));
+            }
+
+            OpenAPI first = results.get(0).join().getOpenAPI();
+            assertNotNull(first);
+            first.getComponents().getSchemas().clear();
+            for (CompletableFuture<SwaggerParseResult> result : results.subList(1, results.size())) {
+                OpenAPI copy = result.join().getOpenAPI();
+                assertNotSame(copy, first);
+                assertFalse(copy.getComponents().getSchemas().isEmpty());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(parses.get(), 1);
+        assertEquals(cache.getParsedCount(), 1L);
+        assertEquals(cache.getHitCount(), 7L);
+        assertTrue(cache.getCachedBytes() > 0);
+    }
+
+    @Test
+    public void parsesAgainWhenContentChanges() throws IOException {
+        Path spec = Files.createTempFile("spec", ".yaml");
+        try {
+            Files.copy(Paths.get(SPEC_FILE), spec, StandardCopyOption.REPLACE_EXISTING);
+            SharedSpecParser cache = new SharedSpecParser(countingParser);
+            String title = cache.parse(spec.toString(), null, resolve()).getOpenAPI().getInfo().getTitle();
+            cache.parse(spec.toString(), null, resolve());
+            assertEquals(parses.get(), 1);
+
+            String changed = new String(Files.readAllBytes(spec), StandardCharsets.UTF_8).replace(title, "Changed");
+            Files.write(spec, changed.getBytes(StandardCharsets.UTF_8));
+            assertEquals(cache.parse(spec.toString(), null, resolve()).getOpenAPI().getInfo().getTitle(), "Changed");
+            assertEquals(parses.get(), 2);
+        } finally {
+            new File(spec.toString()).delete();
+        }
+    }
+
+    @Test
+    public void dropsSpecOnceItsLastUserIsDone() {
+        SharedSpecParser cache = new SharedSpecParser(countingParser);
+        cache.retain(SPEC_FILE);
+        cache.retain(SPEC_FILE);
+        cache.parse(SPEC_FILE, null, resolve());
+        cache.release(SPEC_FILE);
+        cache.parse(SPEC_FILE, null, resolve());
+        assertEquals(parses.get(), 1);
+        assertTrue(cache.getCachedBytes() > 0);
+
+        cache.release(SPEC_FILE);
+        assertEquals(cache.getCachedBytes(), 0L);
+        assertEquals(cache.getParsedCount(), 1L);
+        // a location which was never retained is left alone
+        cache.release("unknown.yaml");
+    }
+
+    @Test
+    public void doesNotShareSpecsRequiringAuthorization() {
+        SharedSpecParser cache = new SharedSpecParser(countingParser);
+        List<AuthorizationValue> auths = Collections.singletonList(new AuthorizationValue("X-Api-Key", "secret", "header"));
+        cache.parse(SPEC_FILE, auths, resolve());
+        cache.parse(SPEC_FILE, auths, resolve());
+
+        assertEquals(parses.get(), 2);
+        assertEquals(cache.getParsedCount(), 0L);
+    }
+}
@@ -46,6 +46,10 @@ public class WorkflowSettings {
     public static final boolean DEFAULT_ENABLE_MINIMAL_UPDATE = false;
     public static final boolean DEFAULT_STRICT_SPEC_BEHAVIOR = true;
     public static final boolean DEFAULT_GENERATE_ALIAS_AS_MODEL = false;
+    public static final int DEFAULT_RENDER_THREADS = 1;
+    public static final int DEFAULT_POST_PROCESS_THREADS = 1;
+    public static final int DEFAULT_POST_PROCESS_BATCH_SIZE = 1;
+    public static final int DEFAULT_POST_PROCESS_FILE_TIMEOUT = 0;
     public static final String DEFAULT_TEMPLATING_ENGINE_NAME = null; // this is set by the generator
     public static final Map<String, String> DEFAULT_GLOBAL_PROPERTIES = Collections.unmodifiableMap(new HashMap<>());
 
@@ -61,6 +65,10 @@ public class WorkflowSettings {
     private boolean enableMinimalUpdate = DEFAULT_ENABLE_MINIMAL_UPDATE;
     private boolean strictSpecBehavior = DEFAULT_STRICT_SPEC_BEHAVIOR;
     private boolean generateAliasAsModel = DEFAULT_GENERATE_ALIAS_AS_MODEL;
+    private int renderThreads = DEFAULT_RENDER_THREADS;
+    private int postProcessThreads = DEFAULT_POST_PROCESS_THREADS;
+    private int postProcessBatchSize = DEFAULT_POST_PROCESS_BATCH_SIZE;
+    private int postProcessFileTimeout = DEFAULT_POST_PROCESS_FILE_TIMEOUT;
     private String templateDir;
     private String templatingEngineName = DEFAULT_TEMPLATING_ENGINE_NAME;
     private String ignoreFileOverride;
@@ -83,6 +91,10 @@ public class WorkflowSettings {
         this.ignoreFileOverride = builder.ignoreFileOverride;
         this.globalProperties = Collections.unmodifiableMap(builder.globalProperties);
         this.generateAliasAsModel = builder.generateAliasAsModel;
+        this.renderThreads = builder.renderThreads;
+        this.postProcessThreads = builder.postProcessThreads;
+        this.postProcessBatchSize = builder.postProcessBatchSize;
+        this.postProcessFileTimeout = builder.postProcessFileTimeout;
     }
 
     /**
@@ -111,6 +123,10 @@ public class WorkflowSettings {
         builder.enableMinimalUpdate = copy.isEnableMinimalUpdate();
         builder.generateAliasAsModel = copy.isGenerateAliasAsModel();
         builder.strictSpecBehavior = copy.isStrictSpecBehavior();
+        builder.renderThreads = copy.getRenderThreads();
+        builder.postProcessThreads = copy.getPostProcessThreads();
+        builder.postProcessBatchSize = copy.getPostProcessBatchSize();
+        builder.postProcessFileTimeout = copy.getPostProcessFileTimeout();
         builder.templatingEngineName = copy.getTemplatingEngineName();
         builder.ignoreFileOverride = copy.getIgnoreFileOverride();
 
@@ -246,6 +262,46 @@ public class WorkflowSettings {
         return strictSpecBehavior;
     }
 
+    /**
+     * Gets the number of worker threads used to render output files once all models and operations have been processed.
+     * A value of <code>1</code> renders files sequentially on the calling thread.
+     *
+     * @return the number of render threads
+     */
+    public int getRenderThreads() {
+        return renderThreads;
+    }
+
+    /**
+     * Gets the number of worker threads used to post-process output files (see {@link #isEnablePostProcessFile()}) once
+     * all files have been written. A value of <code>1</code> post-processes files sequentially on the calling thread.
+     *
+     * @return the number of post-processing threads
+     */
+    public int getPostProcessThreads() {
+        return postProcessThreads;
+    }
+
+    /**
+     * Gets the maximum number of files of the same type post-processed together, e.g. passed to a single invocation of
+     * an external formatter. A value of <code>1</code> post-processes each file on its own.
+     *
+     * @return the post-processing batch size
+     */
+    public int getPostProcessBatchSize() {
+        return postProcessBatchSize;
+    }
+
+    /**
+     * Gets the time, in seconds per file, after which an external post-processing command is stopped. A value of
+     * <code>0</code> waits for the command to finish.
+     *
+     * @return the post-processing timeout per file, in seconds
+     */
+    public int getPostProcessFileTimeout() {
+        return postProcessFileTimeout;
+    }
+
     /**
      * Gets the directory holding templates used in generation. This option allows users to extend or modify built-in templates, or to write their own.
      *
@@ -309,6 +365,10 @@ public class WorkflowSettings {
         private Boolean enableMinimalUpdate = DEFAULT_ENABLE_MINIMAL_UPDATE;
         private Boolean strictSpecBehavior = DEFAULT_STRICT_SPEC_BEHAVIOR;
         private Boolean generateAliasAsModel = DEFAULT_GENERATE_ALIAS_AS_MODEL;
+        private Integer renderThreads = DEFAULT_RENDER_THREADS;
+        private Integer postProcessThreads = DEFAULT_POST_PROCESS_THREADS;
+        private Integer postProcessBatchSize = DEFAULT_POST_PROCESS_BATCH_SIZE;
+        private Integer postProcessFileTimeout = DEFAULT_POST_PROCESS_FILE_TIMEOUT;
         private String templateDir;
         private String templatingEngineName = DEFAULT_TEMPLATING_ENGINE_NAME;
         private String ignoreFileOverride;
@@ -459,6 +519,54 @@ public class WorkflowSettings {
             return this;
         }
 
+        /**
+         * Sets the {@code renderThreads} and returns a reference to this Builder so that the methods can be chained together.
+         * Values less than <code>1</code> fall back to sequential rendering.
+         *
+         * @param renderThreads the {@code renderThreads} to set
+         * @return a reference to this Builder
+         */
+        public Builder withRenderThreads(Integer renderThreads) {
+            this.renderThreads = renderThreads != null && renderThreads > 0 ? renderThreads : Integer.valueOf(DEFAULT_RENDER_THREADS);
+            return this;
+        }
+
+        /**
+         * Sets the {@code postProcessThreads} and returns a reference to this Builder so that the methods can be chained together.
+         * Values less than <code>1</code> fall back to sequential post-processing.
+         *
+         * @param postProcessThreads the {@code postProcessThreads} to set
+         * @return a reference to this Builder
+         */
+        public Builder withPostProcessThreads(Integer postProcessThreads) {
+            this.postProcessThreads = postProcessThreads != null && postProcessThreads > 0 ? postProcessThreads : Integer.valueOf(DEFAULT_POST_PROCESS_THREADS);
+            return this;
+        }
+
+        /**
+         * Sets the {@code postProcessBatchSize} and returns a reference to this Builder so that the methods can be chained together.
+         * Values less than <code>1</code> fall back to the default batch size.
+         *
+         * @param postProcessBatchSize the {@code postProcessBatchSize} to set
+         * @return a reference to this Builder
+         */
+        public Builder withPostProcessBatchSize(Integer postProcessBatchSize) {
+            this.postProcessBatchSize = postProcessBatchSize != null && postProcessBatchSize > 0 ? postProcessBatchSize : Integer.valueOf(DEFAULT_POST_PROCESS_BATCH_SIZE);
+            return this;
+        }
+
+        /**
+         * Sets the {@code postProcessFileTimeout} and returns a reference to this Builder so that the methods can be chained together.
+         * Values less than <code>1</code> disable the timeout.
+         *
+         * @param postProcessFileTimeout the {@code postProcessFileTimeout} to set, in seconds per file
+         * @return a reference to this Builder
+         */
+        public Builder withPostProcessFileTimeout(Integer postProcessFileTimeout) {
+            this.postProcessFileTimeout = postProcessFileTimeout != null && postProcessFileTimeout > 0 ? postProcessFileTimeout : Integer.valueOf(DEFAULT_POST_PROCESS_FILE_TIMEOUT);
+            return this;
+        }
+
         /**
          * Sets the {@code templateDir} and returns a reference to this Builder so that the methods can be chained together.
          *
@@ -587,6 +695,10 @@ public class WorkflowSettings {
                 ", ignoreFileOverride='" + ignoreFileOverride + '\'' +
                 ", globalProperties=" + globalProperties +
                 ", generateAliasAsModel=" + generateAliasAsModel +
+                ", renderThreads=" + renderThreads +
+                ", postProcessThreads=" + postProcessThreads +
+                ", postProcessBatchSize=" + postProcessBatchSize +
+                ", postProcessFileTimeout=" + postProcessFileTimeout +
                 '}';
     }
 
@@ -605,6 +717,10 @@ public class WorkflowSettings {
                 isEnableMinimalUpdate() == that.isEnableMinimalUpdate() &&
                 isStrictSpecBehavior() == that.isStrictSpecBehavior() &&
                 isGenerateAliasAsModel() == that.isGenerateAliasAsModel() &&
+                getRenderThreads() == that.getRenderThreads() &&
+                getPostProcessThreads() == that.getPostProcessThreads() &&
+                getPostProcessBatchSize() == that.getPostProcessBatchSize() &&
+                getPostProcessFileTimeout() == that.getPostProcessFileTimeout() &&
                 Objects.equals(getInputSpec(), that.getInputSpec()) &&
                 Objects.equals(getOutputDir(), that.getOutputDir()) &&
                 Objects.equals(getTemplateDir(), that.getTemplateDir()) &&
@@ -628,6 +744,10 @@ public class WorkflowSettings {
                 isEnablePostProcessFile(),
                 isEnableMinimalUpdate(),
                 isStrictSpecBehavior(),
+                getRenderThreads(),
+                getPostProcessThreads(),
+                getPostProcessBatchSize(),
+                getPostProcessFileTimeout(),
                 getTemplateDir(),
                 getTemplatingEngineName(),
                 getIgnoreFileOverride(),
@@ -36,6 +36,7 @@ public class WorkflowSettingsTest {
                 .withEnablePostProcessFile(null)
                 .withEnableMinimalUpdate(null)
                 .withStrictSpecBehavior(null)
+                .withPostProcessBatchSize(null)
                 .build();
 
         assertEquals(settings.getOutputDir(), ".");
@@ -47,6 +48,8 @@ public class WorkflowSettingsTest {
         assertFalse(settings.isEnablePostProcessFile());
         assertFalse(settings.isEnableMinimalUpdate());
         assertTrue(settings.isStrictSpecBehavior());
+        // batching is opt-in, as post-processing tools may only accept one file
+        assertEquals(settings.getPostProcessBatchSize(), 1);
     }
 
     @Test
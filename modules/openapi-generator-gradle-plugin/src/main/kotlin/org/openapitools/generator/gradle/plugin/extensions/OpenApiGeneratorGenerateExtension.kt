@@ -336,6 +336,12 @@ open class OpenApiGeneratorGenerateExtension(project: Project) {
      */
     val engine = project.objects.property<String?>()
 
+    /**
+     * A file to which the time, CPU time and allocated bytes of each phase of the generation, and the slowest models,
+     * tags and templates, are written as JSON.
+     */
+    val profileReport = project.objects.property<String>()
+
     init {
         applyDefaults()
     }
@@ -36,6 +36,7 @@ import org.gradle.kotlin.dsl.mapProperty
 import org.gradle.kotlin.dsl.property
 import org.openapitools.codegen.CodegenConstants
 import org.openapitools.codegen.DefaultGenerator
+import org.openapitools.codegen.GenerationProfiler
 import org.openapitools.codegen.config.CodegenConfigurator
 import org.openapitools.codegen.config.GlobalSettings
 
@@ -478,6 +479,14 @@ open class GenerateTask : DefaultTask() {
     @Input
     val engine = project.objects.property<String?>()
 
+    /**
+     * A file to which the time, CPU time and allocated bytes of each phase of the generation, and the slowest models,
+     * tags and templates, are written as JSON.
+     */
+    @Optional
+    @get:Internal
+    val profileReport = project.objects.property<String>()
+
     private fun <T : Any?> Property<T>.ifNotEmpty(block: Property<T>.(T) -> Unit) {
         if (isPresent) {
             val item: T? = get()
@@ -751,7 +760,8 @@ open class GenerateTask : DefaultTask() {
                 }
             }
 
-            val clientOptInput = configurator.toClientOptInput()
+            val profiler = if (profileReport.isPresent) GenerationProfiler() else GenerationProfiler.DISABLED
+            val clientOptInput = profiler.time("parse") { configurator.toClientOptInput() }
             val codegenConfig = clientOptInput.config
 
             if (configOptions.isPresent) {
@@ -767,9 +777,17 @@ open class GenerateTask : DefaultTask() {
                 val out = services.get(StyledTextOutputFactory::class.java).create("openapi")
                 out.withStyle(StyledTextOutput.Style.Success)
 
-                DefaultGenerator().opts(clientOptInput).generate()
+                val generator = DefaultGenerator()
+                generator.setProfiler(profiler)
+                generator.opts(clientOptInput)
+                profiler.time("generate") { generator.generate() }
 
                 out.println("Successfully generated code to ${outputDir.get()}")
+
+                if (profiler.isEnabled) {
+                    profiler.writeReport(project.file(profileReport.get()))
+                    out.println("Profile report written to ${profileReport.get()}")
+                }
             } catch (e: RuntimeException) {
                 throw GradleException("Code generation failed.", e)
             }
@@ -56,6 +56,7 @@ import org.openapitools.codegen.ClientOptInput;
 import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.GenerationProfiler;
 import org.openapitools.codegen.auth.AuthParser;
 import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.GlobalSettings;
@@ -423,6 +424,13 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(name = "skipIfSpecIsUnchanged", property = "codegen.skipIfSpecIsUnchanged", defaultValue = "false")
     private Boolean skipIfSpecIsUnchanged;
 
+    /**
+     * Write the time, CPU time and allocated bytes of each phase of the generation, and the slowest models, tags and
+     * templates, as JSON to this file.
+     */
+    @Parameter(name = "profileReport", property = "openapi.generator.maven.plugin.profileReport")
+    private File profileReport;
+
     /**
      * Add the output directory to the project as a source root, so that the generated java types
      * are compiled and included in the project artifact. Mutually exclusive with {@link #addTestCompileSourceRoot}.
@@ -795,7 +803,8 @@ public class CodeGenMojo extends AbstractMojo {
                 }
             }
 
-            final ClientOptInput input = configurator.toClientOptInput();
+            final GenerationProfiler profiler = profileReport != null ? new GenerationProfiler() : GenerationProfiler.DISABLED;
+            final ClientOptInput input = profiler.time("parse", configurator::toClientOptInput);
             final CodegenConfig config = input.getConfig();
 
             if (configOptions != null) {
@@ -817,7 +826,15 @@ public class CodeGenMojo extends AbstractMojo {
                 return;
             }
             adjustAdditionalProperties(config);
-            new DefaultGenerator().opts(input).generate();
+            DefaultGenerator generator = new DefaultGenerator();
+            generator.setProfiler(profiler);
+            generator.opts(input);
+            profiler.time("generate", generator::generate);
+
+            if (profiler.isEnabled()) {
+                profiler.writeReport(profileReport);
+                getLog().info("Profile report written to " + profileReport);
+            }
 
             if (buildContext != null) {
                 buildContext.refresh(new File(getCompileSourceRoot()));
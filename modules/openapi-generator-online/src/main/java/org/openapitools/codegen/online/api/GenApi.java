@@ -25,14 +25,16 @@ package org.openapitools.codegen.online.api;
 import io.swagger.annotations.*;
 import org.openapitools.codegen.CliOption;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
-import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -58,7 +60,7 @@ public interface GenApi {
     @RequestMapping(value = "/gen/download/{fileId}",
             produces = { "application/octet-stream" },
             method = RequestMethod.GET)
-    default ResponseEntity<Resource> downloadFile(@ApiParam(value = "",required=true) @PathVariable("fileId") String fileId) {
+    default ResponseEntity<StreamingResponseBody> downloadFile(@ApiParam(value = "",required=true) @PathVariable("fileId") String fileId) {
         return getDelegate().downloadFile(fileId);
     }
 
@@ -83,6 +85,53 @@ public interface GenApi {
     }
 
 
+    @ApiOperation(value = "Queues the generation of a client library", nickname = "submitClientJob", notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The status of the job can be polled at its `statusLink`, until the generated code can be downloaded from its `downloadLink`.", response = JobStatus.class, tags={ "clients","jobs", })
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "job queued", response = JobStatus.class),
+            @ApiResponse(code = 429, message = "too many pending jobs for the client library"),
+            @ApiResponse(code = 503, message = "the generation queue is full") })
+    @RequestMapping(value = "/gen/jobs/clients/{language}",
+            method = RequestMethod.POST)
+    default ResponseEntity<JobStatus> submitClientJob(@ApiParam(value = "The target language for the client library",required=true) @PathVariable("language") String language,@ApiParam(value = "Configuration for building the client library" ,required=true )  @Valid @RequestBody GeneratorInput generatorInput) {
+        return getDelegate().submitClientJob(language, generatorInput);
+    }
+
+
+    @ApiOperation(value = "Queues the generation of a server library", nickname = "submitServerJob", notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The status of the job can be polled at its `statusLink`, until the generated code can be downloaded from its `downloadLink`.", response = JobStatus.class, tags={ "servers","jobs", })
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "job queued", response = JobStatus.class),
+            @ApiResponse(code = 429, message = "too many pending jobs for the server framework"),
+            @ApiResponse(code = 503, message = "the generation queue is full") })
+    @RequestMapping(value = "/gen/jobs/servers/{framework}",
+            method = RequestMethod.POST)
+    default ResponseEntity<JobStatus> submitServerJob(@ApiParam(value = "framework",required=true) @PathVariable("framework") String framework,@ApiParam(value = "parameters" ,required=true )  @Valid @RequestBody GeneratorInput generatorInput) {
+        return getDelegate().submitServerJob(framework, generatorInput);
+    }
+
+
+    @ApiOperation(value = "Gets the status of a generation job", nickname = "getJobStatus", notes = "Finished jobs are kept for a limited time.", response = JobStatus.class, tags={ "jobs", })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = JobStatus.class),
+            @ApiResponse(code = 404, message = "unknown or expired job") })
+    @RequestMapping(value = "/gen/jobs/{jobId}",
+            produces = { "application/json" },
+            method = RequestMethod.GET)
+    default ResponseEntity<JobStatus> getJobStatus(@ApiParam(value = "",required=true) @PathVariable("jobId") String jobId) {
+        return getDelegate().getJobStatus(jobId);
+    }
+
+
+    @ApiOperation(value = "Gets metrics of the generation queue", nickname = "getJobMetrics", notes = "", response = JobMetrics.class, tags={ "jobs", })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = JobMetrics.class) })
+    @RequestMapping(value = "/gen/jobs/metrics",
+            produces = { "application/json" },
+            method = RequestMethod.GET)
+    default ResponseEntity<JobMetrics> getJobMetrics() {
+        return getDelegate().getJobMetrics();
+    }
+
+
     @ApiOperation(value = "Returns options for a client library", nickname = "getClientOptions", notes = "", tags={ "clients", })
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "successful operation") })
@@ -17,9 +17,15 @@
 
 package org.openapitools.codegen.online.model;
 
+import org.openapitools.codegen.online.service.Generator;
+
 public class Generated {
     private String filename;
     private String friendlyName;
+    // when downloads are streamed, the generation is deferred to the download; only the input is kept until then
+    private String language;
+    private Generator.Type type;
+    private GeneratorInput generatorInput;
 
     public String getFilename() {
         return filename;
@@ -36,4 +42,28 @@ public class Generated {
     public void setFriendlyName(String friendlyName) {
         this.friendlyName = friendlyName;
     }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public Generator.Type getType() {
+        return type;
+    }
+
+    public void setType(Generator.Type type) {
+        this.type = type;
+    }
+
+    public GeneratorInput getGeneratorInput() {
+        return generatorInput;
+    }
+
+    public void setGeneratorInput(GeneratorInput generatorInput) {
+        this.generatorInput = generatorInput;
+    }
 }
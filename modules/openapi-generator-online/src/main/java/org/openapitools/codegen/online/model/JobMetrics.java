@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.model;
+
+import io.swagger.annotations.ApiModelProperty;
+
+public class JobMetrics {
+    private int queueDepth;
+    private int running;
+    private long submitted;
+    private long succeeded;
+    private long failed;
+    private long rejected;
+    private long averageQueuedMillis;
+    private long averageGenerationMillis;
+    private long maxGenerationMillis;
+
+    @ApiModelProperty(value = "Number of jobs waiting for a worker")
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    @ApiModelProperty(value = "Number of jobs being generated")
+    public int getRunning() {
+        return running;
+    }
+
+    public void setRunning(int running) {
+        this.running = running;
+    }
+
+    @ApiModelProperty(value = "Number of jobs accepted since the service started")
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(long submitted) {
+        this.submitted = submitted;
+    }
+
+    @ApiModelProperty(value = "Number of jobs which succeeded since the service started")
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(long succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    @ApiModelProperty(value = "Number of jobs which failed since the service started")
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    @ApiModelProperty(value = "Number of jobs refused since the service started, as the queue or the quota of the target was full")
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    @ApiModelProperty(value = "Average time spent in the queue by started jobs, in milliseconds")
+    public long getAverageQueuedMillis() {
+        return averageQueuedMillis;
+    }
+
+    public void setAverageQueuedMillis(long averageQueuedMillis) {
+        this.averageQueuedMillis = averageQueuedMillis;
+    }
+
+    @ApiModelProperty(value = "Average time spent generating by finished jobs, in milliseconds")
+    public long getAverageGenerationMillis() {
+        return averageGenerationMillis;
+    }
+
+    public void setAverageGenerationMillis(long averageGenerationMillis) {
+        this.averageGenerationMillis = averageGenerationMillis;
+    }
+
+    @ApiModelProperty(value = "Longest time spent generating by a finished job, in milliseconds")
+    public long getMaxGenerationMillis() {
+        return maxGenerationMillis;
+    }
+
+    public void setMaxGenerationMillis(long maxGenerationMillis) {
+        this.maxGenerationMillis = maxGenerationMillis;
+    }
+}
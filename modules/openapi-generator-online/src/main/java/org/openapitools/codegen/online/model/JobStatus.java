@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.model;
+
+import io.swagger.annotations.ApiModelProperty;
+
+public class JobStatus {
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    private String id;
+    private State state;
+    private String message;
+    private String statusLink;
+    private String downloadLink;
+    private Long queuedMillis;
+    private Long generationMillis;
+
+    @ApiModelProperty(value = "Job id, which is also the file download code once the job has succeeded",
+            example = "d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @ApiModelProperty(value = "State of the job")
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    @ApiModelProperty(value = "Reason of the failure, if the job has failed")
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @ApiModelProperty(
+            value = "URL for polling the status of the job",
+            example = "http://localhost:8080/api/gen/jobs/d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getStatusLink() {
+        return statusLink;
+    }
+
+    public void setStatusLink(String statusLink) {
+        this.statusLink = statusLink;
+    }
+
+    @ApiModelProperty(
+            value = "URL for fetching the generated code, once the job has succeeded",
+            example = "http://localhost:8080/api/gen/download/d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getDownloadLink() {
+        return downloadLink;
+    }
+
+    public void setDownloadLink(String downloadLink) {
+        this.downloadLink = downloadLink;
+    }
+
+    @ApiModelProperty(value = "Time spent in the queue, in milliseconds, once the job has started")
+    public Long getQueuedMillis() {
+        return queuedMillis;
+    }
+
+    public void setQueuedMillis(Long queuedMillis) {
+        this.queuedMillis = queuedMillis;
+    }
+
+    @ApiModelProperty(value = "Time spent generating, in milliseconds, once the job has finished")
+    public Long getGenerationMillis() {
+        return generationMillis;
+    }
+
+    public void setGenerationMillis(Long generationMillis) {
+        this.generationMillis = generationMillis;
+    }
+}
@@ -17,6 +17,9 @@
 
 package org.openapitools.codegen.online.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.CliOption;
@@ -26,33 +29,32 @@ import org.openapitools.codegen.CodegenType;
 import org.openapitools.codegen.online.api.GenApiDelegate;
 import org.openapitools.codegen.online.model.Generated;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class GenApiService implements GenApiDelegate {
 
     private static List<String> clients = new ArrayList<>();
     private static List<String> servers = new ArrayList<>();
-    private static Map<String, Generated> fileMap = new HashMap<>();
 
     static {
         List<CodegenConfig> extensions = CodegenConfigLoader.getAll();
@@ -72,31 +74,82 @@ public class GenApiService implements GenApiDelegate {
     @Autowired
     private NativeWebRequest request;
 
+    @Autowired
+    private GenerationJobService jobService;
+
+    // generate into the download stream, rather than into a temporary zip file
+    @Value("${generator.streaming:false}")
+    private boolean streaming;
+
+    // the downloads which have not been requested yet; in streaming mode, each one holds the input of the generation
+    private final Cache<String, Generated> fileMap;
+
+    /**
+     * @param maxPending The number of downloads which may be pending, beyond which the oldest ones are evicted
+     * @param ttlMinutes The time after which a download which has not been requested is evicted
+     */
+    @Autowired
+    public GenApiService(@Value("${generator.downloads.max-pending:1000}") long maxPending,
+                         @Value("${generator.downloads.ttl-minutes:30}") long ttlMinutes) {
+        this(maxPending, ttlMinutes, Ticker.systemTicker());
+    }
+
+    GenApiService(long maxPending, long ttlMinutes, Ticker ticker) {
+        this.fileMap = Caffeine.newBuilder()
+                .maximumSize(maxPending)
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .ticker(ticker)
+                // evictions only delete files, which is done by the thread using the cache
+                .executor(Runnable::run)
+                .<String, Generated>removalListener((code, g, cause) -> {
+                    if (cause.wasEvicted() && g != null && g.getFilename() != null) {
+                        // the zip is the only file of its temporary folder
+                        FileUtils.deleteQuietly(new File(g.getFilename()).getParentFile());
+                    }
+                })
+                .build();
+    }
+
     @Override
     public Optional<NativeWebRequest> getRequest() {
         return Optional.ofNullable(request);
     }
 
     @Override
-    public ResponseEntity<Resource> downloadFile(String fileId) {
-        Generated g = fileMap.get(fileId);
+    public ResponseEntity<StreamingResponseBody> downloadFile(String fileId) {
+        // the code can be used just once
+        Generated g = fileMap.asMap().remove(fileId);
+        // the zip of a job is kept until the job is evicted, as its status still links to it
+        boolean deleteAfterDownload = g != null;
+        if (g == null) {
+            g = jobService.getGenerated(fileId);
+        }
         System.out.println("looking for fileId " + fileId);
-        System.out.println("got filename " + g.getFilename());
-
-        File file = new File(g.getFilename());
-        Path path = Paths.get(file.getAbsolutePath());
-        ByteArrayResource resource;
-        try {
-            resource = new ByteArrayResource(Files.readAllBytes(path));
-        } catch (FileNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found", e);
-        } catch (IOException e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "I/O error while reading file", e);
+        if (g == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
         }
-        try {
-            FileUtils.deleteDirectory(file.getParentFile());
-        } catch (IOException e) {
-            System.out.println("failed to delete file " + file.getAbsolutePath());
+
+        StreamingResponseBody body;
+        if (g.getGeneratorInput() != null) {
+            // fails with a bad request before the response is sent if the generator cannot be configured
+            body = Generator.prepareZip(g.getLanguage(), g.getGeneratorInput(), g.getType());
+        } else {
+            System.out.println("got filename " + g.getFilename());
+            File file = new File(g.getFilename());
+            if (!file.exists()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
+            }
+            body = !deleteAfterDownload ? out -> Files.copy(file.toPath(), out) : out -> {
+                try {
+                    Files.copy(file.toPath(), out);
+                } finally {
+                    try {
+                        FileUtils.deleteDirectory(file.getParentFile());
+                    } catch (IOException e) {
+                        System.out.println("failed to delete file " + file.getAbsolutePath());
+                    }
+                }
+            };
         }
         return ResponseEntity
                 .ok()
@@ -105,11 +158,14 @@ public class GenApiService implements GenApiDelegate {
                         "attachment; filename=\"" + g.getFriendlyName() + "-generated.zip\"")
                 .header("Accept-Range", "bytes")
                 //.header("Content-Length", bytes.length)
-                .body(resource);
+                .body(body);
     }
 
     @Override
     public ResponseEntity<ResponseCode> generateClient(String language, GeneratorInput generatorInput) {
+        if (streaming) {
+            return getResponse(language, Generator.Type.CLIENT, generatorInput, language + "-client");
+        }
         String filename = Generator.generateClient(language, generatorInput);
         return getResponse(filename, language + "-client");
     }
@@ -151,34 +207,91 @@ public class GenApiService implements GenApiDelegate {
         if (framework == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Framework is required");
         }
+        if (streaming) {
+            return getResponse(framework, Generator.Type.SERVER, generatorInput, framework + "-server");
+        }
         String filename = Generator.generateServer(framework, generatorInput);
         System.out.println("generated name: " + filename);
 
         return getResponse(filename, framework + "-server");
     }
 
-    private ResponseEntity<ResponseCode> getResponse(String filename, String friendlyName) {
-        String host = System.getenv("GENERATOR_HOST");
-
-        UriComponentsBuilder uriBuilder;
-        if (!StringUtils.isBlank(host)) {
-            uriBuilder = UriComponentsBuilder.fromUriString(host);
-        } else {
-            uriBuilder = ServletUriComponentsBuilder.fromCurrentContextPath();
-        }
+    private ResponseEntity<ResponseCode> getResponse(String language, Generator.Type type, GeneratorInput generatorInput, String friendlyName) {
+        Generator.check(language, generatorInput, type);
+        Generated g = new Generated();
+        g.setLanguage(language);
+        g.setType(type);
+        g.setGeneratorInput(generatorInput);
+        g.setFriendlyName(friendlyName);
+        return getResponse(g);
+    }
 
+    private ResponseEntity<ResponseCode> getResponse(String filename, String friendlyName) {
         if (filename != null) {
-            String code = UUID.randomUUID().toString();
             Generated g = new Generated();
             g.setFilename(filename);
             g.setFriendlyName(friendlyName);
-            fileMap.put(code, g);
-            System.out.println(code + ", " + filename);
-            String link = uriBuilder.path("/api/gen/download/").path(code).toUriString();
-            return ResponseEntity.ok().body(new ResponseCode(code, link));
+            return getResponse(g);
         } else {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    private ResponseEntity<ResponseCode> getResponse(Generated g) {
+        String code = UUID.randomUUID().toString();
+        fileMap.put(code, g);
+        System.out.println(code + ", " + (g.getFilename() != null ? g.getFilename() : g.getFriendlyName()));
+        String link = getUriBuilder().path("/api/gen/download/").path(code).toUriString();
+        return ResponseEntity.ok().body(new ResponseCode(code, link));
+    }
+
+    @Override
+    public ResponseEntity<JobStatus> submitClientJob(String language, GeneratorInput generatorInput) {
+        JobStatus status = jobService.submit(language, language + "-client",
+                () -> Generator.generateClient(language, generatorInput));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(withLinks(status));
+    }
+
+    @Override
+    public ResponseEntity<JobStatus> submitServerJob(String framework, GeneratorInput generatorInput) {
+        if (framework == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Framework is required");
+        }
+        JobStatus status = jobService.submit(framework, framework + "-server",
+                () -> Generator.generateServer(framework, generatorInput));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(withLinks(status));
+    }
+
+    @Override
+    public ResponseEntity<JobStatus> getJobStatus(String jobId) {
+        JobStatus status = jobService.getStatus(jobId);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().body(withLinks(status));
+    }
+
+    @Override
+    public ResponseEntity<JobMetrics> getJobMetrics() {
+        return ResponseEntity.ok().body(jobService.getMetrics());
+    }
+
+    private JobStatus withLinks(JobStatus status) {
+        status.setStatusLink(getUriBuilder().path("/api/gen/jobs/").path(status.getId()).toUriString());
+        if (status.getState() == JobStatus.State.SUCCEEDED) {
+            status.setDownloadLink(getUriBuilder().path("/api/gen/download/").path(status.getId()).toUriString());
+        }
+        return status;
+    }
+
+    private UriComponentsBuilder getUriBuilder() {
+        String host = System.getenv("GENERATOR_HOST");
+
+        if (!StringUtils.isBlank(host)) {
+            return UriComponentsBuilder.fromUriString(host);
+        } else {
+            return ServletUriComponentsBuilder.fromCurrentContextPath();
+        }
+    }
+
 }
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.online.model.Generated;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.openapitools.codegen.online.model.JobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs generation jobs in the background, on a bounded pool of workers fed by a bounded queue.
+ * <p>
+ * Each target (generator) may only have a limited number of pending jobs, so that a burst of requests for one target
+ * cannot starve the others. Finished jobs, and their generated files, are evicted after a while.
+ */
+@Service
+public class GenerationJobService implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationJobService.class);
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService sweeper;
+    private final int maxJobsPerTarget;
+    private final long ttlNanos;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // targets without pending jobs are removed, so that the map stays bounded whatever targets are requested
+    private final Map<String, Integer> pendingJobsByTarget = new ConcurrentHashMap<>();
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queuedNanos = new LongAdder();
+    private final LongAdder generationNanos = new LongAdder();
+    private final AtomicLong maxGenerationNanos = new AtomicLong();
+
+    /**
+     * @param workers          The number of jobs generated concurrently, or 0 for the number of processors
+     * @param queueCapacity    The number of jobs which may wait for a worker
+     * @param maxJobsPerTarget The number of jobs which may be pending (queued or running) for the same target
+     * @param ttlMinutes       The time after which a finished job, and its generated files, are evicted
+     */
+    @Autowired
+    public GenerationJobService(@Value("${generator.jobs.workers:0}") int workers,
+                                @Value("${generator.jobs.queue-capacity:100}") int queueCapacity,
+                                @Value("${generator.jobs.max-per-target:4}") int maxJobsPerTarget,
+                                @Value("${generator.jobs.ttl-minutes:30}") long ttlMinutes) {
+        // generation is CPU bound, so more workers than processors would only add contention
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadFactoryBuilder().setNameFormat("generator-job-%d").setDaemon(true).build());
+        this.maxJobsPerTarget = maxJobsPerTarget;
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("generator-job-sweeper").setDaemon(true).build());
+        this.sweeper.scheduleWithFixedDelay(this::evictExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Queues a generation job.
+     *
+     * @param target       The generator, which is subject to admission control
+     * @param friendlyName The name of the generated zip
+     * @param generation   Generates the code, and returns the name of the zip file
+     * @return The status of the queued job
+     * @throws ResponseStatusException with status 429 if the target has too many pending jobs, or 503 if the queue is full
+     */
+    public JobStatus submit(String target, String friendlyName, Supplier<String> generation) {
+        if (!admit(target)) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many pending jobs for target " + target);
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), friendlyName);
+        jobs.put(job.id, job);
+        submitted.increment();
+        try {
+            executor.execute(() -> run(job, target, generation));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            release(target);
+            submitted.decrement();
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The generation queue is full", e);
+        }
+        return job.toStatus();
+    }
+
+    private boolean admit(String target) {
+        boolean[] admitted = {false};
+        pendingJobsByTarget.compute(target, (k, pending) -> {
+            int count = pending == null ? 0 : pending;
+            if (count >= maxJobsPerTarget) {
+                return pending;
+            }
+            admitted[0] = true;
+            return count + 1;
+        });
+        return admitted[0];
+    }
+
+    private void release(String target) {
+        pendingJobsByTarget.computeIfPresent(target, (k, pending) -> pending > 1 ? pending - 1 : null);
+    }
+
+    private void run(Job job, String target, Supplier<String> generation) {
+        running.incrementAndGet();
+        job.startedAt = System.nanoTime();
+        job.state = JobStatus.State.RUNNING;
+        started.increment();
+        queuedNanos.add(job.startedAt - job.submittedAt);
+        String filename = null;
+        String error = "Generation was interrupted";
+        try {
+            filename = generation.get();
+        } catch (ResponseStatusException e) {
+            error = e.getReason();
+        } catch (Exception e) {
+            LOGGER.error("Job {} failed", job.id, e);
+            error = e.getMessage();
+        } finally {
+            // the end time is set before the state, as finished jobs expire relative to it
+            job.finishedAt = System.nanoTime();
+            long duration = job.finishedAt - job.startedAt;
+            generationNanos.add(duration);
+            maxGenerationNanos.accumulateAndGet(duration, Math::max);
+            if (filename != null) {
+                job.filename = filename;
+                job.state = JobStatus.State.SUCCEEDED;
+                succeeded.increment();
+            } else {
+                job.message = error;
+                job.state = JobStatus.State.FAILED;
+                failed.increment();
+            }
+            release(target);
+            running.decrementAndGet();
+        }
+    }
+
+    /**
+     * @param id The id of a job
+     * @return The status of the job, or null if there is no such job (or it has been evicted)
+     */
+    public JobStatus getStatus(String id) {
+        Job job = jobs.get(id);
+        return job == null ? null : job.toStatus();
+    }
+
+    /**
+     * @param id The id of a job
+     * @return The generated zip of the job, or null if the job has not succeeded (or it has been evicted)
+     */
+    public Generated getGenerated(String id) {
+        Job job = jobs.get(id);
+        if (job == null || job.state != JobStatus.State.SUCCEEDED) {
+            return null;
+        }
+        Generated g = new Generated();
+        g.setFilename(job.filename);
+        g.setFriendlyName(job.friendlyName);
+        return g;
+    }
+
+    /**
+     * @return The current state of the queue, and statistics since the service started
+     */
+    public JobMetrics getMetrics() {
+        JobMetrics metrics = new JobMetrics();
+        metrics.setQueueDepth(executor.getQueue().size());
+        metrics.setRunning(running.get());
+        metrics.setSubmitted(submitted.sum());
+        metrics.setSucceeded(succeeded.sum());
+        metrics.setFailed(failed.sum());
+        metrics.setRejected(rejected.sum());
+        long startedJobs = started.sum();
+        long finishedJobs = succeeded.sum() + failed.sum();
+        metrics.setAverageQueuedMillis(startedJobs == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(queuedNanos.sum() / startedJobs));
+        metrics.setAverageGenerationMillis(finishedJobs == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(generationNanos.sum() / finishedJobs));
+        metrics.setMaxGenerationMillis(TimeUnit.NANOSECONDS.toMillis(maxGenerationNanos.get()));
+        return metrics;
+    }
+
+    /**
+     * Evicts the jobs which finished longer ago than the time to live, and deletes their generated files.
+     */
+    void evictExpired() {
+        long now = System.nanoTime();
+        for (Iterator<Job> it = jobs.values().iterator(); it.hasNext(); ) {
+            Job job = it.next();
+            if (job.isFinished() && now - job.finishedAt >= ttlNanos) {
+                it.remove();
+                if (job.filename != null) {
+                    // the zip is the only file of its temporary folder
+                    FileUtils.deleteQuietly(new File(job.filename).getParentFile());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sweeper.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private static final class Job {
+        private final String id;
+        private final String friendlyName;
+        private final long submittedAt = System.nanoTime();
+        private volatile JobStatus.State state = JobStatus.State.QUEUED;
+        private volatile String message;
+        private volatile String filename;
+        private volatile long startedAt;
+        private volatile long finishedAt;
+
+        Job(String id, String friendlyName) {
+            this.id = id;
+            this.friendlyName = friendlyName;
+        }
+
+        boolean isFinished() {
+            return state == JobStatus.State.SUCCEEDED || state == JobStatus.State.FAILED;
+        }
+
+        JobStatus toStatus() {
+            JobStatus status = new JobStatus();
+            status.setId(id);
+            JobStatus.State current = state;
+            status.setState(current);
+            status.setMessage(message);
+            if (current != JobStatus.State.QUEUED) {
+                status.setQueuedMillis(TimeUnit.NANOSECONDS.toMillis(startedAt - submittedAt));
+            }
+            if (current == JobStatus.State.SUCCEEDED || current == JobStatus.State.FAILED) {
+                status.setGenerationMillis(TimeUnit.NANOSECONDS.toMillis(finishedAt - startedAt));
+            }
+            return status;
+        }
+    }
+}
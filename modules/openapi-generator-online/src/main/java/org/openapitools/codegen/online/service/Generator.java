@@ -28,22 +28,33 @@ import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.DefaultGenerator;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.utils.ParsedSpecCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipOutputStream;
 
 public class Generator {
     private static Logger LOGGER = LoggerFactory.getLogger(Generator.class);
 
+    // the same specification is often generated for several targets in a row
+    private static final ParsedSpecCache SPEC_CACHE = new ParsedSpecCache(64L * 1024 * 1024, TimeUnit.MINUTES.toSeconds(10));
+
     public static Map<String, CliOption> getOptions(String language) {
         CodegenConfig config;
         try {
@@ -81,7 +92,86 @@ public class Generator {
         return generate(language, opts, Type.SERVER);
     }
 
+    /**
+     * Checks that the specification can be parsed and that the target generator exists, without generating anything.
+     *
+     * @param language The target generator
+     * @param opts     The generation options
+     * @param type     The type of the target generator
+     */
+    public static void check(String language, GeneratorInput opts, Type type) {
+        prepare(language, opts, type, getStreamingFolder());
+    }
+
+    /**
+     * Configures the generator and runs the steps preceding generation (see {@link DefaultGenerator#prepare()}), so
+     * that errors are reported before a response is sent, and returns a body generating straight into a zip written
+     * to the response, without temporary files.
+     *
+     * @param language The target generator
+     * @param opts     The generation options
+     * @param type     The type of the target generator
+     * @return The body generating the zip, which doesn't close the response stream
+     */
+    public static StreamingResponseBody prepareZip(String language, GeneratorInput opts, Type type) {
+        ClientOptInput clientOptInput = prepare(language, opts, type, getStreamingFolder());
+        ResponseOutputStream target = new ResponseOutputStream();
+        ZipOutputStream zos = new ZipOutputStream(target);
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setZipOutputStream(zos);
+        generator.opts(clientOptInput);
+        try {
+            generator.prepare();
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to build target: " + e.getMessage(), e);
+        }
+        return out -> {
+            target.out = out;
+            List<File> files = generator.generate();
+            if (files.isEmpty()) {
+                LOGGER.warn("A target generation was attempted, but no files were created!");
+            }
+            zos.finish();
+            zos.flush();
+        };
+    }
+
     private static String generate(String language, GeneratorInput opts, Type type) {
+        ClientOptInput clientOptInput = prepare(language, opts, type, getTmpFolder());
+        String outputFolder = clientOptInput.getConfig().getOutputDir();
+        String outputFilename = outputFolder + "-bundle.zip";
+
+        try {
+            List<File> files = new DefaultGenerator().opts(clientOptInput).generate();
+            if (files.size() > 0) {
+                List<File> filesToAdd = new ArrayList<>();
+                LOGGER.debug("adding to {}", outputFolder);
+                filesToAdd.add(new File(outputFolder));
+                ZipUtil zip = new ZipUtil();
+                zip.compressFiles(filesToAdd, outputFilename);
+            } else {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "A target generation was attempted, but no files were created!");
+            }
+            for (File file : files) {
+                try {
+                    file.delete();
+                } catch (Exception e) {
+                    LOGGER.error("unable to delete file " + file.getAbsolutePath(), e);
+                }
+            }
+            try {
+                new File(outputFolder).delete();
+            } catch (Exception e) {
+                LOGGER.error("unable to delete output folder " + outputFolder, e);
+            }
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to build target: " + e.getMessage(), e);
+        }
+        return outputFilename;
+    }
+
+    private static ClientOptInput prepare(String language, GeneratorInput opts, Type type, File parentFolder) {
         LOGGER.debug(String.format(Locale.ROOT,"generate %s for %s", type.getTypeName(), language));
         if (opts == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No options were supplied");
@@ -101,18 +191,23 @@ public class Generator {
                     authorizationValues.add(opts.getAuthorizationValue());
                     openapi = new OpenAPIParser().readLocation(opts.getOpenAPIUrl(), authorizationValues, parseOptions).getOpenAPI();
                 } else {
-                    openapi = new OpenAPIParser().readLocation(opts.getOpenAPIUrl(), null, parseOptions).getOpenAPI();
+                    String url = opts.getOpenAPIUrl();
+                    openapi = SPEC_CACHE.get(ParsedSpecCache.locationKey(url), ParsedSpecCache.UNKNOWN_SIZE,
+                            () -> new OpenAPIParser().readLocation(url, null, parseOptions)).getOpenAPI();
                 }
             } else {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No OpenAPI specification was supplied");
             }
         } else if (opts.getAuthorizationValue() != null) {
+            // specifications fetched with credentials are not cached, so that they are not shared with other users
             List<AuthorizationValue> authorizationValues = new ArrayList<>();
             authorizationValues.add(opts.getAuthorizationValue());
             openapi = new OpenAPIParser().readContents(node.toString(), authorizationValues, parseOptions).getOpenAPI();
 
         } else {
-            openapi = new OpenAPIParser().readContents(node.toString(), null, parseOptions).getOpenAPI();
+            String content = node.toString();
+            openapi = SPEC_CACHE.get(ParsedSpecCache.contentKey(content), content.getBytes(StandardCharsets.UTF_8).length,
+                    () -> new OpenAPIParser().readContents(content, null, parseOptions)).getOpenAPI();
         }
         if (openapi == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The OpenAPI specification supplied was not valid");
@@ -128,8 +223,7 @@ public class Generator {
         }
 
         ClientOptInput clientOptInput = new ClientOptInput();
-        String outputFolder = getTmpFolder().getAbsolutePath() + File.separator + destPath;
-        String outputFilename = outputFolder + "-bundle.zip";
+        String outputFolder = parentFolder.getAbsolutePath() + File.separator + destPath;
 
         clientOptInput.openAPI(openapi);
 
@@ -148,35 +242,38 @@ public class Generator {
         codegenConfig.setOutputDir(outputFolder);
 
         clientOptInput.config(codegenConfig);
+        return clientOptInput;
+    }
 
-        try {
-            List<File> files = new DefaultGenerator().opts(clientOptInput).generate();
-            if (files.size() > 0) {
-                List<File> filesToAdd = new ArrayList<>();
-                LOGGER.debug("adding to {}", outputFolder);
-                filesToAdd.add(new File(outputFolder));
-                ZipUtil zip = new ZipUtil();
-                zip.compressFiles(filesToAdd, outputFilename);
-            } else {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "A target generation was attempted, but no files were created!");
-            }
-            for (File file : files) {
-                try {
-                    file.delete();
-                } catch (Exception e) {
-                    LOGGER.error("unable to delete file " + file.getAbsolutePath(), e);
-                }
-            }
-            try {
-                new File(outputFolder).delete();
-            } catch (Exception e) {
-                LOGGER.error("unable to delete output folder " + outputFolder, e);
-            }
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to build target: " + e.getMessage(), e);
+    /**
+     * The parent of the output folder when generating into a zip stream. Nothing is written to it, so it is not
+     * created: it only needs to be unique, so that no existing file (e.g. an ignore file) is picked up.
+     */
+    private static File getStreamingFolder() {
+        return new File(System.getProperty("java.io.tmpdir"), "codegen-stream-" + UUID.randomUUID());
+    }
+
+    /**
+     * The stream of the response, which is only known once the response is sent, after the zip stream wrapping it
+     * was handed to the generator.
+     */
+    private static final class ResponseOutputStream extends OutputStream {
+        private OutputStream out;
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
         }
-        return outputFilename;
     }
 
     private static File getTmpFolder() {
@@ -0,0 +1,93 @@
+package org.openapitools.codegen.online.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.openapitools.codegen.online.model.ResponseCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(GenApiController.class)
+@TestPropertySource(properties = "generator.streaming=true")
+public class GenApiControllerStreamingTest {
+
+    private static final String OPENAPI_URL = "https://raw.githubusercontent.com/OpenAPITools/openapi-generator/v4.3.1/modules/openapi-generator/src/test/resources/petstore.json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void generateClient() throws Exception {
+        Set<String> entries = generateAndDownload("clients", "java");
+        assertThat(entries, hasItem("java-client/pom.xml"));
+        assertThat(entries, hasItem("java-client/src/main/java/org/openapitools/client/api/PetApi.java"));
+    }
+
+    @Test
+    public void generateServer() throws Exception {
+        Set<String> entries = generateAndDownload("servers", "spring");
+        assertThat(entries, hasItem("spring-server/pom.xml"));
+    }
+
+    @Test
+    public void downloadOnce() throws Exception {
+        String code = generate("clients", "java");
+
+        download(code);
+        mockMvc.perform(get("http://test.com:1234/api/gen/download/" + code))
+                .andExpect(status().isNotFound());
+    }
+
+    private Set<String> generateAndDownload(String type, String name) throws Exception {
+        byte[] zip = download(generate(type, name));
+
+        Set<String> entries = new HashSet<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                entries.add(entry.getName());
+            }
+        }
+        return entries;
+    }
+
+    private String generate(String type, String name) throws Exception {
+        String result = mockMvc.perform(post("http://test.com:1234/api/gen/" + type + "/" + name)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"openAPIUrl\": \"" + OPENAPI_URL + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        return new ObjectMapper().readValue(result, ResponseCode.class).getCode();
+    }
+
+    private byte[] download(String code) throws Exception {
+        MvcResult result = mockMvc.perform(get("http://test.com:1234/api/gen/download/" + code))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentType("application/zip"))
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -1,8 +1,10 @@
 package org.openapitools.codegen.online.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -11,6 +13,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.text.MatchesPattern.matchesPattern;
@@ -125,4 +130,48 @@ public class GenApiControllerTest {
                 .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, not(0)));
     }
 
+    @Test
+    public void generateClientJob() throws Exception {
+        String result = mockMvc.perform(post("http://test.com:1234/api/gen/jobs/clients/java")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"openAPIUrl\": \"" + OPENAPI_URL + "\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(matchesPattern(UUID_REGEX)))
+                .andExpect(jsonPath("$.statusLink").value(matchesPattern("http\\:\\/\\/test.com\\:1234\\/api\\/gen\\/jobs\\/" + UUID_REGEX)))
+                .andReturn().getResponse().getContentAsString();
+
+        String id = new ObjectMapper().readValue(result, JobStatus.class).getId();
+
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        JobStatus status;
+        do {
+            Assert.assertTrue("Job did not finish in time", System.nanoTime() < deadline);
+            Thread.sleep(100);
+            status = new ObjectMapper().readValue(mockMvc.perform(get("http://test.com:1234/api/gen/jobs/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), JobStatus.class);
+        } while (status.getState() == JobStatus.State.QUEUED || status.getState() == JobStatus.State.RUNNING);
+
+        Assert.assertEquals(JobStatus.State.SUCCEEDED, status.getState());
+        Assert.assertEquals("http://test.com:1234/api/gen/download/" + id, status.getDownloadLink());
+
+        // the download link of the job stays valid until the job is evicted
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("http://test.com:1234/api/gen/download/" + id))
+                    .andExpect(content().contentType("application/zip"))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("http://test.com:1234/api/gen/jobs/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    public void unknownJob() throws Exception {
+        mockMvc.perform(get("/api/gen/jobs/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
 }
@@ -0,0 +1,139 @@
+package org.openapitools.codegen.online.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openapitools.codegen.online.model.Generated;
+import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobStatus;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class GenApiServiceTest {
+
+    private static final String SPEC = "{\"openapi\": \"3.0.1\", \"info\": {\"title\": \"test\", \"version\": \"1.0\"}, " +
+            "\"paths\": {\"/pets\": {\"get\": {\"operationId\": \"listPets\", \"responses\": {\"200\": {\"description\": \"ok\", " +
+            "\"content\": {\"application/json\": {\"schema\": {\"$ref\": \"#/components/schemas/Pet\"}}}}}}}}, " +
+            "\"components\": {\"schemas\": {\"Pet\": {\"type\": \"object\", \"properties\": {\"name\": {\"type\": \"string\"}}}}}}";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private GenerationJobService jobService;
+
+    @Before
+    public void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        jobService = new GenerationJobService(1, 1, 1, 1);
+    }
+
+    @After
+    public void tearDown() {
+        jobService.destroy();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void evictsStreamedDownloadsAfterTheirTimeToLive() throws Exception {
+        GenApiService service = service(true);
+        String first = service.generateClient("java", input()).getBody().getCode();
+        String second = service.generateClient("java", input()).getBody().getCode();
+
+        assertEquals(HttpStatus.OK, service.downloadFile(first).getStatusCode());
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        assertNotFound(service, second);
+    }
+
+    @Test
+    public void rejectsStreamedDownloadsWhichCannotBeGeneratedBeforeSendingThem() throws Exception {
+        GenApiService service = service(true);
+        GeneratorInput input = input();
+        // only 'kumuluzee' is supported, which the java generator checks while processing its options
+        input.setOptions(Collections.singletonMap("microprofileFramework", "none"));
+        String code = service.generateClient("java", input).getBody().getCode();
+
+        try {
+            service.downloadFile(code);
+            fail("the download should have been rejected");
+        } catch (ResponseStatusException e) {
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        }
+    }
+
+    @Test
+    public void deletesTheZipOfEvictedDownloads() throws Exception {
+        GenApiService service = service(false);
+        String code = service.generateClient("java", input()).getBody().getCode();
+        File folder = new File(getFilename(service, code)).getParentFile();
+        assertTrue(folder.exists());
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        assertNotFound(service, code);
+        assertFalse(folder.exists());
+    }
+
+    @Test
+    public void keepsTheZipOfAJobUntilTheJobIsEvicted() throws Exception {
+        GenApiService service = service(false);
+        String id = service.submitClientJob("java", input()).getBody().getId();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        JobStatus status = jobService.getStatus(id);
+        while (status.getState() == JobStatus.State.QUEUED || status.getState() == JobStatus.State.RUNNING) {
+            assertTrue("Job did not finish in time", System.nanoTime() < deadline);
+            Thread.sleep(10);
+            status = jobService.getStatus(id);
+        }
+        assertEquals(JobStatus.State.SUCCEEDED, status.getState());
+
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<StreamingResponseBody> download = service.downloadFile(id);
+            assertEquals(HttpStatus.OK, download.getStatusCode());
+            download.getBody().writeTo(new ByteArrayOutputStream());
+        }
+        assertNotNull(service.getJobStatus(id).getBody().getDownloadLink());
+        assertTrue(new File(jobService.getGenerated(id).getFilename()).exists());
+    }
+
+    private GenApiService service(boolean streaming) {
+        GenApiService service = new GenApiService(10, 1, nanos::get);
+        ReflectionTestUtils.setField(service, "streaming", streaming);
+        ReflectionTestUtils.setField(service, "jobService", jobService);
+        return service;
+    }
+
+    private static GeneratorInput input() throws Exception {
+        GeneratorInput input = new GeneratorInput();
+        input.setSpec(new ObjectMapper().readTree(SPEC));
+        return input;
+    }
+
+    private static String getFilename(GenApiService service, String code) {
+        @SuppressWarnings("unchecked")
+        Cache<String, Generated> fileMap = (Cache<String, Generated>) ReflectionTestUtils.getField(service, "fileMap");
+        return fileMap.asMap().get(code).getFilename();
+    }
+
+    private static void assertNotFound(GenApiService service, String code) {
+        try {
+            service.downloadFile(code);
+            fail("the download should have been evicted");
+        } catch (ResponseStatusException e) {
+            assertEquals(HttpStatus.NOT_FOUND, e.getStatus());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.openapitools.codegen.online.service;
+
+import org.junit.Test;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.openapitools.codegen.online.model.JobStatus;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class GenerationJobServiceTest {
+
+    @Test
+    public void runsJobs() throws Exception {
+        GenerationJobService service = new GenerationJobService(1, 10, 10, 30);
+        try {
+            JobStatus status = service.submit("java", "java-client", () -> "/tmp/java-client-bundle.zip");
+            JobStatus finished = await(service, status.getId());
+
+            assertEquals(JobStatus.State.SUCCEEDED, finished.getState());
+            assertNotNull(finished.getGenerationMillis());
+            assertEquals("/tmp/java-client-bundle.zip", service.getGenerated(status.getId()).getFilename());
+            assertEquals("java-client", service.getGenerated(status.getId()).getFriendlyName());
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void recordsFailures() throws Exception {
+        GenerationJobService service = new GenerationJobService(1, 10, 10, 30);
+        try {
+            JobStatus status = service.submit("java", "java-client", () -> {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The OpenAPI specification supplied was not valid");
+            });
+            JobStatus finished = await(service, status.getId());
+
+            assertEquals(JobStatus.State.FAILED, finished.getState());
+            assertEquals("The OpenAPI specification supplied was not valid", finished.getMessage());
+            assertNull(service.getGenerated(status.getId()));
+            assertEquals(1, service.getMetrics().getFailed());
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void limitsPendingJobsPerTarget() throws Exception {
+        GenerationJobService service = new GenerationJobService(2, 10, 1, 30);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            JobStatus first = service.submit("java", "java-client", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "/tmp/java-client-bundle.zip";
+            });
+            try {
+                service.submit("java", "java-client", () -> "/tmp/java-client-bundle.zip");
+                fail("Expected the second job of the same target to be rejected");
+            } catch (ResponseStatusException e) {
+                assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatus());
+            }
+            JobStatus other = service.submit("go", "go-client", () -> "/tmp/go-client-bundle.zip");
+            assertEquals(JobStatus.State.SUCCEEDED, await(service, other.getId()).getState());
+
+            release.countDown();
+            assertEquals(JobStatus.State.SUCCEEDED, await(service, first.getId()).getState());
+            JobStatus third = service.submit("java", "java-client", () -> "/tmp/java-client-bundle.zip");
+            assertEquals(JobStatus.State.SUCCEEDED, await(service, third.getId()).getState());
+
+            JobMetrics metrics = service.getMetrics();
+            assertEquals(3, metrics.getSubmitted());
+            assertEquals(3, metrics.getSucceeded());
+            assertEquals(1, metrics.getRejected());
+            assertEquals(0, metrics.getQueueDepth());
+        } finally {
+            release.countDown();
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void rejectsJobsWhenTheQueueIsFull() throws Exception {
+        GenerationJobService service = new GenerationJobService(1, 1, 10, 30);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            JobStatus running = service.submit("java", "java-client", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "/tmp/java-client-bundle.zip";
+            });
+            while (service.getStatus(running.getId()).getState() == JobStatus.State.QUEUED) {
+                Thread.sleep(10);
+            }
+            service.submit("java", "java-client", () -> "/tmp/java-client-bundle.zip");
+            assertEquals(1, service.getMetrics().getQueueDepth());
+            try {
+                service.submit("java", "java-client", () -> "/tmp/java-client-bundle.zip");
+                fail("Expected the job to be rejected");
+            } catch (ResponseStatusException e) {
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+            }
+        } finally {
+            release.countDown();
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void evictsFinishedJobs() throws Exception {
+        GenerationJobService service = new GenerationJobService(1, 10, 10, 0);
+        try {
+            JobStatus status = service.submit("java", "java-client", () -> "/tmp/does-not-exist/java-client-bundle.zip");
+            await(service, status.getId());
+
+            service.evictExpired();
+
+            assertNull(service.getStatus(status.getId()));
+            assertNull(service.getGenerated(status.getId()));
+        } finally {
+            service.destroy();
+        }
+    }
+
+    private static JobStatus await(GenerationJobService service, String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        JobStatus status = service.getStatus(id);
+        while (status.getState() == JobStatus.State.QUEUED || status.getState() == JobStatus.State.RUNNING) {
+            assertTrue("Job did not finish in time", System.nanoTime() < deadline);
+            Thread.sleep(10);
+            status = service.getStatus(id);
+        }
+        return status;
+    }
+}
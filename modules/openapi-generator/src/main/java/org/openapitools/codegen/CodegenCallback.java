@@ -29,6 +29,24 @@ public class CodegenCallback {
         public List<CodegenOperation> requests = new ArrayList<>();
         public Map<String, Object> vendorExtensions = new HashMap<>();
 
+        /**
+         * @return A copy of the url, with copies of its requests
+         */
+        public Url copy() {
+            Url output = new Url();
+            output.expression = expression;
+            if (requests != null) {
+                output.requests = new ArrayList<>(requests.size());
+                for (CodegenOperation request : requests) {
+                    output.requests.add(request == null ? null : request.copy());
+                }
+            } else {
+                output.requests = null;
+            }
+            output.vendorExtensions = VendorExtensions.copy(vendorExtensions);
+            return output;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -54,6 +72,24 @@ public class CodegenCallback {
         }
     }
 
+    /**
+     * @return A copy of the callback, with copies of its urls and their requests
+     */
+    public CodegenCallback copy() {
+        CodegenCallback output = new CodegenCallback();
+        output.name = name;
+        if (urls != null) {
+            output.urls = new ArrayList<>(urls.size());
+            for (Url url : urls) {
+                output.urls.add(url == null ? null : url.copy());
+            }
+        } else {
+            output.urls = null;
+        }
+        output.vendorExtensions = VendorExtensions.copy(vendorExtensions);
+        return output;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
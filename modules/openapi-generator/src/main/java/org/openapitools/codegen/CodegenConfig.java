@@ -284,6 +284,10 @@ public interface CodegenConfig {
 
     void postProcessFile(File file, String fileType);
 
+    void postProcessFiles(List<File> files, String fileType);
+
+    boolean supportsBatchPostProcessing();
+
     boolean isEnablePostProcessFile();
 
     void setEnablePostProcessFile(boolean isEnablePostProcessFile);
@@ -303,6 +307,22 @@ public interface CodegenConfig {
 
     public void setEnableMinimalUpdate(boolean isEnableMinimalUpdate);
 
+    int getRenderThreads();
+
+    void setRenderThreads(int renderThreads);
+
+    int getPostProcessThreads();
+
+    void setPostProcessThreads(int postProcessThreads);
+
+    int getPostProcessBatchSize();
+
+    void setPostProcessBatchSize(int postProcessBatchSize);
+
+    int getPostProcessFileTimeout();
+
+    void setPostProcessFileTimeout(int postProcessFileTimeout);
+
     boolean isStrictSpecBehavior();
 
     void setStrictSpecBehavior(boolean strictSpecBehavior);
@@ -18,10 +18,16 @@
 package org.openapitools.codegen;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
 
 public class CodegenConfigLoader {
+    // the generator classes discovered with SPI, by name: discovery instantiates every generator, so it is done once
+    private static volatile Map<String, Class<? extends CodegenConfig>> configClasses;
+
     /**
      * Tries to load config class with SPI first, then with class name directly from classpath
      *
@@ -29,26 +35,48 @@ public class CodegenConfigLoader {
      * @return config class
      */
     public static CodegenConfig forName(String name) {
-        ServiceLoader<CodegenConfig> loader = ServiceLoader.load(CodegenConfig.class, CodegenConfig.class.getClassLoader());
-
-        StringBuilder availableConfigs = new StringBuilder();
+        Map<String, Class<? extends CodegenConfig>> classes = getConfigClasses();
 
-        for (CodegenConfig config : loader) {
-            if (config.getName().equals(name)) {
-                return config;
+        Class<? extends CodegenConfig> configClass = classes.get(name);
+        if (configClass != null) {
+            try {
+                return configClass.getDeclaredConstructor().newInstance();
+            } catch (Exception e) {
+                throw new GeneratorNotFoundException("Can't instantiate config class '" + configClass.getName() + "' for name '" + name + "'", e);
             }
-
-            availableConfigs.append(config.getName()).append("\n");
         }
 
         // else try to load directly
         try {
             return (CodegenConfig) Class.forName(name).getDeclaredConstructor().newInstance();
         } catch (Exception e) {
+            StringBuilder availableConfigs = new StringBuilder();
+            for (String available : classes.keySet()) {
+                availableConfigs.append(available).append("\n");
+            }
             throw new GeneratorNotFoundException("Can't load config class with name '".concat(name) + "'\nAvailable:\n" + availableConfigs, e);
         }
     }
 
+    private static Map<String, Class<? extends CodegenConfig>> getConfigClasses() {
+        Map<String, Class<? extends CodegenConfig>> classes = configClasses;
+        if (classes == null) {
+            synchronized (CodegenConfigLoader.class) {
+                classes = configClasses;
+                if (classes == null) {
+                    Map<String, Class<? extends CodegenConfig>> discovered = new LinkedHashMap<>();
+                    for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class, CodegenConfig.class.getClassLoader())) {
+                        // the first generator with a given name wins, as when iterating over the service loader
+                        discovered.putIfAbsent(config.getName(), config.getClass());
+                    }
+                    classes = Collections.unmodifiableMap(discovered);
+                    configClasses = classes;
+                }
+            }
+        }
+        return classes;
+    }
+
     public static List<CodegenConfig> getAll() {
         ServiceLoader<CodegenConfig> loader = ServiceLoader.load(CodegenConfig.class, CodegenConfig.class.getClassLoader());
         List<CodegenConfig> output = new ArrayList<CodegenConfig>();
@@ -33,6 +33,7 @@ public class CodegenConstants {
 
     public static final String WITH_XML = "withXml";
     public static final String SKIP_FORM_MODEL = "skipFormModel";
+    public static final String INCREMENTAL_GENERATION = "incrementalGeneration";
     /* /end System Properties */
 
     public static final String API_NAME = "apiName";
@@ -222,6 +223,9 @@ public class CodegenConstants {
     public static final String TEMPLATING_ENGINE = "templatingEngine";
     public static final String TEMPLATING_ENGINE_DESC = "The templating engine plugin to use: \"mustache\" (default) or \"handlebars\" (beta)";
 
+    public static final String HANDLEBARS_FIELD_FIRST_RESOLUTION = "handlebarsFieldFirstResolution";
+    public static final String HANDLEBARS_FIELD_FIRST_RESOLUTION_DESC = "With the handlebars templating engine, look up template variables in public fields before bean getters. Default: false";
+
     public static enum PARAM_NAMING_TYPE {camelCase, PascalCase, snake_case, original}
 
     public static enum MODEL_PROPERTY_NAMING_TYPE {camelCase, PascalCase, snake_case, original}
@@ -331,6 +335,12 @@ public class CodegenConstants {
     public static final String SKIP_OPERATION_EXAMPLE = "skipOperationExample";
     public static final String SKIP_OPERATION_EXAMPLE_DESC = "Skip examples defined in operations to avoid out of memory errors.";
 
+    public static final String EXAMPLE_MAX_DEPTH = "exampleMaxDepth";
+    public static final String EXAMPLE_MAX_DEPTH_DESC = "Maximum number of nested models in the generated examples of operations. Default: 0 (no limit, each model is expanded once per example)";
+
+    public static final String EXAMPLE_MAX_ARRAY_ITEMS = "exampleMaxArrayItems";
+    public static final String EXAMPLE_MAX_ARRAY_ITEMS_DESC = "Maximum number of items of arrays in the generated examples of operations. Default: 5";
+
     public static final String STRIP_PACKAGE_NAME = "stripPackageName";
     public static final String STRIP_PACKAGE_NAME_DESC = "Whether to strip leading dot-separated packages from generated model classes";
 
@@ -285,6 +285,255 @@ public class CodegenOperation {
         return ("/{" + id + "}").equals(pathWithoutBaseName());
     }
 
+    /**
+     * Returns a copy of the operation, e.g. to add the same operation to several groups (tags), which generators
+     * may then post-process independently.
+     * <p>
+     * Parameters, the return property, the response headers, the responses and the callbacks are copied, along with
+     * the properties nested in them (items, additional properties, vars, ...). A parameter or property reachable from
+     * several places, e.g. from both {@link #allParams} and {@link #queryParams}, is copied once, so the copies share
+     * it the same way. The servers, and the OpenAPI schemas of responses, are shared with the original. Vendor
+     * extensions of the copied objects are copied along with the maps, lists and sets nested in them.
+     *
+     * @return A copy of the operation
+     */
+    public CodegenOperation copy() {
+        CodegenOperation output = new CodegenOperation();
+        PropertyCopier properties = new PropertyCopier();
+        for (CodegenProperty header : responseHeaders) {
+            output.responseHeaders.add(properties.copy(header));
+        }
+        output.hasAuthMethods = hasAuthMethods;
+        output.hasConsumes = hasConsumes;
+        output.hasProduces = hasProduces;
+        output.hasParams = hasParams;
+        output.hasOptionalParams = hasOptionalParams;
+        output.hasRequiredParams = hasRequiredParams;
+        output.returnTypeIsPrimitive = returnTypeIsPrimitive;
+        output.returnSimpleType = returnSimpleType;
+        output.subresourceOperation = subresourceOperation;
+        output.isMap = isMap;
+        output.isArray = isArray;
+        output.isMultipart = isMultipart;
+        output.isResponseBinary = isResponseBinary;
+        output.isResponseFile = isResponseFile;
+        output.isResponseOptional = isResponseOptional;
+        output.hasReference = hasReference;
+        output.defaultReturnType = defaultReturnType;
+        output.isRestfulIndex = isRestfulIndex;
+        output.isRestfulShow = isRestfulShow;
+        output.isRestfulCreate = isRestfulCreate;
+        output.isRestfulUpdate = isRestfulUpdate;
+        output.isRestfulDestroy = isRestfulDestroy;
+        output.isRestful = isRestful;
+        output.isDeprecated = isDeprecated;
+        output.isCallbackRequest = isCallbackRequest;
+        output.uniqueItems = uniqueItems;
+        output.hasDefaultResponse = hasDefaultResponse;
+        output.hasErrorResponseObject = hasErrorResponseObject;
+        output.returnProperty = properties.copy(returnProperty);
+        output.path = path;
+        output.operationId = operationId;
+        output.returnType = returnType;
+        output.returnFormat = returnFormat;
+        output.httpMethod = httpMethod;
+        output.returnBaseType = returnBaseType;
+        output.returnContainer = returnContainer;
+        output.summary = summary;
+        output.unescapedNotes = unescapedNotes;
+        output.notes = notes;
+        output.baseName = baseName;
+        output.defaultResponse = defaultResponse;
+        output.discriminator = discriminator;
+        output.consumes = copyMaps(consumes);
+        output.produces = copyMaps(produces);
+        output.prioritizedContentTypes = copyMaps(prioritizedContentTypes);
+        output.servers = servers == null ? null : new ArrayList<CodegenServer>(servers);
+
+        Map<CodegenParameter, CodegenParameter> parameters = new IdentityHashMap<CodegenParameter, CodegenParameter>();
+        output.bodyParam = copyParameter(bodyParam, parameters, properties);
+        output.allParams = copyParameters(allParams, parameters, properties);
+        output.bodyParams = copyParameters(bodyParams, parameters, properties);
+        output.pathParams = copyParameters(pathParams, parameters, properties);
+        output.queryParams = copyParameters(queryParams, parameters, properties);
+        output.headerParams = copyParameters(headerParams, parameters, properties);
+        output.implicitHeadersParams = copyParameters(implicitHeadersParams, parameters, properties);
+        output.formParams = copyParameters(formParams, parameters, properties);
+        output.cookieParams = copyParameters(cookieParams, parameters, properties);
+        output.requiredParams = copyParameters(requiredParams, parameters, properties);
+        output.optionalParams = copyParameters(optionalParams, parameters, properties);
+
+        if (authMethods != null) {
+            output.authMethods = new ArrayList<CodegenSecurity>(authMethods.size());
+            for (CodegenSecurity authMethod : authMethods) {
+                output.authMethods.add(authMethod == null ? null : authMethod.copy());
+            }
+        }
+        output.tags = tags == null ? null : new ArrayList<Tag>(tags);
+        if (responses != null) {
+            output.responses = new ArrayList<CodegenResponse>(responses.size());
+            for (CodegenResponse response : responses) {
+                output.responses.add(response == null ? null : properties.copyNested(response.copy()));
+            }
+        } else {
+            output.responses = null;
+        }
+        if (callbacks != null) {
+            output.callbacks = new ArrayList<CodegenCallback>(callbacks.size());
+            for (CodegenCallback callback : callbacks) {
+                output.callbacks.add(callback == null ? null : callback.copy());
+            }
+        } else {
+            output.callbacks = null;
+        }
+        output.imports = imports == null ? null : new HashSet<String>(imports);
+        output.examples = copyMaps(examples);
+        output.requestBodyExamples = copyMaps(requestBodyExamples);
+        output.externalDocs = externalDocs;
+        output.vendorExtensions = VendorExtensions.copy(vendorExtensions);
+        output.nickname = nickname;
+        output.operationIdOriginal = operationIdOriginal;
+        output.operationIdLowerCase = operationIdLowerCase;
+        output.operationIdCamelCase = operationIdCamelCase;
+        output.operationIdSnakeCase = operationIdSnakeCase;
+
+        return output;
+    }
+
+    private static List<Map<String, String>> copyMaps(List<Map<String, String>> maps) {
+        if (maps == null) {
+            return null;
+        }
+        List<Map<String, String>> output = new ArrayList<Map<String, String>>(maps.size());
+        for (Map<String, String> map : maps) {
+            output.add(map == null ? null : new LinkedHashMap<String, String>(map));
+        }
+        return output;
+    }
+
+    private static CodegenParameter copyParameter(CodegenParameter parameter, Map<CodegenParameter, CodegenParameter> copies,
+                                                  PropertyCopier properties) {
+        if (parameter == null) {
+            return null;
+        }
+        CodegenParameter output = copies.get(parameter);
+        if (output == null) {
+            output = properties.copyNested(parameter.copy());
+            copies.put(parameter, output);
+        }
+        return output;
+    }
+
+    private static List<CodegenParameter> copyParameters(List<CodegenParameter> parameters, Map<CodegenParameter, CodegenParameter> copies,
+                                                         PropertyCopier properties) {
+        if (parameters == null) {
+            return null;
+        }
+        List<CodegenParameter> output = new ArrayList<CodegenParameter>(parameters.size());
+        for (CodegenParameter parameter : parameters) {
+            output.add(copyParameter(parameter, copies, properties));
+        }
+        return output;
+    }
+
+    /**
+     * Copies the properties of a copied operation, including the properties nested in them, once per property.
+     */
+    private static final class PropertyCopier {
+        private final Map<CodegenProperty, CodegenProperty> copies = new IdentityHashMap<CodegenProperty, CodegenProperty>();
+
+        CodegenProperty copy(CodegenProperty property) {
+            if (property == null) {
+                return null;
+            }
+            CodegenProperty output = copies.get(property);
+            if (output != null) {
+                return output;
+            }
+            output = property.clone();
+            // registered before copying the nested properties, as these may refer back to the property
+            copies.put(property, output);
+            output.vendorExtensions = VendorExtensions.copy(property.vendorExtensions);
+            output.items = copy(property.items);
+            output.additionalProperties = copy(property.additionalProperties);
+            output.mostInnerItems = copy(property.mostInnerItems);
+            output.vars = copy(property.vars);
+            output.requiredVars = copy(property.requiredVars);
+            output.setRequiredVarsMap(copy(property.getRequiredVarsMap()));
+            output.setComposedSchemas(copy(property.getComposedSchemas()));
+            output.setContains(copy(property.getContains()));
+            return output;
+        }
+
+        List<CodegenProperty> copy(List<CodegenProperty> properties) {
+            if (properties == null) {
+                return null;
+            }
+            List<CodegenProperty> output = new ArrayList<CodegenProperty>(properties.size());
+            for (CodegenProperty property : properties) {
+                output.add(copy(property));
+            }
+            return output;
+        }
+
+        Map<String, CodegenProperty> copy(Map<String, CodegenProperty> properties) {
+            if (properties == null) {
+                return null;
+            }
+            Map<String, CodegenProperty> output = new LinkedHashMap<String, CodegenProperty>();
+            for (Map.Entry<String, CodegenProperty> entry : properties.entrySet()) {
+                output.put(entry.getKey(), copy(entry.getValue()));
+            }
+            return output;
+        }
+
+        CodegenComposedSchemas copy(CodegenComposedSchemas composedSchemas) {
+            if (composedSchemas == null) {
+                return null;
+            }
+            return new CodegenComposedSchemas(copy(composedSchemas.getAllOf()), copy(composedSchemas.getOneOf()),
+                    copy(composedSchemas.getAnyOf()), copy(composedSchemas.getNot()));
+        }
+
+        /**
+         * Replaces the properties shared by a copied parameter with their copies.
+         */
+        CodegenParameter copyNested(CodegenParameter parameter) {
+            parameter.items = copy(parameter.items);
+            parameter.additionalProperties = copy(parameter.additionalProperties);
+            parameter.mostInnerItems = copy(parameter.mostInnerItems);
+            parameter.vars = copy(parameter.vars);
+            parameter.requiredVars = copy(parameter.requiredVars);
+            parameter.setSchema(copy(parameter.getSchema()));
+            parameter.setRequiredVarsMap(copy(parameter.getRequiredVarsMap()));
+            parameter.setComposedSchemas(copy(parameter.getComposedSchemas()));
+            return parameter;
+        }
+
+        /**
+         * Replaces the properties shared by a copied response with their copies.
+         */
+        CodegenResponse copyNested(CodegenResponse response) {
+            List<CodegenProperty> headers = copy(response.headers);
+            response.headers.clear();
+            response.headers.addAll(headers);
+            if (response.getResponseHeaders() != null) {
+                for (CodegenParameter header : response.getResponseHeaders()) {
+                    if (header != null) {
+                        copyNested(header);
+                    }
+                }
+            }
+            response.items = copy(response.items);
+            response.additionalProperties = copy(response.additionalProperties);
+            response.vars = copy(response.vars);
+            response.requiredVars = copy(response.requiredVars);
+            response.setRequiredVarsMap(copy(response.getRequiredVarsMap()));
+            response.setComposedSchemas(copy(response.getComposedSchemas()));
+            return response;
+        }
+    }
+
     @Override
     public String toString() {
         final StringBuffer sb = new StringBuffer("CodegenOperation{");
@@ -123,6 +123,7 @@ public class CodegenParameter implements IJsonSchemaValidationProperties {
         output.isContainer = this.isContainer;
         output.baseName = this.baseName;
         output.paramName = this.paramName;
+        output.nameInLowerCase = this.nameInLowerCase;
         output.dataType = this.dataType;
         output.datatypeWithEnum = this.datatypeWithEnum;
         output.enumName = this.enumName;
@@ -200,7 +201,7 @@ public class CodegenParameter implements IJsonSchemaValidationProperties {
             output.mostInnerItems = this.mostInnerItems;
         }
         if (this.vendorExtensions != null) {
-            output.vendorExtensions = new HashMap<String, Object>(this.vendorExtensions);
+            output.vendorExtensions = VendorExtensions.copy(this.vendorExtensions);
         }
         if (this.requiredVarsMap != null) {
             output.setRequiredVarsMap(this.requiredVarsMap);
@@ -94,6 +94,103 @@ public class CodegenResponse implements IJsonSchemaValidationProperties {
     private String ref;
     private boolean schemaIsFromAdditionalProperties;
 
+    /**
+     * @return A copy of the response, whose own values, lists and maps can be changed without changing this response.
+     * Like {@link CodegenParameter#copy()}, the properties describing its schema are shared.
+     */
+    public CodegenResponse copy() {
+        CodegenResponse output = new CodegenResponse();
+        for (CodegenProperty header : headers) {
+            output.headers.add(header == null ? null : header.clone());
+        }
+        if (this.responseHeaders != null) {
+            output.responseHeaders = new ArrayList<CodegenParameter>(this.responseHeaders.size());
+            for (CodegenParameter header : this.responseHeaders) {
+                output.responseHeaders.add(header == null ? null : header.copy());
+            }
+        } else {
+            output.responseHeaders = null;
+        }
+        output.code = this.code;
+        output.message = this.message;
+        output.dataType = this.dataType;
+        output.baseType = this.baseType;
+        output.containerType = this.containerType;
+        output.is1xx = this.is1xx;
+        output.is2xx = this.is2xx;
+        output.is3xx = this.is3xx;
+        output.is4xx = this.is4xx;
+        output.is5xx = this.is5xx;
+        output.hasHeaders = this.hasHeaders;
+        output.isString = this.isString;
+        output.isNumeric = this.isNumeric;
+        output.isInteger = this.isInteger;
+        output.isShort = this.isShort;
+        output.isLong = this.isLong;
+        output.isUnboundedInteger = this.isUnboundedInteger;
+        output.isNumber = this.isNumber;
+        output.isFloat = this.isFloat;
+        output.isDouble = this.isDouble;
+        output.isDecimal = this.isDecimal;
+        output.isByteArray = this.isByteArray;
+        output.isBoolean = this.isBoolean;
+        output.isDate = this.isDate;
+        output.isDateTime = this.isDateTime;
+        output.isUuid = this.isUuid;
+        output.isEmail = this.isEmail;
+        output.isModel = this.isModel;
+        output.isFreeFormObject = this.isFreeFormObject;
+        output.isAnyType = this.isAnyType;
+        output.isDefault = this.isDefault;
+        output.simpleType = this.simpleType;
+        output.primitiveType = this.primitiveType;
+        output.isMap = this.isMap;
+        output.isArray = this.isArray;
+        output.isBinary = this.isBinary;
+        output.isFile = this.isFile;
+        output.isNull = this.isNull;
+        output.schema = this.schema;
+        output.jsonSchema = this.jsonSchema;
+        output.maxProperties = this.maxProperties;
+        output.minProperties = this.minProperties;
+        output.uniqueItems = this.uniqueItems;
+        output.uniqueItemsBoolean = this.uniqueItemsBoolean;
+        output.maxItems = this.maxItems;
+        output.minItems = this.minItems;
+        output.maxLength = this.maxLength;
+        output.minLength = this.minLength;
+        output.exclusiveMinimum = this.exclusiveMinimum;
+        output.exclusiveMaximum = this.exclusiveMaximum;
+        output.minimum = this.minimum;
+        output.maximum = this.maximum;
+        output.pattern = this.pattern;
+        output.multipleOf = this.multipleOf;
+        output.items = this.items;
+        output.additionalProperties = this.additionalProperties;
+        output.hasValidation = this.hasValidation;
+        output.additionalPropertiesIsAnyType = this.additionalPropertiesIsAnyType;
+        output.hasVars = this.hasVars;
+        output.hasRequired = this.hasRequired;
+        output.hasDiscriminatorWithNonEmptyMapping = this.hasDiscriminatorWithNonEmptyMapping;
+        output.composedSchemas = this.composedSchemas;
+        output.hasMultipleTypes = this.hasMultipleTypes;
+        output.ref = this.ref;
+        output.schemaIsFromAdditionalProperties = this.schemaIsFromAdditionalProperties;
+
+        if (this.examples != null) {
+            output.examples = new ArrayList<Map<String, Object>>(this.examples.size());
+            for (Map<String, Object> example : this.examples) {
+                output.examples.add(example == null ? null : new LinkedHashMap<String, Object>(example));
+            }
+        }
+        output.vendorExtensions = VendorExtensions.copy(this.vendorExtensions);
+        output.vars = this.vars == null ? null : new ArrayList<CodegenProperty>(this.vars);
+        output.requiredVars = this.requiredVars == null ? null : new ArrayList<CodegenProperty>(this.requiredVars);
+        output.content = this.content == null ? null : new LinkedHashMap<String, CodegenMediaType>(this.content);
+        output.requiredVarsMap = this.requiredVarsMap == null ? null : new HashMap<String, CodegenProperty>(this.requiredVarsMap);
+        return output;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(headers, code, message, examples, dataType, baseType, containerType, hasHeaders,
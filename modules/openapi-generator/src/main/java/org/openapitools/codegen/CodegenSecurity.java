@@ -87,6 +87,42 @@ public class CodegenSecurity {
         return filteredSecurity;
     }
 
+    // Return a copy of the security object, so that generators may modify it (and its scopes) independently.
+    public CodegenSecurity copy() {
+        CodegenSecurity output = new CodegenSecurity();
+        output.name = name;
+        output.type = type;
+        output.scheme = scheme;
+        output.isBasic = isBasic;
+        output.isOAuth = isOAuth;
+        output.isApiKey = isApiKey;
+        output.isBasicBasic = isBasicBasic;
+        output.isBasicBearer = isBasicBearer;
+        output.isHttpSignature = isHttpSignature;
+        output.bearerFormat = bearerFormat;
+        output.vendorExtensions = VendorExtensions.copy(vendorExtensions);
+        output.keyParamName = keyParamName;
+        output.isKeyInQuery = isKeyInQuery;
+        output.isKeyInHeader = isKeyInHeader;
+        output.isKeyInCookie = isKeyInCookie;
+        output.flow = flow;
+        output.authorizationUrl = authorizationUrl;
+        output.tokenUrl = tokenUrl;
+        output.refreshUrl = refreshUrl;
+        if (scopes != null) {
+            output.scopes = new ArrayList<Map<String, Object>>(scopes.size());
+            for (Map<String, Object> scope : scopes) {
+                output.scopes.add(scope == null ? null : new HashMap<String, Object>(scope));
+            }
+        }
+        output.isCode = isCode;
+        output.isPassword = isPassword;
+        output.isApplication = isApplication;
+        output.isImplicit = isImplicit;
+
+        return output;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
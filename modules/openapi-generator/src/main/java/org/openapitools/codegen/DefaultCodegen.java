@@ -17,9 +17,6 @@
 
 package org.openapitools.codegen;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.Ticker;
 import com.google.common.base.CaseFormat;
 import com.google.common.collect.ImmutableMap;
 import com.samskivert.mustache.Mustache;
@@ -33,6 +30,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.openapitools.codegen.CodegenDiscriminator.MappedModel;
 import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.examples.ExampleCache;
 import org.openapitools.codegen.examples.ExampleGenerator;
 import org.openapitools.codegen.languages.RustServerCodegen;
 import org.openapitools.codegen.meta.FeatureSet;
@@ -45,12 +43,20 @@ import org.openapitools.codegen.model.OperationsMap;
 import org.openapitools.codegen.serializer.SerializerUtils;
 import org.openapitools.codegen.templating.MustacheEngineAdapter;
 import org.openapitools.codegen.templating.mustache.*;
+import org.openapitools.codegen.utils.ModelNameIndex;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.NameCache;
 import org.openapitools.codegen.utils.OneOfImplementorAdditionalData;
+import org.openapitools.codegen.utils.SchemaInheritanceGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentSkipListSet;
@@ -90,7 +96,7 @@ public class DefaultCodegen implements CodegenConfig {
 
     // A cache of sanitized words. The sanitizeName() method is invoked many times with the same
     // arguments, this cache is used to optimized performance.
-    private static Cache<SanitizeNameOptions, String> sanitizedNameCache;
+    private static final NameCache<SanitizeNameOptions, String> sanitizedNameCache = new NameCache<>("sanitizeName", 500);
     private static final String xSchemaTestExamplesKey = "x-schema-test-examples";
     private static final String xSchemaTestExamplesRefPrefix = "#/components/x-schema-test-examples/";
     protected static Schema falseSchema;
@@ -140,18 +146,13 @@ public class DefaultCodegen implements CodegenConfig {
                 )
                 .build();
 
-        int cacheSize = Integer.parseInt(GlobalSettings.getProperty(NAME_CACHE_SIZE_PROPERTY, "500"));
-        int cacheExpiry = Integer.parseInt(GlobalSettings.getProperty(NAME_CACHE_EXPIRY_PROPERTY, "10"));
-        sanitizedNameCache = Caffeine.newBuilder()
-                .maximumSize(cacheSize)
-                .expireAfterAccess(cacheExpiry, TimeUnit.SECONDS)
-                .ticker(Ticker.systemTicker())
-                .build();
         falseSchema = new Schema();
         falseSchema.setNot(new Schema());
     }
 
     protected GeneratorMetadata generatorMetadata;
+    protected ModelDependencyGraph modelDependencyGraph;
+    protected SchemaInheritanceGraph inheritanceGraph;
     protected String inputSpec;
     protected String outputFolder = "";
     protected Set<String> defaultIncludes;
@@ -201,6 +202,10 @@ public class DefaultCodegen implements CodegenConfig {
     protected String removeOperationIdPrefixDelimiter = "_";
     protected int removeOperationIdPrefixCount = 1;
     protected boolean skipOperationExample;
+    protected int exampleMaxDepth = 0;
+    protected int exampleMaxArrayItems = ExampleCache.DEFAULT_MAX_ARRAY_ITEMS;
+    // the examples of the models of the document, shared by all operations
+    private ExampleCache exampleCache;
 
     protected final static Pattern JSON_MIME_PATTERN = Pattern.compile("(?i)application\\/json(;.*)?");
     protected final static Pattern JSON_VENDOR_MIME_PATTERN = Pattern.compile("(?i)application\\/vnd.(.*)+json(;.*)?");
@@ -259,6 +264,16 @@ public class DefaultCodegen implements CodegenConfig {
     // flag to indicate whether to only update files whose contents have changed
     protected boolean enableMinimalUpdate = false;
 
+    // number of worker threads used to render output files (1 renders sequentially)
+    protected int renderThreads = 1;
+
+    // number of worker threads used to post-process output files (1 post-processes sequentially)
+    protected int postProcessThreads = 1;
+    // maximum number of files of the same type post-processed together (1 post-processes each file on its own)
+    protected int postProcessBatchSize = 1;
+    // seconds per file after which a post-processing command is stopped (0 waits for it to finish)
+    protected int postProcessFileTimeout = 0;
+
     // acts strictly upon a spec, potentially modifying it to have consistent behavior across generators.
     protected boolean strictSpecBehavior = true;
     // flag to indicate whether enum value prefixes are removed
@@ -282,8 +297,8 @@ public class DefaultCodegen implements CodegenConfig {
     // A cache to efficiently lookup a Schema instance based on the return value of `toModelName()`.
     private Map<String, Schema> modelNameToSchemaCache;
 
-    // A cache to efficiently lookup schema `toModelName()` based on the schema Key
-    private final Map<String, String> schemaKeyToModelNameCache = new HashMap<>();
+    // An index between schema keys and the return value of `toModelName()`, see getModelNameIndex()
+    private ModelNameIndex modelNameIndex;
 
     protected boolean loadDeepObjectIntoItems = true;
 
@@ -390,6 +405,16 @@ public class DefaultCodegen implements CodegenConfig {
                     .get(CodegenConstants.SKIP_OPERATION_EXAMPLE).toString()));
         }
 
+        if (additionalProperties.containsKey(CodegenConstants.EXAMPLE_MAX_DEPTH)) {
+            this.setExampleMaxDepth(Integer.parseInt(additionalProperties
+                    .get(CodegenConstants.EXAMPLE_MAX_DEPTH).toString()));
+        }
+
+        if (additionalProperties.containsKey(CodegenConstants.EXAMPLE_MAX_ARRAY_ITEMS)) {
+            this.setExampleMaxArrayItems(Integer.parseInt(additionalProperties
+                    .get(CodegenConstants.EXAMPLE_MAX_ARRAY_ITEMS).toString()));
+        }
+
         if (additionalProperties.containsKey(CodegenConstants.DOCEXTENSION)) {
             this.setDocExtension(String.valueOf(additionalProperties
                     .get(CodegenConstants.DOCEXTENSION).toString()));
@@ -530,13 +555,38 @@ public class DefaultCodegen implements CodegenConfig {
     protected Map<String, Schema> getModelNameToSchemaCache() {
         if (modelNameToSchemaCache == null) {
             // Create a cache to efficiently lookup schema based on model name.
-            Map<String, Schema> m = new HashMap<>();
-            ModelUtils.getSchemas(openAPI).forEach((key, schema) -> m.put(toModelName(key), schema));
-            modelNameToSchemaCache = Collections.unmodifiableMap(m);
+            modelNameToSchemaCache = Collections.unmodifiableMap(getModelNameIndex().getSchemasByModelName());
         }
         return modelNameToSchemaCache;
     }
 
+    /**
+     * Return the index between the schema keys and model names of the current document, built on first use and
+     * rebuilt when schemas are added or removed, or after {@link #resetSchemaIndexes()}. Use it instead of calling
+     * {@link #toModelName(String)} on every schema key to find the schema of a model.
+     *
+     * @return the index between schema keys and model names
+     */
+    protected synchronized ModelNameIndex getModelNameIndex() {
+        Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+        if (modelNameIndex == null || !modelNameIndex.isFor(schemas)) {
+            modelNameIndex = new ModelNameIndex(schemas, this::toModelName);
+        }
+        return modelNameIndex;
+    }
+
+    /**
+     * Return the model name of a schema key through the model name index, falling back to
+     * {@link #toModelName(String)} for names which are not keys of the current document.
+     *
+     * @param schemaKey the key of a schema
+     * @return the model name
+     */
+    private String toSchemaModelName(String schemaKey) {
+        String modelName = getModelNameIndex().getModelName(schemaKey);
+        return modelName != null ? modelName : toModelName(schemaKey);
+    }
+
     /**
      * Index all CodegenModels by model name.
      *
@@ -636,54 +686,54 @@ public class DefaultCodegen implements CodegenConfig {
         }
     }
 
+    /**
+     * Marks the properties of the models which are circular references, i.e. whose type (transitively) references
+     * the model containing the property. The dependency graph built for this is available via
+     * {@link #getModelDependencyGraph()} afterwards.
+     *
+     * @param models The models, keyed by model name
+     */
     public void setCircularReferences(Map<String, CodegenModel> models) {
-        final Map<String, List<CodegenProperty>> dependencyMap = models.entrySet().stream()
-                .collect(Collectors.toMap(Entry::getKey, entry -> getModelDependencies(entry.getValue())));
-
-        models.keySet().forEach(name -> setCircularReferencesOnProperties(name, dependencyMap));
+        modelDependencyGraph = new ModelDependencyGraph(models);
+        for (String name : models.keySet()) {
+            for (CodegenProperty prop : modelDependencyGraph.getDependencies(name)) {
+                prop.isCircularReference = modelDependencyGraph.isCircularReference(name, prop);
+            }
+        }
     }
 
-    private List<CodegenProperty> getModelDependencies(CodegenModel model) {
-        return model.getAllVars().stream()
-                .map(prop -> {
-                    if (prop.isContainer) {
-                        return prop.items.dataType == null ? null : prop;
-                    }
-                    return prop.dataType == null ? null : prop;
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    /**
+     * Gets the dependency graph of all models, as computed while updating all models.
+     *
+     * @return The model dependency graph, or null if models have not been processed yet
+     */
+    public ModelDependencyGraph getModelDependencyGraph() {
+        return modelDependencyGraph;
     }
 
-    private void setCircularReferencesOnProperties(final String root,
-                                                   final Map<String, List<CodegenProperty>> dependencyMap) {
-        dependencyMap.getOrDefault(root, new ArrayList<>())
-                .forEach(prop -> {
-                    final List<String> unvisited =
-                            Collections.singletonList(prop.isContainer ? prop.items.dataType : prop.dataType);
-                    prop.isCircularReference = isCircularReference(root,
-                            new HashSet<>(),
-                            new ArrayList<>(unvisited),
-                            dependencyMap);
-                });
-    }
-
-    private boolean isCircularReference(final String root,
-                                        final Set<String> visited,
-                                        final List<String> unvisited,
-                                        final Map<String, List<CodegenProperty>> dependencyMap) {
-        for (int i = 0; i < unvisited.size(); i++) {
-            final String next = unvisited.get(i);
-            if (!visited.contains(next)) {
-                if (next.equals(root)) {
-                    return true;
-                }
-                dependencyMap.getOrDefault(next, new ArrayList<>())
-                        .forEach(prop -> unvisited.add(prop.isContainer ? prop.items.dataType : prop.dataType));
-                visited.add(next);
-            }
+    /**
+     * Gets the inheritance graph of the schemas of a document, built on first use and rebuilt when schemas are added
+     * or removed, or after {@link #resetSchemaIndexes()}.
+     *
+     * @param openAPI The document
+     * @return The inheritance graph of its schemas
+     */
+    public synchronized SchemaInheritanceGraph getInheritanceGraph(OpenAPI openAPI) {
+        Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+        if (inheritanceGraph == null || !inheritanceGraph.isFor(schemas)) {
+            inheritanceGraph = new SchemaInheritanceGraph(schemas);
         }
-        return false;
+        return inheritanceGraph;
+    }
+
+    /**
+     * Discards the model name index and the inheritance graph of the schemas, which only notice schemas being added
+     * or removed. This is done when the document is set and before it is preprocessed, after inline schemas are
+     * resolved; a generator modifying schemas in place later on (e.g. their allOf or discriminator) calls it again.
+     */
+    protected synchronized void resetSchemaIndexes() {
+        modelNameIndex = null;
+        inheritanceGraph = null;
     }
 
     // override with any special post-processing
@@ -841,6 +891,8 @@ public class DefaultCodegen implements CodegenConfig {
             LOGGER.warn(UNSUPPORTED_V310_SPEC_MSG);
         }
         this.openAPI = openAPI;
+        this.exampleCache = null;
+        resetSchemaIndexes();
         // Set global settings such that helper functions in ModelUtils can lookup the value
         // of the CLI option.
         ModelUtils.setDisallowAdditionalPropertiesIfNotPresent(getDisallowAdditionalPropertiesIfNotPresent());
@@ -887,6 +939,8 @@ public class DefaultCodegen implements CodegenConfig {
     @Override
     @SuppressWarnings("unused")
     public void preprocessOpenAPI(OpenAPI openAPI) {
+        // the inline model resolver has modified the schemas in place
+        resetSchemaIndexes();
         if (useOneOfInterfaces && openAPI.getComponents() != null) {
             // we process the openapi schema here to find oneOf schemas and create interface models for them
             Map<String, Schema> schemas = new HashMap<>(openAPI.getComponents().getSchemas());
@@ -2484,13 +2538,8 @@ public class DefaultCodegen implements CodegenConfig {
      */
     @Override
     public String toModelName(final String name) {
-        if (schemaKeyToModelNameCache.containsKey(name)) {
-            return schemaKeyToModelNameCache.get(name);
-        }
-
-        String camelizedName = camelize(modelNamePrefix + "_" + name + "_" + modelNameSuffix);
-        schemaKeyToModelNameCache.put(name, camelizedName);
-        return camelizedName;
+        // the model names of the schema keys are indexed by getModelNameIndex(), and camelize() is cached
+        return camelize(modelNamePrefix + "_" + name + "_" + modelNameSuffix);
     }
 
     private static class NamedSchema {
@@ -2542,8 +2591,16 @@ public class DefaultCodegen implements CodegenConfig {
         }
 
         // parent model
-        final String parentName = ModelUtils.getParentName(composed, allDefinitions);
-        final List<String> allParents = ModelUtils.getAllParentsName(composed, allDefinitions, false);
+        final String parentName;
+        final List<String> allParents;
+        SchemaInheritanceGraph graph = allDefinitions == null ? null : getInheritanceGraph(openAPI);
+        if (graph != null && graph.isFor(allDefinitions)) {
+            parentName = graph.getParentName(composed);
+            allParents = graph.getAllParentsName(composed);
+        } else {
+            parentName = ModelUtils.getParentName(composed, allDefinitions);
+            allParents = ModelUtils.getAllParentsName(composed, allDefinitions, false);
+        }
         final Schema parent = StringUtils.isBlank(parentName) || allDefinitions == null ? null : allDefinitions.get(parentName);
 
         // TODO revise the logic below to set discriminator, xml attributes
@@ -2627,7 +2684,7 @@ public class DefaultCodegen implements CodegenConfig {
                 if (allDefinitions != null) {
                     refSchema = allDefinitions.get(ref);
                 }
-                final String modelName = toModelName(ref);
+                final String modelName = toSchemaModelName(ref);
                 CodegenProperty interfaceProperty = fromProperty(modelName, interfaceSchema, false);
                 m.interfaces.add(modelName);
                 addImport(composed, refSchema, m, modelName);
@@ -2660,12 +2717,12 @@ public class DefaultCodegen implements CodegenConfig {
 
         if (parent != null && composed.getAllOf() != null) { // set parent for allOf only
             m.parentSchema = parentName;
-            m.parent = toModelName(parentName);
+            m.parent = toSchemaModelName(parentName);
 
             if (supportsMultipleInheritance) {
                 m.allParents = new ArrayList<>();
                 for (String pname : allParents) {
-                    String pModelName = toModelName(pname);
+                    String pModelName = toSchemaModelName(pname);
                     m.allParents.add(pModelName);
                     addImport(m, pModelName);
                 }
@@ -3300,7 +3357,7 @@ public class DefaultCodegen implements CodegenConfig {
                     LOGGER.warn("'{}' defines discriminator '{}', but the referenced schema '{}' is incorrect. {}",
                             composedSchemaName, discPropName, modelName, msgSuffix);
                 }
-                MappedModel mm = new MappedModel(modelName, toModelName(modelName));
+                MappedModel mm = new MappedModel(modelName, toSchemaModelName(modelName));
                 descendentSchemas.add(mm);
                 Schema cs = ModelUtils.getSchema(openAPI, modelName);
                 if (cs == null) { // cannot lookup the model based on the name
@@ -3309,7 +3366,7 @@ public class DefaultCodegen implements CodegenConfig {
                     Map<String, Object> vendorExtensions = cs.getExtensions();
                     if (vendorExtensions != null && !vendorExtensions.isEmpty() && vendorExtensions.containsKey("x-discriminator-value")) {
                         String xDiscriminatorValue = (String) vendorExtensions.get("x-discriminator-value");
-                        mm = new MappedModel(xDiscriminatorValue, toModelName(modelName));
+                        mm = new MappedModel(xDiscriminatorValue, toSchemaModelName(modelName));
                         descendentSchemas.add(mm);
                     }
                 }
@@ -3319,55 +3376,16 @@ public class DefaultCodegen implements CodegenConfig {
     }
 
     protected List<MappedModel> getAllOfDescendants(String thisSchemaName, OpenAPI openAPI) {
-        ArrayList<String> queue = new ArrayList();
         List<MappedModel> descendentSchemas = new ArrayList();
         Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
-        String currentSchemaName = thisSchemaName;
-        Set<String> keys = schemas.keySet();
-
-        int count = 0;
-        // hack: avoid infinite loop on potential self-references in event our checks fail.
-        while (100000 > count++) {
-            for (String childName : keys) {
-                if (childName.equals(thisSchemaName)) {
-                    continue;
-                }
-                Schema child = schemas.get(childName);
-                if (ModelUtils.isComposedSchema(child)) {
-                    ComposedSchema composedChild = (ComposedSchema) child;
-                    List<Schema> parents = composedChild.getAllOf();
-                    if (parents != null) {
-                        for (Schema parent : parents) {
-                            String ref = parent.get$ref();
-                            if (ref == null) {
-                                // for schemas with no ref, it is not possible to build the discriminator map
-                                // because ref is how we get the model name
-                                // we hit this use case when an allOf composed schema contains an inline schema
-                                continue;
-                            }
-                            String parentName = ModelUtils.getSimpleRef(ref);
-                            if (parentName != null && parentName.equals(currentSchemaName)) {
-                                if (queue.contains(childName) || descendentSchemas.stream().anyMatch(i -> childName.equals(i.getMappingName()))) {
-                                    throw new RuntimeException("Stack overflow hit when looking for " + thisSchemaName + " an infinite loop starting and ending at " + childName + " was seen");
-                                }
-                                queue.add(childName);
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-            if (queue.size() == 0) {
-                break;
-            }
-            currentSchemaName = queue.remove(0);
-            MappedModel mm = new MappedModel(currentSchemaName, toModelName(currentSchemaName));
+        for (String currentSchemaName : getInheritanceGraph(openAPI).getAllOfDescendants(thisSchemaName)) {
+            MappedModel mm = new MappedModel(currentSchemaName, toSchemaModelName(currentSchemaName));
             descendentSchemas.add(mm);
             Schema cs = schemas.get(currentSchemaName);
             Map<String, Object> vendorExtensions = cs.getExtensions();
             if (vendorExtensions != null && !vendorExtensions.isEmpty() && vendorExtensions.containsKey("x-discriminator-value")) {
                 String xDiscriminatorValue = (String) vendorExtensions.get("x-discriminator-value");
-                mm = new MappedModel(xDiscriminatorValue, toModelName(currentSchemaName));
+                mm = new MappedModel(xDiscriminatorValue, toSchemaModelName(currentSchemaName));
                 descendentSchemas.add(mm);
             }
         }
@@ -3410,7 +3428,7 @@ public class DefaultCodegen implements CodegenConfig {
                 } else {
                     name = e.getValue();
                 }
-                uniqueDescendants.add(new MappedModel(e.getKey(), toModelName(name)));
+                uniqueDescendants.add(new MappedModel(e.getKey(), toSchemaModelName(name)));
             }
         }
 
@@ -4139,7 +4157,7 @@ public class DefaultCodegen implements CodegenConfig {
                         exampleStatusCode = key;
                     }
                 }
-                op.examples = new ExampleGenerator(schemas, this.openAPI).generateFromResponseSchema(exampleStatusCode, responseSchema, getProducesInfo(this.openAPI, operation));
+                op.examples = new ExampleGenerator(schemas, this.openAPI, getExampleCache()).generateFromResponseSchema(exampleStatusCode, responseSchema, getProducesInfo(this.openAPI, operation));
             }
 
             op.defaultResponse = toDefaultValue(responseSchema);
@@ -4382,7 +4400,7 @@ public class DefaultCodegen implements CodegenConfig {
 
                 // add example
                 if (schemas != null && !isSkipOperationExample()) {
-                    op.requestBodyExamples = new ExampleGenerator(schemas, this.openAPI).generate(null, new ArrayList<>(getConsumesInfo(this.openAPI, operation)), bodyParam.baseType);
+                    op.requestBodyExamples = new ExampleGenerator(schemas, this.openAPI, getExampleCache()).generate(null, new ArrayList<>(getConsumesInfo(this.openAPI, operation)), bodyParam.baseType);
                 }
             }
         }
@@ -5113,7 +5131,7 @@ public class DefaultCodegen implements CodegenConfig {
     protected String getParameterDataType(Parameter parameter, Schema schema) {
         Schema unaliasSchema = unaliasSchema(schema);
         if (unaliasSchema.get$ref() != null) {
-            return toModelName(ModelUtils.getSimpleRef(unaliasSchema.get$ref()));
+            return toSchemaModelName(ModelUtils.getSimpleRef(unaliasSchema.get$ref()));
         }
         return null;
     }
@@ -5837,6 +5855,34 @@ public class DefaultCodegen implements CodegenConfig {
         this.skipOperationExample = skipOperationExample;
     }
 
+    public int getExampleMaxDepth() {
+        return exampleMaxDepth;
+    }
+
+    public void setExampleMaxDepth(int exampleMaxDepth) {
+        this.exampleMaxDepth = exampleMaxDepth;
+        this.exampleCache = null;
+    }
+
+    public int getExampleMaxArrayItems() {
+        return exampleMaxArrayItems;
+    }
+
+    public void setExampleMaxArrayItems(int exampleMaxArrayItems) {
+        this.exampleMaxArrayItems = exampleMaxArrayItems;
+        this.exampleCache = null;
+    }
+
+    /**
+     * @return The examples of the models of the current document, which operations share
+     */
+    protected ExampleCache getExampleCache() {
+        if (exampleCache == null) {
+            exampleCache = new ExampleCache(exampleMaxDepth, exampleMaxArrayItems);
+        }
+        return exampleCache;
+    }
+
     @Override
     public boolean isHideGenerationTimestamp() {
         return hideGenerationTimestamp;
@@ -6259,10 +6305,7 @@ public class DefaultCodegen implements CodegenConfig {
         }
 
         String varDataType = var.mostInnerItems != null ? var.mostInnerItems.dataType : var.dataType;
-        Optional<Schema> referencedSchema = ModelUtils.getSchemas(openAPI).entrySet().stream()
-                .filter(entry -> Objects.equals(varDataType, toModelName(entry.getKey())))
-                .map(Map.Entry::getValue)
-                .findFirst();
+        Optional<Schema> referencedSchema = Optional.ofNullable(getModelNameIndex().getSchema(varDataType));
         String dataType = (referencedSchema.isPresent()) ? getTypeDeclaration(referencedSchema.get()) : varDataType;
         List<Map<String, Object>> enumVars = buildEnumVars(values, dataType);
 
@@ -7504,6 +7547,143 @@ public class DefaultCodegen implements CodegenConfig {
     @Override
     public void postProcessFile(File file, String fileType) {
         LOGGER.debug("Post processing file {} ({})", file, fileType);
+        if (file != null) {
+            runPostProcessFileCommand(Collections.singletonList(file), fileType);
+        }
+    }
+
+    /**
+     * Post-process a batch of auto-generated files of the same type, see {@link #postProcessFile(File, String)}.
+     * Generators which opt in with {@link #supportsBatchPostProcessing()} run the command of their environment variable,
+     * see {@link #getPostProcessFileVariable()}, once for the whole batch. Other generators are given each file of the
+     * batch, as before files were post-processed in batches.
+     * <p>
+     * Batches may be post-processed concurrently, see {@link #getPostProcessThreads()}.
+     *
+     * @param files    files to be processed
+     * @param fileType file type
+     */
+    @Override
+    public void postProcessFiles(List<File> files, String fileType) {
+        if (getPostProcessFileVariable() == null || !supportsBatchPostProcessing()) {
+            for (File file : files) {
+                postProcessFile(file, fileType);
+            }
+        } else {
+            runPostProcessFileCommand(files, fileType);
+        }
+    }
+
+    /**
+     * The environment variable holding the command which post-processes the generated files, e.g. a formatter.
+     *
+     * @return the name of the variable, e.g. JAVA_POST_PROCESS_FILE, or null if the generator runs no such command
+     */
+    protected String getPostProcessFileVariable() {
+        return null;
+    }
+
+    /**
+     * Indicates whether a generated file is given to the command of {@link #getPostProcessFileVariable()}.
+     *
+     * @param file     the generated file
+     * @param fileType file type, see {@link #postProcessFile(File, String)}
+     * @return true if the file is post-processed, e.g. if it has the extension of the generated language
+     */
+    protected boolean isPostProcessFileCandidate(File file, String fileType) {
+        return true;
+    }
+
+    private void runPostProcessFileCommand(List<File> files, String fileType) {
+        String variable = getPostProcessFileVariable();
+        String command = variable == null ? null : System.getenv(variable);
+        if (StringUtils.isEmpty(command)) {
+            return; // skip if the environment variable is not defined
+        }
+
+        // all files of the batch at once
+        List<File> candidates = files.stream()
+                .filter(file -> isPostProcessFileCandidate(file, fileType))
+                .collect(Collectors.toList());
+        runPostProcessCommand(command, candidates);
+    }
+
+    /**
+     * Indicates whether {@link #postProcessFiles(List, String)} may run the command of
+     * {@link #getPostProcessFileVariable()} once for a whole batch of files, instead of calling
+     * {@link #postProcessFile(File, String)} for each file. A generator which returns true must not rely on
+     * postProcessFile being called, so subclasses overriding postProcessFile should return false.
+     *
+     * @return true if files are post-processed in batches, false by default
+     */
+    @Override
+    public boolean supportsBatchPostProcessing() {
+        return false;
+    }
+
+    /**
+     * Runs an external post-processing command (e.g. a formatter) on files, which are appended to the command as
+     * arguments. The command is stopped if it runs for longer than {@link #getPostProcessFileTimeout()} seconds per
+     * file.
+     *
+     * @param command the command, e.g. the value of a *_POST_PROCESS_FILE environment variable
+     * @param files   files to be processed
+     * @return true if the command succeeded
+     */
+    protected boolean runPostProcessCommand(String command, List<File> files) {
+        if (files.isEmpty()) {
+            return true;
+        }
+
+        // split as Runtime.exec(String) does
+        List<String> arguments = new ArrayList<>();
+        StringTokenizer tokenizer = new StringTokenizer(command);
+        while (tokenizer.hasMoreTokens()) {
+            arguments.add(tokenizer.nextToken());
+        }
+        for (File file : files) {
+            arguments.add(file.toString());
+        }
+        String description = files.size() == 1 ? command + " " + files.get(0) : command + " (" + files.size() + " files)";
+
+        try {
+            Process p = new ProcessBuilder(arguments).redirectErrorStream(true).start();
+            // the output is read while the command runs, so that it cannot block on a full pipe
+            Thread output = new Thread(() -> logPostProcessOutput(p.getInputStream(), description), "post-process-output");
+            output.setDaemon(true);
+            output.start();
+            if (postProcessFileTimeout > 0 && !p.waitFor((long) postProcessFileTimeout * files.size(), TimeUnit.SECONDS)) {
+                p.destroyForcibly();
+                LOGGER.error("Error running the command ({}). Timed out after {} seconds.", description, (long) postProcessFileTimeout * files.size());
+                return false;
+            }
+            int exitValue = p.waitFor();
+            if (exitValue != 0) {
+                LOGGER.error("Error running the command ({}). Exit value: {}", description, exitValue);
+                return false;
+            }
+            LOGGER.info("Successfully executed: {}", description);
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Error running the command ({}). Exception: {}", description, e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            LOGGER.error("Error running the command ({}). Exception: {}", description, e.getMessage());
+            // Restore interrupted state
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void logPostProcessOutput(InputStream output, String description) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(output, Charset.defaultCharset()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LOGGER.debug("{}: {}", description, line);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Can't read the output of the command ({}). Exception: {}", description, e.getMessage());
+        }
     }
 
     /**
@@ -7544,6 +7724,78 @@ public class DefaultCodegen implements CodegenConfig {
         this.enableMinimalUpdate = enableMinimalUpdate;
     }
 
+    /**
+     * Get the number of worker threads used to render output files
+     */
+    @Override
+    public int getRenderThreads() {
+        return renderThreads;
+    }
+
+    /**
+     * Set the number of worker threads used to render output files
+     *
+     * @param renderThreads number of threads; 1 renders files sequentially
+     */
+    @Override
+    public void setRenderThreads(int renderThreads) {
+        this.renderThreads = Math.max(1, renderThreads);
+    }
+
+    /**
+     * Get the number of worker threads used to post-process output files
+     */
+    @Override
+    public int getPostProcessThreads() {
+        return postProcessThreads;
+    }
+
+    /**
+     * Set the number of worker threads used to post-process output files
+     *
+     * @param postProcessThreads number of threads; 1 post-processes files sequentially
+     */
+    @Override
+    public void setPostProcessThreads(int postProcessThreads) {
+        this.postProcessThreads = Math.max(1, postProcessThreads);
+    }
+
+    /**
+     * Get the maximum number of files of the same type post-processed together
+     */
+    @Override
+    public int getPostProcessBatchSize() {
+        return postProcessBatchSize;
+    }
+
+    /**
+     * Set the maximum number of files of the same type post-processed together
+     *
+     * @param postProcessBatchSize number of files; 1 post-processes each file on its own
+     */
+    @Override
+    public void setPostProcessBatchSize(int postProcessBatchSize) {
+        this.postProcessBatchSize = Math.max(1, postProcessBatchSize);
+    }
+
+    /**
+     * Get the time, in seconds per file, after which a post-processing command is stopped
+     */
+    @Override
+    public int getPostProcessFileTimeout() {
+        return postProcessFileTimeout;
+    }
+
+    /**
+     * Set the time, in seconds per file, after which a post-processing command is stopped
+     *
+     * @param postProcessFileTimeout seconds per file; 0 waits for the command to finish
+     */
+    @Override
+    public void setPostProcessFileTimeout(int postProcessFileTimeout) {
+        this.postProcessFileTimeout = Math.max(0, postProcessFileTimeout);
+    }
+
     /**
      * Indicates whether the codegen configuration should treat documents as strictly defined by the OpenAPI specification.
      *
@@ -51,12 +51,16 @@ import org.openapitools.codegen.model.OperationMap;
 import org.openapitools.codegen.model.OperationsMap;
 import org.openapitools.codegen.serializer.SerializerUtils;
 import org.openapitools.codegen.templating.CommonTemplateContentLocator;
+import org.openapitools.codegen.templating.CompiledTemplateCache;
 import org.openapitools.codegen.templating.GeneratorTemplateContentLocator;
+import org.openapitools.codegen.templating.HandlebarsEngineAdapter;
 import org.openapitools.codegen.templating.MustacheEngineAdapter;
 import org.openapitools.codegen.templating.TemplateManagerOptions;
 import org.openapitools.codegen.utils.ImplementationVersion;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.NameCache;
 import org.openapitools.codegen.utils.ProcessUtils;
+import org.openapitools.codegen.utils.SchemaUsageIndex;
 import org.openapitools.codegen.utils.URLPathUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,9 +71,16 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipOutputStream;
 
 import static org.apache.commons.lang3.StringUtils.removeStart;
 import static org.openapitools.codegen.utils.OnceLogger.once;
@@ -96,8 +107,17 @@ public class DefaultGenerator implements Generator {
     private String contextPath;
     private Map<String, String> generatorPropertyDefaults = new HashMap<>();
     protected TemplateProcessor templateProcessor = null;
+    private ZipOutputStream zipOutputStream = null;
+    // whether prepare() ran for the next call to generate()
+    private boolean prepared = false;
+    private GenerationProfiler profiler = GenerationProfiler.DISABLED;
+    // written files to be post-processed, by file type
+    private final Map<String, List<File>> filesToPostProcess = new LinkedHashMap<>();
 
     private List<TemplateDefinition> userDefinedTemplates = new ArrayList<>();
+    private IncrementalGeneration incremental = null;
+    // auth methods by security requirements, for the paths being processed
+    private final Map<List<SecurityRequirement>, ConvertedAuthMethods> authMethodsCache = new HashMap<>();
 
 
     public DefaultGenerator() {
@@ -113,6 +133,7 @@ public class DefaultGenerator implements Generator {
     @Override
     public Generator opts(ClientOptInput opts) {
         this.opts = opts;
+        this.prepared = false;
         this.openAPI = opts.getOpenAPI();
         this.config = opts.getConfig();
         List<TemplateDefinition> userFiles = opts.getUserDefinedTemplates();
@@ -134,11 +155,22 @@ public class DefaultGenerator implements Generator {
 
             TemplatePathLocator commonTemplateLocator = new CommonTemplateContentLocator();
             TemplatePathLocator generatorTemplateLocator = new GeneratorTemplateContentLocator(this.config);
-            this.templateProcessor = new TemplateManager(
-                    templateManagerOptions,
-                    templatingEngine,
-                    new TemplatePathLocator[]{generatorTemplateLocator, commonTemplateLocator}
-            );
+            if (this.zipOutputStream != null) {
+                this.templateProcessor = new ZipTemplateManager(
+                        templateManagerOptions,
+                        templatingEngine,
+                        new TemplatePathLocator[]{generatorTemplateLocator, commonTemplateLocator},
+                        this.zipOutputStream,
+                        new File(this.config.getOutputDir())
+                );
+            } else {
+                this.templateProcessor = new TemplateManager(
+                        templateManagerOptions,
+                        templatingEngine,
+                        new TemplatePathLocator[]{generatorTemplateLocator, commonTemplateLocator}
+                );
+            }
+            ((TemplateManager) this.templateProcessor).setProfiler(this.profiler);
         }
 
         String ignoreFileLocation = this.config.getIgnoreFilePathOverride();
@@ -179,6 +211,34 @@ public class DefaultGenerator implements Generator {
         this.generateMetadata = generateMetadata;
     }
 
+    /**
+     * Writes the generated files as entries of a zip stream instead of the output directory, see
+     * {@link ZipTemplateManager}. Must be set before {@link #opts(ClientOptInput)}; the caller finishes or closes the
+     * stream once {@link #generate()} returns. Ignored for a dry run.
+     *
+     * @param zipOutputStream The stream receiving the generated files, or null to write to the output directory
+     */
+    public void setZipOutputStream(ZipOutputStream zipOutputStream) {
+        this.zipOutputStream = zipOutputStream;
+    }
+
+    /**
+     * Records the time and allocations of each phase of {@link #generate()}, see {@link GenerationProfiler}. Must be
+     * set before {@link #opts(ClientOptInput)}, so that rendering and writing files are recorded too.
+     *
+     * @param profiler The profiler, or null to disable profiling
+     */
+    public void setProfiler(GenerationProfiler profiler) {
+        this.profiler = profiler == null ? GenerationProfiler.DISABLED : profiler;
+    }
+
+    /**
+     * @return true if generated files are written to the output directory, i.e. they can be post-processed
+     */
+    private boolean writesToDisk() {
+        return !dryRun && zipOutputStream == null;
+    }
+
     /**
      * Set generator properties otherwise pulled from system properties.
      * Useful for running tests in parallel without relying on System.properties.
@@ -255,12 +315,21 @@ public class DefaultGenerator implements Generator {
 
         config.processOpts();
 
+        if (config.getTemplatingEngine() instanceof HandlebarsEngineAdapter
+                && config.additionalProperties().containsKey(CodegenConstants.HANDLEBARS_FIELD_FIRST_RESOLUTION)) {
+            boolean fieldFirst = Boolean.parseBoolean(config.additionalProperties().get(CodegenConstants.HANDLEBARS_FIELD_FIRST_RESOLUTION).toString());
+            ((HandlebarsEngineAdapter) config.getTemplatingEngine()).valueResolvers(fieldFirst
+                    ? HandlebarsEngineAdapter.FIELD_FIRST_VALUE_RESOLVERS : HandlebarsEngineAdapter.DEFAULT_VALUE_RESOLVERS);
+        }
+
         // resolve inline models
         if (config.getUseInlineModelResolver()) {
             InlineModelResolver inlineModelResolver = new InlineModelResolver();
             inlineModelResolver.setInlineSchemaNameMapping(config.inlineSchemaNameMapping());
             inlineModelResolver.setInlineSchemaNameDefaults(config.inlineSchemaNameDefault());
-            inlineModelResolver.flatten(openAPI);
+            try (GenerationProfiler.Span ignored = profiler.start("flatten")) {
+                inlineModelResolver.flatten(openAPI);
+            }
         }
 
         config.preprocessOpenAPI(openAPI);
@@ -368,8 +437,8 @@ public class DefaultGenerator implements Generator {
                     File written = processTemplateToFile(models, templateName, filename, generateModelTests, CodegenConstants.MODEL_TESTS, config.modelTestFileFolder());
                     if (written != null) {
                         files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "model-test");
+                        if (config.isEnablePostProcessFile() && writesToDisk()) {
+                            postProcessFile(written, "model-test");
                         }
                     }
                 }
@@ -389,8 +458,8 @@ public class DefaultGenerator implements Generator {
             File written = processTemplateToFile(models, templateName, filename, generateModelDocumentation, CodegenConstants.MODEL_DOCS);
             if (written != null) {
                 files.add(written);
-                if (config.isEnablePostProcessFile() && !dryRun) {
-                    config.postProcessFile(written, "model-doc");
+                if (config.isEnablePostProcessFile() && writesToDisk()) {
+                    postProcessFile(written, "model-doc");
                 }
             }
         }
@@ -402,8 +471,8 @@ public class DefaultGenerator implements Generator {
             File written = processTemplateToFile(models, templateName, filename, generateModels, CodegenConstants.MODELS);
             if (written != null) {
                 files.add(written);
-                if (config.isEnablePostProcessFile() && !dryRun) {
-                    config.postProcessFile(written, "model");
+                if (config.isEnablePostProcessFile() && writesToDisk()) {
+                    postProcessFile(written, "model");
                 }
             }
         }
@@ -520,12 +589,17 @@ public class DefaultGenerator implements Generator {
         }
 
         // loop through all models to update children models, isSelfReference, isCircularReference, etc
-        allProcessedModels = config.updateAllModels(allProcessedModels);
+        try (GenerationProfiler.Span ignored = profiler.start("updateAllModels")) {
+            allProcessedModels = config.updateAllModels(allProcessedModels);
+        }
 
         // post process all processed models
-        allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        try (GenerationProfiler.Span ignored = profiler.start("postProcessAllModels")) {
+            allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        }
 
-        // generate files based on processed models
+        // generate files based on processed models; once post-processed, each model renders independently
+        List<Supplier<List<File>>> modelRenderTasks = new ArrayList<>();
         for (String modelName : allProcessedModels.keySet()) {
             ModelsMap models = allProcessedModels.get(modelName);
             models.put("modelPackage", config.modelPackage());
@@ -549,19 +623,38 @@ public class DefaultGenerator implements Generator {
                     }
                     allModels.add(modelTemplate);
                 }
+            } catch (Exception e) {
+                throw new RuntimeException("Could not generate model '" + modelName + "'", e);
+            }
 
-                // to generate model files
-                generateModel(files, models, modelName);
+            if (incremental != null && !incremental.shouldRenderModel(modelName)) {
+                // built, and post-processed along with all models, but unchanged since the previous run
+                continue;
+            }
 
-                // to generate model test files
-                generateModelTests(files, models, modelName);
+            modelRenderTasks.add(() -> {
+                List<File> written = new ArrayList<>();
+                try {
+                    // to generate model files
+                    generateModel(written, models, modelName);
 
-                // to generate model documentation files
-                generateModelDocumentation(files, models, modelName);
+                    // to generate model test files
+                    generateModelTests(written, models, modelName);
 
-            } catch (Exception e) {
-                throw new RuntimeException("Could not generate model '" + modelName + "'", e);
-            }
+                    // to generate model documentation files
+                    generateModelDocumentation(written, models, modelName);
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not generate model '" + modelName + "'", e);
+                }
+                if (incremental != null) {
+                    incremental.recordModelFiles(modelName, written);
+                }
+                return written;
+            });
+        }
+        renderFiles(files, modelRenderTasks);
+        if (incremental != null) {
+            files.addAll(incremental.carryOverModels());
         }
         if (GlobalSettings.getProperty("debugModels") != null) {
             LOGGER.info("############ Model info ############");
@@ -570,6 +663,53 @@ public class DefaultGenerator implements Generator {
 
     }
 
+    /**
+     * Runs render tasks on up to {@link CodegenConfig#getRenderThreads()} worker threads. Files written by each task are
+     * added to {@code files} in task order, so the result does not depend on the number of threads.
+     *
+     * @param files       The list tracking generated files
+     * @param renderTasks Independent tasks, each returning the files it has written
+     */
+    private void renderFiles(List<File> files, List<Supplier<List<File>>> renderTasks) {
+        runTasks(config.getRenderThreads(), renderTasks).forEach(files::addAll);
+    }
+
+    /**
+     * Runs independent tasks on up to {@code maxThreads} worker threads, or sequentially on the calling thread.
+     *
+     * @param maxThreads The maximum number of worker threads
+     * @param tasks      The tasks
+     * @param <T>        The type of the results of the tasks
+     * @return The results of the tasks, in task order
+     */
+    private static <T> List<T> runTasks(int maxThreads, List<Supplier<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        int threads = Math.min(maxThreads, tasks.size());
+        if (threads <= 1) {
+            tasks.forEach(task -> results.add(task.get()));
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+            for (Supplier<T> task : tasks) {
+                futures.add(CompletableFuture.supplyAsync(task, executor));
+            }
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     void generateApis(List<File> files, List<OperationsMap> allOperations, List<ModelMap> allModels) {
         if (!generateApis) {
@@ -577,7 +717,10 @@ public class DefaultGenerator implements Generator {
             LOGGER.info("Skipping generation of APIs.");
             return;
         }
-        Map<String, List<CodegenOperation>> paths = processPaths(this.openAPI.getPaths());
+        Map<String, List<CodegenOperation>> paths;
+        try (GenerationProfiler.Span ignored = profiler.start("processPaths")) {
+            paths = processPaths(this.openAPI.getPaths());
+        }
         Set<String> apisToGenerate = null;
         String apiNames = GlobalSettings.getProperty("apis");
         if (apiNames != null && !apiNames.isEmpty()) {
@@ -592,11 +735,26 @@ public class DefaultGenerator implements Generator {
             }
             paths = updatedPaths;
         }
+        if (incremental != null && !incremental.shouldGenerateSupportingFiles()) {
+            Map<String, List<CodegenOperation>> updatedPaths = new TreeMap<>();
+            for (String tag : paths.keySet()) {
+                if (incremental.shouldRenderApi(tag)) {
+                    updatedPaths.put(tag, paths.get(tag));
+                }
+            }
+            paths = updatedPaths;
+        }
+        // operations are processed in tag order (generator hooks are not required to be thread-safe),
+        // while the api, api test and api doc templates of each tag render independently
+        List<Supplier<List<File>>> apiRenderTasks = new ArrayList<>();
         for (String tag : paths.keySet()) {
             try {
                 List<CodegenOperation> ops = paths.get(tag);
                 ops.sort((one, another) -> ObjectUtils.compare(one.operationId, another.operationId));
-                OperationsMap operation = processOperations(config, tag, ops, allModels);
+                OperationsMap operation;
+                try (GenerationProfiler.Span ignored = profiler.start("processOperations", tag)) {
+                    operation = processOperations(config, tag, ops, allModels);
+                }
                 URL url = URLPathUtils.getServerURL(openAPI, config.serverVariableOverrides());
                 operation.put("basePath", basePath);
                 operation.put("basePathWithoutHost", removeTrailingSlash(config.encodePath(url.getPath())));
@@ -650,51 +808,31 @@ public class DefaultGenerator implements Generator {
 
                 addAuthenticationSwitches(operation);
 
-                for (String templateName : config.apiTemplateFiles().keySet()) {
-                    String filename = config.apiFilename(templateName, tag);
-                    File written = processTemplateToFile(operation, templateName, filename, generateApis, CodegenConstants.APIS);
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api");
-                        }
-                    }
+                if (incremental != null && !incremental.shouldRenderApi(tag)) {
+                    // only processed for the supporting files
+                    continue;
                 }
 
-                // to generate api test files
-                for (String templateName : config.apiTestTemplateFiles().keySet()) {
-                    String filename = config.apiTestFilename(templateName, tag);
-                    File apiTestFile = new File(filename);
-                    // do not overwrite test file that already exists
-                    if (apiTestFile.exists()) {
-                        this.templateProcessor.skip(apiTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
-                    } else {
-                        File written = processTemplateToFile(operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder());
-                        if (written != null) {
-                            files.add(written);
-                            if (config.isEnablePostProcessFile() && !dryRun) {
-                                config.postProcessFile(written, "api-test");
-                            }
-                        }
+                apiRenderTasks.add(() -> {
+                    List<File> written = new ArrayList<>();
+                    try {
+                        generateApi(written, operation, tag);
+                    } catch (Exception e) {
+                        throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
                     }
-                }
-
-                // to generate api documentation files
-                for (String templateName : config.apiDocTemplateFiles().keySet()) {
-                    String filename = config.apiDocFilename(templateName, tag);
-                    File written = processTemplateToFile(operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS);
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api-doc");
-                        }
+                    if (incremental != null) {
+                        incremental.recordApi(tag, ops, written);
                     }
-                }
-
+                    return written;
+                });
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
             }
         }
+        renderFiles(files, apiRenderTasks);
+        if (incremental != null) {
+            files.addAll(incremental.carryOverApis());
+        }
         if (GlobalSettings.getProperty("debugOperations") != null) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allOperations);
@@ -702,6 +840,49 @@ public class DefaultGenerator implements Generator {
 
     }
 
+    private void generateApi(List<File> files, OperationsMap operation, String tag) throws IOException {
+        for (String templateName : config.apiTemplateFiles().keySet()) {
+            String filename = config.apiFilename(templateName, tag);
+            File written = processTemplateToFile(operation, templateName, filename, generateApis, CodegenConstants.APIS);
+            if (written != null) {
+                files.add(written);
+                if (config.isEnablePostProcessFile() && writesToDisk()) {
+                    postProcessFile(written, "api");
+                }
+            }
+        }
+
+        // to generate api test files
+        for (String templateName : config.apiTestTemplateFiles().keySet()) {
+            String filename = config.apiTestFilename(templateName, tag);
+            File apiTestFile = new File(filename);
+            // do not overwrite test file that already exists
+            if (apiTestFile.exists()) {
+                this.templateProcessor.skip(apiTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
+            } else {
+                File written = processTemplateToFile(operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder());
+                if (written != null) {
+                    files.add(written);
+                    if (config.isEnablePostProcessFile() && writesToDisk()) {
+                        postProcessFile(written, "api-test");
+                    }
+                }
+            }
+        }
+
+        // to generate api documentation files
+        for (String templateName : config.apiDocTemplateFiles().keySet()) {
+            String filename = config.apiDocFilename(templateName, tag);
+            File written = processTemplateToFile(operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS);
+            if (written != null) {
+                files.add(written);
+                if (config.isEnablePostProcessFile() && writesToDisk()) {
+                    postProcessFile(written, "api-doc");
+                }
+            }
+        }
+    }
+
     private void generateSupportingFiles(List<File> files, Map<String, Object> bundle) {
         if (!generateSupportingFiles) {
             // TODO: process these anyway and report via dryRun?
@@ -722,7 +903,7 @@ public class DefaultGenerator implements Generator {
                 }
                 File of = new File(outputFolder);
                 if (!of.isDirectory()) {
-                    if (!dryRun && !of.mkdirs()) {
+                    if (writesToDisk() && !of.mkdirs()) {
                         once(LOGGER).debug("Output directory {} not created. It {}.", outputFolder, of.exists() ? "already exists." : "may not have appropriate permissions.");
                     }
                 }
@@ -738,8 +919,8 @@ public class DefaultGenerator implements Generator {
                 File written = processTemplateToFile(bundle, support.getTemplateFile(), outputFilename, shouldGenerate, CodegenConstants.SUPPORTING_FILES);
                 if (written != null) {
                     files.add(written);
-                    if (config.isEnablePostProcessFile() && !dryRun) {
-                        config.postProcessFile(written, "supporting-file");
+                    if (config.isEnablePostProcessFile() && writesToDisk()) {
+                        postProcessFile(written, "supporting-file");
                     }
                 }
             } catch (Exception e) {
@@ -761,8 +942,8 @@ public class DefaultGenerator implements Generator {
                 File written = processTemplateToFile(bundle, openapiGeneratorIgnore, ignoreFileNameTarget, shouldGenerate, CodegenConstants.SUPPORTING_FILES);
                 if (written != null) {
                     files.add(written);
-                    if (config.isEnablePostProcessFile() && !dryRun) {
-                        config.postProcessFile(written, "openapi-generator-ignore");
+                    if (config.isEnablePostProcessFile() && writesToDisk()) {
+                        postProcessFile(written, "openapi-generator-ignore");
                     }
                 }
             } catch (Exception e) {
@@ -873,6 +1054,37 @@ public class DefaultGenerator implements Generator {
 
     @Override
     public List<File> generate() {
+        if (!prepared) {
+            prepare();
+        }
+        prepared = false;
+
+        // name conversions are cached until this run, and any other run in progress, ends
+        List<File> files;
+        try (NameCache.Run ignored = NameCache.startRun(estimateNameCount())) {
+            files = generateFiles();
+            LOGGER.debug("Name caches: {}", NameCache.report());
+        } finally {
+            // compiled templates are scoped to a single generation run, including one which fails
+            releaseCompiledTemplates();
+        }
+
+        // reset GlobalSettings, so that the running thread can be reused for another generator-run
+        GlobalSettings.reset();
+
+        return files;
+    }
+
+    /**
+     * Runs the steps of {@link #generate()} which come before any file is generated: checking the input, and
+     * configuring the generator and the document (e.g. processing options, resolving inline models and
+     * pre-processing the document). Errors in the input or the options are then reported before anything is written,
+     * e.g. before the response streaming the generated files is committed. The following call to {@link #generate()}
+     * doesn't run these steps again.
+     *
+     * @return this generator
+     */
+    public DefaultGenerator prepare() {
         if (openAPI == null) {
             throw new RuntimeException("Issues with the OpenAPI input. Possible causes: invalid/missing spec, malformed JSON/YAML files, etc.");
         }
@@ -900,14 +1112,24 @@ public class DefaultGenerator implements Generator {
 
         configureGeneratorProperties();
         configureOpenAPIInfo();
+        prepared = true;
+        return this;
+    }
+
+    private List<File> generateFiles() {
+        List<File> files = new ArrayList<>();
 
-        config.processOpenAPI(openAPI);
+        try (GenerationProfiler.Span ignored = profiler.start("processOpenAPI")) {
+            config.processOpenAPI(openAPI);
+        }
 
         processUserDefinedTemplates();
 
-        List<File> files = new ArrayList<>();
         // models
-        List<String> filteredSchemas = ModelUtils.getSchemasUsedOnlyInFormParam(openAPI);
+        // a single traversal of the (pre-processed) document finds where each schema is used
+        SchemaUsageIndex schemaUsageIndex = new SchemaUsageIndex(openAPI);
+        List<String> filteredSchemas = schemaUsageIndex.getSchemasUsedOnlyInFormParam();
+        configureIncrementalGeneration(schemaUsageIndex);
         List<ModelMap> allModels = new ArrayList<>();
         generateModels(files, allModels, filteredSchemas);
         // apis
@@ -915,8 +1137,13 @@ public class DefaultGenerator implements Generator {
         generateApis(files, allOperations, allModels);
 
         // supporting files
-        Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
-        generateSupportingFiles(files, bundle);
+        if (incremental == null || incremental.shouldGenerateSupportingFiles()) {
+            Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
+            generateSupportingFiles(files, bundle);
+        } else {
+            // nothing the supporting files depend on changed since the previous run
+            files.addAll(incremental.carryOverSupportingFiles());
+        }
 
         if (dryRun) {
             boolean verbose = Boolean.parseBoolean(GlobalSettings.getProperty("verbose"));
@@ -960,17 +1187,104 @@ public class DefaultGenerator implements Generator {
             if (generateSupportingFiles) {
                 generateFilesMetadata(files);
             }
+            // before the manifest, which records the hashes of the post-processed files
+            postProcessFiles();
+            if (incremental != null) {
+                generateManifest(files);
+                incremental = null;
+            }
         }
 
         // post-process
         config.postProcess();
 
-        // reset GlobalSettings, so that the running thread can be reused for another generator-run
-        GlobalSettings.reset();
+        if (this.templateProcessor instanceof TemplateManager) {
+            TemplateManager templateManager = (TemplateManager) this.templateProcessor;
+            LOGGER.info("Files written: {}, unchanged: {}, skipped: {}",
+                    templateManager.getWrittenCount(), templateManager.getUnchangedCount(), templateManager.getSkippedCount());
+        }
 
         return files;
     }
 
+    /**
+     * Enables incremental generation when requested via the {@link CodegenConstants#INCREMENTAL_GENERATION} property.
+     * Incremental generation is only supported for complete generation with metadata to the output directory, as it
+     * relies on the manifest written by a previous run and must be able to regenerate every file.
+     *
+     * @param schemaUsageIndex The index of the schema usages of the (pre-processed) document
+     */
+    private void configureIncrementalGeneration(SchemaUsageIndex schemaUsageIndex) {
+        incremental = null;
+        Boolean incrementalGeneration = GlobalSettings.getProperty(CodegenConstants.INCREMENTAL_GENERATION) != null ?
+                Boolean.valueOf(GlobalSettings.getProperty(CodegenConstants.INCREMENTAL_GENERATION)) :
+                getGeneratorPropertyDefaultSwitch(CodegenConstants.INCREMENTAL_GENERATION, false);
+        if (!Boolean.TRUE.equals(incrementalGeneration)) {
+            return;
+        }
+
+        boolean filtered = StringUtils.isNotEmpty(GlobalSettings.getProperty(CodegenConstants.MODELS))
+                || StringUtils.isNotEmpty(GlobalSettings.getProperty(CodegenConstants.APIS))
+                || StringUtils.isNotEmpty(GlobalSettings.getProperty(CodegenConstants.SUPPORTING_FILES));
+        if (!writesToDisk() || !generateMetadata || !generateModels || !generateApis || !generateSupportingFiles || filtered) {
+            LOGGER.info("Incremental generation is ignored, as it requires writing all models, APIs, supporting files and metadata to the output directory.");
+            return;
+        }
+
+        File manifest = new File(config.outputFolder() + File.separator + METADATA_DIR + File.separator + IncrementalGeneration.MANIFEST_FILENAME);
+        incremental = new IncrementalGeneration(config, openAPI, schemaUsageIndex, new File(config.outputFolder()), manifest);
+    }
+
+    /**
+     * Generates a file at .openapi-generator/MANIFEST.json to record the fingerprints of the generated models and APIs,
+     * which allows the next run to skip those which did not change.
+     *
+     * @param files The list tracking generated files
+     */
+    private void generateManifest(List<File> files) {
+        String filesMetadata = config.outputFolder() + File.separator + METADATA_DIR + File.separator + config.getFilesMetadataFilename();
+        String targetFile = config.outputFolder() + File.separator + METADATA_DIR + File.separator + IncrementalGeneration.MANIFEST_FILENAME;
+        try {
+            GenerationManifest manifest = incremental.toManifest(files, Collections.singletonList(new File(filesMetadata)));
+            this.templateProcessor.writeToFile(targetFile, manifest.toBytes());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write {} for incremental generation.", targetFile);
+        }
+    }
+
+    /**
+     * Estimates the number of distinct names (schemas, properties, operations and parameters) converted while
+     * generating the document. Each name is typically converted in several styles (model, variable, getter, ...).
+     */
+    private long estimateNameCount() {
+        long names = 0;
+        Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+        for (Schema schema : schemas.values()) {
+            names += 1 + (schema.getProperties() == null ? 0 : schema.getProperties().size());
+        }
+        if (openAPI.getPaths() != null) {
+            for (PathItem path : openAPI.getPaths().values()) {
+                for (Operation operation : path.readOperations()) {
+                    names += 1 + (operation.getParameters() == null ? 0 : operation.getParameters().size());
+                }
+            }
+        }
+        return names * 4;
+    }
+
+    private void releaseCompiledTemplates() {
+        TemplatingEngineAdapter templatingEngine = config.getTemplatingEngine();
+        if (templatingEngine instanceof MustacheEngineAdapter) {
+            CompiledTemplateCache<?> compiledTemplates = ((MustacheEngineAdapter) templatingEngine).getCompiledTemplateCache();
+            LOGGER.debug("Compiled template cache: {}", compiledTemplates);
+            compiledTemplates.clear();
+        } else if (templatingEngine instanceof HandlebarsEngineAdapter) {
+            LOGGER.debug("Compiled template cache: {}", ((HandlebarsEngineAdapter) templatingEngine).getCompiledTemplateCache());
+            // also releases the engine, which holds on to this run's template manager
+            ((HandlebarsEngineAdapter) templatingEngine).reset();
+        }
+    }
+
     private void processUserDefinedTemplates() {
         // TODO: initial behavior is "merge" user defined with built-in templates. consider offering user a "replace" option.
         if (userDefinedTemplates != null && !userDefinedTemplates.isEmpty()) {
@@ -1041,6 +1355,50 @@ public class DefaultGenerator implements Generator {
         }
     }
 
+    /**
+     * Queues a written file for post-processing, which runs once all files have been written, see
+     * {@link #postProcessFiles()}. Files may be queued from render worker threads.
+     *
+     * @param file     The written file
+     * @param fileType The type of the file, see {@link CodegenConfig#postProcessFile(File, String)}
+     */
+    private void postProcessFile(File file, String fileType) {
+        synchronized (filesToPostProcess) {
+            filesToPostProcess.computeIfAbsent(fileType, k -> new ArrayList<>()).add(file);
+        }
+    }
+
+    /**
+     * Post-processes the queued files, in batches of up to {@link CodegenConfig#getPostProcessBatchSize()} files of the
+     * same type, on up to {@link CodegenConfig#getPostProcessThreads()} worker threads. Post-processing is batched, as
+     * external post-processors (e.g. formatters) are typically much slower to start than to process a file.
+     */
+    private void postProcessFiles() {
+        List<Supplier<Void>> batches = new ArrayList<>();
+        synchronized (filesToPostProcess) {
+            int batchSize = config.getPostProcessBatchSize();
+            for (Map.Entry<String, List<File>> entry : filesToPostProcess.entrySet()) {
+                String fileType = entry.getKey();
+                // files are queued by concurrent render tasks, so they are sorted for reproducible batches
+                List<File> queued = new ArrayList<>(entry.getValue());
+                Collections.sort(queued);
+                for (int i = 0; i < queued.size(); i += batchSize) {
+                    List<File> batch = queued.subList(i, Math.min(i + batchSize, queued.size()));
+                    batches.add(() -> {
+                        try (GenerationProfiler.Span ignored = profiler.start("postProcessFiles", fileType)) {
+                            config.postProcessFiles(batch, fileType);
+                        }
+                        return null;
+                    });
+                }
+            }
+            filesToPostProcess.clear();
+        }
+        if (!batches.isEmpty()) {
+            runTasks(config.getPostProcessThreads(), batches);
+        }
+    }
+
     protected File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename, boolean shouldGenerate, String skippedByOption) throws IOException {
         return processTemplateToFile(templateData, templateName, outputFilename, shouldGenerate, skippedByOption, this.config.getOutputDir());
     }
@@ -1068,6 +1426,7 @@ public class DefaultGenerator implements Generator {
 
     public Map<String, List<CodegenOperation>> processPaths(Paths paths) {
         Map<String, List<CodegenOperation>> ops = new TreeMap<>();
+        authMethodsCache.clear();
         // when input file is not valid and doesn't contain any paths
         if (paths == null) {
             return ops;
@@ -1096,6 +1455,11 @@ public class DefaultGenerator implements Generator {
             LOGGER.info("processOperation: resourcePath=  {}\t;{} {}\n", resourcePath, httpMethod, operation);
         }
 
+        if (incremental != null && !incremental.shouldProcessOperation(httpMethod, resourcePath)) {
+            // all tags of this operation are unchanged since the previous run
+            return;
+        }
+
         List<Tag> tags = new ArrayList<>();
         List<String> tagNames = operation.getTags();
         List<Tag> swaggerTags = openAPI.getTags();
@@ -1148,46 +1512,151 @@ public class DefaultGenerator implements Generator {
             }
         }
 
-        final Map<String, SecurityScheme> securitySchemes = openAPI.getComponents() != null ? openAPI.getComponents().getSecuritySchemes() : null;
-        final List<SecurityRequirement> globalSecurities = openAPI.getSecurity();
-        for (Tag tag : tags) {
+        final CodegenOperation baseOperation;
+        try {
+            baseOperation = convertOperation(resourcePath, httpMethod, operation, path, tags);
+        } catch (Exception ex) {
+            throw operationException(tags.get(0), operation, httpMethod, resourcePath, ex);
+        }
+
+        // the operation is converted once; every tag but the last gets its own copy, as generators post-process
+        // (e.g. rename) the operations of each group independently. Generators using their own subclasses of the
+        // codegen types, which copies would lose, have the operation converted again for each tag instead.
+        boolean copyable = isCopyable(baseOperation);
+        for (int i = 0; i < tags.size(); i++) {
+            Tag tag = tags.get(i);
             try {
-                CodegenOperation codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, path.getServers());
-                codegenOperation.tags = new ArrayList<>(tags);
+                CodegenOperation codegenOperation;
+                if (i == tags.size() - 1) {
+                    codegenOperation = baseOperation;
+                } else if (copyable) {
+                    codegenOperation = baseOperation.copy();
+                } else {
+                    codegenOperation = convertOperation(resourcePath, httpMethod, operation, path, tags);
+                }
+                if (incremental != null) {
+                    incremental.registerOperation(codegenOperation, httpMethod, resourcePath);
+                }
                 config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
+            } catch (Exception ex) {
+                throw operationException(tag, operation, httpMethod, resourcePath, ex);
+            }
+        }
 
-                List<SecurityRequirement> securities = operation.getSecurity();
-                if (securities != null && securities.isEmpty()) {
-                    continue;
-                }
+    }
 
-                Map<String, SecurityScheme> authMethods = getAuthMethods(securities, securitySchemes);
+    private CodegenOperation convertOperation(String resourcePath, String httpMethod, Operation operation, PathItem path, List<Tag> tags) {
+        CodegenOperation codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, path.getServers());
+        codegenOperation.tags = new ArrayList<>(tags);
+        resolveAuthMethods(codegenOperation, operation.getSecurity());
+        return codegenOperation;
+    }
 
-                if (authMethods != null && !authMethods.isEmpty()) {
-                    List<CodegenSecurity> fullAuthMethods = config.fromSecurity(authMethods);
-                    codegenOperation.authMethods = filterAuthMethods(fullAuthMethods, securities);
-                    codegenOperation.hasAuthMethods = true;
-                } else {
-                    authMethods = getAuthMethods(globalSecurities, securitySchemes);
+    /**
+     * @return Whether {@link CodegenOperation#copy()} preserves the operation, i.e. neither the operation nor the
+     * parameters, properties, auth methods, responses and callbacks it copies are generator-specific subclasses, and
+     * their vendor extensions don't hold other mutable values than maps, lists and sets
+     */
+    private static boolean isCopyable(CodegenOperation operation) {
+        if (operation.getClass() != CodegenOperation.class || !VendorExtensions.isCopyable(operation.vendorExtensions)) {
+            return false;
+        }
+        boolean parameters = Stream.of(Collections.singletonList(operation.bodyParam), operation.allParams, operation.bodyParams,
+                        operation.pathParams, operation.queryParams, operation.headerParams, operation.implicitHeadersParams,
+                        operation.formParams, operation.cookieParams, operation.requiredParams, operation.optionalParams)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .allMatch(p -> p == null || p.getClass() == CodegenParameter.class && VendorExtensions.isCopyable(p.vendorExtensions));
+        boolean properties = Stream.concat(Stream.of(operation.returnProperty), operation.responseHeaders.stream())
+                .allMatch(p -> p == null || p.getClass() == CodegenProperty.class && VendorExtensions.isCopyable(p.vendorExtensions));
+        boolean authMethods = operation.authMethods == null
+                || operation.authMethods.stream().allMatch(a -> a == null || a.getClass() == CodegenSecurity.class
+                && VendorExtensions.isCopyable(a.vendorExtensions));
+        boolean responses = operation.responses == null
+                || operation.responses.stream().allMatch(r -> r == null || r.getClass() == CodegenResponse.class
+                && VendorExtensions.isCopyable(r.vendorExtensions));
+        boolean callbacks = operation.callbacks == null
+                || operation.callbacks.stream().allMatch(c -> c == null || c.getClass() == CodegenCallback.class
+                && VendorExtensions.isCopyable(c.vendorExtensions)
+                && (c.urls == null || c.urls.stream().allMatch(u -> u == null || VendorExtensions.isCopyable(u.vendorExtensions)
+                && (u.requests == null || u.requests.stream().allMatch(r -> r == null || isCopyable(r))))));
+        return parameters && properties && authMethods && responses && callbacks;
+    }
 
-                    if (authMethods != null && !authMethods.isEmpty()) {
-                        List<CodegenSecurity> fullAuthMethods = config.fromSecurity(authMethods);
-                        codegenOperation.authMethods = filterAuthMethods(fullAuthMethods, globalSecurities);
-                        codegenOperation.hasAuthMethods = true;
-                    }
-                }
+    private RuntimeException operationException(Tag tag, Operation operation, String httpMethod, String resourcePath, Exception ex) {
+        String msg = "Could not process operation:\n" //
+                + "  Tag: " + tag + "\n"//
+                + "  Operation: " + operation.getOperationId() + "\n" //
+                + "  Resource: " + httpMethod + " " + resourcePath + "\n"//
+                + "  Schemas: " + openAPI.getComponents().getSchemas() + "\n"  //
+                + "  Exception: " + ex.getMessage();
+        return new RuntimeException(msg, ex);
+    }
 
-            } catch (Exception ex) {
-                String msg = "Could not process operation:\n" //
-                        + "  Tag: " + tag + "\n"//
-                        + "  Operation: " + operation.getOperationId() + "\n" //
-                        + "  Resource: " + httpMethod + " " + resourcePath + "\n"//
-                        + "  Schemas: " + openAPI.getComponents().getSchemas() + "\n"  //
-                        + "  Exception: " + ex.getMessage();
-                throw new RuntimeException(msg, ex);
+    /**
+     * Sets the auth methods of an operation from its security requirements, or the global ones.
+     * Operations usually share a handful of distinct requirements, so the auth methods are only converted once per
+     * requirement; each operation gets its own copies as generators may modify them.
+     */
+    private void resolveAuthMethods(CodegenOperation codegenOperation, List<SecurityRequirement> securities) {
+        if (securities != null && securities.isEmpty()) {
+            return;
+        }
+
+        ConvertedAuthMethods converted = authMethodsCache.computeIfAbsent(securities == null ? Collections.emptyList() : securities,
+                key -> convertAuthMethods(securities));
+        if (!converted.matched) {
+            return;
+        }
+        List<CodegenSecurity> authMethods = converted.authMethods;
+        if (authMethods == null) {
+            codegenOperation.authMethods = null;
+        } else if (authMethods.stream().allMatch(a -> a == null || a.getClass() == CodegenSecurity.class)) {
+            codegenOperation.authMethods = new ArrayList<>(authMethods.size());
+            for (CodegenSecurity authMethod : authMethods) {
+                codegenOperation.authMethods.add(authMethod == null ? null : authMethod.copy());
             }
+        } else {
+            // generator-specific subclasses can't be copied, so they are converted again for each operation
+            codegenOperation.authMethods = convertAuthMethods(securities).authMethods;
+        }
+        // as for operations converted one by one, the flag follows the matching security schemes, even when the
+        // generator converted them to no auth method at all
+        codegenOperation.hasAuthMethods = true;
+    }
+
+    private ConvertedAuthMethods convertAuthMethods(List<SecurityRequirement> securities) {
+        final Map<String, SecurityScheme> securitySchemes = openAPI.getComponents() != null ? openAPI.getComponents().getSecuritySchemes() : null;
+        final List<SecurityRequirement> globalSecurities = openAPI.getSecurity();
+
+        Map<String, SecurityScheme> authMethods = getAuthMethods(securities, securitySchemes);
+        if (authMethods != null && !authMethods.isEmpty()) {
+            List<CodegenSecurity> fullAuthMethods = config.fromSecurity(authMethods);
+            return new ConvertedAuthMethods(true, filterAuthMethods(fullAuthMethods, securities));
         }
 
+        authMethods = getAuthMethods(globalSecurities, securitySchemes);
+        if (authMethods != null && !authMethods.isEmpty()) {
+            List<CodegenSecurity> fullAuthMethods = config.fromSecurity(authMethods);
+            return new ConvertedAuthMethods(true, filterAuthMethods(fullAuthMethods, globalSecurities));
+        }
+        return ConvertedAuthMethods.NONE;
+    }
+
+    /**
+     * The auth methods converted for a list of security requirements. {@link #matched} tells whether any security
+     * scheme matched the requirements, as {@link #authMethods} may be null or empty either way.
+     */
+    private static final class ConvertedAuthMethods {
+        static final ConvertedAuthMethods NONE = new ConvertedAuthMethods(false, null);
+
+        final boolean matched;
+        final List<CodegenSecurity> authMethods;
+
+        ConvertedAuthMethods(boolean matched, List<CodegenSecurity> authMethods) {
+            this.matched = matched;
+            this.authMethods = authMethods;
+        }
     }
 
     private static String generateParameterId(Parameter parameter) {
@@ -1288,7 +1757,10 @@ public class DefaultGenerator implements Generator {
             Schema schema = definitionsEntry.getValue();
             if (schema == null)
                 throw new RuntimeException("schema cannot be null in processModels");
-            CodegenModel cm = config.fromModel(key, schema);
+            CodegenModel cm;
+            try (GenerationProfiler.Span ignored = profiler.start("fromModel", key)) {
+                cm = config.fromModel(key, schema);
+            }
             ModelMap mo = new ModelMap();
             mo.setModel(cm);
             mo.put("importPath", config.toModelImport(cm.classname));
@@ -1451,8 +1923,8 @@ public class DefaultGenerator implements Generator {
                 File written = this.templateProcessor.writeToFile(versionMetadata, ImplementationVersion.read().getBytes(StandardCharsets.UTF_8));
                 if (written != null) {
                     files.add(versionMetadataFile);
-                    if (config.isEnablePostProcessFile() && !dryRun) {
-                        config.postProcessFile(written, "openapi-generator-version");
+                    if (config.isEnablePostProcessFile() && writesToDisk()) {
+                        postProcessFile(written, "openapi-generator-version");
                     }
                 }
             } catch (IOException e) {
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The persisted state of a generation run (.openapi-generator/MANIFEST.json), used for incremental regeneration.
+ * <p>
+ * Besides the content hash of every generated file, the manifest records a fingerprint of the inputs of each model
+ * and API (tag) together with the files it produced. A later run whose fingerprints match may skip those models and
+ * APIs entirely and carry their files forward.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GenerationManifest {
+    public static final int CURRENT_VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private int version = CURRENT_VERSION;
+    private String globalFingerprint;
+    private String structureFingerprint;
+    private String supportingFingerprint;
+    private Map<String, Entry> models = new TreeMap<>();
+    private Map<String, Entry> apis = new TreeMap<>();
+    private List<String> supportingFiles = new ArrayList<>();
+    private Map<String, String> files = new TreeMap<>();
+
+    /**
+     * The fingerprint of a single model or API and the files (relative to the output directory) generated from it.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Entry {
+        private String fingerprint;
+        private List<String> operations = new ArrayList<>();
+        private List<String> files = new ArrayList<>();
+
+        public Entry() {
+        }
+
+        public Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public void setFingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        /**
+         * @return The operations (e.g. "GET /pets/{petId}") grouped under an API; empty for models
+         */
+        public List<String> getOperations() {
+            return operations;
+        }
+
+        public void setOperations(List<String> operations) {
+            this.operations = operations;
+        }
+
+        public List<String> getFiles() {
+            return files;
+        }
+
+        public void setFiles(List<String> files) {
+            this.files = files;
+        }
+    }
+
+    /**
+     * Reads a manifest from disk.
+     *
+     * @param file The manifest file
+     * @return The manifest, or null if the file does not exist, can not be read or was written by another manifest version
+     */
+    public static GenerationManifest read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            GenerationManifest manifest = MAPPER.readValue(file, GenerationManifest.class);
+            return manifest.getVersion() == CURRENT_VERSION ? manifest : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Serializes the manifest as JSON.
+     *
+     * @return The JSON representation of this manifest
+     * @throws IOException an error occurred during serialization
+     */
+    public byte[] toBytes() throws IOException {
+        return MAPPER.writeValueAsBytes(this);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * @return The fingerprint of generator, options and templates; any change invalidates the whole manifest
+     */
+    public String getGlobalFingerprint() {
+        return globalFingerprint;
+    }
+
+    public void setGlobalFingerprint(String globalFingerprint) {
+        this.globalFingerprint = globalFingerprint;
+    }
+
+    /**
+     * @return The fingerprint of the document's shape (schema names, operations, inheritance, servers, security);
+     * any change requires the supporting files, and therefore all models and APIs, to be regenerated
+     */
+    public String getStructureFingerprint() {
+        return structureFingerprint;
+    }
+
+    public void setStructureFingerprint(String structureFingerprint) {
+        this.structureFingerprint = structureFingerprint;
+    }
+
+    /**
+     * @return The fingerprint of what the supporting files list about each model and operation (e.g. enums, operation
+     * summaries); any change requires the supporting files to be regenerated from all models and operations
+     */
+    public String getSupportingFingerprint() {
+        return supportingFingerprint;
+    }
+
+    public void setSupportingFingerprint(String supportingFingerprint) {
+        this.supportingFingerprint = supportingFingerprint;
+    }
+
+    public Map<String, Entry> getModels() {
+        return models;
+    }
+
+    public void setModels(Map<String, Entry> models) {
+        this.models = new TreeMap<>(models);
+    }
+
+    public Map<String, Entry> getApis() {
+        return apis;
+    }
+
+    public void setApis(Map<String, Entry> apis) {
+        this.apis = new TreeMap<>(apis);
+    }
+
+    public List<String> getSupportingFiles() {
+        return supportingFiles;
+    }
+
+    public void setSupportingFiles(List<String> supportingFiles) {
+        this.supportingFiles = supportingFiles;
+    }
+
+    /**
+     * @return The content hash of each generated file, keyed by its path relative to the output directory
+     */
+    public Map<String, String> getFiles() {
+        return files;
+    }
+
+    public void setFiles(Map<String, String> files) {
+        this.files = new TreeMap<>(files);
+    }
+}
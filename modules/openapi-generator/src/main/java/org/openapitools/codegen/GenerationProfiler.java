@@ -0,0 +1,265 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.core.util.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Records the wall time, CPU time and allocated bytes of the phases of a generation run, and of the items (models,
+ * tags, templates) processed by some of them, for a JSON report of where the time of a run goes.
+ * <p>
+ * CPU time and allocations are measured on the current thread, so they remain accurate when files are rendered
+ * concurrently; the wall time of such phases is summed over the threads. Allocations are only reported on JVMs
+ * which support measuring them (as HotSpot does), and are 0 otherwise.
+ * <p>
+ * {@link #DISABLED} records nothing, and is used unless profiling is requested.
+ */
+public class GenerationProfiler {
+    /**
+     * A profiler which records nothing.
+     */
+    public static final GenerationProfiler DISABLED = new GenerationProfiler(0, false);
+
+    private static final Span NOOP = () -> { };
+    private static final int DEFAULT_TOP_ITEMS = 10;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final boolean enabled;
+    private final int topItems;
+    private final boolean cpuTimeSupported;
+    private final AllocationCounter allocationCounter;
+
+    private final AtomicInteger phaseOrder = new AtomicInteger();
+    private final ConcurrentMap<String, Phase> phases = new ConcurrentHashMap<>();
+
+    public GenerationProfiler() {
+        this(DEFAULT_TOP_ITEMS);
+    }
+
+    /**
+     * @param topItems The number of items reported for each phase, the slowest first
+     */
+    public GenerationProfiler(int topItems) {
+        this(topItems, true);
+    }
+
+    private GenerationProfiler(int topItems, boolean enabled) {
+        this.enabled = enabled;
+        this.topItems = topItems;
+        this.cpuTimeSupported = enabled && threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+        this.allocationCounter = enabled ? AllocationCounter.create(threads) : AllocationCounter.UNSUPPORTED;
+    }
+
+    /**
+     * A measurement in progress, which is recorded when closed.
+     */
+    public interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * @return Whether this profiler records anything
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts measuring a phase, on the current thread.
+     *
+     * @param phase The name of the phase
+     * @return The measurement, to be closed (on the same thread) when the phase ends
+     */
+    public Span start(String phase) {
+        return start(phase, null);
+    }
+
+    /**
+     * Starts measuring an item of a phase, on the current thread. The item is accounted to the phase, and to the
+     * slowest items of the phase.
+     *
+     * @param phase The name of the phase
+     * @param item  The name of the item (e.g. a model, tag or template), or null
+     * @return The measurement, to be closed (on the same thread) when the item has been processed
+     */
+    public Span start(String phase, String item) {
+        if (!enabled) {
+            return NOOP;
+        }
+        final long wallStart = System.nanoTime();
+        final long cpuStart = cpuTime();
+        final long allocatedStart = allocationCounter.allocatedBytes();
+        return () -> {
+            long wall = System.nanoTime() - wallStart;
+            long cpu = cpuTime() - cpuStart;
+            long allocated = allocationCounter.allocatedBytes() - allocatedStart;
+            Phase p = phases.computeIfAbsent(phase, k -> new Phase(phaseOrder.getAndIncrement()));
+            p.totals.add(wall, cpu, allocated);
+            if (item != null) {
+                p.items.computeIfAbsent(item, k -> new Stats()).add(wall, cpu, allocated);
+            }
+        };
+    }
+
+    /**
+     * Measures a phase.
+     *
+     * @param phase  The name of the phase
+     * @param action The phase
+     * @param <T>    The type of the result of the phase
+     * @return The result of the phase
+     */
+    public <T> T time(String phase, Supplier<T> action) {
+        try (Span ignored = start(phase)) {
+            return action.get();
+        }
+    }
+
+    private long cpuTime() {
+        return cpuTimeSupported ? threads.getCurrentThreadCpuTime() : 0L;
+    }
+
+    /**
+     * @return The report, as nested maps and lists which serialize to JSON
+     */
+    public Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("cpuTimeSupported", cpuTimeSupported);
+        report.put("allocationsSupported", allocationCounter != AllocationCounter.UNSUPPORTED);
+        List<Map<String, Object>> phaseReports = new ArrayList<>();
+        phases.entrySet().stream()
+                .sorted(Comparator.comparingInt(e -> e.getValue().order))
+                .forEach(e -> {
+                    Map<String, Object> phaseReport = new LinkedHashMap<>();
+                    phaseReport.put("name", e.getKey());
+                    e.getValue().totals.appendTo(phaseReport);
+                    if (!e.getValue().items.isEmpty()) {
+                        phaseReport.put("items", e.getValue().items.size());
+                        phaseReport.put("slowest", e.getValue().items.entrySet().stream()
+                                .sorted(Comparator.comparingLong((Map.Entry<String, Stats> item) -> item.getValue().wallNanos.sum()).reversed())
+                                .limit(topItems)
+                                .map(item -> {
+                                    Map<String, Object> itemReport = new LinkedHashMap<>();
+                                    itemReport.put("name", item.getKey());
+                                    item.getValue().appendTo(itemReport);
+                                    return itemReport;
+                                })
+                                .collect(Collectors.toList()));
+                    }
+                    phaseReports.add(phaseReport);
+                });
+        report.put("phases", phaseReports);
+        return report;
+    }
+
+    /**
+     * Writes the report as JSON.
+     *
+     * @param file The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public void writeReport(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create directory " + parent);
+        }
+        Json.pretty().writeValue(file, toReport());
+    }
+
+    private static final class Phase {
+        private final int order;
+        private final Stats totals = new Stats();
+        private final ConcurrentMap<String, Stats> items = new ConcurrentHashMap<>();
+
+        Phase(int order) {
+            this.order = order;
+        }
+    }
+
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        void add(long wall, long cpu, long allocated) {
+            count.increment();
+            wallNanos.add(wall);
+            cpuNanos.add(cpu);
+            allocatedBytes.add(allocated);
+        }
+
+        void appendTo(Map<String, Object> report) {
+            report.put("count", count.sum());
+            report.put("wallMillis", toMillis(wallNanos.sum()));
+            report.put("cpuMillis", toMillis(cpuNanos.sum()));
+            report.put("allocatedBytes", allocatedBytes.sum());
+        }
+
+        private static double toMillis(long nanos) {
+            return Math.round(nanos / 1000.0) / 1000.0;
+        }
+    }
+
+    /**
+     * Reads the bytes allocated by the current thread, through the HotSpot extension of {@link ThreadMXBean} when it
+     * is available. It is looked up reflectively, as it is not part of the Java SE API.
+     */
+    private interface AllocationCounter {
+        AllocationCounter UNSUPPORTED = () -> 0L;
+
+        long allocatedBytes();
+
+        static AllocationCounter create(ThreadMXBean threads) {
+            try {
+                Class<?> hotSpotThreads = Class.forName("com.sun.management.ThreadMXBean");
+                if (!hotSpotThreads.isInstance(threads)
+                        || !(Boolean) hotSpotThreads.getMethod("isThreadAllocatedMemorySupported").invoke(threads)
+                        || !(Boolean) hotSpotThreads.getMethod("isThreadAllocatedMemoryEnabled").invoke(threads)) {
+                    return UNSUPPORTED;
+                }
+                java.lang.reflect.Method getThreadAllocatedBytes = hotSpotThreads.getMethod("getThreadAllocatedBytes", long.class);
+                return () -> {
+                    try {
+                        return (Long) getThreadAllocatedBytes.invoke(threads, Thread.currentThread().getId());
+                    } catch (ReflectiveOperationException e) {
+                        return 0L;
+                    }
+                };
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return UNSUPPORTED;
+            }
+        }
+    }
+}
@@ -0,0 +1,629 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.utils.ImplementationVersion;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SchemaUsageIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Decides which models and APIs need to be regenerated, based on the {@link GenerationManifest} of a previous run.
+ * <p>
+ * A previous manifest is only reused when the generator, options, templates and the overall shape of the document are
+ * unchanged, and every supporting file is still as it was written. In that case every model is still built, as
+ * {@link CodegenConfig#updateAllModels(Map)} and {@link CodegenConfig#postProcessAllModels(Map)} relate models to each
+ * other (inheritance, discriminators, imports), but only the models whose fingerprint changed (or whose files were
+ * modified or removed) are rendered. Only the operations of changed APIs are built and rendered. Everything else is
+ * carried over from the previous manifest. Otherwise, everything is generated as usual and a new manifest is recorded.
+ * <p>
+ * Supporting files, such as READMEs, also list every model and operation, e.g. with their summary or whether they are
+ * enums. When what they list changes, all operations are built so that the supporting files are rendered again, while
+ * only the changed models and APIs are rendered.
+ */
+class IncrementalGeneration {
+    static final String MANIFEST_FILENAME = "MANIFEST.json";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalGeneration.class);
+    private static final Pattern COMPONENT_REF = Pattern.compile("\"\\$ref\"\\s*:\\s*\"#/components/(\\w+)/([^\"]+)\"");
+    private static final Set<String> VOLATILE_PROPERTIES = new HashSet<>(Arrays.asList("generatedDate", "generatedYear"));
+
+    private final Path outputDir;
+    private final GenerationManifest previous;
+    private final String globalFingerprint;
+    private final String structureFingerprint;
+    private final String supportingFingerprint;
+
+    private final Map<String, String> schemaHashes = new TreeMap<>();
+    private final Map<String, Set<String>> schemaRefs = new HashMap<>();
+    private final Map<String, Set<String>> schemaChildren = new HashMap<>();
+    private final Map<String, String> componentJson = new HashMap<>();
+    private final Map<String, String> componentHashes = new HashMap<>();
+    private final Map<String, Set<String>> componentRefs = new HashMap<>();
+    private final Map<String, String> operationHashes = new HashMap<>();
+    private final Map<String, Set<String>> operationRefs = new HashMap<>();
+    private final Map<String, String> fileHashes = new ConcurrentHashMap<>();
+
+    private final boolean partial;
+    private final boolean supportingChanged;
+    private final Set<String> changedModels = new HashSet<>();
+    private final Set<String> changedApis = new HashSet<>();
+    private final Set<String> operationsToProcess = new HashSet<>();
+
+    private final Map<CodegenOperation, String> operationKeys = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<String, List<File>> modelFiles = new ConcurrentHashMap<>();
+    private final Map<String, GenerationManifest.Entry> apiEntries = new ConcurrentHashMap<>();
+
+    IncrementalGeneration(CodegenConfig config, OpenAPI openAPI, SchemaUsageIndex schemaUsageIndex, File outputDir, File manifestFile) {
+        this.outputDir = outputDir.toPath().toAbsolutePath().normalize();
+        indexDocument(openAPI);
+        this.globalFingerprint = computeGlobalFingerprint(config);
+        this.structureFingerprint = computeStructureFingerprint(openAPI, schemaUsageIndex.getSchemasUsedOnlyInFormParam());
+        this.supportingFingerprint = computeSupportingFingerprint(openAPI);
+
+        GenerationManifest manifest = GenerationManifest.read(manifestFile);
+        this.previous = manifest;
+        this.partial = manifest != null
+                && globalFingerprint.equals(manifest.getGlobalFingerprint())
+                && structureFingerprint.equals(manifest.getStructureFingerprint())
+                && manifest.getSupportingFiles().stream().allMatch(this::isIntact);
+        this.supportingChanged = partial && !supportingFingerprint.equals(manifest.getSupportingFingerprint());
+
+        if (partial) {
+            for (String name : schemaHashes.keySet()) {
+                GenerationManifest.Entry entry = manifest.getModels().get(name);
+                if (entry == null || !modelFingerprint(name).equals(entry.getFingerprint()) || !entry.getFiles().stream().allMatch(this::isIntact)) {
+                    changedModels.add(name);
+                }
+            }
+            for (Map.Entry<String, GenerationManifest.Entry> api : manifest.getApis().entrySet()) {
+                GenerationManifest.Entry entry = api.getValue();
+                if (!apiFingerprint(api.getKey(), entry.getOperations()).equals(entry.getFingerprint()) || !entry.getFiles().stream().allMatch(this::isIntact)) {
+                    changedApis.add(api.getKey());
+                    operationsToProcess.addAll(entry.getOperations());
+                }
+            }
+            LOGGER.info("Incremental generation: {} of {} models and {} of {} APIs changed since the last run{}.",
+                    changedModels.size(), schemaHashes.size(), changedApis.size(), manifest.getApis().size(),
+                    supportingChanged ? ", regenerating the supporting files" : "");
+        } else {
+            LOGGER.info("Incremental generation: {}, generating all files.",
+                    manifest == null ? "no usable manifest from a previous run" : "generator, options, templates or document structure changed");
+        }
+    }
+
+    static String operationKey(String httpMethod, String resourcePath) {
+        return httpMethod.toUpperCase(Locale.ROOT) + " " + resourcePath;
+    }
+
+    boolean shouldRenderModel(String name) {
+        return !partial || changedModels.contains(name);
+    }
+
+    void recordModelFiles(String name, List<File> files) {
+        modelFiles.put(name, files);
+    }
+
+    /**
+     * @return The files of every model which has not been rendered in this run, as recorded by the previous run
+     */
+    List<File> carryOverModels() {
+        if (!partial) {
+            return Collections.emptyList();
+        }
+        List<File> files = new ArrayList<>();
+        for (String name : schemaHashes.keySet()) {
+            GenerationManifest.Entry entry = previous.getModels().get(name);
+            if (!changedModels.contains(name) && entry != null) {
+                files.addAll(toFiles(entry.getFiles()));
+            }
+        }
+        return files;
+    }
+
+    boolean shouldProcessOperation(String httpMethod, String resourcePath) {
+        if (!partial || supportingChanged) {
+            return true;
+        }
+        String key = operationKey(httpMethod, resourcePath);
+        return operationsToProcess.contains(key) || previous.getApis().values().stream().noneMatch(e -> e.getOperations().contains(key));
+    }
+
+    void registerOperation(CodegenOperation operation, String httpMethod, String resourcePath) {
+        operationKeys.put(operation, operationKey(httpMethod, resourcePath));
+    }
+
+    boolean shouldRenderApi(String tag) {
+        return !partial || changedApis.contains(tag) || !previous.getApis().containsKey(tag);
+    }
+
+    void recordApi(String tag, List<CodegenOperation> operations, List<File> files) {
+        List<String> keys = operations.stream()
+                .map(operationKeys::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        GenerationManifest.Entry entry = new GenerationManifest.Entry(apiFingerprint(tag, keys));
+        entry.setOperations(keys);
+        entry.setFiles(toRelativePaths(files));
+        apiEntries.put(tag, entry);
+    }
+
+    /**
+     * @return The files of every API which has not been rendered in this run, as recorded by the previous run
+     */
+    List<File> carryOverApis() {
+        if (!partial) {
+            return Collections.emptyList();
+        }
+        List<File> files = new ArrayList<>();
+        previous.getApis().forEach((tag, entry) -> {
+            if (!apiEntries.containsKey(tag)) {
+                apiEntries.put(tag, entry);
+                files.addAll(toFiles(entry.getFiles()));
+            }
+        });
+        return files;
+    }
+
+    /**
+     * @return true if the supporting files are rendered, in which case all models and operations are built
+     */
+    boolean shouldGenerateSupportingFiles() {
+        return !partial || supportingChanged;
+    }
+
+    List<File> carryOverSupportingFiles() {
+        return shouldGenerateSupportingFiles() ? Collections.emptyList() : toFiles(previous.getSupportingFiles());
+    }
+
+    /**
+     * Builds the manifest describing this run.
+     *
+     * @param files     All files generated (or carried over) in this run
+     * @param metadata  Metadata files which are rewritten on every run, and thus not tracked as supporting files
+     * @return The manifest to persist
+     */
+    GenerationManifest toManifest(List<File> files, Collection<File> metadata) throws IOException {
+        GenerationManifest manifest = new GenerationManifest();
+        manifest.setGlobalFingerprint(globalFingerprint);
+        manifest.setStructureFingerprint(structureFingerprint);
+        manifest.setSupportingFingerprint(supportingFingerprint);
+
+        Set<String> attributed = new HashSet<>();
+        Map<String, GenerationManifest.Entry> models = new TreeMap<>();
+        for (String name : schemaHashes.keySet()) {
+            GenerationManifest.Entry entry = new GenerationManifest.Entry(modelFingerprint(name));
+            if (modelFiles.containsKey(name)) {
+                entry.setFiles(toRelativePaths(modelFiles.get(name)));
+            } else if (partial && !changedModels.contains(name) && previous.getModels().containsKey(name)) {
+                entry.setFiles(previous.getModels().get(name).getFiles());
+            }
+            attributed.addAll(entry.getFiles());
+            models.put(name, entry);
+        }
+        manifest.setModels(models);
+        apiEntries.values().forEach(entry -> attributed.addAll(entry.getFiles()));
+        manifest.setApis(apiEntries);
+
+        // the hashes computed while comparing with the previous run predate this run's writes
+        fileHashes.clear();
+        Set<String> metadataPaths = new HashSet<>(toRelativePaths(metadata));
+        Map<String, String> hashes = new TreeMap<>();
+        List<String> supportingFiles = new ArrayList<>();
+        for (String path : new TreeSet<>(toRelativePaths(files))) {
+            String hash = hashFile(path);
+            if (hash == null) {
+                continue;
+            }
+            hashes.put(path, hash);
+            if (!attributed.contains(path) && !metadataPaths.contains(path)) {
+                supportingFiles.add(path);
+            }
+        }
+        manifest.setFiles(hashes);
+        manifest.setSupportingFiles(supportingFiles);
+        return manifest;
+    }
+
+    private String modelFingerprint(String name) {
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putString(globalFingerprint, StandardCharsets.UTF_8)
+                .putString(name, StandardCharsets.UTF_8);
+        for (String dependency : new TreeSet<>(closure(Collections.singleton(name)))) {
+            hasher.putString(dependency, StandardCharsets.UTF_8).putString(schemaHashes.get(dependency), StandardCharsets.UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+
+    private String apiFingerprint(String tag, List<String> operations) {
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putString(globalFingerprint, StandardCharsets.UTF_8)
+                .putString(tag, StandardCharsets.UTF_8);
+        Set<String> refs = new HashSet<>();
+        for (String operation : new TreeSet<>(operations)) {
+            hasher.putString(operation, StandardCharsets.UTF_8)
+                    .putString(operationHashes.getOrDefault(operation, "missing"), StandardCharsets.UTF_8);
+            refs.addAll(operationRefs.getOrDefault(operation, Collections.emptySet()));
+        }
+        for (String dependency : new TreeSet<>(closure(refs))) {
+            hasher.putString(dependency, StandardCharsets.UTF_8).putString(schemaHashes.get(dependency), StandardCharsets.UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Collects the given schemas, every schema they (transitively) reference, and every schema extending one of them
+     * through allOf, as parent models derive children, discriminator mappings, etc. from their descendants.
+     */
+    private Set<String> closure(Collection<String> names) {
+        Set<String> visited = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>(names);
+        while (!queue.isEmpty()) {
+            String name = queue.poll();
+            if (!schemaHashes.containsKey(name) || !visited.add(name)) {
+                continue;
+            }
+            queue.addAll(schemaRefs.getOrDefault(name, Collections.emptySet()));
+            queue.addAll(schemaChildren.getOrDefault(name, Collections.emptySet()));
+        }
+        return visited;
+    }
+
+    private void indexDocument(OpenAPI openAPI) {
+        Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            String json = toJson(entry.getValue());
+            schemaHashes.put(entry.getKey(), hashString(json));
+            schemaRefs.put(entry.getKey(), refsOf(json, "schemas"));
+            if (entry.getValue() instanceof ComposedSchema && ((ComposedSchema) entry.getValue()).getAllOf() != null) {
+                for (Schema parent : ((ComposedSchema) entry.getValue()).getAllOf()) {
+                    if (parent.get$ref() != null) {
+                        schemaChildren.computeIfAbsent(ModelUtils.getSimpleRef(parent.get$ref()), k -> new HashSet<>()).add(entry.getKey());
+                    }
+                }
+            }
+        }
+
+        Components components = openAPI.getComponents();
+        if (components != null) {
+            indexComponents("parameters", components.getParameters());
+            indexComponents("requestBodies", components.getRequestBodies());
+            indexComponents("responses", components.getResponses());
+            indexComponents("headers", components.getHeaders());
+            indexComponents("examples", components.getExamples());
+            indexComponents("links", components.getLinks());
+            indexComponents("callbacks", components.getCallbacks());
+        }
+
+        if (openAPI.getPaths() != null) {
+            for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+                PathItem pathItem = path.getValue();
+                String shared = toJson(pathItem.getParameters()) + toJson(pathItem.getServers());
+                for (Map.Entry<PathItem.HttpMethod, Operation> operation : pathItem.readOperationsMap().entrySet()) {
+                    String key = operationKey(operation.getKey().name(), path.getKey());
+                    String json = toJson(operation.getValue()) + shared;
+                    Set<String> refs = new HashSet<>(refsOf(json, "schemas"));
+                    StringBuilder resolved = new StringBuilder(json);
+                    for (String component : componentClosure(json)) {
+                        resolved.append(component).append(componentHashes.get(component));
+                        refs.addAll(componentRefs.get(component));
+                    }
+                    operationHashes.put(key, hashString(resolved.toString()));
+                    operationRefs.put(key, refs);
+                }
+            }
+        }
+    }
+
+    private void indexComponents(String kind, Map<String, ?> values) {
+        if (values == null) {
+            return;
+        }
+        values.forEach((name, value) -> {
+            String json = toJson(value);
+            componentJson.put(kind + "/" + name, json);
+            componentHashes.put(kind + "/" + name, hashString(json));
+            componentRefs.put(kind + "/" + name, refsOf(json, "schemas"));
+        });
+    }
+
+    /**
+     * Collects the non-schema components (parameters, request bodies, responses, ...) transitively referenced by a JSON fragment.
+     */
+    private SortedSet<String> componentClosure(String json) {
+        SortedSet<String> visited = new TreeSet<>();
+        Deque<String> queue = new ArrayDeque<>(nonSchemaRefsOf(json));
+        while (!queue.isEmpty()) {
+            String component = queue.poll();
+            if (componentHashes.containsKey(component) && visited.add(component)) {
+                queue.addAll(nonSchemaRefsOf(componentJson.get(component)));
+            }
+        }
+        return visited;
+    }
+
+    private Set<String> nonSchemaRefsOf(String json) {
+        Set<String> refs = new HashSet<>();
+        Matcher matcher = COMPONENT_REF.matcher(json);
+        while (matcher.find()) {
+            if (!"schemas".equals(matcher.group(1))) {
+                refs.add(matcher.group(1) + "/" + matcher.group(2));
+            }
+        }
+        return refs;
+    }
+
+    private static Set<String> refsOf(String json, String kind) {
+        Set<String> refs = new HashSet<>();
+        Matcher matcher = COMPONENT_REF.matcher(json);
+        while (matcher.find()) {
+            if (kind.equals(matcher.group(1))) {
+                refs.add(matcher.group(2));
+            }
+        }
+        return refs;
+    }
+
+    private String computeGlobalFingerprint(CodegenConfig config) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        Stream.of(
+                ImplementationVersion.read(),
+                config.getClass().getName(),
+                config.getLibrary(),
+                config.getTemplatingEngine() == null ? null : config.getTemplatingEngine().getIdentifier(),
+                config.templateDir(),
+                config.embeddedTemplateDir(),
+                config.modelPackage(),
+                config.apiPackage(),
+                GlobalSettings.getProperty(CodegenConstants.SKIP_FORM_MODEL),
+                GlobalSettings.getProperty(CodegenConstants.MODEL_TESTS),
+                GlobalSettings.getProperty(CodegenConstants.MODEL_DOCS),
+                GlobalSettings.getProperty(CodegenConstants.API_TESTS),
+                GlobalSettings.getProperty(CodegenConstants.API_DOCS),
+                canonical(config.additionalProperties()),
+                canonical(config.typeMapping()),
+                canonical(config.instantiationTypes()),
+                canonical(config.importMapping()),
+                canonical(config.schemaMapping()),
+                canonical(config.inlineSchemaNameMapping()),
+                canonical(config.reservedWordsMappings()),
+                canonical(config.serverVariableOverrides()),
+                canonical(new TreeSet<>(config.languageSpecificPrimitives())),
+                canonical(config.modelTemplateFiles()),
+                canonical(config.modelTestTemplateFiles()),
+                canonical(config.modelDocTemplateFiles()),
+                canonical(config.apiTemplateFiles()),
+                canonical(config.apiTestTemplateFiles()),
+                canonical(config.apiDocTemplateFiles()),
+                config.supportingFiles().stream().map(SupportingFile::toString).sorted().collect(Collectors.joining("\n"))
+        ).forEach(value -> hasher.putString(String.valueOf(value), StandardCharsets.UTF_8).putChar('\u0000'));
+
+        // user-provided templates may change independently of the generator version
+        hashDirectory(hasher, config.templateDir());
+        // the default .openapi-generator-ignore is a supporting file, and therefore checked along with the other supporting files
+        hashDirectory(hasher, config.getIgnoreFilePathOverride());
+        return hasher.hash().toString();
+    }
+
+    private String computeStructureFingerprint(OpenAPI openAPI, Collection<String> unusedModels) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+        for (String name : new TreeSet<>(schemas.keySet())) {
+            Schema schema = schemas.get(name);
+            hasher.putString(name, StandardCharsets.UTF_8)
+                    .putString(toJson(schema.getDiscriminator()), StandardCharsets.UTF_8)
+                    .putString(String.valueOf(new TreeSet<>(schemaRefsOfAllOf(schema))), StandardCharsets.UTF_8);
+        }
+        if (openAPI.getPaths() != null) {
+            for (Map.Entry<String, PathItem> path : new TreeMap<>(openAPI.getPaths()).entrySet()) {
+                for (Map.Entry<PathItem.HttpMethod, Operation> operation : path.getValue().readOperationsMap().entrySet()) {
+                    hasher.putString(operationKey(operation.getKey().name(), path.getKey()), StandardCharsets.UTF_8)
+                            .putString(String.valueOf(operation.getValue().getOperationId()), StandardCharsets.UTF_8)
+                            .putString(String.valueOf(operation.getValue().getTags()), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        hasher.putString(toJson(openAPI.getInfo()), StandardCharsets.UTF_8)
+                .putString(toJson(openAPI.getServers()), StandardCharsets.UTF_8)
+                .putString(toJson(openAPI.getSecurity()), StandardCharsets.UTF_8)
+                .putString(toJson(openAPI.getTags()), StandardCharsets.UTF_8)
+                .putString(toJson(openAPI.getExternalDocs()), StandardCharsets.UTF_8)
+                .putString(toJson(openAPI.getExtensions()), StandardCharsets.UTF_8)
+                .putString(toJson(openAPI.getComponents() == null ? null : openAPI.getComponents().getSecuritySchemes()), StandardCharsets.UTF_8)
+                .putString(String.valueOf(new TreeSet<>(unusedModels)), StandardCharsets.UTF_8);
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Fingerprints what supporting files may list about each model and operation: the kind of each schema (its type,
+     * format, enum values, items, additional properties and composition, from which flags such as isEnum, isArray or
+     * isAlias are derived) and the summary, notes and flags of each operation. Property and parameter changes, which
+     * only show in the files of their model or API, are left out.
+     */
+    private String computeSupportingFingerprint(OpenAPI openAPI) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+        for (String name : new TreeSet<>(schemas.keySet())) {
+            Schema schema = schemas.get(name);
+            Map<String, Object> kind = new TreeMap<>();
+            kind.put("type", schema.getType());
+            kind.put("format", schema.getFormat());
+            kind.put("enum", schema.getEnum());
+            kind.put("nullable", schema.getNullable());
+            kind.put("deprecated", schema.getDeprecated());
+            kind.put("extensions", schema.getExtensions());
+            kind.put("hasProperties", schema.getProperties() != null && !schema.getProperties().isEmpty());
+            kind.put("items", schema.getItems() == null ? null : schemaKindOf(schema.getItems()));
+            kind.put("additionalProperties", schema.getAdditionalProperties() instanceof Schema
+                    ? schemaKindOf((Schema) schema.getAdditionalProperties()) : schema.getAdditionalProperties());
+            if (schema instanceof ComposedSchema) {
+                ComposedSchema composed = (ComposedSchema) schema;
+                kind.put("oneOf", schemaKindsOf(composed.getOneOf()));
+                kind.put("anyOf", schemaKindsOf(composed.getAnyOf()));
+            }
+            hasher.putString(name, StandardCharsets.UTF_8)
+                    .putString(toJson(kind), StandardCharsets.UTF_8);
+        }
+        if (openAPI.getPaths() != null) {
+            for (Map.Entry<String, PathItem> path : new TreeMap<>(openAPI.getPaths()).entrySet()) {
+                for (Map.Entry<PathItem.HttpMethod, Operation> entry : path.getValue().readOperationsMap().entrySet()) {
+                    Operation operation = entry.getValue();
+                    hasher.putString(operationKey(entry.getKey().name(), path.getKey()), StandardCharsets.UTF_8)
+                            .putString(String.valueOf(operation.getSummary()), StandardCharsets.UTF_8)
+                            .putString(String.valueOf(operation.getDescription()), StandardCharsets.UTF_8)
+                            .putString(String.valueOf(operation.getDeprecated()), StandardCharsets.UTF_8)
+                            .putString(toJson(operation.getSecurity()), StandardCharsets.UTF_8)
+                            .putString(toJson(operation.getExtensions()), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    private static List<String> schemaKindsOf(List<Schema> schemas) {
+        return schemas == null ? null : schemas.stream().map(IncrementalGeneration::schemaKindOf).collect(Collectors.toList());
+    }
+
+    private static String schemaKindOf(Schema schema) {
+        return schema.get$ref() != null ? schema.get$ref() : schema.getType() + ":" + schema.getFormat();
+    }
+
+    private static List<String> schemaRefsOfAllOf(Schema schema) {
+        List<String> refs = new ArrayList<>();
+        if (schema instanceof ComposedSchema && ((ComposedSchema) schema).getAllOf() != null) {
+            for (Schema parent : ((ComposedSchema) schema).getAllOf()) {
+                refs.add(String.valueOf(parent.get$ref()));
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * Renders an additional property (or other option) as a stable string. Values without a meaningful textual form,
+     * such as template lambdas, are represented by their type only.
+     */
+    private static String canonical(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Enum) {
+            return String.valueOf(value);
+        }
+        if (value instanceof Map) {
+            StringBuilder sb = new StringBuilder("{");
+            new TreeMap<>(((Map<?, ?>) value).entrySet().stream()
+                    .filter(e -> !VOLATILE_PROPERTIES.contains(String.valueOf(e.getKey())))
+                    .collect(Collectors.toMap(e -> String.valueOf(e.getKey()), e -> canonical(e.getValue()), (a, b) -> a)))
+                    .forEach((k, v) -> sb.append(k).append('=').append(v).append(';'));
+            return sb.append('}').toString();
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().map(IncrementalGeneration::canonical).collect(Collectors.joining(",", "[", "]"));
+        }
+        return value.getClass().isSynthetic() ? "<lambda>" : "<" + value.getClass().getName() + ">";
+    }
+
+    private static void hashDirectory(Hasher hasher, String location) {
+        if (location == null) {
+            return;
+        }
+        File root = new File(location);
+        if (!root.exists()) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root.toPath())) {
+            for (Path path : paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                hasher.putString(root.toPath().relativize(path).toString(), StandardCharsets.UTF_8)
+                        .putBytes(Files.readAllBytes(path));
+            }
+        } catch (IOException e) {
+            // an unreadable template directory can't be fingerprinted, so never match a previous run
+            hasher.putLong(System.nanoTime());
+        }
+    }
+
+    private boolean isIntact(String relativePath) {
+        String expected = previous.getFiles().get(relativePath);
+        return expected != null && expected.equals(hashFile(relativePath));
+    }
+
+    private String hashFile(String relativePath) {
+        String hash = fileHashes.get(relativePath);
+        if (hash == null) {
+            Path path = outputDir.resolve(relativePath);
+            if (!Files.isRegularFile(path)) {
+                return null;
+            }
+            try {
+                hash = Hashing.sha256().hashBytes(Files.readAllBytes(path)).toString();
+            } catch (IOException e) {
+                return null;
+            }
+            fileHashes.put(relativePath, hash);
+        }
+        return hash;
+    }
+
+    private List<String> toRelativePaths(Collection<File> files) {
+        return files.stream()
+                .filter(Objects::nonNull)
+                .map(f -> outputDir.relativize(f.toPath().toAbsolutePath().normalize()).toString().replace(File.separatorChar, '/'))
+                .collect(Collectors.toList());
+    }
+
+    private List<File> toFiles(List<String> relativePaths) {
+        return relativePaths.stream().map(p -> outputDir.resolve(p).toFile()).collect(Collectors.toList());
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        try {
+            return Json.mapper().writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            return "<" + value.getClass().getName() + "@" + System.identityHashCode(value) + ">";
+        }
+    }
+
+    private static String hashString(String value) {
+        return Hashing.sha256().hashString(value, StandardCharsets.UTF_8).toString();
+    }
+}
@@ -21,6 +21,10 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.*;
 import io.swagger.v3.oas.models.callbacks.Callback;
@@ -40,7 +44,10 @@ import java.util.stream.Collectors;
 public class InlineModelResolver {
     private OpenAPI openAPI;
     private Map<String, Schema> addedModels = new HashMap<>();
-    private Map<String, String> generatedSignature = new HashMap<>();
+    private Map<HashCode, List<GeneratedModel>> generatedSignature = new HashMap<>();
+    // the structural hash of each schema hashed so far, and the schemas whose hash includes it (see #changed(Schema))
+    private final Map<Schema, HashCode> fingerprints = new IdentityHashMap<>();
+    private final Map<Schema, Set<Schema>> fingerprintParents = new IdentityHashMap<>();
     private Map<String, String> inlineSchemaNameMapping = new HashMap<>();
     private Map<String, String> inlineSchemaNameDefaults = new HashMap<>();
     private Set<String> inlineSchemaNameMappingValues = new HashSet<>();
@@ -50,6 +57,9 @@ public class InlineModelResolver {
     // serialized consistently for lookup of existing models
     private static ObjectMapper structureMapper;
 
+    // models are looked up by a structural hash, which is confirmed with the serialization of the structure mapper
+    private static final HashFunction SIGNATURE_FUNCTION = Hashing.murmur3_128();
+
     // a set to keep track of names generated for inline schemas
     private Set<String> uniqueNames = new HashSet<>();
 
@@ -75,7 +85,12 @@ public class InlineModelResolver {
         this.inlineSchemaNameDefaults.putAll(inlineSchemaNameDefaults);
     }
 
-    void flatten(OpenAPI openAPI) {
+    /**
+     * Moves the inline schemas of the document to 'components/schemas', replacing them with references.
+     *
+     * @param openAPI The document, which is modified
+     */
+    public void flatten(OpenAPI openAPI) {
         this.openAPI = openAPI;
 
         if (this.openAPI.getComponents() == null) {
@@ -256,6 +271,7 @@ public class InlineModelResolver {
                         // If this schema should be split into its own model, do so
                         Schema refSchema = this.makeSchemaInComponents(schemaName, prop);
                         props.put(propName, refSchema);
+                        changed(schema);
                     } else if (prop instanceof ComposedSchema) {
                         ComposedSchema m = (ComposedSchema) prop;
                         if (m.getAllOf() != null && m.getAllOf().size() == 1 &&
@@ -263,6 +279,7 @@ public class InlineModelResolver {
                             // allOf with only 1 type (non-model)
                             LOGGER.info("allOf schema used by the property `{}` replaced by its only item (a type)", propName);
                             props.put(propName, m.getAllOf().get(0));
+                            changed(schema);
                         }
                     }
                 }
@@ -278,6 +295,7 @@ public class InlineModelResolver {
                         // If this schema should be split into its own model, do so
                         Schema refSchema = this.makeSchemaInComponents(schemaName, inner);
                         schema.setAdditionalProperties(refSchema);
+                        changed(schema);
                     }
                 }
             }
@@ -315,6 +333,7 @@ public class InlineModelResolver {
                 // If this schema should be split into its own model, do so
                 Schema refSchema = this.makeSchemaInComponents(schemaName, items);
                 array.setItems(refSchema);
+                changed(array);
             }
         }
         // Check allOf, anyOf, oneOf for inline models
@@ -337,6 +356,7 @@ public class InlineModelResolver {
                 }
                 if (atLeastOneModel) {
                     m.setAllOf(newAllOf);
+                    changed(m);
                 } else {
                     // allOf is just one or more types only so do not generate the inline allOf model
                     if (m.getAllOf().size() == 1) {
@@ -362,6 +382,7 @@ public class InlineModelResolver {
                     }
                 }
                 m.setAnyOf(newAnyOf);
+                changed(m);
             }
             if (m.getOneOf() != null) {
                 List<Schema> newOneOf = new ArrayList<Schema>();
@@ -377,6 +398,7 @@ public class InlineModelResolver {
                     }
                 }
                 m.setOneOf(newOneOf);
+                changed(m);
             }
         }
         // Check not schema
@@ -388,6 +410,7 @@ public class InlineModelResolver {
             if (isModelNeeded(not)) {
                 Schema refSchema = this.makeSchemaInComponents(schemaName, not);
                 schema.setNot(refSchema);
+                changed(schema);
             }
         }
     }
@@ -529,9 +552,10 @@ public class InlineModelResolver {
      * type: string
      *
      * @param key      a unique name ofr the composed schema.
+     * @param composed the composed schema
      * @param children the list of nested schemas within a composed schema (allOf, anyOf, oneOf).
      */
-    private void flattenComposedChildren(String key, List<Schema> children) {
+    private void flattenComposedChildren(String key, ComposedSchema composed, List<Schema> children) {
         if (children == null || children.isEmpty()) {
             return;
         }
@@ -560,10 +584,12 @@ public class InlineModelResolver {
                     Schema schema = new Schema().$ref(innerModelName);
                     schema.setRequired(component.getRequired());
                     listIterator.set(schema);
+                    changed(composed);
                 } else {
                     Schema schema = new Schema().$ref(existing);
                     schema.setRequired(component.getRequired());
                     listIterator.set(schema);
+                    changed(composed);
                 }
             }
         }
@@ -584,9 +610,9 @@ public class InlineModelResolver {
             if (ModelUtils.isComposedSchema(model)) {
                 ComposedSchema m = (ComposedSchema) model;
                 // inline child schemas
-                flattenComposedChildren(modelName + "_allOf", m.getAllOf());
-                flattenComposedChildren(modelName + "_anyOf", m.getAnyOf());
-                flattenComposedChildren(modelName + "_oneOf", m.getOneOf());
+                flattenComposedChildren(modelName + "_allOf", m, m.getAllOf());
+                flattenComposedChildren(modelName + "_anyOf", m, m.getAnyOf());
+                flattenComposedChildren(modelName + "_oneOf", m, m.getOneOf());
             } else if (model instanceof Schema) {
                 gatherInlineModels(model, modelName);
             }
@@ -638,25 +664,190 @@ public class InlineModelResolver {
     }
 
     private String matchGenerated(Schema model) {
-        try {
-            String json = structureMapper.writeValueAsString(model);
-            if (generatedSignature.containsKey(json)) {
-                return generatedSignature.get(json);
+        List<GeneratedModel> candidates = generatedSignature.get(fingerprint(model));
+        if (candidates == null) {
+            return null;
+        }
+        // the last model added wins, as it used to
+        String json = null;
+        for (int i = candidates.size() - 1; i >= 0; i--) {
+            GeneratedModel candidate = candidates.get(i);
+            if (candidate.schema == model || !fingerprint(candidate.schema).equals(candidate.fingerprint)) {
+                // a model modified since it was added (e.g. its composed children were flattened) is matched as it
+                // was then, which only its hash still describes
+                return candidate.name;
+            }
+            // equal hashes are confirmed by comparing the serialized models, as the hash leaves out some keywords
+            if (json == null) {
+                json = serialize(model);
+                if (json == null) {
+                    return null;
+                }
+            }
+            if (json.equals(serialize(candidate.schema))) {
+                return candidate.name;
             }
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
         }
-
         return null;
     }
 
     private void addGenerated(String name, Schema model) {
+        // generated models are modified later on (e.g. their composed children are flattened), but they are matched
+        // as they were when they were added, so their hash is taken now
+        HashCode fingerprint = fingerprint(model);
+        generatedSignature.computeIfAbsent(fingerprint, k -> new ArrayList<>(1)).add(new GeneratedModel(name, model, fingerprint));
+    }
+
+    private static String serialize(Schema model) {
         try {
-            String json = structureMapper.writeValueAsString(model);
-            generatedSignature.put(json, name);
+            return structureMapper.writeValueAsString(model);
         } catch (JsonProcessingException e) {
             e.printStackTrace();
         }
+        return null;
+    }
+
+    /**
+     * Computes the structural hash of a schema from the hashes of its subschemas.
+     * Schemas which are serialized the same way by the structure mapper have the same hash (properties are hashed
+     * regardless of their order), but the hash leaves out some keywords, so it only selects the models to compare.
+     * <p>
+     * The hash of each schema is kept until the resolver modifies the schema, see {@link #changed(Schema)}.
+     *
+     * @param schema the schema
+     * @return the structural hash of the schema
+     */
+    private HashCode fingerprint(Schema schema) {
+        HashCode fingerprint = fingerprints.get(schema);
+        if (fingerprint == null) {
+            Hasher hasher = SIGNATURE_FUNCTION.newHasher();
+            putString(hasher, schema.get$ref());
+            putString(hasher, schema.getType());
+            putString(hasher, schema.getFormat());
+            putString(hasher, schema.getTitle());
+            putString(hasher, schema.getDescription());
+            putString(hasher, schema.getPattern());
+            putValue(hasher, schema.getMinimum());
+            putValue(hasher, schema.getMaximum());
+            putValue(hasher, schema.getExclusiveMinimum());
+            putValue(hasher, schema.getExclusiveMaximum());
+            putValue(hasher, schema.getMultipleOf());
+            putValue(hasher, schema.getMinLength());
+            putValue(hasher, schema.getMaxLength());
+            putValue(hasher, schema.getMinItems());
+            putValue(hasher, schema.getMaxItems());
+            putValue(hasher, schema.getUniqueItems());
+            putValue(hasher, schema.getMinProperties());
+            putValue(hasher, schema.getMaxProperties());
+            putValue(hasher, schema.getNullable());
+            putValue(hasher, schema.getReadOnly());
+            putValue(hasher, schema.getWriteOnly());
+            putValue(hasher, schema.getDeprecated());
+            putValue(hasher, schema.getDefault());
+            putValue(hasher, schema.getExample());
+            putString(hasher, schema.getDiscriminator() == null ? null : schema.getDiscriminator().getPropertyName());
+            hasher.putInt(schema.getEnum() == null ? -1 : schema.getEnum().size());
+            if (schema.getEnum() != null) {
+                for (Object value : (List<?>) schema.getEnum()) {
+                    putValue(hasher, value);
+                }
+            }
+            hasher.putInt(schema.getRequired() == null ? -1 : schema.getRequired().size());
+            if (schema.getRequired() != null) {
+                for (String required : (List<String>) schema.getRequired()) {
+                    putString(hasher, required);
+                }
+            }
+            putSchema(hasher, schema, schema.getItems());
+            putSchema(hasher, schema, schema.getNot());
+            Object additionalProperties = schema.getAdditionalProperties();
+            if (additionalProperties instanceof Schema) {
+                putSchema(hasher, schema, (Schema) additionalProperties);
+            } else {
+                putValue(hasher, additionalProperties);
+            }
+            putSchemas(hasher, schema, schema.getAllOf());
+            putSchemas(hasher, schema, schema.getAnyOf());
+            putSchemas(hasher, schema, schema.getOneOf());
+            putProperties(hasher, schema, schema.getProperties());
+            if (schema.getExtensions() != null) {
+                for (String extension : new TreeSet<>(((Map<String, Object>) schema.getExtensions()).keySet())) {
+                    putString(hasher, extension);
+                }
+            }
+            fingerprint = hasher.hash();
+            fingerprints.put(schema, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Forgets the structural hash of a schema which the resolver modifies, and the hashes of the schemas including it.
+     *
+     * @param schema the modified schema
+     */
+    private void changed(Schema schema) {
+        if (fingerprints.remove(schema) != null) {
+            Set<Schema> parents = fingerprintParents.remove(schema);
+            if (parents != null) {
+                for (Schema parent : parents) {
+                    changed(parent);
+                }
+            }
+        }
+    }
+
+    private void putProperties(Hasher hasher, Schema parent, Map<String, Schema> properties) {
+        if (properties == null) {
+            hasher.putInt(-1);
+            return;
+        }
+        // the properties are combined regardless of their order
+        long sum = 0;
+        for (Map.Entry<String, Schema> property : properties.entrySet()) {
+            Hasher entry = SIGNATURE_FUNCTION.newHasher();
+            putString(entry, property.getKey());
+            putSchema(entry, parent, property.getValue());
+            sum += entry.hash().asLong();
+        }
+        hasher.putInt(properties.size()).putLong(sum);
+    }
+
+    private void putSchemas(Hasher hasher, Schema parent, List<Schema> schemas) {
+        hasher.putInt(schemas == null ? -1 : schemas.size());
+        if (schemas != null) {
+            for (Schema schema : schemas) {
+                putSchema(hasher, parent, schema);
+            }
+        }
+    }
+
+    private void putSchema(Hasher hasher, Schema parent, Schema schema) {
+        if (schema == null) {
+            hasher.putByte((byte) 0);
+        } else {
+            hasher.putByte((byte) 1).putBytes(fingerprint(schema).asBytes());
+            fingerprintParents.computeIfAbsent(schema, k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(parent);
+        }
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(value.length()).putUnencodedChars(value);
+        }
+    }
+
+    /**
+     * Puts the scalar values in the hash; other values are left to the comparison of the serialized models.
+     */
+    private static void putValue(Hasher hasher, Object value) {
+        if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+            putString(hasher, value.toString());
+        } else {
+            hasher.putInt(value == null ? -1 : -2);
+        }
     }
 
     /**
@@ -692,7 +883,8 @@ public class InlineModelResolver {
         }
     }
 
-    private void flattenProperties(OpenAPI openAPI, Map<String, Schema> properties, String path) {
+    private void flattenProperties(OpenAPI openAPI, Schema owner, String path) {
+        Map<String, Schema> properties = owner.getProperties();
         if (properties == null) {
             return;
         }
@@ -724,7 +916,7 @@ public class InlineModelResolver {
                 if (inner instanceof ObjectSchema) {
                     ObjectSchema op = (ObjectSchema) inner;
                     if (op.getProperties() != null && op.getProperties().size() > 0) {
-                        flattenProperties(openAPI, op.getProperties(), path);
+                        flattenProperties(openAPI, op, path);
                         String modelName = resolveModelName(op.getTitle(), path + "_" + key);
                         Schema innerModel = modelFromProperty(openAPI, op, modelName);
                         String existing = matchGenerated(innerModel);
@@ -732,11 +924,13 @@ public class InlineModelResolver {
                             Schema schema = new Schema().$ref(existing);
                             schema.setRequired(op.getRequired());
                             ap.setItems(schema);
+                            changed(ap);
                         } else {
                             modelName = addSchemas(modelName, innerModel);
                             Schema schema = new Schema().$ref(modelName);
                             schema.setRequired(op.getRequired());
                             ap.setItems(schema);
+                            changed(ap);
                         }
                     }
                 }
@@ -746,7 +940,7 @@ public class InlineModelResolver {
                 if (inner instanceof ObjectSchema) {
                     ObjectSchema op = (ObjectSchema) inner;
                     if (op.getProperties() != null && op.getProperties().size() > 0) {
-                        flattenProperties(openAPI, op.getProperties(), path);
+                        flattenProperties(openAPI, op, path);
                         String modelName = resolveModelName(op.getTitle(), path + "_" + key);
                         Schema innerModel = modelFromProperty(openAPI, op, modelName);
                         String existing = matchGenerated(innerModel);
@@ -754,11 +948,13 @@ public class InlineModelResolver {
                             Schema schema = new Schema().$ref(existing);
                             schema.setRequired(op.getRequired());
                             property.setAdditionalProperties(schema);
+                            changed(property);
                         } else {
                             modelName = addSchemas(modelName, innerModel);
                             Schema schema = new Schema().$ref(modelName);
                             schema.setRequired(op.getRequired());
                             property.setAdditionalProperties(schema);
+                            changed(property);
                         }
                     }
                 }
@@ -768,6 +964,7 @@ public class InlineModelResolver {
             for (String key : propsToUpdate.keySet()) {
                 properties.put(key, propsToUpdate.get(key));
             }
+            changed(owner);
         }
         for (String key : modelsToAdd.keySet()) {
             openAPI.getComponents().addSchemas(key, modelsToAdd.get(key));
@@ -827,7 +1024,7 @@ public class InlineModelResolver {
         model.setDeprecated(object.getDeprecated());
 
         if (properties != null) {
-            flattenProperties(openAPI, properties, path);
+            flattenProperties(openAPI, object, path);
             model.setProperties(properties);
         }
         return model;
@@ -911,5 +1108,16 @@ public class InlineModelResolver {
         return name;
     }
 
+    private static final class GeneratedModel {
+        private final String name;
+        private final Schema schema;
+        // the structural hash of the model when it was added
+        private final HashCode fingerprint;
 
+        private GeneratedModel(String name, Schema schema, HashCode fingerprint) {
+            this.name = name;
+            this.schema = schema;
+            this.fingerprint = fingerprint;
+        }
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import java.util.*;
+
+/**
+ * The graph of dependencies between models, where a model depends on the data type of each of its properties
+ * (or the item type of container properties), together with its strongly connected components.
+ * <p>
+ * Two models are in the same strongly connected component if and only if each one (transitively) references the
+ * other, so a property is a circular reference exactly when its type is in the same component as its model.
+ * The components are computed once, in linear time, using Tarjan's algorithm.
+ */
+public class ModelDependencyGraph {
+    private final Map<String, List<CodegenProperty>> dependencies;
+    private final Map<String, Integer> components = new HashMap<>();
+    private final List<Set<String>> stronglyConnectedComponents = new ArrayList<>();
+
+    /**
+     * Builds the dependency graph of the given models and computes its strongly connected components.
+     *
+     * @param models The models, keyed by model name
+     */
+    public ModelDependencyGraph(Map<String, CodegenModel> models) {
+        this.dependencies = new LinkedHashMap<>();
+        for (Map.Entry<String, CodegenModel> entry : models.entrySet()) {
+            List<CodegenProperty> properties = new ArrayList<>();
+            for (CodegenProperty prop : entry.getValue().getAllVars()) {
+                if (getTarget(prop) != null) {
+                    properties.add(prop);
+                }
+            }
+            dependencies.put(entry.getKey(), properties);
+        }
+        computeComponents();
+    }
+
+    /**
+     * Gets the type a property depends on: the item type of containers, the data type otherwise.
+     *
+     * @param property The property
+     * @return The data type referenced by the property
+     */
+    public static String getTarget(CodegenProperty property) {
+        return property.isContainer ? property.items.dataType : property.dataType;
+    }
+
+    /**
+     * @param model The model name
+     * @return The properties of the model which reference another type
+     */
+    public List<CodegenProperty> getDependencies(String model) {
+        return dependencies.getOrDefault(model, Collections.emptyList());
+    }
+
+    /**
+     * @return The strongly connected components of the graph, in reverse topological order (a component only
+     * depends on components listed before it)
+     */
+    public List<Set<String>> getStronglyConnectedComponents() {
+        return Collections.unmodifiableList(stronglyConnectedComponents);
+    }
+
+    /**
+     * @param model The model (or type) name
+     * @return The strongly connected component containing the model, a singleton for types not in the graph
+     */
+    public Set<String> getComponent(String model) {
+        Integer component = components.get(model);
+        return component == null ? Collections.singleton(model) : stronglyConnectedComponents.get(component);
+    }
+
+    /**
+     * @param first  A model (or type) name
+     * @param second Another model (or type) name
+     * @return true if each of the two models transitively references the other, or they are the same model
+     */
+    public boolean isStronglyConnected(String first, String second) {
+        if (first.equals(second)) {
+            return true;
+        }
+        Integer component = components.get(first);
+        return component != null && component.equals(components.get(second));
+    }
+
+    /**
+     * @param model    The model containing the property
+     * @param property A property of the model
+     * @return true if the type referenced by the property transitively references the model
+     */
+    public boolean isCircularReference(String model, CodegenProperty property) {
+        String target = getTarget(property);
+        return target != null && isStronglyConnected(model, target);
+    }
+
+    /**
+     * Iterative implementation of Tarjan's strongly connected components algorithm, to support deep dependency chains.
+     */
+    private void computeComponents() {
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, Integer> lowLink = new HashMap<>();
+        Deque<String> stack = new ArrayDeque<>();
+        Set<String> onStack = new HashSet<>();
+        Deque<Frame> callStack = new ArrayDeque<>();
+
+        for (String root : dependencies.keySet()) {
+            if (index.containsKey(root)) {
+                continue;
+            }
+            callStack.push(new Frame(root, getDependencies(root).iterator()));
+            index.put(root, index.size());
+            lowLink.put(root, index.get(root));
+            stack.push(root);
+            onStack.add(root);
+
+            while (!callStack.isEmpty()) {
+                Frame frame = callStack.peek();
+                if (frame.edges.hasNext()) {
+                    String next = getTarget(frame.edges.next());
+                    if (!index.containsKey(next)) {
+                        index.put(next, index.size());
+                        lowLink.put(next, index.get(next));
+                        stack.push(next);
+                        onStack.add(next);
+                        callStack.push(new Frame(next, getDependencies(next).iterator()));
+                    } else if (onStack.contains(next)) {
+                        lowLink.put(frame.node, Math.min(lowLink.get(frame.node), index.get(next)));
+                    }
+                    continue;
+                }
+
+                callStack.pop();
+                if (!callStack.isEmpty()) {
+                    String caller = callStack.peek().node;
+                    lowLink.put(caller, Math.min(lowLink.get(caller), lowLink.get(frame.node)));
+                }
+                if (lowLink.get(frame.node).equals(index.get(frame.node))) {
+                    Set<String> component = new LinkedHashSet<>();
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                        components.put(member, stronglyConnectedComponents.size());
+                    } while (!member.equals(frame.node));
+                    stronglyConnectedComponents.add(Collections.unmodifiableSet(component));
+                }
+            }
+        }
+    }
+
+    private static final class Frame {
+        private final String node;
+        private final Iterator<CodegenProperty> edges;
+
+        Frame(String node, Iterator<CodegenProperty> edges) {
+            this.node = node;
+            this.edges = edges;
+        }
+    }
+}
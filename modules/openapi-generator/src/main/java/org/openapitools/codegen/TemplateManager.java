@@ -15,6 +15,9 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 
 /**
@@ -24,6 +27,13 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
     private final TemplateManagerOptions options;
     private final TemplatingEngineAdapter engineAdapter;
     private final TemplatePathLocator[] templateLoaders;
+    private final LongAdder writtenFiles = new LongAdder();
+    private final LongAdder unchangedFiles = new LongAdder();
+    private final LongAdder skippedFiles = new LongAdder();
+    // template lookups and contents are repeated for every partial of every generated file
+    private final ConcurrentMap<String, Optional<String>> resolvedTemplates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> templateContents = new ConcurrentHashMap<>();
+    private GenerationProfiler profiler = GenerationProfiler.DISABLED;
 
     private final Logger LOGGER = LoggerFactory.getLogger(TemplateManager.class);
 
@@ -43,12 +53,25 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
         this.templateLoaders = templateLoaders;
     }
 
+    /**
+     * Records rendering (per template) and writing of files, see {@link GenerationProfiler}.
+     *
+     * @param profiler The profiler, or null to disable profiling
+     */
+    public void setProfiler(GenerationProfiler profiler) {
+        this.profiler = profiler == null ? GenerationProfiler.DISABLED : profiler;
+    }
+
     private String getFullTemplateFile(String name) {
-        String template = Arrays.stream(this.templateLoaders)
-                .map(i -> i.getFullTemplatePath(name))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse("");
+        Optional<String> resolved = resolvedTemplates.get(name);
+        if (resolved == null) {
+            resolved = Arrays.stream(this.templateLoaders)
+                    .map(i -> i.getFullTemplatePath(name))
+                    .filter(Objects::nonNull)
+                    .findFirst();
+            resolvedTemplates.put(name, resolved);
+        }
+        String template = resolved.orElse("");
 
         if (StringUtils.isEmpty(template)) {
             throw new TemplateNotFoundException(name);
@@ -109,19 +132,32 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
         if (name == null || name.contains("..")) {
             throw new IllegalArgumentException("Template location must be constrained to template directory.");
         }
+        String cached = templateContents.get(name);
+        if (cached != null) {
+            return cached;
+        }
+
         try (Reader reader = getTemplateReader(name)) {
             if (reader == null) {
                 throw new RuntimeException("no file found");
             }
-            try (Scanner s = new Scanner(reader).useDelimiter("\\A")) {
-                return s.hasNext() ? s.next() : "";
-            }
+            String contents = IOUtils.toString(reader);
+            templateContents.put(name, contents);
+            return contents;
         } catch (Exception e) {
             LOGGER.error("{}", e.getMessage(), e);
         }
         throw new RuntimeException("can't load template " + name);
     }
 
+    /**
+     * Removes all cached template locations and contents, so that templates are resolved and read again on next use.
+     */
+    public void clearTemplateCache() {
+        resolvedTemplates.clear();
+        templateContents.clear();
+    }
+
     @SuppressWarnings({"squid:S2095", "java:S112"})
     // ignored rule squid:S2095 as used in the CLI and it's required to return a reader
     // ignored rule java:S112 as RuntimeException is used to match previous exception type
@@ -160,8 +196,13 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
     public File write(Map<String, Object> data, String template, File target) throws IOException {
         if (this.engineAdapter.handlesFile(template)) {
             // Only pass files with valid endings through template engine
-            String templateContent = this.engineAdapter.compileTemplate(this, data, template);
-            return writeToFile(target.getPath(), templateContent);
+            String templateContent;
+            try (GenerationProfiler.Span ignored = profiler.start("render", template)) {
+                templateContent = this.engineAdapter.compileTemplate(this, data, template);
+            }
+            try (GenerationProfiler.Span ignored = profiler.start("write")) {
+                return writeToFile(target.getPath(), templateContent);
+            }
         } else {
             // Do a straight copy of the file if not listed as supported by the template engine.
             InputStream is;
@@ -172,20 +213,45 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
             } catch (TemplateNotFoundException ex) {
                 is = new FileInputStream(Paths.get(template).toFile());
             }
-            return writeToFile(target.getAbsolutePath(), IOUtils.toByteArray(is));
+            try (GenerationProfiler.Span ignored = profiler.start("write")) {
+                return writeToFile(target.getAbsolutePath(), IOUtils.toByteArray(is));
+            }
         }
     }
 
     @Override
     public void ignore(Path path, String context) {
+        skippedFiles.increment();
         LOGGER.info("Ignored {} ({})", path, context);
     }
 
     @Override
     public void skip(Path path, String context) {
+        skippedFiles.increment();
         LOGGER.info("Skipped {} ({})", path, context);
     }
 
+    /**
+     * @return The number of files written (created or changed) by this instance
+     */
+    public long getWrittenCount() {
+        return writtenFiles.sum();
+    }
+
+    /**
+     * @return The number of files left untouched by a minimal update, as their contents were unchanged
+     */
+    public long getUnchangedCount() {
+        return unchangedFiles.sum();
+    }
+
+    /**
+     * @return The number of files ignored or skipped, including existing files which are never overwritten
+     */
+    public long getSkippedCount() {
+        return skippedFiles.sum();
+    }
+
     /**
      * Write String to a file, formatting as UTF-8
      *
@@ -212,17 +278,22 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
         File outputFile = Paths.get(filename).toFile();
 
         if (this.options.isMinimalUpdate()) {
+            // minimal updates take precedence over skipOverwrite: changed files are rewritten
+            // compare against the existing file before touching the disk, so unchanged files keep their mtime
+            if (contentEquals(outputFile.toPath(), contents)) {
+                unchangedFiles.increment();
+                LOGGER.info("skipping unchanged file {}", filename);
+                return outputFile;
+            }
+
             String tempFilename = filename + ".tmp";
             File tempFile = null;
             try {
+                LOGGER.info("writing file {}", filename);
                 tempFile = writeToFileRaw(tempFilename, contents);
-                if (!filesEqual(tempFile, outputFile)) {
-                    LOGGER.info("writing file {}", filename);
-                    Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                    tempFile = null;
-                } else {
-                    LOGGER.info("skipping unchanged file {}", filename);
-                }
+                Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                tempFile = null;
+                writtenFiles.increment();
             } finally {
                 if (tempFile != null && tempFile.exists()) {
                     try {
@@ -244,6 +315,7 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
         // Use Paths.get here to normalize path (for Windows file separator, space escaping on Linux/Mac, etc)
         File output = Paths.get(filename).toFile();
         if (this.options.isSkipOverwrite() && output.exists()) {
+            skippedFiles.increment();
             LOGGER.info("skip overwrite of file {}", filename);
             return output;
         }
@@ -253,11 +325,36 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
             parent.mkdirs();
         }
         Files.write(output.toPath(), contents);
+        if (!this.options.isMinimalUpdate()) {
+            writtenFiles.increment();
+        }
 
         return output;
     }
 
-    private boolean filesEqual(File file1, File file2) throws IOException {
-        return file1.exists() && file2.exists() && Arrays.equals(Files.readAllBytes(file1.toPath()), Files.readAllBytes(file2.toPath()));
+    /**
+     * Compares the contents of an existing file with the given bytes, streaming the file rather than reading it in full.
+     */
+    private boolean contentEquals(Path path, byte[] contents) throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) != contents.length) {
+            return false;
+        }
+        try (InputStream is = Files.newInputStream(path)) {
+            byte[] buffer = new byte[8192];
+            int offset = 0;
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                if (offset + read > contents.length) {
+                    return false;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] != contents[offset + i]) {
+                        return false;
+                    }
+                }
+                offset += read;
+            }
+            return offset == contents.length;
+        }
     }
 }
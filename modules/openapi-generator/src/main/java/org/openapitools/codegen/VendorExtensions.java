@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Copies vendor extensions of the codegen types, so that copies of an operation (one per tag) can be modified
+ * independently.
+ */
+final class VendorExtensions {
+    private VendorExtensions() {
+    }
+
+    /**
+     * Copies vendor extensions, including the maps, lists and sets nested in them. Other values are shared, see
+     * {@link #isCopyable(Map)}.
+     *
+     * @param vendorExtensions The vendor extensions, may be null
+     * @return A copy of the vendor extensions, or null
+     */
+    static Map<String, Object> copy(Map<String, Object> vendorExtensions) {
+        if (vendorExtensions == null) {
+            return null;
+        }
+        Map<String, Object> output = new HashMap<String, Object>(vendorExtensions.size());
+        for (Map.Entry<String, Object> entry : vendorExtensions.entrySet()) {
+            output.put(entry.getKey(), copyValue(entry.getValue()));
+        }
+        return output;
+    }
+
+    /**
+     * @param vendorExtensions The vendor extensions, may be null
+     * @return Whether {@link #copy(Map)} gives independent vendor extensions, i.e. they only hold maps, lists and sets
+     * of strings, numbers, booleans, characters and enums
+     */
+    static boolean isCopyable(Map<String, Object> vendorExtensions) {
+        return vendorExtensions == null || vendorExtensions.values().stream().allMatch(VendorExtensions::isCopyableValue);
+    }
+
+    private static Object copyValue(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> output = new LinkedHashMap<Object, Object>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                output.put(entry.getKey(), copyValue(entry.getValue()));
+            }
+            return output;
+        }
+        if (value instanceof List) {
+            List<Object> output = new ArrayList<Object>(((List<?>) value).size());
+            for (Object item : (List<?>) value) {
+                output.add(copyValue(item));
+            }
+            return output;
+        }
+        if (value instanceof Set) {
+            Set<Object> output = new LinkedHashSet<Object>();
+            for (Object item : (Set<?>) value) {
+                output.add(copyValue(item));
+            }
+            return output;
+        }
+        return value;
+    }
+
+    private static boolean isCopyableValue(Object value) {
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).values().stream().allMatch(VendorExtensions::isCopyableValue);
+        }
+        if (value instanceof List || value instanceof Set) {
+            return ((Collection<?>) value).stream().allMatch(VendorExtensions::isCopyableValue);
+        }
+        return value == null || value instanceof String || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum || value instanceof Integer || value instanceof Long || value instanceof Double
+                || value instanceof Float || value instanceof Short || value instanceof Byte
+                || value instanceof BigDecimal || value instanceof BigInteger;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.api.TemplatePathLocator;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.openapitools.codegen.templating.TemplateManagerOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Manages templates like {@link TemplateManager}, but writes the generated files as entries of a zip stream rather
+ * than to the file system, so that a generated project can be streamed without temporary files.
+ * <p>
+ * Entries are named after the path of the file relative to the parent of the output directory, i.e. the zip contains
+ * a single folder named after the output directory. Nothing is read from or written to the output directory itself.
+ * The caller owns the zip stream, and must finish or close it once generation completes.
+ */
+public class ZipTemplateManager extends TemplateManager {
+    private final Logger LOGGER = LoggerFactory.getLogger(ZipTemplateManager.class);
+
+    private final ZipOutputStream zipOutputStream;
+    private final Path outputDir;
+    private final Set<String> entries = new HashSet<>();
+    private final LongAdder writtenEntries = new LongAdder();
+
+    /**
+     * Constructs a new instance of a {@link ZipTemplateManager}
+     *
+     * @param options         The {@link TemplateManagerOptions} for reading and writing templates
+     * @param engineAdapter   The adaptor to underlying templating engine
+     * @param templateLoaders Loaders which define where we look for templates
+     * @param zipOutputStream The stream receiving the generated files
+     * @param outputDir       The output directory of the generator, which is the root folder of the zip
+     */
+    public ZipTemplateManager(
+            TemplateManagerOptions options,
+            TemplatingEngineAdapter engineAdapter,
+            TemplatePathLocator[] templateLoaders,
+            ZipOutputStream zipOutputStream,
+            File outputDir) {
+        super(options, engineAdapter, templateLoaders);
+        this.zipOutputStream = zipOutputStream;
+        this.outputDir = outputDir.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * Writes bytes as an entry of the zip stream. Files outside the output directory, and files which were already
+     * written, are skipped.
+     *
+     * @param filename The name of file to write
+     * @param contents The contents bytes.  Typically, this is a UTF-8 formatted string.
+     * @return File representing the written file, which does not exist on the file system.
+     * @throws IOException If the entry cannot be written.
+     */
+    @Override
+    public File writeToFile(String filename, byte[] contents) throws IOException {
+        // Use Paths.get here to normalize path (for Windows file separator, space escaping on Linux/Mac, etc)
+        Path path = Paths.get(filename).toAbsolutePath().normalize();
+        if (!path.startsWith(outputDir) || path.equals(outputDir)) {
+            skip(path, "Not in the output directory, which is the root of the zip.");
+            return path.toFile();
+        }
+        String entryName = toEntryName(path);
+
+        // files may be rendered concurrently (see CodegenConfig#getRenderThreads)
+        synchronized (zipOutputStream) {
+            if (!entries.add(entryName)) {
+                skip(path, "Already written to the zip, entries cannot be overwritten.");
+                return path.toFile();
+            }
+            LOGGER.info("writing zip entry {}", entryName);
+            zipOutputStream.putNextEntry(new ZipEntry(entryName));
+            zipOutputStream.write(contents);
+            zipOutputStream.closeEntry();
+        }
+        writtenEntries.increment();
+        return path.toFile();
+    }
+
+    private String toEntryName(Path path) {
+        StringBuilder sb = new StringBuilder();
+        Path root = outputDir.getFileName();
+        if (root != null) {
+            sb.append(root);
+        }
+        for (Path segment : outputDir.relativize(path)) {
+            if (sb.length() > 0) {
+                sb.append('/');
+            }
+            sb.append(segment);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return The number of entries written to the zip stream by this instance
+     */
+    @Override
+    public long getWrittenCount() {
+        return writtenEntries.sum();
+    }
+}
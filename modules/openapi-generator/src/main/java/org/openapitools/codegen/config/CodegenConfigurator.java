@@ -35,6 +35,7 @@ import org.openapitools.codegen.api.TemplateDefinition;
 import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.auth.AuthParser;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SchemaUsageIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,9 +76,29 @@ public class CodegenConfigurator {
     private Map<String, String> reservedWordsMappings = new HashMap<>();
     private Map<String, String> serverVariables = new HashMap<>();
     private String auth;
+    private SpecParser specParser = SpecParser.DEFAULT;
 
     private List<TemplateDefinition> userDefinedTemplates = new ArrayList<>();
 
+    /**
+     * Reads, parses and resolves the input specification of a configurator.
+     */
+    @FunctionalInterface
+    public interface SpecParser {
+        /**
+         * Parses with {@link OpenAPIParser#readLocation(String, List, ParseOptions)}.
+         */
+        SpecParser DEFAULT = (location, auths, options) -> new OpenAPIParser().readLocation(location, auths, options);
+
+        /**
+         * @param location The location of the specification, a file or a URL
+         * @param auths    The authorization values for remote specifications, may be null
+         * @param options  The parse options
+         * @return The result of parsing, whose document the caller may modify
+         */
+        SwaggerParseResult parse(String location, List<AuthorizationValue> auths, ParseOptions options);
+    }
+
     public CodegenConfigurator() {
 
     }
@@ -287,6 +308,26 @@ public class CodegenConfigurator {
         return this;
     }
 
+    public CodegenConfigurator setRenderThreads(int renderThreads) {
+        workflowSettingsBuilder.withRenderThreads(renderThreads);
+        return this;
+    }
+
+    public CodegenConfigurator setPostProcessThreads(int postProcessThreads) {
+        workflowSettingsBuilder.withPostProcessThreads(postProcessThreads);
+        return this;
+    }
+
+    public CodegenConfigurator setPostProcessBatchSize(int postProcessBatchSize) {
+        workflowSettingsBuilder.withPostProcessBatchSize(postProcessBatchSize);
+        return this;
+    }
+
+    public CodegenConfigurator setPostProcessFileTimeout(int postProcessFileTimeout) {
+        workflowSettingsBuilder.withPostProcessFileTimeout(postProcessFileTimeout);
+        return this;
+    }
+
     public CodegenConfigurator setEnablePostProcessFile(boolean enablePostProcessFile) {
         workflowSettingsBuilder.withEnablePostProcessFile(enablePostProcessFile);
         return this;
@@ -388,6 +429,21 @@ public class CodegenConfigurator {
         return this;
     }
 
+    public String getInputSpec() {
+        return inputSpec;
+    }
+
+    /**
+     * Sets how the input specification is parsed, e.g. to share parsed specifications between configurators.
+     *
+     * @param specParser The parser, or null to parse with {@link SpecParser#DEFAULT}
+     * @return a reference to this configurator
+     */
+    public CodegenConfigurator setSpecParser(SpecParser specParser) {
+        this.specParser = specParser == null ? SpecParser.DEFAULT : specParser;
+        return this;
+    }
+
     public CodegenConfigurator setInstantiationTypes(Map<String, String> instantiationTypes) {
         this.instantiationTypes = instantiationTypes;
         generatorSettingsBuilder.withInstantiationTypes(instantiationTypes);
@@ -570,7 +626,7 @@ public class CodegenConfigurator {
         final List<AuthorizationValue> authorizationValues = AuthParser.parse(this.auth);
         ParseOptions options = new ParseOptions();
         options.setResolve(true);
-        SwaggerParseResult result = new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+        SwaggerParseResult result = specParser.parse(inputSpec, authorizationValues, options);
 
         // TODO: Move custom validations to a separate type as part of a "Workflow"
         Set<String> validationMessages = new HashSet<>(null != result.getMessages() ? result.getMessages() : new ArrayList<>());
@@ -588,7 +644,7 @@ public class CodegenConfigurator {
                 // Wrap the getUnusedSchemas() in try catch block so it catches the NPE
                 // when the input spec file is not correct
                 try{
-                    List<String> unusedModels = ModelUtils.getUnusedSchemas(specification);
+                    List<String> unusedModels = new SchemaUsageIndex(specification).getUnusedSchemas();
                     if (unusedModels != null) {
                         unusedModels.forEach(name -> warnings.add("Unused model: " + name));
                     }
@@ -649,6 +705,10 @@ public class CodegenConfigurator {
         config.setSkipOperationExample(workflowSettings.isSkipOperationExample());
         config.setEnablePostProcessFile(workflowSettings.isEnablePostProcessFile());
         config.setEnableMinimalUpdate(workflowSettings.isEnableMinimalUpdate());
+        config.setRenderThreads(workflowSettings.getRenderThreads());
+        config.setPostProcessThreads(workflowSettings.getPostProcessThreads());
+        config.setPostProcessBatchSize(workflowSettings.getPostProcessBatchSize());
+        config.setPostProcessFileTimeout(workflowSettings.getPostProcessFileTimeout());
         config.setStrictSpecBehavior(workflowSettings.isStrictSpecBehavior());
 
         TemplatingEngineAdapter templatingEngine = TemplatingEngineLoader.byIdentifier(workflowSettings.getTemplatingEngineName());
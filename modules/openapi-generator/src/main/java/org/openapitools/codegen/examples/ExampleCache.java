@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.examples;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the examples of models, by model, media type and depth, so that the examples of a model are built once and
+ * reused by every operation referencing it.
+ * <p>
+ * JSON examples are held for every model, nested ones included. XML examples are only held for the models an
+ * operation refers to: the XML of a nested model depends on its indentation and on the models it is nested in.
+ * <p>
+ * It also holds the limits of generated examples: the depth of nested models, and the number of items of arrays.
+ * A cache is only valid for the document it was filled from.
+ */
+public class ExampleCache {
+    /**
+     * The default maximum number of items of an array example.
+     */
+    public static final int DEFAULT_MAX_ARRAY_ITEMS = 5;
+
+    /**
+     * The depth under which the examples of models are held when the depth of examples is not limited.
+     */
+    static final int UNLIMITED_DEPTH = 0;
+
+    private final int maxDepth;
+    private final int maxArrayItems;
+    private final ConcurrentMap<Key, Object> models = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, String> serialized = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a cache for examples of unlimited depth, and arrays of at most {@link #DEFAULT_MAX_ARRAY_ITEMS} items.
+     */
+    public ExampleCache() {
+        this(0, DEFAULT_MAX_ARRAY_ITEMS);
+    }
+
+    /**
+     * @param maxDepth      The maximum number of nested models in an example, or 0 (or less) for no limit
+     * @param maxArrayItems The maximum number of items of an array example
+     */
+    public ExampleCache(int maxDepth, int maxArrayItems) {
+        this.maxDepth = Math.max(maxDepth, 0);
+        this.maxArrayItems = Math.max(maxArrayItems, 1);
+    }
+
+    /**
+     * @return The maximum number of nested models in an example, 0 if there is no limit
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public boolean isDepthLimited() {
+        return maxDepth > 0;
+    }
+
+    public int getMaxArrayItems() {
+        return maxArrayItems;
+    }
+
+    /**
+     * @return The number of serialized examples held
+     */
+    public int size() {
+        return serialized.size();
+    }
+
+    /**
+     * Gets the example of a model.
+     *
+     * @param name      The name of the model
+     * @param mediaType The media type of the example
+     * @param depth     The number of nested models the example may still hold, or {@link #UNLIMITED_DEPTH}
+     * @return The example, or null if it has not been built
+     */
+    Object getModel(String name, String mediaType, int depth) {
+        return models.get(new Key(name, mediaType, depth));
+    }
+
+    void putModel(String name, String mediaType, int depth, Object example) {
+        if (example != null) {
+            models.putIfAbsent(new Key(name, mediaType, depth), example);
+        }
+    }
+
+    /**
+     * Gets the serialized example of a model, building it if it is not cached yet.
+     *
+     * @param name      The name of the model
+     * @param mediaType The media type of the example
+     * @param example   Builds the serialized example
+     * @return The serialized example
+     */
+    String serialized(String name, String mediaType, Supplier<String> example) {
+        Key key = new Key(name, mediaType, maxDepth);
+        String cached = serialized.get(key);
+        if (cached == null) {
+            // not computeIfAbsent: building an example may look up the examples of other models
+            cached = example.get();
+            if (cached != null) {
+                String existing = serialized.putIfAbsent(key, cached);
+                cached = existing == null ? cached : existing;
+            }
+        }
+        return cached;
+    }
+
+    private static final class Key {
+        private final String name;
+        private final String mediaType;
+        private final int depth;
+
+        Key(String name, String mediaType, int depth) {
+            this.name = name;
+            this.mediaType = mediaType;
+            this.depth = depth;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return depth == key.depth && Objects.equals(name, key.name) && Objects.equals(mediaType, key.mediaType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, mediaType, depth);
+        }
+    }
+}
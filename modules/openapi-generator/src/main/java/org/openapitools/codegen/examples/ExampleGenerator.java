@@ -47,12 +47,24 @@ public class ExampleGenerator {
     protected Map<String, Schema> examples;
     private OpenAPI openAPI;
     private Random random;
+    private final ExampleCache cache;
 
     public ExampleGenerator(Map<String, Schema> examples, OpenAPI openAPI) {
+        this(examples, openAPI, new ExampleCache());
+    }
+
+    /**
+     * @param examples The schemas of the document, by name
+     * @param openAPI  The document
+     * @param cache    The examples of the models of the document, shared with other instances (e.g. for other
+     *                 operations), and the limits of generated examples
+     */
+    public ExampleGenerator(Map<String, Schema> examples, OpenAPI openAPI, ExampleCache cache) {
         this.examples = examples;
         this.openAPI = openAPI;
         // use a fixed seed to make the "random" numbers reproducible.
         this.random = new Random("ExampleGenerator".hashCode());
+        this.cache = cache;
     }
 
     public List<Map<String, String>> generateFromResponseSchema(String statusCode, Schema responseSchema, Set<String> producesInfo) {
@@ -112,13 +124,13 @@ public class ExampleGenerator {
                 Map<String, String> kv = new HashMap<>();
                 kv.put(CONTENT_TYPE, mediaType);
                 if (property != null && (mediaType.startsWith(MIME_TYPE_JSON) || mediaType.contains("*/*"))) {
-                    String example = Json.pretty(resolvePropertyToExample("", mediaType, property, processedModels));
+                    String example = Json.pretty(resolvePropertyToExample("", mediaType, property, processedModels, maxDepth()));
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
                     }
                 } else if (property != null && mediaType.startsWith(MIME_TYPE_XML)) {
-                    String example = new XmlExampleGenerator(this.examples).toXml(property);
+                    String example = new XmlExampleGenerator(this.examples, cache).toXml(property);
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
@@ -156,7 +168,8 @@ public class ExampleGenerator {
                 if (modelName != null && (mediaType.startsWith(MIME_TYPE_JSON) || mediaType.contains("*/*"))) {
                     final Schema schema = this.examples.get(modelName);
                     if (schema != null) {
-                        String example = Json.pretty(resolveModelToExample(modelName, mediaType, schema, processedModels));
+                        String example = cache.serialized(modelName, mediaType,
+                                () -> Json.pretty(resolveModelToExample(modelName, mediaType, schema, processedModels, maxDepth())));
 
                         if (example != null) {
                             kv.put(EXAMPLE, example);
@@ -165,7 +178,8 @@ public class ExampleGenerator {
                     }
                 } else if (modelName != null && mediaType.startsWith(MIME_TYPE_XML)) {
                     final Schema schema = this.examples.get(modelName);
-                    String example = new XmlExampleGenerator(this.examples).toXml(schema, 0, Collections.emptySet());
+                    String example = cache.serialized(modelName, mediaType,
+                            () -> new XmlExampleGenerator(this.examples, cache).toXml(schema, 0, Collections.emptySet()));
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
@@ -220,7 +234,14 @@ public class ExampleGenerator {
         return output;
     }
 
-    private Object resolvePropertyToExample(String propertyName, String mediaType, Schema property, Set<String> processedModels) {
+    /**
+     * @return The number of nested models an example may hold
+     */
+    private int maxDepth() {
+        return cache.isDepthLimited() ? cache.getMaxDepth() : Integer.MAX_VALUE;
+    }
+
+    private Object resolvePropertyToExample(String propertyName, String mediaType, Schema property, Set<String> processedModels, int depth) {
         LOGGER.debug("Resolving example for property {}...", property);
         if (property.getExample() != null) {
             LOGGER.debug("Example set in openapi spec, returning example: '{}'", property.getExample().toString());
@@ -235,10 +256,10 @@ public class ExampleGenerator {
             Schema innerType = ((ArraySchema) property).getItems();
             if (innerType != null) {
                 int arrayLength = null == ((ArraySchema) property).getMaxItems() ? 2 : ((ArraySchema) property).getMaxItems();
-                // avoid memory issues by limiting to max. 5 items
-                arrayLength = Math.min(arrayLength, 5);
+                // avoid memory issues by limiting the number of items (5 by default)
+                arrayLength = Math.min(arrayLength, cache.getMaxArrayItems());
                 Object[] objectProperties = new Object[arrayLength];
-                Object objProperty = resolvePropertyToExample(propertyName, mediaType, innerType, processedModels);
+                Object objProperty = resolvePropertyToExample(propertyName, mediaType, innerType, processedModels, depth);
                 for (int i = 0; i < arrayLength; i++) {
                     objectProperties[i] = objProperty;
                 }
@@ -272,10 +293,10 @@ public class ExampleGenerator {
             Map<String, Object> mp = new HashMap<String, Object>();
             if (property.getName() != null) {
                 mp.put(property.getName(),
-                        resolvePropertyToExample(propertyName, mediaType, ModelUtils.getAdditionalProperties(openAPI, property), processedModels));
+                        resolvePropertyToExample(propertyName, mediaType, ModelUtils.getAdditionalProperties(openAPI, property), processedModels, depth));
             } else {
                 mp.put("key",
-                        resolvePropertyToExample(propertyName, mediaType, ModelUtils.getAdditionalProperties(openAPI, property), processedModels));
+                        resolvePropertyToExample(propertyName, mediaType, ModelUtils.getAdditionalProperties(openAPI, property), processedModels, depth));
             }
             return mp;
         } else if (ModelUtils.isUUIDSchema(property)) {
@@ -307,7 +328,7 @@ public class ExampleGenerator {
             if (schema == null) { // couldn't find the model/schema
                 return "{}";
             }
-            return resolveModelToExample(simpleName, mediaType, schema, processedModels);
+            return resolveModelToExample(simpleName, mediaType, schema, processedModels, depth);
 
         } else if (ModelUtils.isObjectSchema(property)) {
             return "{}";
@@ -333,7 +354,17 @@ public class ExampleGenerator {
         }
     }
 
-    private Object resolveModelToExample(String name, String mediaType, Schema schema, Set<String> processedModels) {
+    /**
+     * @param depth The number of nested models the example may hold, including this one
+     */
+    private Object resolveModelToExample(String name, String mediaType, Schema schema, Set<String> processedModels, int depth) {
+        if (cache.isDepthLimited()) {
+            return resolveModelToExample(name, mediaType, schema, depth);
+        }
+        Object cached = cache.getModel(name, mediaType, ExampleCache.UNLIMITED_DEPTH);
+        if (cached != null) {
+            return cached;
+        }
         if (processedModels.contains(name)) {
             return schema.getExample();
         }
@@ -348,13 +379,42 @@ public class ExampleGenerator {
             LOGGER.debug("Creating example from model values");
             for (Object propertyName : schema.getProperties().keySet()) {
                 Schema property = (Schema) schema.getProperties().get(propertyName.toString());
-                values.put(propertyName.toString(), resolvePropertyToExample(propertyName.toString(), mediaType, property, processedModels));
+                values.put(propertyName.toString(), resolvePropertyToExample(propertyName.toString(), mediaType, property, processedModels, depth - 1));
             }
             schema.setExample(values);
+            cache.putModel(name, mediaType, ExampleCache.UNLIMITED_DEPTH, values);
             return schema.getExample();
         } else {
             // TODO log an error message as the model does not have any properties
             return null;
         }
     }
+
+    /**
+     * Resolves the example of a model holding at most {@code depth} nested models. Such examples are finite even when
+     * models reference each other, and only depend on the model and the depth, so they are cached rather than set on
+     * the schema.
+     */
+    private Object resolveModelToExample(String name, String mediaType, Schema schema, int depth) {
+        if (schema.getExample() != null) {
+            LOGGER.debug("Using example from spec: {}", schema.getExample());
+            return schema.getExample();
+        }
+        if (depth <= 0 || schema.getProperties() == null) {
+            return null;
+        }
+        Object cached = cache.getModel(name, mediaType, depth);
+        if (cached != null) {
+            return cached;
+        }
+
+        LOGGER.debug("Resolving model '{}' to example of depth {}", name, depth);
+        Map<String, Object> values = new HashMap<>();
+        for (Object propertyName : schema.getProperties().keySet()) {
+            Schema property = (Schema) schema.getProperties().get(propertyName.toString());
+            values.put(propertyName.toString(), resolvePropertyToExample(propertyName.toString(), mediaType, property, Collections.emptySet(), depth - 1));
+        }
+        cache.putModel(name, mediaType, depth, values);
+        return cache.getModel(name, mediaType, depth);
+    }
 }
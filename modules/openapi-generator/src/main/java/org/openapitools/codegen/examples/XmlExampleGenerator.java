@@ -35,12 +35,22 @@ public class XmlExampleGenerator {
     public static String TAG_END = "</";
     private static String EMPTY = "";
     protected Map<String, Schema> examples;
+    private final ExampleCache cache;
 
     public XmlExampleGenerator(Map<String, Schema> examples) {
+        this(examples, new ExampleCache());
+    }
+
+    /**
+     * @param examples The schemas of the document, by name
+     * @param cache    The limits of generated examples, shared with {@link ExampleGenerator}
+     */
+    public XmlExampleGenerator(Map<String, Schema> examples, ExampleCache cache) {
         this.examples = examples;
         if (examples == null) {
             this.examples = new HashMap<String, Schema>();
         }
+        this.cache = cache;
     }
 
     public String toXml(Schema schema) {
@@ -63,6 +73,10 @@ public class XmlExampleGenerator {
         if (path.contains(modelName)) {
             return EMPTY;
         }
+        if (cache.isDepthLimited() && path.size() >= cache.getMaxDepth()) {
+            // the path holds the models this one is nested in
+            return EMPTY;
+        }
         final Set<String> selfPath = new HashSet<String>(path);
         selfPath.add(modelName);
 
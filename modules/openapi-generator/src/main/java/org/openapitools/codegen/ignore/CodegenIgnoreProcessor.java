@@ -19,12 +19,14 @@ package org.openapitools.codegen.ignore;
 
 import org.openapitools.codegen.ignore.rules.DirectoryRule;
 import org.openapitools.codegen.ignore.rules.Rule;
+import org.openapitools.codegen.ignore.rules.RuleMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
@@ -37,6 +39,8 @@ public class CodegenIgnoreProcessor {
     private final Logger LOGGER = LoggerFactory.getLogger(CodegenIgnoreProcessor.class);
 
     private File ignoreFile = null;
+    private Path baseDirectory = null;
+    private RuleMatcher matcher = null;
 
     private List<Rule> exclusionRules = new ArrayList<>();
     private List<Rule> inclusionRules = new ArrayList<>();
@@ -81,6 +85,7 @@ public class CodegenIgnoreProcessor {
             try {
                 loadCodegenRules(targetIgnoreFile);
                 this.ignoreFile = targetIgnoreFile;
+                this.baseDirectory = targetIgnoreFile.getAbsoluteFile().getParentFile().toPath().normalize();
             } catch (IOException e) {
                 LOGGER.error(String.format(Locale.ROOT, "Could not process %s.", targetIgnoreFile.getName()), e.getMessage());
             }
@@ -130,6 +135,9 @@ public class CodegenIgnoreProcessor {
                 }
             }
         }
+
+        // the rules are evaluated for every file written, so they are compiled once
+        matcher = RuleMatcher.compile(exclusionRules, inclusionRules);
     }
 
     /**
@@ -142,13 +150,18 @@ public class CodegenIgnoreProcessor {
     public boolean allowsFile(final File targetFile) {
         if(this.ignoreFile == null) return true;
 
-        File file = new File(this.ignoreFile.getAbsoluteFile().getParentFile().toURI().relativize(targetFile.toURI()).getPath());
-        boolean directoryExcluded = false;
-        boolean exclude = false;
         if(exclusionRules.size() == 0 && inclusionRules.size() == 0) {
             return true;
         }
 
+        File file = relativize(targetFile);
+        if (matcher != null) {
+            return matcher.allows(file.getPath());
+        }
+
+        boolean directoryExcluded = false;
+        boolean exclude = false;
+
         // NOTE: We *must* process all exclusion rules
         for (int i = 0; i < exclusionRules.size(); i++) {
             Rule current = exclusionRules.get(i);
@@ -204,6 +217,17 @@ public class CodegenIgnoreProcessor {
         return Boolean.FALSE.equals(exclude);
     }
 
+    /**
+     * @return The file, relative to the directory of the ignore file if it is located under it
+     */
+    private File relativize(final File targetFile) {
+        Path target = targetFile.getAbsoluteFile().toPath().normalize();
+        if (baseDirectory != null && target.startsWith(baseDirectory)) {
+            return new File(baseDirectory.relativize(target).toString());
+        }
+        return new File(this.ignoreFile.getAbsoluteFile().getParentFile().toURI().relativize(targetFile.toURI()).getPath());
+    }
+
     /**
      * Allows a consumer to manually inspect explicit "inclusion rules". That is, patterns in the ignore file which have been negated.
      *
@@ -18,6 +18,7 @@
 package org.openapitools.codegen.ignore.rules;
 
 import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.List;
 
@@ -40,6 +41,11 @@ public class DirectoryRule extends FileRule {
 
     @Override
     public Boolean matches(String relativePath) {
-        return contentsMatcher.matches(FileSystems.getDefault().getPath(relativePath)) || directoryMatcher.matches(FileSystems.getDefault().getPath(relativePath));
+        return matches(FileSystems.getDefault().getPath(relativePath));
+    }
+
+    @Override
+    boolean matches(Path relativePath) {
+        return contentsMatcher.matches(relativePath) || directoryMatcher.matches(relativePath);
     }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.ignore.rules;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates the rules of an ignore file against many paths, with the same result as evaluating each rule in turn.
+ * <p>
+ * Rules are indexed in a trie of their leading literal path segments, so a path is only evaluated against the rules
+ * whose literal prefix it starts with: a rule without wildcards is a lookup, and a rule with wildcards is only
+ * matched against the paths under its literal prefix. Each path is parsed once, whatever the number of rules.
+ */
+public class RuleMatcher {
+    // the characters with a special meaning in a glob
+    private static final String GLOB_CHARACTERS = "*?[]{}\\";
+
+    private final RuleSet exclusions;
+    private final RuleSet inclusions;
+
+    private RuleMatcher(RuleSet exclusions, RuleSet inclusions) {
+        this.exclusions = exclusions;
+        this.inclusions = inclusions;
+    }
+
+    /**
+     * Compiles the rules of an ignore file.
+     *
+     * @param exclusionRules The rules which exclude files
+     * @param inclusionRules The negated rules, which include files again
+     * @return The matcher, or null if some rules are of a type which must be evaluated in turn
+     */
+    public static RuleMatcher compile(List<Rule> exclusionRules, List<Rule> inclusionRules) {
+        RuleSet exclusions = RuleSet.of(exclusionRules);
+        RuleSet inclusions = RuleSet.of(inclusionRules);
+        return exclusions == null || inclusions == null ? null : new RuleMatcher(exclusions, inclusions);
+    }
+
+    /**
+     * Determines whether a path is allowed by the rules. A file excluded by a directory rule can only be included
+     * again by a directory rule.
+     *
+     * @param relativePath The path, relative to the ignore file
+     * @return {@code false} if the path is excluded, otherwise {@code true}
+     */
+    public boolean allows(String relativePath) {
+        Path path = FileSystems.getDefault().getPath(relativePath);
+        String[] segments = path.toString().split("/", -1);
+
+        if (exclusions.matchesDirectory(segments, path)) {
+            return inclusions.matchesDirectory(segments, path);
+        }
+        if (!exclusions.matchesFile(segments, path, relativePath)) {
+            return true;
+        }
+        return inclusions.matchesDirectory(segments, path) || inclusions.matchesFile(segments, path, relativePath);
+    }
+
+    private static boolean isLiteral(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(segment.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class RuleSet {
+        private final Node root = new Node();
+        private final List<RootedFileRule> rootedRules = new ArrayList<>();
+
+        /**
+         * @return The rules, or null if some are of a type which must be evaluated in turn
+         */
+        static RuleSet of(List<Rule> rules) {
+            // Windows paths are matched case-insensitively, and with another separator, so the rules are not indexed there
+            boolean indexed = File.separatorChar == '/';
+            RuleSet set = new RuleSet();
+            for (Rule rule : rules) {
+                Class<?> type = rule.getClass();
+                if (type == DirectoryRule.class) {
+                    String pattern = rule.getPattern();
+                    // 'docs/' matches the paths under 'docs'
+                    set.add((DirectoryRule) rule, indexed && pattern.endsWith("/") ? pattern.substring(0, pattern.length() - 1) : null);
+                } else if (type == FileRule.class) {
+                    set.add((FileRule) rule, indexed ? rule.getPattern() : null);
+                } else if (type == RootedFileRule.class) {
+                    set.rootedRules.add((RootedFileRule) rule);
+                } else if (type != InvalidRule.class) {
+                    // e.g. a rule which terminates the evaluation, whose result depends on the order of the rules
+                    return null;
+                }
+            }
+            return set;
+        }
+
+        private void add(FileRule rule, String pattern) {
+            Node node = root;
+            String[] segments = pattern == null ? new String[0] : pattern.split("/", -1);
+            int literal = 0;
+            while (literal < segments.length && isLiteral(segments[literal])) {
+                node = node.child(segments[literal++]);
+            }
+            boolean directory = rule instanceof DirectoryRule;
+            if (literal > 0 && literal == segments.length) {
+                // e.g. 'docs/README.md', or 'docs/' which matches everything under 'docs'
+                if (directory) {
+                    node.directory = true;
+                } else {
+                    node.file = true;
+                }
+            } else if (directory) {
+                node.directoryRules.add((DirectoryRule) rule);
+            } else {
+                node.fileRules.add(rule);
+            }
+        }
+
+        /**
+         * @return true if a directory rule matches the path
+         */
+        boolean matchesDirectory(String[] segments, Path path) {
+            Node node = root;
+            for (int depth = 0; node != null; depth++) {
+                if (node.directory && depth < segments.length) {
+                    return true;
+                }
+                for (DirectoryRule rule : node.directoryRules) {
+                    if (rule.matches(path)) {
+                        return true;
+                    }
+                }
+                node = depth < segments.length ? node.children.get(segments[depth]) : null;
+            }
+            return false;
+        }
+
+        /**
+         * @return true if a rule other than a directory rule matches the path
+         */
+        boolean matchesFile(String[] segments, Path path, String relativePath) {
+            // rooted rules only match files in the directory of the ignore file
+            if (!rootedRules.isEmpty() && relativePath.lastIndexOf("/") <= 0) {
+                for (RootedFileRule rule : rootedRules) {
+                    if (Boolean.TRUE.equals(rule.matches(relativePath))) {
+                        return true;
+                    }
+                }
+            }
+            Node node = root;
+            for (int depth = 0; node != null; depth++) {
+                if (node.file && depth == segments.length) {
+                    return true;
+                }
+                for (FileRule rule : node.fileRules) {
+                    if (rule.matches(path)) {
+                        return true;
+                    }
+                }
+                node = depth < segments.length ? node.children.get(segments[depth]) : null;
+            }
+            return false;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        // a rule without wildcards matches the path to this node
+        private boolean file;
+        // a directory rule without wildcards matches the paths under this node
+        private boolean directory;
+        // the rules with wildcards after the literal path to this node
+        private final List<FileRule> fileRules = new ArrayList<>();
+        private final List<DirectoryRule> directoryRules = new ArrayList<>();
+
+        Node child(String segment) {
+            return children.computeIfAbsent(segment, k -> new Node());
+        }
+    }
+}
@@ -31,7 +31,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.*;
 
 import static org.openapitools.codegen.utils.StringUtils.camelize;
@@ -41,6 +40,13 @@ public abstract class AbstractGoCodegen extends DefaultCodegen implements Codege
 
     private final Logger LOGGER = LoggerFactory.getLogger(AbstractGoCodegen.class);
     private static final String NUMERIC_ENUM_PREFIX = "_";
+    private static final Set<String> GO_POST_PROCESS_FILE_TYPES = new HashSet<>(
+            Arrays.asList(
+                    "supporting-mustache",
+                    "model-test",
+                    "model",
+                    "api-test",
+                    "api"));
 
     protected boolean withGoCodegenComment = false;
     protected boolean withAWSV4Signature = false;
@@ -802,47 +808,21 @@ public abstract class AbstractGoCodegen extends DefaultCodegen implements Codege
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
-        if (file == null) {
-            return;
-        }
+    protected String getPostProcessFileVariable() {
+        return "GO_POST_PROCESS_FILE";
+    }
 
-        String goPostProcessFile = System.getenv("GO_POST_PROCESS_FILE");
-        if (StringUtils.isEmpty(goPostProcessFile)) {
-            return; // skip if GO_POST_PROCESS_FILE env variable is not defined
-        }
+    @Override
+    public boolean supportsBatchPostProcessing() {
+        return true;
+    }
 
+    @Override
+    protected boolean isPostProcessFileCandidate(File file, String fileType) {
         // only process the following type (or we can simply rely on the file extension to check if it's a Go file)
-        Set<String> supportedFileType = new HashSet<>(
-                Arrays.asList(
-                        "supporting-mustache",
-                        "model-test",
-                        "model",
-                        "api-test",
-                        "api"));
-        if (!supportedFileType.contains(fileType)) {
-            return;
-        }
-
-        // only process files with go extension
-        if ("go".equals(FilenameUtils.getExtension(file.toString()))) {
-            // e.g. "gofmt -w yourcode.go"
-            // e.g. "go fmt path/to/your/package"
-            String command = goPostProcessFile + " " + file;
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit code: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: {}", command);
-                }
-            } catch (InterruptedException | IOException e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-                // Restore interrupted state
-                Thread.currentThread().interrupt();
-            }
-        }
+        // e.g. "gofmt -w yourcode.go"
+        // e.g. "go fmt path/to/your/package"
+        return GO_POST_PROCESS_FILE_TYPES.contains(fileType) && "go".equals(FilenameUtils.getExtension(file.toString()));
     }
 
     protected boolean isNumberType(String datatype) {
@@ -1988,34 +1988,19 @@ public abstract class AbstractJavaCodegen extends DefaultCodegen implements Code
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
-        if (file == null) {
-            return;
-        }
+    protected String getPostProcessFileVariable() {
+        return "JAVA_POST_PROCESS_FILE";
+    }
 
-        String javaPostProcessFile = System.getenv("JAVA_POST_PROCESS_FILE");
-        if (StringUtils.isEmpty(javaPostProcessFile)) {
-            return; // skip if JAVA_POST_PROCESS_FILE env variable is not defined
-        }
+    @Override
+    public boolean supportsBatchPostProcessing() {
+        return true;
+    }
 
+    @Override
+    protected boolean isPostProcessFileCandidate(File file, String fileType) {
         // only process files with java extension
-        if ("java".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = javaPostProcessFile + " " + file;
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                p.waitFor();
-                int exitValue = p.exitValue();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: {}", command);
-                }
-            } catch (InterruptedException | IOException e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-                // Restore interrupted state
-                Thread.currentThread().interrupt();
-            }
-        }
+        return "java".equals(FilenameUtils.getExtension(file.toString()));
     }
 
     public void setParentGroupId(final String parentGroupId) {
@@ -32,7 +32,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.*;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -971,34 +970,19 @@ public abstract class AbstractKotlinCodegen extends DefaultCodegen implements Co
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
-        if (file == null) {
-            return;
-        }
+    protected String getPostProcessFileVariable() {
+        return "KOTLIN_POST_PROCESS_FILE";
+    }
 
-        String kotlinPostProcessFile = System.getenv("KOTLIN_POST_PROCESS_FILE");
-        if (StringUtils.isEmpty(kotlinPostProcessFile)) {
-            return; // skip if KOTLIN_POST_PROCESS_FILE env variable is not defined
-        }
+    @Override
+    public boolean supportsBatchPostProcessing() {
+        return true;
+    }
 
+    @Override
+    protected boolean isPostProcessFileCandidate(File file, String fileType) {
         // only process files with kt extension
-        if ("kt".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = kotlinPostProcessFile + " " + file;
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                p.waitFor();
-                int exitValue = p.exitValue();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: {}", command);
-                }
-            } catch (InterruptedException | IOException e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-                // Restore interrupted state
-                Thread.currentThread().interrupt();
-            }
-        }
+        return "kt".equals(FilenameUtils.getExtension(file.toString()));
     }
 
     private String fixNumberValue(String number, Schema p) {
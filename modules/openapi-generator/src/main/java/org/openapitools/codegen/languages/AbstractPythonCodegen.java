@@ -29,7 +29,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -260,32 +259,19 @@ public abstract class AbstractPythonCodegen extends DefaultCodegen implements Co
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
-        if (file == null) {
-            return;
-        }
-        String pythonPostProcessFile = System.getenv("PYTHON_POST_PROCESS_FILE");
-        if (StringUtils.isEmpty(pythonPostProcessFile)) {
-            return; // skip if PYTHON_POST_PROCESS_FILE env variable is not defined
-        }
+    protected String getPostProcessFileVariable() {
+        return "PYTHON_POST_PROCESS_FILE";
+    }
+
+    @Override
+    public boolean supportsBatchPostProcessing() {
+        return true;
+    }
 
+    @Override
+    protected boolean isPostProcessFileCandidate(File file, String fileType) {
         // only process files with py extension
-        if ("py".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = pythonPostProcessFile + " " + file;
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: {}", command);
-                }
-            } catch (InterruptedException | IOException e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-                // Restore interrupted state
-                Thread.currentThread().interrupt();
-            }
-        }
+        return "py".equals(FilenameUtils.getExtension(file.toString()));
     }
 
     @Override
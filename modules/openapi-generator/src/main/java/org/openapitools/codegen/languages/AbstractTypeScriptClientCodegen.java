@@ -37,7 +37,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.function.BiPredicate;
@@ -1054,33 +1053,19 @@ public abstract class AbstractTypeScriptClientCodegen extends DefaultCodegen imp
     }
 
     @Override
-    public void postProcessFile(File file, String fileType) {
-        super.postProcessFile(file, fileType);
+    protected String getPostProcessFileVariable() {
+        return "TS_POST_PROCESS_FILE";
+    }
 
-        if (file == null) {
-            return;
-        }
-        String tsPostProcessFile = System.getenv("TS_POST_PROCESS_FILE");
-        if (StringUtils.isEmpty(tsPostProcessFile)) {
-            return; // skip if TS_POST_PROCESS_FILE env variable is not defined
-        }
+    @Override
+    public boolean supportsBatchPostProcessing() {
+        return true;
+    }
+
+    @Override
+    protected boolean isPostProcessFileCandidate(File file, String fileType) {
         // only process files with ts extension
-        if ("ts".equals(FilenameUtils.getExtension(file.toString()))) {
-            String command = tsPostProcessFile + " " + file;
-            try {
-                Process p = Runtime.getRuntime().exec(command);
-                int exitValue = p.waitFor();
-                if (exitValue != 0) {
-                    LOGGER.error("Error running the command ({}). Exit value: {}", command, exitValue);
-                } else {
-                    LOGGER.info("Successfully executed: {}", command);
-                }
-            } catch (InterruptedException | IOException e) {
-                LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
-                // Restore interrupted state
-                Thread.currentThread().interrupt();
-            }
-        }
+        return "ts".equals(FilenameUtils.getExtension(file.toString()));
     }
 
     @Override
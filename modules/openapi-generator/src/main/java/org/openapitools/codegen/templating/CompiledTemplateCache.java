@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.templating;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import org.openapitools.codegen.api.TemplatingExecutor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe cache of compiled templates, keyed by the executor they were compiled for, the resolved template location
+ * and a hash of the template contents.
+ * <p>
+ * Templating engine adapters hold one instance for the lifetime of a generation run so that a template (and the partials
+ * it includes) is parsed once and then reused for every model, API and supporting file written with it. Compiled
+ * templates load their partials through the executor they were compiled for, so they are never reused for another
+ * executor, e.g. one with other template directories.
+ *
+ * @param <T> The engine-specific compiled template type
+ */
+public class CompiledTemplateCache<T> {
+    private final ConcurrentMap<Key, T> templates = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Compiles template contents into an engine-specific template.
+     *
+     * @param <T> The engine-specific compiled template type
+     */
+    @FunctionalInterface
+    public interface TemplateCompiler<T> {
+        T compile(String contents) throws IOException;
+    }
+
+    /**
+     * Returns the compiled template for the given executor, location and contents, compiling and caching it on first use.
+     *
+     * @param executor The executor the template is compiled for, compared by identity
+     * @param location The resolved location of the template
+     * @param contents The raw template contents
+     * @param compiler Compiles the contents when no cached template exists
+     * @return The compiled template
+     * @throws IOException an error occurred while compiling the template
+     */
+    public T get(TemplatingExecutor executor, String location, String contents, TemplateCompiler<T> compiler) throws IOException {
+        Key key = new Key(executor, location, contents);
+        T template = templates.get(key);
+        if (template != null) {
+            hits.increment();
+            return template;
+        }
+
+        misses.increment();
+        // compile outside the map, as engines may resolve (and cache) partials while compiling
+        T compiled = compiler.compile(contents);
+        T existing = templates.putIfAbsent(key, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    /**
+     * @return The number of lookups served from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups which required compilation
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of compiled templates currently held
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * Removes all compiled templates and resets the hit/miss counters.
+     */
+    public void clear() {
+        templates.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "templates=%d, hits=%d, misses=%d", size(), getHitCount(), getMissCount());
+    }
+
+    private static final class Key {
+        private final TemplatingExecutor executor;
+        private final String location;
+        private final HashCode contentHash;
+
+        Key(TemplatingExecutor executor, String location, String contents) {
+            this.executor = executor;
+            this.location = location;
+            this.contentHash = Hashing.murmur3_128().hashString(contents, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return executor == key.executor && Objects.equals(location, key.location) && contentHash.equals(key.contentHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(executor), location, contentHash);
+        }
+    }
+}
@@ -19,7 +19,10 @@ package org.openapitools.codegen.templating;
 import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Jackson2Helper;
+import com.github.jknack.handlebars.Parser;
 import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.ValueResolver;
+import com.github.jknack.handlebars.cache.TemplateCache;
 import com.github.jknack.handlebars.context.FieldValueResolver;
 import com.github.jknack.handlebars.context.JavaBeanValueResolver;
 import com.github.jknack.handlebars.context.MapValueResolver;
@@ -32,22 +35,56 @@ import com.github.jknack.handlebars.io.TemplateLoader;
 import com.github.jknack.handlebars.io.TemplateSource;
 import org.openapitools.codegen.api.AbstractTemplatingEngineAdapter;
 import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.templating.handlebars.AccessorValueResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
 public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
+    /**
+     * The default value resolvers: map entries, then bean properties, fields and methods.
+     */
+    public static final List<ValueResolver> DEFAULT_VALUE_RESOLVERS = Collections.unmodifiableList(Arrays.asList(
+            MapValueResolver.INSTANCE,
+            JavaBeanValueResolver.INSTANCE,
+            FieldValueResolver.INSTANCE,
+            MethodValueResolver.INSTANCE
+    ));
+
+    /**
+     * Value resolvers which look up fields before bean properties. Codegen model and operation objects expose
+     * their state as public fields, so this avoids probing getters for most lookups. The accessor found for a name
+     * is cached per class as a method handle (see {@link AccessorValueResolver}), so repeated lookups don't use
+     * reflection. Templates relying on a getter which differs from the field of the same name should keep using
+     * {@link #DEFAULT_VALUE_RESOLVERS}.
+     * <p>
+     * Enabled for a generation run by the {@link org.openapitools.codegen.CodegenConstants#HANDLEBARS_FIELD_FIRST_RESOLUTION}
+     * additional property.
+     */
+    public static final List<ValueResolver> FIELD_FIRST_VALUE_RESOLVERS = Collections.unmodifiableList(Arrays.asList(
+            MapValueResolver.INSTANCE,
+            AccessorValueResolver.INSTANCE
+    ));
+
      final Logger LOGGER = LoggerFactory.getLogger(HandlebarsEngineAdapter.class);
     private final String[] extensions = {"handlebars", "hbs"};
 
     // We use this as a simple lookup for valid file name extensions. This adapter will inspect .mustache (built-in) and infer the relevant handlebars filename
     private final String[] canCompileFromExtensions = {".handlebars",".hbs",".mustache"};
+    private final CompiledTemplateCache<Template> compiledTemplates = new CompiledTemplateCache<>();
     private boolean infiniteLoops = false;
     private boolean prettyPrint = false;
+    private ValueResolver[] valueResolvers = DEFAULT_VALUE_RESOLVERS.toArray(new ValueResolver[0]);
+    // the engine is configured once and reused for all templates rendered by the same executor (i.e. generation run)
+    private Handlebars handlebars;
+    private TemplatingExecutor handlebarsExecutor;
 
     /**
      * Provides an identifier used to load the adapter. This could be a name, uuid, or any other string.
@@ -61,6 +98,20 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
 
     public String compileTemplate(TemplatingExecutor executor,
                                   Map<String, Object> bundle, String templateFile) throws IOException {
+        Context context = Context
+                .newBuilder(bundle)
+                .resolver(valueResolvers)
+                .build();
+
+        Template tmpl = getHandlebars(executor).compile(templateFile);
+        return tmpl.apply(context);
+    }
+
+    private synchronized Handlebars getHandlebars(TemplatingExecutor executor) {
+        if (handlebars != null && handlebarsExecutor == executor) {
+            return handlebars;
+        }
+
         TemplateLoader loader = new AbstractTemplateLoader() {
             @Override
             public TemplateSource sourceAt(String location) {
@@ -68,28 +119,30 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
             }
         };
 
-        Context context = Context
-                .newBuilder(bundle)
-                .resolver(
-                        MapValueResolver.INSTANCE,
-                        JavaBeanValueResolver.INSTANCE,
-                        FieldValueResolver.INSTANCE,
-                        MethodValueResolver.INSTANCE)
-                .build();
-
-        Handlebars handlebars = new Handlebars(loader);
-        handlebars.registerHelperMissing((obj, options) -> {
+        Handlebars engine = new Handlebars(loader).with(new ExecutorTemplateCache(executor));
+        engine.registerHelperMissing((obj, options) -> {
             LOGGER.warn(String.format(Locale.ROOT, "Unregistered helper name '%s', processing template:%n%s", options.helperName, options.fn.text()));
             return "";
         });
-        handlebars.registerHelper("json", Jackson2Helper.INSTANCE);
-        StringHelpers.register(handlebars);
-        handlebars.registerHelpers(ConditionalHelpers.class);
-        handlebars.registerHelpers(org.openapitools.codegen.templating.handlebars.StringHelpers.class);
-        handlebars.setInfiniteLoops(infiniteLoops);
-        handlebars.setPrettyPrint(prettyPrint);
-        Template tmpl = handlebars.compile(templateFile);
-        return tmpl.apply(context);
+        engine.registerHelper("json", Jackson2Helper.INSTANCE);
+        StringHelpers.register(engine);
+        engine.registerHelpers(ConditionalHelpers.class);
+        engine.registerHelpers(org.openapitools.codegen.templating.handlebars.StringHelpers.class);
+        engine.setInfiniteLoops(infiniteLoops);
+        engine.setPrettyPrint(prettyPrint);
+
+        handlebars = engine;
+        handlebarsExecutor = executor;
+        return engine;
+    }
+
+    /**
+     * Discards the configured Handlebars engine and compiled templates, e.g. at the end of a generation run.
+     */
+    public synchronized void reset() {
+        handlebars = null;
+        handlebarsExecutor = null;
+        compiledTemplates.clear();
     }
 
     @SuppressWarnings("java:S108")
@@ -136,11 +189,89 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
      */
     public HandlebarsEngineAdapter infiniteLoops(boolean infiniteLoops) {
         this.infiniteLoops = infiniteLoops;
+        reset();
         return this;
     }
 
     public void setPrettyPrint(boolean prettyPrint) {
         this.prettyPrint = prettyPrint;
+        reset();
+    }
+
+    /**
+     * Sets the value resolvers used to look up template variables, such as {@link #DEFAULT_VALUE_RESOLVERS} or
+     * {@link #FIELD_FIRST_VALUE_RESOLVERS}.
+     *
+     * @param valueResolvers The value resolvers, in lookup order
+     * @return this object
+     */
+    public HandlebarsEngineAdapter valueResolvers(List<ValueResolver> valueResolvers) {
+        this.valueResolvers = valueResolvers.toArray(new ValueResolver[0]);
+        return this;
+    }
+
+    /**
+     * Sets the value resolvers used to look up template variables.
+     *
+     * @param valueResolvers The value resolvers, in lookup order
+     * @return this object
+     */
+    public HandlebarsEngineAdapter valueResolvers(ValueResolver... valueResolvers) {
+        return valueResolvers(Arrays.asList(valueResolvers));
+    }
+
+    /**
+     * @return The value resolvers used to look up template variables, in lookup order
+     */
+    public List<ValueResolver> getValueResolvers() {
+        return Collections.unmodifiableList(Arrays.asList(valueResolvers.clone()));
+    }
+
+    /**
+     * Gets the cache of compiled templates (including partials) used by this adapter for the current generation run.
+     *
+     * @return The compiled template cache
+     */
+    public CompiledTemplateCache<Template> getCompiledTemplateCache() {
+        return compiledTemplates;
+    }
+
+    /**
+     * Routes Handlebars' own template cache, which is consulted for top-level templates and partials alike,
+     * to the adapter's compiled template cache keyed by resolved template path.
+     */
+    private class ExecutorTemplateCache implements TemplateCache {
+        private final TemplatingExecutor executor;
+
+        ExecutorTemplateCache(TemplatingExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void clear() {
+            compiledTemplates.clear();
+        }
+
+        @Override
+        public void evict(TemplateSource source) {
+            // entries are keyed by content hash, so a changed source never matches a stale entry
+        }
+
+        @Override
+        public Template get(TemplateSource source, Parser parser) throws IOException {
+            String location;
+            try {
+                location = executor.getFullTemplatePath(source.filename()).toString();
+            } catch (TemplateNotFoundException e) {
+                location = source.filename();
+            }
+            return compiledTemplates.get(executor, location, source.content(StandardCharsets.UTF_8), contents -> parser.parse(source));
+        }
+
+        @Override
+        public TemplateCache setReload(boolean reload) {
+            return this;
+        }
     }
 }
 
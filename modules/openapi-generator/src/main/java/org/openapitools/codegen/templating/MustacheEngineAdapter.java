@@ -44,6 +44,7 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
     }
 
     private final String[] extensions = {"mustache"};
+    private final CompiledTemplateCache<Template> compiledTemplates = new CompiledTemplateCache<>();
     Mustache.Compiler compiler = Mustache.compiler();
 
     /**
@@ -57,10 +58,14 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
      */
     @Override
     public String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile) throws IOException {
-        Template tmpl = compiler
-                .withLoader(name -> findTemplate(executor, name))
-                .defaultValue("")
-                .compile(executor.getFullTemplateContents(templateFile));
+        // partials are compiled lazily on first execution and retained by the cached template which includes them
+        Template tmpl = compiledTemplates.get(executor,
+                executor.getFullTemplatePath(templateFile).toString(),
+                executor.getFullTemplateContents(templateFile),
+                contents -> compiler
+                        .withLoader(name -> findTemplate(executor, name))
+                        .defaultValue("")
+                        .compile(contents));
 
         return tmpl.execute(bundle);
     }
@@ -85,6 +90,17 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
 
     public void setCompiler(Mustache.Compiler compiler) {
         this.compiler = compiler;
+        // templates compiled with the previous compiler may carry different settings (lambdas, delimiters, etc.)
+        this.compiledTemplates.clear();
+    }
+
+    /**
+     * Gets the cache of compiled templates used by this adapter for the current generation run.
+     *
+     * @return The compiled template cache
+     */
+    public CompiledTemplateCache<Template> getCompiledTemplateCache() {
+        return compiledTemplates;
     }
 
     @Override
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.templating.handlebars;
+
+import com.github.jknack.handlebars.HandlebarsException;
+import com.github.jknack.handlebars.ValueResolver;
+import com.github.jknack.handlebars.context.FieldValueResolver;
+import com.github.jknack.handlebars.context.JavaBeanValueResolver;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves template variables as fields, then bean getters, then no-argument methods of the context object, in the
+ * order of {@link FieldValueResolver}, {@link JavaBeanValueResolver} and
+ * {@link com.github.jknack.handlebars.context.MethodValueResolver}.
+ * <p>
+ * The accessor found for a (class, name) pair, or the fact that there is none, is looked up once and kept as a
+ * method handle. Later lookups of the same name on the same class don't go through reflection again.
+ */
+public class AccessorValueResolver implements ValueResolver {
+    public static final AccessorValueResolver INSTANCE = new AccessorValueResolver();
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodHandle NO_ACCESSOR = MethodHandles.constant(Object.class, UNRESOLVED);
+
+    private final ClassValue<ConcurrentMap<String, MethodHandle>> accessors = new ClassValue<ConcurrentMap<String, MethodHandle>>() {
+        @Override
+        protected ConcurrentMap<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    @Override
+    public Object resolve(Object context, String name) {
+        if (context == null) {
+            return UNRESOLVED;
+        }
+        Class<?> type = context.getClass();
+        MethodHandle accessor = accessors.get(type).computeIfAbsent(name, n -> findAccessor(type, n));
+        if (accessor == NO_ACCESSOR) {
+            return UNRESOLVED;
+        }
+        try {
+            return (Object) accessor.invokeExact(context);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new HandlebarsException("can't resolve '" + name + "' on " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public Object resolve(Object context) {
+        return UNRESOLVED;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> propertySet(Object context) {
+        if (context == null) {
+            return Collections.emptySet();
+        }
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : FieldValueResolver.INSTANCE.propertySet(context)) {
+            properties.put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, Object> entry : JavaBeanValueResolver.INSTANCE.propertySet(context)) {
+            properties.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+        return properties.entrySet();
+    }
+
+    private static MethodHandle findAccessor(Class<?> type, String name) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            Field field = findField(type, name);
+            if (field != null) {
+                return lookup.unreflectGetter(field).asType(ACCESSOR_TYPE);
+            }
+            String suffix = name.isEmpty() ? name : name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+            Method method = findMethod(type, "get" + suffix);
+            if (method == null) {
+                method = findMethod(type, "is" + suffix);
+                if (method != null && method.getReturnType() != boolean.class && method.getReturnType() != Boolean.class) {
+                    method = null;
+                }
+            }
+            if (method == null) {
+                method = findMethod(type, name);
+            }
+            if (method != null) {
+                return lookup.unreflect(method).asType(ACCESSOR_TYPE);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            // inaccessible members are left to the other resolvers, as if there was no member of that name
+        }
+        return NO_ACCESSOR;
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(name);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (!Modifier.isPublic(field.getModifiers()) || !Modifier.isPublic(current.getModifiers())) {
+                    field.setAccessible(true);
+                }
+                return field;
+            } catch (NoSuchFieldException e) {
+                // look in the superclass
+            } catch (RuntimeException e) {
+                // e.g. private fields of JDK classes, which are reached through their getters and methods instead
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        Method method;
+        try {
+            method = type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        if (Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class) {
+            return null;
+        }
+        return Modifier.isPublic(method.getDeclaringClass().getModifiers()) ? method : findPublicMethod(type, name);
+    }
+
+    /**
+     * Finds the method in a public superclass or interface, e.g. for the private implementation classes of the JDK
+     * collections, which can't be made accessible.
+     */
+    private static Method findPublicMethod(Class<?> type, String name) {
+        if (type == null) {
+            return null;
+        }
+        if (Modifier.isPublic(type.getModifiers())) {
+            try {
+                return type.getMethod(name);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+        for (Class<?> contract : type.getInterfaces()) {
+            Method method = findPublicMethod(contract, name);
+            if (method != null) {
+                return method;
+            }
+        }
+        return findPublicMethod(type.getSuperclass(), name);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A bidirectional index between the keys of the schemas in the 'components/schemas' section and the model names
+ * the generator converts them to, so that the schema of a model can be found without converting every schema key.
+ * <p>
+ * If several schema keys are converted to the same model name, {@link #getSchemaKey(String)} and
+ * {@link #getSchema(String)} return the first one (in document order), while {@link #getSchemasByModelName()} keeps
+ * the last one, as the lookups they replace did. The index is a snapshot: it must be rebuilt if schemas are added,
+ * removed or renamed, but {@link #isFor(Map)} only notices additions and removals.
+ */
+public class ModelNameIndex {
+    private final Map<String, Schema> schemas;
+    private final int size;
+    private final Map<String, String> modelNames;
+    private final Map<String, String> schemaKeys;
+
+    /**
+     * Builds the index by converting each schema key once.
+     *
+     * @param schemas     all schemas, keyed by name
+     * @param toModelName converts a schema key to a model name
+     */
+    public ModelNameIndex(Map<String, Schema> schemas, Function<String, String> toModelName) {
+        this.schemas = schemas;
+        this.size = schemas.size();
+        this.modelNames = new LinkedHashMap<>(schemas.size() * 4 / 3 + 1);
+        this.schemaKeys = new HashMap<>(schemas.size() * 4 / 3 + 1);
+        for (String key : schemas.keySet()) {
+            String modelName = toModelName.apply(key);
+            modelNames.put(key, modelName);
+            schemaKeys.putIfAbsent(modelName, key);
+        }
+    }
+
+    /**
+     * @param schemas all schemas, keyed by name
+     * @return true if the index was built from these schemas, and no schema has been added or removed since; a key
+     * replaced by another one, which keeps the number of schemas, is not noticed
+     */
+    public boolean isFor(Map<String, Schema> schemas) {
+        return this.schemas == schemas && size == schemas.size();
+    }
+
+    /**
+     * @param schemaKey the key of a schema
+     * @return the model name of the schema, or null if there is no such schema
+     */
+    public String getModelName(String schemaKey) {
+        return modelNames.get(schemaKey);
+    }
+
+    /**
+     * @param modelName a model name
+     * @return the key of the schema with this model name, or null if there is none
+     */
+    public String getSchemaKey(String modelName) {
+        return schemaKeys.get(modelName);
+    }
+
+    /**
+     * @param modelName a model name
+     * @return the schema with this model name, or null if there is none
+     */
+    public Schema getSchema(String modelName) {
+        String key = schemaKeys.get(modelName);
+        return key == null ? null : schemas.get(key);
+    }
+
+    /**
+     * @return the schemas keyed by model name; the last schema (in document order) wins when model names collide
+     */
+    public Map<String, Schema> getSchemasByModelName() {
+        Map<String, Schema> result = new HashMap<>(schemaKeys.size() * 4 / 3 + 1);
+        modelNames.forEach((key, modelName) -> result.put(modelName, schemas.get(key)));
+        return result;
+    }
+}
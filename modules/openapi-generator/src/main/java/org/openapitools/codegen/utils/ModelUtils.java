@@ -20,8 +20,6 @@ package org.openapitools.codegen.utils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.Operation;
-import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.callbacks.Callback;
 import io.swagger.v3.oas.models.headers.Header;
 import io.swagger.v3.oas.models.media.*;
@@ -49,6 +47,7 @@ import java.net.URI;
 import java.net.URLDecoder;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -126,26 +125,10 @@ public class ModelUtils {
      *
      * @param openAPI specification
      * @return schemas a list of used schemas
+     * @see SchemaUsageIndex to compute several schema lists with a single traversal
      */
     public static List<String> getAllUsedSchemas(OpenAPI openAPI) {
-        Map<String, List<String>> childrenMap = getChildrenMap(openAPI);
-        List<String> allUsedSchemas = new ArrayList<String>();
-        visitOpenAPI(openAPI, (s, t) -> {
-            if (s.get$ref() != null) {
-                String ref = getSimpleRef(s.get$ref());
-                if (!allUsedSchemas.contains(ref)) {
-                    allUsedSchemas.add(ref);
-                }
-                if (childrenMap.containsKey(ref)) {
-                    for (String child : childrenMap.get(ref)) {
-                        if (!allUsedSchemas.contains(child)) {
-                            allUsedSchemas.add(child);
-                        }
-                    }
-                }
-            }
-        });
-        return allUsedSchemas;
+        return new SchemaUsageIndex(openAPI).getAllUsedSchemas();
     }
 
     /**
@@ -153,37 +136,10 @@ public class ModelUtils {
      *
      * @param openAPI specification
      * @return schemas a list of unused schemas
+     * @see SchemaUsageIndex to compute several schema lists with a single traversal
      */
     public static List<String> getUnusedSchemas(OpenAPI openAPI) {
-        final Map<String, List<String>> childrenMap;
-        Map<String, List<String>> tmpChildrenMap;
-        try {
-            tmpChildrenMap = getChildrenMap(openAPI);
-        } catch (NullPointerException npe) {
-            // in rare cases, such as a spec document with only one top-level oneOf schema and multiple referenced schemas,
-            // the stream used in getChildrenMap will raise an NPE. Rather than modify getChildrenMap which is used by getAllUsedSchemas,
-            // we'll catch here as a workaround for this edge case.
-            tmpChildrenMap = new HashMap<>();
-        }
-
-        childrenMap = tmpChildrenMap;
-        List<String> unusedSchemas = new ArrayList<String>();
-
-        if (openAPI != null) {
-            Map<String, Schema> schemas = getSchemas(openAPI);
-            unusedSchemas.addAll(schemas.keySet());
-
-            visitOpenAPI(openAPI, (s, t) -> {
-                if (s.get$ref() != null) {
-                    String ref = getSimpleRef(s.get$ref());
-                    unusedSchemas.remove(ref);
-                    if (childrenMap.containsKey(ref)) {
-                        unusedSchemas.removeAll(childrenMap.get(ref));
-                    }
-                }
-            });
-        }
-        return unusedSchemas;
+        return new SchemaUsageIndex(openAPI).getUnusedSchemas();
     }
 
     /**
@@ -191,119 +147,10 @@ public class ModelUtils {
      *
      * @param openAPI specification
      * @return schemas a list of schemas
+     * @see SchemaUsageIndex to compute several schema lists with a single traversal
      */
     public static List<String> getSchemasUsedOnlyInFormParam(OpenAPI openAPI) {
-        List<String> schemasUsedInFormParam = new ArrayList<String>();
-        List<String> schemasUsedInOtherCases = new ArrayList<String>();
-
-        visitOpenAPI(openAPI, (s, t) -> {
-            if (s.get$ref() != null) {
-                String ref = getSimpleRef(s.get$ref());
-                if ("application/x-www-form-urlencoded".equalsIgnoreCase(t) ||
-                        "multipart/form-data".equalsIgnoreCase(t)) {
-                    schemasUsedInFormParam.add(ref);
-                } else {
-                    schemasUsedInOtherCases.add(ref);
-                }
-            }
-        });
-        return schemasUsedInFormParam.stream().filter(n -> !schemasUsedInOtherCases.contains(n)).collect(Collectors.toList());
-    }
-
-    /**
-     * Private method used by several methods ({@link #getAllUsedSchemas(OpenAPI)},
-     * {@link #getUnusedSchemas(OpenAPI)},
-     * {@link #getSchemasUsedOnlyInFormParam(OpenAPI)}, ...) to traverse all paths of an
-     * OpenAPI instance and call the visitor functional interface when a schema is found.
-     *
-     * @param openAPI specification
-     * @param visitor functional interface (can be defined as a lambda) called each time a schema is found.
-     */
-    private static void visitOpenAPI(OpenAPI openAPI, OpenAPISchemaVisitor visitor) {
-        Map<String, PathItem> paths = openAPI.getPaths();
-        List<String> visitedSchemas = new ArrayList<>();
-
-        if (paths != null) {
-            for (PathItem path : paths.values()) {
-                visitPathItem(path, openAPI, visitor, visitedSchemas);
-            }
-        }
-    }
-
-    private static void visitPathItem(PathItem pathItem, OpenAPI openAPI, OpenAPISchemaVisitor visitor, List<String> visitedSchemas) {
-        List<Operation> allOperations = pathItem.readOperations();
-        if (allOperations != null) {
-            for (Operation operation : allOperations) {
-                //Params:
-                visitParameters(openAPI, operation.getParameters(), visitor, visitedSchemas);
-
-                //RequestBody:
-                RequestBody requestBody = getReferencedRequestBody(openAPI, operation.getRequestBody());
-                if (requestBody != null) {
-                    visitContent(openAPI, requestBody.getContent(), visitor, visitedSchemas);
-                }
-
-                //Responses:
-                if (operation.getResponses() != null) {
-                    for (ApiResponse r : operation.getResponses().values()) {
-                        ApiResponse apiResponse = getReferencedApiResponse(openAPI, r);
-                        if (apiResponse != null) {
-                            visitContent(openAPI, apiResponse.getContent(), visitor, visitedSchemas);
-                            if (apiResponse.getHeaders() != null) {
-                                for (Entry<String, Header> e : apiResponse.getHeaders().entrySet()) {
-                                    Header header = getReferencedHeader(openAPI, e.getValue());
-                                    if (header.getSchema() != null) {
-                                        visitSchema(openAPI, header.getSchema(), e.getKey(), visitedSchemas, visitor);
-                                    }
-                                    visitContent(openAPI, header.getContent(), visitor, visitedSchemas);
-                                }
-                            }
-                        }
-                    }
-                }
-
-                //Callbacks:
-                if (operation.getCallbacks() != null) {
-                    for (Callback c : operation.getCallbacks().values()) {
-                        Callback callback = getReferencedCallback(openAPI, c);
-                        if (callback != null) {
-                            for (PathItem p : callback.values()) {
-                                visitPathItem(p, openAPI, visitor, visitedSchemas);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        //Params:
-        visitParameters(openAPI, pathItem.getParameters(), visitor, visitedSchemas);
-    }
-
-    private static void visitParameters(OpenAPI openAPI, List<Parameter> parameters, OpenAPISchemaVisitor visitor,
-                                        List<String> visitedSchemas) {
-        if (parameters != null) {
-            for (Parameter p : parameters) {
-                Parameter parameter = getReferencedParameter(openAPI, p);
-                if (parameter != null) {
-                    if (parameter.getSchema() != null) {
-                        visitSchema(openAPI, parameter.getSchema(), null, visitedSchemas, visitor);
-                    }
-                    visitContent(openAPI, parameter.getContent(), visitor, visitedSchemas);
-                } else {
-                    once(LOGGER).warn("Unreferenced parameter(s) found.");
-                }
-            }
-        }
-    }
-
-    private static void visitContent(OpenAPI openAPI, Content content, OpenAPISchemaVisitor visitor, List<String> visitedSchemas) {
-        if (content != null) {
-            for (Entry<String, MediaType> e : content.entrySet()) {
-                if (e.getValue().getSchema() != null) {
-                    visitSchema(openAPI, e.getValue().getSchema(), e.getKey(), visitedSchemas, visitor);
-                }
-            }
-        }
+        return new SchemaUsageIndex(openAPI).getSchemasUsedOnlyInFormParam();
     }
 
     /**
@@ -315,15 +162,14 @@ public class ModelUtils {
      * @param openAPI the OpenAPI document that contains schema objects.
      * @param schema the root schema object to be visited.
      * @param mimeType the mime type. TODO: does not seem to be used in a meaningful way.
-     * @param visitedSchemas the list of referenced schemas that have been visited.
+     * @param visitedSchemas the set of referenced schemas that have been visited.
      * @param visitor the visitor function which is invoked for every visited schema.
      */
-    private static void visitSchema(OpenAPI openAPI, Schema schema, String mimeType, List<String> visitedSchemas, OpenAPISchemaVisitor visitor) {
+    static void visitSchema(OpenAPI openAPI, Schema schema, String mimeType, Set<String> visitedSchemas, OpenAPISchemaVisitor visitor) {
         visitor.visit(schema, mimeType);
         if (schema.get$ref() != null) {
             String ref = getSimpleRef(schema.get$ref());
-            if (!visitedSchemas.contains(ref)) {
-                visitedSchemas.add(ref);
+            if (visitedSchemas.add(ref)) {
                 Schema referencedSchema = getSchemas(openAPI).get(ref);
                 if (referencedSchema != null) {
                     visitSchema(openAPI, referencedSchema, mimeType, visitedSchemas, visitor);
@@ -372,7 +218,7 @@ public class ModelUtils {
     }
 
     @FunctionalInterface
-    private static interface OpenAPISchemaVisitor {
+    interface OpenAPISchemaVisitor {
 
         public void visit(Schema schema, String mimeType);
     }
@@ -905,7 +751,7 @@ public class ModelUtils {
      */
     public static List<Schema> getAllSchemas(OpenAPI openAPI) {
         List<Schema> allSchemas = new ArrayList<Schema>();
-        List<String> refSchemas = new ArrayList<String>();
+        Set<String> refSchemas = new HashSet<String>();
         getSchemas(openAPI).forEach((key, schema) -> {
             // Invoke visitSchema to recursively visit all schema objects, included inlined and composed schemas.
             // Use the OpenAPISchemaVisitor visitor function
@@ -1344,18 +1190,9 @@ public class ModelUtils {
     }
 
     public static Map<String, List<String>> getChildrenMap(OpenAPI openAPI) {
-        Map<String, Schema> allSchemas = getSchemas(openAPI);
-
-        Map<String, List<Entry<String, Schema>>> groupedByParent = allSchemas.entrySet().stream()
-                .filter(entry -> isComposedSchema(entry.getValue()))
-                .filter(entry -> getParentName((ComposedSchema) entry.getValue(), allSchemas) != null)
-                .collect(Collectors.groupingBy(entry -> getParentName((ComposedSchema) entry.getValue(), allSchemas)));
-
-        return groupedByParent.entrySet().stream()
-                .collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue().stream().map(e -> e.getKey()).collect(Collectors.toList())));
+        return new SchemaInheritanceGraph(getSchemas(openAPI)).getChildrenMap();
     }
 
-
     /**
      * Get the interfaces from the schema (composed)
      *
@@ -1403,6 +1240,11 @@ public class ModelUtils {
      * @return the name of the parent model
      */
     public static String getParentName(ComposedSchema composedSchema, Map<String, Schema> allSchemas) {
+        return getParentName(composedSchema, allSchemas, s -> hasOrInheritsDiscriminator(s, allSchemas));
+    }
+
+    static String getParentName(ComposedSchema composedSchema, Map<String, Schema> allSchemas,
+                                Predicate<Schema> hasOrInheritsDiscriminator) {
         List<Schema> interfaces = getInterfaces(composedSchema);
         int nullSchemaChildrenCount = 0;
         boolean hasAmbiguousParents = false;
@@ -1417,7 +1259,7 @@ public class ModelUtils {
                     if (s == null) {
                         LOGGER.error("Failed to obtain schema from {}", parentName);
                         return "UNKNOWN_PARENT_NAME";
-                    } else if (hasOrInheritsDiscriminator(s, allSchemas)) {
+                    } else if (hasOrInheritsDiscriminator.test(s)) {
                         // discriminator.propertyName is used
                         return parentName;
                     } else {
@@ -1463,6 +1305,11 @@ public class ModelUtils {
      * @return the name of the parent model
      */
     public static List<String> getAllParentsName(ComposedSchema composedSchema, Map<String, Schema> allSchemas, boolean includeAncestors) {
+        return getAllParentsName(composedSchema, allSchemas, includeAncestors, s -> hasOrInheritsDiscriminator(s, allSchemas));
+    }
+
+    static List<String> getAllParentsName(ComposedSchema composedSchema, Map<String, Schema> allSchemas, boolean includeAncestors,
+                                          Predicate<Schema> hasOrInheritsDiscriminator) {
         List<Schema> interfaces = getInterfaces(composedSchema);
         List<String> names = new ArrayList<String>();
 
@@ -1475,11 +1322,11 @@ public class ModelUtils {
                     if (s == null) {
                         LOGGER.error("Failed to obtain schema from {}", parentName);
                         names.add("UNKNOWN_PARENT_NAME");
-                    } else if (hasOrInheritsDiscriminator(s, allSchemas)) {
+                    } else if (hasOrInheritsDiscriminator.test(s)) {
                         // discriminator.propertyName is used
                         names.add(parentName);
                         if (includeAncestors && s instanceof ComposedSchema) {
-                            names.addAll(getAllParentsName((ComposedSchema) s, allSchemas, true));
+                            names.addAll(getAllParentsName((ComposedSchema) s, allSchemas, true, hasOrInheritsDiscriminator));
                         }
                     } else {
                         // not a parent since discriminator.propertyName is not set
@@ -1492,7 +1339,7 @@ public class ModelUtils {
 
         // ensure `allParents` always includes `parent`
         // this is more robust than keeping logic in getParentName() and getAllParentsName() in sync
-        String parentName = getParentName(composedSchema, allSchemas);
+        String parentName = getParentName(composedSchema, allSchemas, hasOrInheritsDiscriminator);
         if (parentName != null && !names.contains(parentName)) {
             names.add(parentName);
         }
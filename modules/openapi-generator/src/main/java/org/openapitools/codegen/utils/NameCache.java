@@ -0,0 +1,202 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.openapitools.codegen.config.GlobalSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.openapitools.codegen.utils.StringUtils.NAME_CACHE_EXPIRY_PROPERTY;
+import static org.openapitools.codegen.utils.StringUtils.NAME_CACHE_SIZE_PROPERTY;
+
+/**
+ * A cache for the results of name conversions (camelize, underscore, escape, sanitizeName, ...), which are invoked many
+ * times with the same arguments during a generation run.
+ * <p>
+ * Unless configured otherwise through {@link StringUtils#NAME_CACHE_SIZE_PROPERTY} and
+ * {@link StringUtils#NAME_CACHE_EXPIRY_PROPERTY}, entries do not expire. Each generation run declares the number of
+ * names it expects via {@link #startRun(long)}: the caches are sized for all runs in progress (e.g. concurrent batch
+ * jobs), and emptied once the last of them ends. Converted names only depend on their inputs, so runs can share them.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class NameCache<K, V> {
+    // weakly referenced, so that discarded caches can be collected; guarded by the class lock
+    private static final Set<NameCache<?, ?>> INSTANCES = Collections.newSetFromMap(new WeakHashMap<>());
+    // the generation runs in progress; guarded by the class lock
+    private static final List<Run> RUNS = new ArrayList<>();
+
+    private final String name;
+    private final long defaultSize;
+    private final boolean fixedSize;
+    private final Cache<K, V> cache;
+    private volatile CacheStats baseline = CacheStats.empty();
+
+    /**
+     * Creates and registers a name cache.
+     *
+     * @param name        The name used when reporting statistics
+     * @param defaultSize The initial maximum number of entries, unless {@link StringUtils#NAME_CACHE_SIZE_PROPERTY} is set
+     */
+    public NameCache(String name, long defaultSize) {
+        String size = GlobalSettings.getProperty(NAME_CACHE_SIZE_PROPERTY);
+        String expiry = GlobalSettings.getProperty(NAME_CACHE_EXPIRY_PROPERTY);
+
+        this.name = name;
+        this.fixedSize = size != null;
+        this.defaultSize = fixedSize ? Long.parseLong(size) : defaultSize;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(this.defaultSize)
+                .recordStats();
+        if (expiry != null) {
+            builder.expireAfterAccess(Long.parseLong(expiry), TimeUnit.SECONDS).ticker(Ticker.systemTicker());
+        }
+        this.cache = builder.build();
+        synchronized (NameCache.class) {
+            INSTANCES.add(this);
+            resize(expectedEntries());
+        }
+    }
+
+    /**
+     * Returns the cached value for the key, computing it on first use.
+     *
+     * @param key      The key
+     * @param function Computes the value if it is not cached
+     * @return The value
+     */
+    public V get(K key, Function<? super K, ? extends V> function) {
+        return cache.get(key, function);
+    }
+
+    /**
+     * Allows the cache to hold at least the given number of entries. Has no effect if the size was set explicitly.
+     *
+     * @param entries The expected number of distinct keys
+     */
+    public void resize(long entries) {
+        if (fixedSize) {
+            return;
+        }
+        cache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(Math.max(defaultSize, entries)));
+    }
+
+    /**
+     * Removes all entries, resets the size to its default and starts collecting new statistics.
+     */
+    public void clear() {
+        baseline = cache.stats();
+        cache.invalidateAll();
+        cache.cleanUp();
+        if (!fixedSize) {
+            cache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(defaultSize));
+        }
+    }
+
+    /**
+     * @return The statistics collected since the cache was last cleared
+     */
+    public CacheStats stats() {
+        return cache.stats().minus(baseline);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public String toString() {
+        CacheStats stats = stats();
+        long maximum = cache.policy().eviction().map(Policy.Eviction::getMaximum).orElse(-1L);
+        return String.format(Locale.ROOT, "%s: %d/%d entries, %d requests, %.1f%% hits, %d evictions",
+                name, size(), maximum, stats.requestCount(), stats.hitRate() * 100, stats.evictionCount());
+    }
+
+    /**
+     * Starts a generation run, sizing all name caches for it in addition to the runs already in progress.
+     *
+     * @param entries The expected number of distinct names of the run
+     * @return The run, to close once it ends
+     */
+    public static synchronized Run startRun(long entries) {
+        Run run = new Run(entries);
+        RUNS.add(run);
+        resizeAll();
+        return run;
+    }
+
+    private static synchronized void endRun(Run run) {
+        if (!RUNS.remove(run)) {
+            return;
+        }
+        if (RUNS.isEmpty()) {
+            INSTANCES.forEach(NameCache::clear);
+        } else {
+            resizeAll();
+        }
+    }
+
+    private static void resizeAll() {
+        long entries = expectedEntries();
+        INSTANCES.forEach(c -> c.resize(entries));
+    }
+
+    private static long expectedEntries() {
+        return RUNS.stream().mapToLong(r -> r.entries).sum();
+    }
+
+    /**
+     * @return The statistics of all name caches, for logging
+     */
+    public static synchronized String report() {
+        return INSTANCES.stream().map(NameCache::toString).sorted().collect(Collectors.joining("; "));
+    }
+
+    /**
+     * A generation run using the name caches, see {@link #startRun(long)}.
+     */
+    public static final class Run implements AutoCloseable {
+        private final long entries;
+
+        private Run(long entries) {
+            this.entries = entries;
+        }
+
+        /**
+         * Ends the run; the caches are emptied if no other run is in progress.
+         */
+        @Override
+        public void close() {
+            endRun(this);
+        }
+    }
+}
@@ -0,0 +1,694 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.ExternalDocumentation;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.info.Contact;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.info.License;
+import io.swagger.v3.oas.models.links.Link;
+import io.swagger.v3.oas.models.media.*;
+import io.swagger.v3.oas.models.parameters.CookieParameter;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.security.OAuthFlow;
+import io.swagger.v3.oas.models.security.OAuthFlows;
+import io.swagger.v3.oas.models.security.Scopes;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import io.swagger.v3.oas.models.servers.Server;
+import io.swagger.v3.oas.models.servers.ServerVariable;
+import io.swagger.v3.oas.models.servers.ServerVariables;
+import io.swagger.v3.oas.models.tags.Tag;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Deep copies of parsed OpenAPI documents, for callers which parse a document once and hand it to several generators,
+ * as generators modify the document they are given.
+ * <p>
+ * Each model class is copied field by field, so the copy is exactly the parsed document: unlike a serialization round
+ * trip, no default value is added (e.g. the style of Swagger 2.0 parameters) and no example is re-typed. Maps and lists
+ * keep their iteration order, and objects shared by several parts of the document are shared in the copy too. Values
+ * such as strings and numbers are immutable and not copied.
+ * <p>
+ * The fields of OpenAPI 3.0 are copied, which is what the parser produces for OpenAPI 3.0 and Swagger 2.0 documents.
+ * The keywords only defined by OpenAPI 3.1 are not, so callers must not copy OpenAPI 3.1 documents.
+ */
+public final class OpenAPICopier {
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    private OpenAPICopier() {
+    }
+
+    /**
+     * @param openAPI a document
+     * @return a deep copy of the document, or null if the document is null
+     */
+    public static OpenAPI copy(OpenAPI openAPI) {
+        return new OpenAPICopier().copyOpenAPI(openAPI);
+    }
+
+    /**
+     * @return The copy of an object, which is made once however many parts of the document share the object
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T copy(T source, Function<T, T> copier) {
+        if (source == null) {
+            return null;
+        }
+        Object copy = copies.get(source);
+        if (copy == null) {
+            copy = copier.apply(source);
+            copies.put(source, copy);
+        }
+        return (T) copy;
+    }
+
+    private OpenAPI copyOpenAPI(OpenAPI source) {
+        return copy(source, openAPI -> {
+            OpenAPI copy = new OpenAPI();
+            copy.setOpenapi(openAPI.getOpenapi());
+            copy.setInfo(copyInfo(openAPI.getInfo()));
+            copy.setExternalDocs(copyExternalDocs(openAPI.getExternalDocs()));
+            copy.setServers(copyList(openAPI.getServers(), this::copyServer));
+            copy.setSecurity(copyList(openAPI.getSecurity(), this::copySecurityRequirement));
+            copy.setTags(copyList(openAPI.getTags(), this::copyTag));
+            copy.setPaths(copyPaths(openAPI.getPaths()));
+            copy.setComponents(copyComponents(openAPI.getComponents()));
+            copy.setExtensions(copyExtensions(openAPI.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Info copyInfo(Info source) {
+        return copy(source, info -> {
+            Info copy = new Info();
+            copy.setTitle(info.getTitle());
+            copy.setDescription(info.getDescription());
+            copy.setTermsOfService(info.getTermsOfService());
+            copy.setContact(copyContact(info.getContact()));
+            copy.setLicense(copyLicense(info.getLicense()));
+            copy.setVersion(info.getVersion());
+            copy.setExtensions(copyExtensions(info.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Contact copyContact(Contact source) {
+        return copy(source, contact -> {
+            Contact copy = new Contact();
+            copy.setName(contact.getName());
+            copy.setUrl(contact.getUrl());
+            copy.setEmail(contact.getEmail());
+            copy.setExtensions(copyExtensions(contact.getExtensions()));
+            return copy;
+        });
+    }
+
+    private License copyLicense(License source) {
+        return copy(source, license -> {
+            License copy = new License();
+            copy.setName(license.getName());
+            copy.setUrl(license.getUrl());
+            copy.setExtensions(copyExtensions(license.getExtensions()));
+            return copy;
+        });
+    }
+
+    private ExternalDocumentation copyExternalDocs(ExternalDocumentation source) {
+        return copy(source, externalDocs -> {
+            ExternalDocumentation copy = new ExternalDocumentation();
+            copy.setDescription(externalDocs.getDescription());
+            copy.setUrl(externalDocs.getUrl());
+            copy.setExtensions(copyExtensions(externalDocs.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Server copyServer(Server source) {
+        return copy(source, server -> {
+            Server copy = new Server();
+            copy.setUrl(server.getUrl());
+            copy.setDescription(server.getDescription());
+            copy.setVariables(copyServerVariables(server.getVariables()));
+            copy.setExtensions(copyExtensions(server.getExtensions()));
+            return copy;
+        });
+    }
+
+    private ServerVariables copyServerVariables(ServerVariables source) {
+        return copy(source, variables -> {
+            ServerVariables copy = new ServerVariables();
+            variables.forEach((name, variable) -> copy.put(name, copyServerVariable(variable)));
+            copy.setExtensions(copyExtensions(variables.getExtensions()));
+            return copy;
+        });
+    }
+
+    private ServerVariable copyServerVariable(ServerVariable source) {
+        return copy(source, variable -> {
+            ServerVariable copy = new ServerVariable();
+            copy.setEnum(copyList(variable.getEnum(), Function.identity()));
+            copy.setDefault(variable.getDefault());
+            copy.setDescription(variable.getDescription());
+            copy.setExtensions(copyExtensions(variable.getExtensions()));
+            return copy;
+        });
+    }
+
+    private SecurityRequirement copySecurityRequirement(SecurityRequirement source) {
+        return copy(source, requirement -> {
+            SecurityRequirement copy = new SecurityRequirement();
+            requirement.forEach((name, scopes) -> copy.put(name, copyList(scopes, Function.identity())));
+            return copy;
+        });
+    }
+
+    private Tag copyTag(Tag source) {
+        return copy(source, tag -> {
+            Tag copy = new Tag();
+            copy.setName(tag.getName());
+            copy.setDescription(tag.getDescription());
+            copy.setExternalDocs(copyExternalDocs(tag.getExternalDocs()));
+            copy.setExtensions(copyExtensions(tag.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Paths copyPaths(Paths source) {
+        return copy(source, paths -> {
+            Paths copy = new Paths();
+            paths.forEach((name, pathItem) -> copy.put(name, copyPathItem(pathItem)));
+            copy.setExtensions(copyExtensions(paths.getExtensions()));
+            return copy;
+        });
+    }
+
+    private PathItem copyPathItem(PathItem source) {
+        return copy(source, pathItem -> {
+            PathItem copy = new PathItem();
+            copy.setSummary(pathItem.getSummary());
+            copy.setDescription(pathItem.getDescription());
+            copy.setGet(copyOperation(pathItem.getGet()));
+            copy.setPut(copyOperation(pathItem.getPut()));
+            copy.setPost(copyOperation(pathItem.getPost()));
+            copy.setDelete(copyOperation(pathItem.getDelete()));
+            copy.setOptions(copyOperation(pathItem.getOptions()));
+            copy.setHead(copyOperation(pathItem.getHead()));
+            copy.setPatch(copyOperation(pathItem.getPatch()));
+            copy.setTrace(copyOperation(pathItem.getTrace()));
+            copy.setServers(copyList(pathItem.getServers(), this::copyServer));
+            copy.setParameters(copyList(pathItem.getParameters(), this::copyParameter));
+            copy.set$ref(pathItem.get$ref());
+            copy.setExtensions(copyExtensions(pathItem.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Operation copyOperation(Operation source) {
+        return copy(source, operation -> {
+            Operation copy = new Operation();
+            copy.setTags(copyList(operation.getTags(), Function.identity()));
+            copy.setSummary(operation.getSummary());
+            copy.setDescription(operation.getDescription());
+            copy.setExternalDocs(copyExternalDocs(operation.getExternalDocs()));
+            copy.setOperationId(operation.getOperationId());
+            copy.setParameters(copyList(operation.getParameters(), this::copyParameter));
+            copy.setRequestBody(copyRequestBody(operation.getRequestBody()));
+            copy.setResponses(copyApiResponses(operation.getResponses()));
+            copy.setCallbacks(copyMap(operation.getCallbacks(), this::copyCallback));
+            copy.setDeprecated(operation.getDeprecated());
+            copy.setSecurity(copyList(operation.getSecurity(), this::copySecurityRequirement));
+            copy.setServers(copyList(operation.getServers(), this::copyServer));
+            copy.setExtensions(copyExtensions(operation.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Callback copyCallback(Callback source) {
+        return copy(source, callback -> {
+            Callback copy = new Callback();
+            callback.forEach((expression, pathItem) -> copy.put(expression, copyPathItem(pathItem)));
+            copy.set$ref(callback.get$ref());
+            copy.setExtensions(copyExtensions(callback.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Parameter copyParameter(Parameter source) {
+        return copy(source, parameter -> {
+            // the subclasses set some fields in their constructors, which are all set again below
+            Parameter copy = newParameter(parameter);
+            copy.setName(parameter.getName());
+            copy.setIn(parameter.getIn());
+            copy.setDescription(parameter.getDescription());
+            copy.setRequired(parameter.getRequired());
+            copy.setDeprecated(parameter.getDeprecated());
+            copy.setAllowEmptyValue(parameter.getAllowEmptyValue());
+            copy.set$ref(parameter.get$ref());
+            copy.setStyle(parameter.getStyle());
+            copy.setExplode(parameter.getExplode());
+            copy.setAllowReserved(parameter.getAllowReserved());
+            copy.setSchema(copySchema(parameter.getSchema()));
+            copy.setExamples(copyMap(parameter.getExamples(), this::copyExample));
+            copy.setExample(copyValue(parameter.getExample()));
+            copy.setContent(copyContent(parameter.getContent()));
+            copy.setExtensions(copyExtensions(parameter.getExtensions()));
+            return copy;
+        });
+    }
+
+    private static Parameter newParameter(Parameter source) {
+        if (source instanceof PathParameter) {
+            return new PathParameter();
+        } else if (source instanceof QueryParameter) {
+            return new QueryParameter();
+        } else if (source instanceof HeaderParameter) {
+            return new HeaderParameter();
+        } else if (source instanceof CookieParameter) {
+            return new CookieParameter();
+        }
+        return new Parameter();
+    }
+
+    private RequestBody copyRequestBody(RequestBody source) {
+        return copy(source, requestBody -> {
+            RequestBody copy = new RequestBody();
+            copy.setDescription(requestBody.getDescription());
+            copy.setContent(copyContent(requestBody.getContent()));
+            copy.setRequired(requestBody.getRequired());
+            copy.set$ref(requestBody.get$ref());
+            copy.setExtensions(copyExtensions(requestBody.getExtensions()));
+            return copy;
+        });
+    }
+
+    private ApiResponses copyApiResponses(ApiResponses source) {
+        return copy(source, responses -> {
+            ApiResponses copy = new ApiResponses();
+            responses.forEach((code, response) -> copy.put(code, copyApiResponse(response)));
+            copy.setExtensions(copyExtensions(responses.getExtensions()));
+            return copy;
+        });
+    }
+
+    private ApiResponse copyApiResponse(ApiResponse source) {
+        return copy(source, response -> {
+            ApiResponse copy = new ApiResponse();
+            copy.setDescription(response.getDescription());
+            copy.setHeaders(copyMap(response.getHeaders(), this::copyHeader));
+            copy.setContent(copyContent(response.getContent()));
+            copy.setLinks(copyMap(response.getLinks(), this::copyLink));
+            copy.set$ref(response.get$ref());
+            copy.setExtensions(copyExtensions(response.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Content copyContent(Content source) {
+        return copy(source, content -> {
+            Content copy = new Content();
+            content.forEach((name, mediaType) -> copy.put(name, copyMediaType(mediaType)));
+            return copy;
+        });
+    }
+
+    private MediaType copyMediaType(MediaType source) {
+        return copy(source, mediaType -> {
+            MediaType copy = new MediaType();
+            copy.setSchema(copySchema(mediaType.getSchema()));
+            copy.setExamples(copyMap(mediaType.getExamples(), this::copyExample));
+            copy.setExample(copyValue(mediaType.getExample()));
+            copy.setExampleSetFlag(mediaType.getExampleSetFlag());
+            copy.setEncoding(copyMap(mediaType.getEncoding(), this::copyEncoding));
+            copy.setExtensions(copyExtensions(mediaType.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Encoding copyEncoding(Encoding source) {
+        return copy(source, encoding -> {
+            Encoding copy = new Encoding();
+            copy.setContentType(encoding.getContentType());
+            copy.setHeaders(copyMap(encoding.getHeaders(), this::copyHeader));
+            copy.setStyle(encoding.getStyle());
+            copy.setExplode(encoding.getExplode());
+            copy.setAllowReserved(encoding.getAllowReserved());
+            copy.setExtensions(copyExtensions(encoding.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Header copyHeader(Header source) {
+        return copy(source, header -> {
+            Header copy = new Header();
+            copy.setDescription(header.getDescription());
+            copy.set$ref(header.get$ref());
+            copy.setRequired(header.getRequired());
+            copy.setDeprecated(header.getDeprecated());
+            copy.setStyle(header.getStyle());
+            copy.setExplode(header.getExplode());
+            copy.setSchema(copySchema(header.getSchema()));
+            copy.setExamples(copyMap(header.getExamples(), this::copyExample));
+            copy.setExample(copyValue(header.getExample()));
+            copy.setContent(copyContent(header.getContent()));
+            copy.setExtensions(copyExtensions(header.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Example copyExample(Example source) {
+        return copy(source, example -> {
+            Example copy = new Example();
+            copy.setSummary(example.getSummary());
+            copy.setDescription(example.getDescription());
+            copy.setValue(copyValue(example.getValue()));
+            copy.setValueSetFlag(example.getValueSetFlag());
+            copy.setExternalValue(example.getExternalValue());
+            copy.set$ref(example.get$ref());
+            copy.setExtensions(copyExtensions(example.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Link copyLink(Link source) {
+        return copy(source, link -> {
+            Link copy = new Link();
+            copy.setOperationRef(link.getOperationRef());
+            copy.setOperationId(link.getOperationId());
+            copy.setParameters(copyMap(link.getParameters(), Function.identity()));
+            copy.setRequestBody(copyValue(link.getRequestBody()));
+            copy.setHeaders(copyMap(link.getHeaders(), this::copyHeader));
+            copy.setDescription(link.getDescription());
+            copy.set$ref(link.get$ref());
+            copy.setServer(copyServer(link.getServer()));
+            copy.setExtensions(copyExtensions(link.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Components copyComponents(Components source) {
+        return copy(source, components -> {
+            Components copy = new Components();
+            copy.setSchemas(copyMap(components.getSchemas(), this::copySchema));
+            copy.setResponses(copyMap(components.getResponses(), this::copyApiResponse));
+            copy.setParameters(copyMap(components.getParameters(), this::copyParameter));
+            copy.setExamples(copyMap(components.getExamples(), this::copyExample));
+            copy.setRequestBodies(copyMap(components.getRequestBodies(), this::copyRequestBody));
+            copy.setHeaders(copyMap(components.getHeaders(), this::copyHeader));
+            copy.setSecuritySchemes(copyMap(components.getSecuritySchemes(), this::copySecurityScheme));
+            copy.setLinks(copyMap(components.getLinks(), this::copyLink));
+            copy.setCallbacks(copyMap(components.getCallbacks(), this::copyCallback));
+            copy.setExtensions(copyExtensions(components.getExtensions()));
+            return copy;
+        });
+    }
+
+    private SecurityScheme copySecurityScheme(SecurityScheme source) {
+        return copy(source, scheme -> {
+            SecurityScheme copy = new SecurityScheme();
+            copy.setType(scheme.getType());
+            copy.setDescription(scheme.getDescription());
+            copy.setName(scheme.getName());
+            copy.set$ref(scheme.get$ref());
+            copy.setIn(scheme.getIn());
+            copy.setScheme(scheme.getScheme());
+            copy.setBearerFormat(scheme.getBearerFormat());
+            copy.setFlows(copyOAuthFlows(scheme.getFlows()));
+            copy.setOpenIdConnectUrl(scheme.getOpenIdConnectUrl());
+            copy.setExtensions(copyExtensions(scheme.getExtensions()));
+            return copy;
+        });
+    }
+
+    private OAuthFlows copyOAuthFlows(OAuthFlows source) {
+        return copy(source, flows -> {
+            OAuthFlows copy = new OAuthFlows();
+            copy.setImplicit(copyOAuthFlow(flows.getImplicit()));
+            copy.setPassword(copyOAuthFlow(flows.getPassword()));
+            copy.setClientCredentials(copyOAuthFlow(flows.getClientCredentials()));
+            copy.setAuthorizationCode(copyOAuthFlow(flows.getAuthorizationCode()));
+            copy.setExtensions(copyExtensions(flows.getExtensions()));
+            return copy;
+        });
+    }
+
+    private OAuthFlow copyOAuthFlow(OAuthFlow source) {
+        return copy(source, flow -> {
+            OAuthFlow copy = new OAuthFlow();
+            copy.setAuthorizationUrl(flow.getAuthorizationUrl());
+            copy.setTokenUrl(flow.getTokenUrl());
+            copy.setRefreshUrl(flow.getRefreshUrl());
+            copy.setScopes(copyScopes(flow.getScopes()));
+            copy.setExtensions(copyExtensions(flow.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Scopes copyScopes(Scopes source) {
+        return copy(source, scopes -> {
+            Scopes copy = new Scopes();
+            copy.putAll(scopes);
+            copy.setExtensions(copyExtensions(scopes.getExtensions()));
+            return copy;
+        });
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Schema copySchema(Schema source) {
+        if (source == null) {
+            return null;
+        }
+        Schema copy = (Schema) copies.get(source);
+        if (copy != null) {
+            return copy;
+        }
+        // registered before the nested schemas are copied, so that recursive schemas are copied once
+        copy = newSchema(source);
+        copies.put(source, copy);
+
+        copy.setType(source.getType());
+        copy.setFormat(source.getFormat());
+        copy.set$ref(source.get$ref());
+        copy.setName(source.getName());
+        copy.setTitle(source.getTitle());
+        copy.setDescription(source.getDescription());
+        copy.setMultipleOf(source.getMultipleOf());
+        copy.setMaximum(source.getMaximum());
+        copy.setExclusiveMaximum(source.getExclusiveMaximum());
+        copy.setMinimum(source.getMinimum());
+        copy.setExclusiveMinimum(source.getExclusiveMinimum());
+        copy.setMaxLength(source.getMaxLength());
+        copy.setMinLength(source.getMinLength());
+        copy.setPattern(source.getPattern());
+        copy.setMaxItems(source.getMaxItems());
+        copy.setMinItems(source.getMinItems());
+        copy.setUniqueItems(source.getUniqueItems());
+        copy.setMaxProperties(source.getMaxProperties());
+        copy.setMinProperties(source.getMinProperties());
+        copyRequired(source, copy);
+        List<Object> values = source.getEnum();
+        copy.setEnum(copyList(values, this::copyValue));
+        Map<String, Schema> properties = source.getProperties();
+        copy.setProperties(copyMap(properties, this::copySchema));
+        copy.setAdditionalProperties(source.getAdditionalProperties() instanceof Schema
+                ? copySchema((Schema) source.getAdditionalProperties()) : source.getAdditionalProperties());
+        copy.setItems(copySchema(source.getItems()));
+        List<Schema> allOf = source.getAllOf();
+        List<Schema> anyOf = source.getAnyOf();
+        List<Schema> oneOf = source.getOneOf();
+        copy.setAllOf(copyList(allOf, this::copySchema));
+        copy.setAnyOf(copyList(anyOf, this::copySchema));
+        copy.setOneOf(copyList(oneOf, this::copySchema));
+        copy.setNot(copySchema(source.getNot()));
+        copy.setDiscriminator(copyDiscriminator(source.getDiscriminator()));
+        copy.setDefault(copyValue(source.getDefault()));
+        copy.setNullable(source.getNullable());
+        copy.setReadOnly(source.getReadOnly());
+        copy.setWriteOnly(source.getWriteOnly());
+        copy.setDeprecated(source.getDeprecated());
+        copy.setXml(copyXml(source.getXml()));
+        copy.setExternalDocs(copyExternalDocs(source.getExternalDocs()));
+        copy.setExtensions(copyExtensions(source.getExtensions()));
+        copy.setExample(copyValue(source.getExample()));
+        // after the example, whose setter sets the flag
+        copy.setExampleSetFlag(source.getExampleSetFlag());
+        return copy;
+    }
+
+    /**
+     * @return An empty schema of the class of a schema, as generators tell some schemas apart by their class
+     */
+    @SuppressWarnings("rawtypes")
+    private static Schema newSchema(Schema source) {
+        Class<?> type = source.getClass();
+        if (type == ObjectSchema.class) {
+            return new ObjectSchema();
+        } else if (type == ComposedSchema.class) {
+            return new ComposedSchema();
+        } else if (type == ArraySchema.class) {
+            return new ArraySchema();
+        } else if (type == MapSchema.class) {
+            return new MapSchema();
+        } else if (type == StringSchema.class) {
+            return new StringSchema();
+        } else if (type == IntegerSchema.class) {
+            return new IntegerSchema();
+        } else if (type == NumberSchema.class) {
+            return new NumberSchema();
+        } else if (type == BooleanSchema.class) {
+            return new BooleanSchema();
+        } else if (type == DateSchema.class) {
+            return new DateSchema();
+        } else if (type == DateTimeSchema.class) {
+            return new DateTimeSchema();
+        } else if (type == EmailSchema.class) {
+            return new EmailSchema();
+        } else if (type == PasswordSchema.class) {
+            return new PasswordSchema();
+        } else if (type == UUIDSchema.class) {
+            return new UUIDSchema();
+        } else if (type == BinarySchema.class) {
+            return new BinarySchema();
+        } else if (type == ByteArraySchema.class) {
+            return new ByteArraySchema();
+        } else if (type == FileSchema.class) {
+            return new FileSchema();
+        }
+        return new Schema<>();
+    }
+
+    /**
+     * Schema#setRequired keeps only the names of the properties of the schema itself, and sorts them, which would drop
+     * the required properties inherited through allOf. The names are set as they are, like the parser does.
+     */
+    @SuppressWarnings("rawtypes")
+    private static void copyRequired(Schema source, Schema target) {
+        if (source.getRequired() != null) {
+            // addRequiredItem creates the list without filtering it
+            target.addRequiredItem("");
+            target.getRequired().clear();
+            target.getRequired().addAll(source.getRequired());
+        }
+    }
+
+    private Discriminator copyDiscriminator(Discriminator source) {
+        return copy(source, discriminator -> {
+            Discriminator copy = new Discriminator();
+            copy.setPropertyName(discriminator.getPropertyName());
+            copy.setMapping(copyMap(discriminator.getMapping(), Function.identity()));
+            return copy;
+        });
+    }
+
+    private XML copyXml(XML source) {
+        return copy(source, xml -> {
+            XML copy = new XML();
+            copy.setName(xml.getName());
+            copy.setNamespace(xml.getNamespace());
+            copy.setPrefix(xml.getPrefix());
+            copy.setAttribute(xml.getAttribute());
+            copy.setWrapped(xml.getWrapped());
+            copy.setExtensions(copyExtensions(xml.getExtensions()));
+            return copy;
+        });
+    }
+
+    private Map<String, Object> copyExtensions(Map<String, Object> extensions) {
+        return copyMap(extensions, this::copyValue);
+    }
+
+    /**
+     * @return A copy of a map, which is sorted or hashed like the map, so that it is iterated in the same order
+     */
+    private <K, V> Map<K, V> copyMap(Map<K, V> source, Function<V, V> copier) {
+        return copy(source, map -> {
+            Map<K, V> copy;
+            if (map instanceof TreeMap) {
+                copy = new TreeMap<>(((TreeMap<K, V>) map).comparator());
+            } else if (map.getClass() == HashMap.class) {
+                // a hash map grown the same way as the parsed one is iterated in the same order
+                copy = new HashMap<>();
+            } else {
+                copy = new LinkedHashMap<>();
+            }
+            map.forEach((key, value) -> copy.put(key, copier.apply(value)));
+            return copy;
+        });
+    }
+
+    private <T> List<T> copyList(List<T> source, Function<T, T> copier) {
+        return copy(source, list -> {
+            List<T> copy = new ArrayList<>(list.size());
+            for (T item : list) {
+                copy.add(copier.apply(item));
+            }
+            return copy;
+        });
+    }
+
+    private <T> Set<T> copySet(Set<T> source, Function<T, T> copier) {
+        return copy(source, set -> {
+            Set<T> copy;
+            if (set instanceof TreeSet) {
+                copy = new TreeSet<>(((TreeSet<T>) set).comparator());
+            } else if (set.getClass() == HashSet.class) {
+                copy = new HashSet<>();
+            } else {
+                copy = new LinkedHashSet<>();
+            }
+            for (T item : set) {
+                copy.add(copier.apply(item));
+            }
+            return copy;
+        });
+    }
+
+    /**
+     * Copies a value given by the document, such as an example or an extension, which is either immutable or made of
+     * JSON nodes, maps and lists.
+     */
+    @SuppressWarnings("unchecked")
+    private Object copyValue(Object value) {
+        if (value instanceof JsonNode) {
+            return copy((JsonNode) value, JsonNode::deepCopy);
+        } else if (value instanceof Map) {
+            return copyMap((Map<Object, Object>) value, this::copyValue);
+        } else if (value instanceof List) {
+            return copyList((List<Object>) value, this::copyValue);
+        } else if (value instanceof Set) {
+            return copySet((Set<Object>) value, this::copyValue);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A cache of parsed and resolved specifications, so that a specification generated by several generators is read,
+ * parsed and resolved once, however many generators ask for it concurrently.
+ * <p>
+ * Generators modify the document they are given, so every lookup returns a private deep copy of the parsed document,
+ * see {@link OpenAPICopier}. Specifications which cannot be parsed are not cached: each caller parses them, and gets
+ * the error messages. OpenAPI 3.1 documents, which the copier does not support, are not cached either.
+ * <p>
+ * Documents are weighed by the size of their source, as given by the callers. The size of a specification which the
+ * parser reads itself, e.g. from a URL, may be unknown, see {@link #UNKNOWN_SIZE}.
+ */
+public class ParsedSpecCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParsedSpecCache.class);
+
+    /**
+     * The size of a specification whose source is not known. Such a document is weighed as 1 MiB.
+     */
+    public static final long UNKNOWN_SIZE = -1;
+    private static final long ASSUMED_SOURCE_BYTES = 1024 * 1024;
+
+    private final AsyncCache<String, Parsed> cache;
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Creates an unbounded cache, e.g. for the specifications of a batch.
+     */
+    public ParsedSpecCache() {
+        this.cache = Caffeine.newBuilder().buildAsync();
+    }
+
+    /**
+     * Creates a bounded cache, e.g. for a long running service.
+     *
+     * @param maximumBytes  The maximum total size of the sources of the cached documents
+     * @param expirySeconds The time after which a document is parsed again, so that changes at a URL are picked up
+     */
+    public ParsedSpecCache(long maximumBytes, long expirySeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .<String, Parsed>weigher((key, value) -> (int) Math.min(value.weight(), Integer.MAX_VALUE))
+                .expireAfterWrite(expirySeconds, TimeUnit.SECONDS)
+                .buildAsync();
+    }
+
+    /**
+     * @param content The text of a specification
+     * @return The cache key of the specification, a hash of its content
+     */
+    public static String contentKey(String content) {
+        return "sha256:" + Hashing.sha256().hashString(content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param url The location of a specification
+     * @return The cache key of the specification
+     */
+    public static String locationKey(String url) {
+        return "url:" + url;
+    }
+
+    /**
+     * Gets a copy of the cached specification, or parses and caches it.
+     *
+     * @param key         The key of the specification, see {@link #contentKey(String)} and {@link #locationKey(String)}
+     * @param sourceBytes The size of the source of the specification, or {@link #UNKNOWN_SIZE}
+     * @param parser      Parses the specification if it is not cached
+     * @return A result whose document the caller may modify; the document is null if the specification is not valid
+     */
+    public SwaggerParseResult get(String key, long sourceBytes, Supplier<SwaggerParseResult> parser) {
+        Parsed parsed = load(key, sourceBytes, parser, true);
+        return parsed == null ? parser.get() : parsed.copy();
+    }
+
+    /**
+     * Gets the size of a specification, which is parsed and cached unless it is already.
+     *
+     * @param key         The key of the specification
+     * @param sourceBytes The size of the source of the specification, or {@link #UNKNOWN_SIZE}
+     * @param parser      Parses the specification if it is not cached
+     * @return The size of the specification, which is empty if it is not valid
+     */
+    public SpecStats stats(String key, long sourceBytes, Supplier<SwaggerParseResult> parser) {
+        Parsed parsed = load(key, sourceBytes, parser, false);
+        return parsed == null ? SpecStats.EMPTY : parsed.stats;
+    }
+
+    /**
+     * Drops a specification from the cache, e.g. once no generator needs it anymore.
+     *
+     * @param key The key of the specification
+     */
+    public void invalidate(String key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    /**
+     * @return The parsed specification, or null if the caller must parse it itself
+     */
+    private Parsed load(String key, long sourceBytes, Supplier<SwaggerParseResult> parser, boolean countHit) {
+        CompletableFuture<Parsed> future = new CompletableFuture<>();
+        CompletableFuture<Parsed> existing = cache.asMap().putIfAbsent(key, future);
+        if (existing != null) {
+            // parsed by another caller, or being parsed
+            try {
+                Parsed parsed = existing.join();
+                if (countHit && parsed != null) {
+                    hits.increment();
+                }
+                return parsed;
+            } catch (CompletionException e) {
+                // the other caller failed, and reported it
+                return null;
+            }
+        }
+
+        SwaggerParseResult result;
+        try {
+            result = parser.get();
+        } catch (RuntimeException e) {
+            // callers waiting for this one, and the next ones, parse the specification themselves
+            future.completeExceptionally(e);
+            throw e;
+        }
+        if (result == null || result.getOpenAPI() == null || !isCopyable(result.getOpenAPI())) {
+            // not cached, so that the next caller gets the messages of its own parse
+            future.complete(null);
+            cache.asMap().remove(key, future);
+            return Parsed.uncached(result, sourceBytes);
+        }
+        Parsed parsed = new Parsed(result.getOpenAPI(), result.getMessages(), SpecStats.of(result.getOpenAPI(), sourceBytes), true);
+        future.complete(parsed);
+        return parsed;
+    }
+
+    /**
+     * @return Whether {@link OpenAPICopier} copies the whole document, which it does for OpenAPI 3.0 and Swagger 2.0
+     */
+    private static boolean isCopyable(OpenAPI openAPI) {
+        return openAPI.getOpenapi() == null || !openAPI.getOpenapi().startsWith("3.1");
+    }
+
+    /**
+     * @return The number of distinct specifications cached
+     */
+    public long getParsedCount() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * @return The number of parses saved by the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The size of the sources of the cached specifications, as they are weighed
+     */
+    public long getCachedBytes() {
+        return cache.synchronous().asMap().values().stream()
+                .mapToLong(Parsed::weight)
+                .sum();
+    }
+
+    /**
+     * The size of a parsed specification.
+     */
+    public static final class SpecStats {
+        public static final SpecStats EMPTY = new SpecStats(0, 0, 0);
+
+        private final int schemas;
+        private final int operations;
+        private final long sourceBytes;
+
+        public SpecStats(int schemas, int operations, long sourceBytes) {
+            this.schemas = schemas;
+            this.operations = operations;
+            this.sourceBytes = sourceBytes;
+        }
+
+        static SpecStats of(OpenAPI openAPI, long sourceBytes) {
+            int schemas = openAPI.getComponents() == null || openAPI.getComponents().getSchemas() == null
+                    ? 0 : openAPI.getComponents().getSchemas().size();
+            int operations = openAPI.getPaths() == null ? 0 : openAPI.getPaths().values().stream()
+                    .mapToInt(path -> path.readOperations().size())
+                    .sum();
+            return new SpecStats(schemas, operations, sourceBytes);
+        }
+
+        public int getSchemas() {
+            return schemas;
+        }
+
+        public int getOperations() {
+            return operations;
+        }
+
+        /**
+         * @return The size of the source of the specification, or {@link ParsedSpecCache#UNKNOWN_SIZE}
+         */
+        public long getSourceBytes() {
+            return sourceBytes;
+        }
+    }
+
+    private static final class Parsed {
+        private final OpenAPI openAPI;
+        private final List<String> messages;
+        private final SpecStats stats;
+        private final boolean cached;
+
+        private Parsed(OpenAPI openAPI, List<String> messages, SpecStats stats, boolean cached) {
+            this.openAPI = openAPI;
+            this.messages = messages == null ? null : new ArrayList<>(messages);
+            this.stats = stats;
+            this.cached = cached;
+        }
+
+        /**
+         * @return The result of a parse which is not cached, and which belongs to its caller
+         */
+        static Parsed uncached(SwaggerParseResult result, long sourceBytes) {
+            if (result == null || result.getOpenAPI() == null) {
+                return new Parsed(null, result == null ? null : result.getMessages(), SpecStats.EMPTY, false);
+            }
+            LOGGER.debug("Not caching the OpenAPI {} specification, which cannot be copied", result.getOpenAPI().getOpenapi());
+            return new Parsed(result.getOpenAPI(), result.getMessages(), SpecStats.of(result.getOpenAPI(), sourceBytes), false);
+        }
+
+        long weight() {
+            return stats.sourceBytes == UNKNOWN_SIZE ? ASSUMED_SOURCE_BYTES : stats.sourceBytes;
+        }
+
+        /**
+         * @return A copy of the result, so that the output of a caller does not depend on whether it parsed first
+         */
+        SwaggerParseResult copy() {
+            SwaggerParseResult result = new SwaggerParseResult();
+            result.setMessages(messages == null ? null : new ArrayList<>(messages));
+            result.setOpenAPI(cached ? OpenAPICopier.copy(openAPI) : openAPI);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * The inheritance hierarchy of the schemas in the 'components/schemas' section of an OpenAPI document: the parent
+ * of each composed schema (see {@link ModelUtils#getParentName(ComposedSchema, Map)}), the schemas which reference
+ * each schema in their allOf, and the discriminator each schema declares or inherits.
+ * <p>
+ * The graph is computed once, in time linear in the size of the schemas, instead of re-deriving the ancestry of each
+ * schema from the whole document. It is a snapshot: it must be rebuilt if schemas are added, removed or modified, but
+ * {@link #isFor(Map)} only notices additions and removals.
+ */
+public class SchemaInheritanceGraph {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaInheritanceGraph.class);
+
+    private final Map<String, Schema> schemas;
+    private final int size;
+    private final Map<Schema, String> names = new IdentityHashMap<>();
+    private final Map<String, Discriminator> discriminators = new HashMap<>();
+    private final Set<String> resolving = new HashSet<>();
+    private final Map<String, String> parentNames = new HashMap<>();
+    private final Map<String, List<String>> allParentsNames = new HashMap<>();
+    private final Map<String, List<String>> childrenMap = new LinkedHashMap<>();
+    private final Map<String, List<String>> allOfChildren = new HashMap<>();
+
+    /**
+     * Builds the inheritance graph of the given schemas.
+     *
+     * @param schemas all schemas, keyed by name
+     */
+    public SchemaInheritanceGraph(Map<String, Schema> schemas) {
+        this.schemas = schemas;
+        this.size = schemas.size();
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            if (entry.getValue() != null) {
+                names.putIfAbsent(entry.getValue(), entry.getKey());
+            }
+        }
+
+        for (String name : schemas.keySet()) {
+            getDiscriminator(name);
+        }
+
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            String name = entry.getKey();
+            Schema schema = entry.getValue();
+            if (!ModelUtils.isComposedSchema(schema)) {
+                continue;
+            }
+            ComposedSchema composed = (ComposedSchema) schema;
+
+            String parentName = ModelUtils.getParentName(composed, schemas, this::hasOrInheritsDiscriminator);
+            parentNames.put(name, parentName);
+            if (parentName != null) {
+                childrenMap.computeIfAbsent(parentName, k -> new ArrayList<>()).add(name);
+            }
+            allParentsNames.put(name, Collections.unmodifiableList(
+                    ModelUtils.getAllParentsName(composed, schemas, false, this::hasOrInheritsDiscriminator)));
+
+            if (composed.getAllOf() != null) {
+                Set<String> parents = new LinkedHashSet<>();
+                for (Schema parent : composed.getAllOf()) {
+                    // for schemas with no ref (inline schemas), the name of the parent is unknown
+                    if (parent.get$ref() != null) {
+                        String ref = ModelUtils.getSimpleRef(parent.get$ref());
+                        if (ref != null) {
+                            parents.add(ref);
+                        }
+                    }
+                }
+                for (String parent : parents) {
+                    allOfChildren.computeIfAbsent(parent, k -> new ArrayList<>()).add(name);
+                }
+            }
+        }
+        resolving.clear();
+    }
+
+    /**
+     * @param schemas all schemas, keyed by name
+     * @return true if the graph was built from these schemas, and no schema has been added or removed since; schemas
+     * modified in place (e.g. a changed allOf or discriminator) are not noticed
+     */
+    public boolean isFor(Map<String, Schema> schemas) {
+        return this.schemas == schemas && size == schemas.size();
+    }
+
+    /**
+     * @param name the name of a schema
+     * @return the name of the parent of the (composed) schema, or null
+     * @see ModelUtils#getParentName(ComposedSchema, Map)
+     */
+    public String getParentName(String name) {
+        return parentNames.get(name);
+    }
+
+    /**
+     * @param composedSchema a composed schema, either one of the schemas of the graph or an inline schema
+     * @return the name of the parent of the schema, or null
+     * @see ModelUtils#getParentName(ComposedSchema, Map)
+     */
+    public String getParentName(ComposedSchema composedSchema) {
+        String name = names.get(composedSchema);
+        if (name != null) {
+            return parentNames.get(name);
+        }
+        return ModelUtils.getParentName(composedSchema, schemas, this::hasOrInheritsDiscriminator);
+    }
+
+    /**
+     * @param composedSchema a composed schema, either one of the schemas of the graph or an inline schema
+     * @return the names of the direct parents of the schema
+     * @see ModelUtils#getAllParentsName(ComposedSchema, Map, boolean)
+     */
+    public List<String> getAllParentsName(ComposedSchema composedSchema) {
+        String name = names.get(composedSchema);
+        if (name != null) {
+            return new ArrayList<>(allParentsNames.get(name));
+        }
+        return ModelUtils.getAllParentsName(composedSchema, schemas, false, this::hasOrInheritsDiscriminator);
+    }
+
+    /**
+     * @param name the name of a schema
+     * @return the parent, grandparent, etc. of the schema, closest first
+     */
+    public List<String> getAncestors(String name) {
+        List<String> ancestors = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        visited.add(name);
+        String parent = parentNames.get(name);
+        while (parent != null && visited.add(parent)) {
+            ancestors.add(parent);
+            parent = parentNames.get(parent);
+        }
+        return ancestors;
+    }
+
+    /**
+     * @return the children of each schema, i.e. the schemas of which it is the parent
+     * @see ModelUtils#getChildrenMap(io.swagger.v3.oas.models.OpenAPI)
+     */
+    public Map<String, List<String>> getChildrenMap() {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        childrenMap.forEach((parent, children) -> result.put(parent, new ArrayList<>(children)));
+        return result;
+    }
+
+    /**
+     * @param name the name of a schema
+     * @return the schemas which reference the schema in their allOf, in document order
+     */
+    public List<String> getAllOfChildren(String name) {
+        return Collections.unmodifiableList(allOfChildren.getOrDefault(name, Collections.emptyList()));
+    }
+
+    /**
+     * Gets the schemas which (transitively) reference the schema in their allOf, breadth first.
+     *
+     * @param name the name of a schema
+     * @return the names of the descendants
+     * @throws RuntimeException if a descendant is reached twice, e.g. through a cycle
+     */
+    public List<String> getAllOfDescendants(String name) {
+        List<String> descendants = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        String current = name;
+        while (true) {
+            for (String child : getAllOfChildren(current)) {
+                if (child.equals(name)) {
+                    continue;
+                }
+                if (!seen.add(child)) {
+                    throw new RuntimeException("Stack overflow hit when looking for " + name + " an infinite loop starting and ending at " + child + " was seen");
+                }
+                queue.add(child);
+            }
+            if (queue.isEmpty()) {
+                return descendants;
+            }
+            current = queue.poll();
+            descendants.add(current);
+        }
+    }
+
+    /**
+     * @param name the name of a schema
+     * @return the discriminator declared by the schema, or inherited from the first schema it references or is
+     * composed of which declares or inherits one; null if there is none
+     */
+    public Discriminator getDiscriminator(String name) {
+        if (name == null) {
+            return null;
+        }
+        if (discriminators.containsKey(name)) {
+            return discriminators.get(name);
+        }
+        Schema schema = schemas.get(name);
+        if (schema == null) {
+            LOGGER.error("Failed to obtain schema from {}", name);
+            return null;
+        }
+        if (!resolving.add(name)) {
+            // circular reference, the discriminator (if any) is found through another path
+            return null;
+        }
+        Discriminator discriminator = findDiscriminator(schema);
+        resolving.remove(name);
+        discriminators.put(name, discriminator);
+        return discriminator;
+    }
+
+    /**
+     * @param name the name of a schema
+     * @return true if the schema declares or inherits a discriminator
+     */
+    public boolean hasOrInheritsDiscriminator(String name) {
+        return getDiscriminator(name) != null;
+    }
+
+    private boolean hasOrInheritsDiscriminator(Schema schema) {
+        String name = names.get(schema);
+        return name != null ? hasOrInheritsDiscriminator(name) : findDiscriminator(schema) != null;
+    }
+
+    private Discriminator findDiscriminator(Schema schema) {
+        if (schema.getDiscriminator() != null && StringUtils.isNotEmpty(schema.getDiscriminator().getPropertyName())) {
+            return schema.getDiscriminator();
+        } else if (StringUtils.isNotEmpty(schema.get$ref())) {
+            return getDiscriminator(ModelUtils.getSimpleRef(schema.get$ref()));
+        } else if (schema instanceof ComposedSchema) {
+            for (Schema i : ModelUtils.getInterfaces((ComposedSchema) schema)) {
+                Discriminator discriminator = findDiscriminator(i);
+                if (discriminator != null) {
+                    return discriminator;
+                }
+            }
+        }
+        return null;
+    }
+}
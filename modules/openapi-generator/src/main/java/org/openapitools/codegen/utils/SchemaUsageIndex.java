@@ -0,0 +1,372 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+import static org.openapitools.codegen.utils.OnceLogger.once;
+
+/**
+ * An index of where the schemas of the 'components/schemas' section are used by the operations of an OpenAPI
+ * document, built by a single traversal of its paths. The usages of each schema through other schemas, see
+ * {@link #getUsages(String)}, are only collected when first asked for.
+ * <p>
+ * The index is a snapshot: it must be rebuilt if the document is modified (e.g. when inline models are resolved).
+ */
+public class SchemaUsageIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaUsageIndex.class);
+
+    private static final Set<String> FORM_MEDIA_TYPES = new HashSet<>(Arrays.asList(
+            "application/x-www-form-urlencoded", "multipart/form-data"));
+
+    private final OpenAPI openAPI;
+    private final Map<String, Schema> schemas;
+    private final Map<String, List<String>> childrenMap;
+    private final Set<String> usedSchemas = new LinkedHashSet<>();
+    private final Set<String> usedInFormParam = new LinkedHashSet<>();
+    private final Set<String> usedInOtherCases = new HashSet<>();
+    private Map<String, Set<SchemaUsage>> usages;
+    // the schemas referenced directly by each usage, and by each schema of the 'components/schemas' section
+    private final Map<SchemaUsage, Set<String>> directReferences = new LinkedHashMap<>();
+    private final Map<String, Set<String>> references = new HashMap<>();
+
+    /**
+     * Builds the index of the given document.
+     *
+     * @param openAPI specification
+     */
+    public SchemaUsageIndex(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+        this.schemas = ModelUtils.getSchemas(openAPI);
+        Map<String, List<String>> children;
+        try {
+            children = ModelUtils.getChildrenMap(openAPI);
+        } catch (NullPointerException npe) {
+            // the inheritance graph can't be built from malformed composed schemas (e.g. a null allOf entry of an
+            // invalid document); the usages are then indexed without the children of composed schemas
+            children = new HashMap<>();
+        }
+        this.childrenMap = children;
+
+        if (openAPI != null && openAPI.getPaths() != null) {
+            Set<String> visitedSchemas = new HashSet<>();
+            for (Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+                visitPathItem(openAPI, path.getKey(), path.getValue(), visitedSchemas);
+            }
+        }
+    }
+
+    /**
+     * @return the schemas used in the document, including the children of composed schemas, in order of first use
+     */
+    public List<String> getAllUsedSchemas() {
+        return new ArrayList<>(usedSchemas);
+    }
+
+    /**
+     * @return the schemas of the 'components/schemas' section which are not used in the document
+     */
+    public List<String> getUnusedSchemas() {
+        List<String> unusedSchemas = new ArrayList<>();
+        for (String name : schemas.keySet()) {
+            if (!usedSchemas.contains(name)) {
+                unusedSchemas.add(name);
+            }
+        }
+        return unusedSchemas;
+    }
+
+    /**
+     * @return the schemas used only in a 'application/x-www-form-urlencoded' or 'multipart/form-data' mime type
+     */
+    public List<String> getSchemasUsedOnlyInFormParam() {
+        List<String> result = new ArrayList<>();
+        for (String name : usedInFormParam) {
+            if (!usedInOtherCases.contains(name)) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param name the name of a schema
+     * @return true if the schema, or one of its parents, is used in the document
+     */
+    public boolean isUsed(String name) {
+        return usedSchemas.contains(name);
+    }
+
+    /**
+     * @param name the name of a schema
+     * @return the places where the schema is referenced, directly or through other schemas
+     */
+    public Set<SchemaUsage> getUsages(String name) {
+        Set<SchemaUsage> result = usages().get(name);
+        return result == null ? Collections.emptySet() : Collections.unmodifiableSet(result);
+    }
+
+    private synchronized Map<String, Set<SchemaUsage>> usages() {
+        if (usages == null) {
+            usages = new HashMap<>();
+            // the visited set of the traversal is shared by all operations, so the schemas reached through other
+            // schemas are collected for each usage separately
+            for (Entry<SchemaUsage, Set<String>> entry : directReferences.entrySet()) {
+                collectUsages(openAPI, entry.getKey(), entry.getValue());
+            }
+        }
+        return usages;
+    }
+
+    private void visitPathItem(OpenAPI openAPI, String path, PathItem pathItem, Set<String> visitedSchemas) {
+        Map<PathItem.HttpMethod, Operation> allOperations = pathItem.readOperationsMap();
+        for (Entry<PathItem.HttpMethod, Operation> entry : allOperations.entrySet()) {
+            String httpMethod = entry.getKey().name();
+            Operation operation = entry.getValue();
+
+            //Params:
+            visitParameters(openAPI, path, httpMethod, operation, operation.getParameters(), visitedSchemas);
+
+            //RequestBody:
+            RequestBody requestBody = ModelUtils.getReferencedRequestBody(openAPI, operation.getRequestBody());
+            if (requestBody != null) {
+                visitContent(openAPI, path, httpMethod, operation, requestBody.getContent(), visitedSchemas);
+            }
+
+            //Responses:
+            if (operation.getResponses() != null) {
+                for (ApiResponse r : operation.getResponses().values()) {
+                    ApiResponse apiResponse = ModelUtils.getReferencedApiResponse(openAPI, r);
+                    if (apiResponse != null) {
+                        visitContent(openAPI, path, httpMethod, operation, apiResponse.getContent(), visitedSchemas);
+                        if (apiResponse.getHeaders() != null) {
+                            for (Entry<String, Header> e : apiResponse.getHeaders().entrySet()) {
+                                Header header = ModelUtils.getReferencedHeader(openAPI, e.getValue());
+                                if (header.getSchema() != null) {
+                                    visitSchema(openAPI, header.getSchema(),
+                                            new SchemaUsage(path, httpMethod, operation.getOperationId(), null, null), visitedSchemas);
+                                }
+                                visitContent(openAPI, path, httpMethod, operation, header.getContent(), visitedSchemas);
+                            }
+                        }
+                    }
+                }
+            }
+
+            //Callbacks:
+            if (operation.getCallbacks() != null) {
+                for (Callback c : operation.getCallbacks().values()) {
+                    Callback callback = ModelUtils.getReferencedCallback(openAPI, c);
+                    if (callback != null) {
+                        for (Entry<String, PathItem> p : callback.entrySet()) {
+                            visitPathItem(openAPI, p.getKey(), p.getValue(), visitedSchemas);
+                        }
+                    }
+                }
+            }
+        }
+        //Params:
+        visitParameters(openAPI, path, null, null, pathItem.getParameters(), visitedSchemas);
+    }
+
+    private void visitParameters(OpenAPI openAPI, String path, String httpMethod, Operation operation,
+                                 List<Parameter> parameters, Set<String> visitedSchemas) {
+        if (parameters != null) {
+            String operationId = operation == null ? null : operation.getOperationId();
+            for (Parameter p : parameters) {
+                Parameter parameter = ModelUtils.getReferencedParameter(openAPI, p);
+                if (parameter != null) {
+                    if (parameter.getSchema() != null) {
+                        visitSchema(openAPI, parameter.getSchema(),
+                                new SchemaUsage(path, httpMethod, operationId, null, parameter.getIn()), visitedSchemas);
+                    }
+                    if (parameter.getContent() != null) {
+                        for (Entry<String, MediaType> e : parameter.getContent().entrySet()) {
+                            if (e.getValue().getSchema() != null) {
+                                visitSchema(openAPI, e.getValue().getSchema(),
+                                        new SchemaUsage(path, httpMethod, operationId, e.getKey(), parameter.getIn()), visitedSchemas);
+                            }
+                        }
+                    }
+                } else {
+                    once(LOGGER).warn("Unreferenced parameter(s) found.");
+                }
+            }
+        }
+    }
+
+    private void visitContent(OpenAPI openAPI, String path, String httpMethod, Operation operation, Content content,
+                              Set<String> visitedSchemas) {
+        if (content != null) {
+            for (Entry<String, MediaType> e : content.entrySet()) {
+                if (e.getValue().getSchema() != null) {
+                    visitSchema(openAPI, e.getValue().getSchema(),
+                            new SchemaUsage(path, httpMethod, operation.getOperationId(), e.getKey(), null), visitedSchemas);
+                }
+            }
+        }
+    }
+
+    private void visitSchema(OpenAPI openAPI, Schema schema, SchemaUsage usage, Set<String> visitedSchemas) {
+        ModelUtils.visitSchema(openAPI, schema, usage.getMediaType(), visitedSchemas, (s, t) -> {
+            if (s.get$ref() == null) {
+                return;
+            }
+            String ref = ModelUtils.getSimpleRef(s.get$ref());
+            if (ref == null) {
+                return;
+            }
+            usedSchemas.add(ref);
+            directReferences.computeIfAbsent(usage, k -> new LinkedHashSet<>()).add(ref);
+            List<String> children = childrenMap.get(ref);
+            if (children != null) {
+                usedSchemas.addAll(children);
+            }
+            if (t != null && FORM_MEDIA_TYPES.contains(t.toLowerCase(Locale.ROOT))) {
+                usedInFormParam.add(ref);
+            } else {
+                usedInOtherCases.add(ref);
+            }
+        });
+    }
+
+    private void collectUsages(OpenAPI openAPI, SchemaUsage usage, Set<String> roots) {
+        Set<String> reached = new HashSet<>(roots);
+        Deque<String> queue = new ArrayDeque<>(roots);
+        while (!queue.isEmpty()) {
+            String name = queue.poll();
+            usages.computeIfAbsent(name, k -> new LinkedHashSet<>()).add(usage);
+            for (String ref : referencesOf(openAPI, name)) {
+                if (reached.add(ref)) {
+                    queue.add(ref);
+                }
+            }
+        }
+    }
+
+    private Set<String> referencesOf(OpenAPI openAPI, String name) {
+        Set<String> result = references.get(name);
+        if (result == null) {
+            Set<String> refs = new LinkedHashSet<>();
+            Schema schema = schemas.get(name);
+            if (schema != null) {
+                // references are recorded, and marked as visited so that they are not followed
+                Set<String> visited = new HashSet<>();
+                ModelUtils.visitSchema(openAPI, schema, null, visited, (s, t) -> {
+                    if (s.get$ref() != null) {
+                        String ref = ModelUtils.getSimpleRef(s.get$ref());
+                        if (ref != null) {
+                            refs.add(ref);
+                            visited.add(ref);
+                        }
+                    }
+                });
+            }
+            result = refs;
+            references.put(name, result);
+        }
+        return result;
+    }
+
+    /**
+     * A place in the document where a schema is referenced.
+     */
+    public static final class SchemaUsage {
+        private final String path;
+        private final String httpMethod;
+        private final String operationId;
+        private final String mediaType;
+        private final String parameterLocation;
+
+        SchemaUsage(String path, String httpMethod, String operationId, String mediaType, String parameterLocation) {
+            this.path = path;
+            this.httpMethod = httpMethod;
+            this.operationId = operationId;
+            this.mediaType = mediaType;
+            this.parameterLocation = parameterLocation;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return the HTTP method of the operation, or null for path-level parameters
+         */
+        public String getHttpMethod() {
+            return httpMethod;
+        }
+
+        public String getOperationId() {
+            return operationId;
+        }
+
+        /**
+         * @return the media type of the request body, response or parameter content; null for parameters without
+         * content and response headers
+         */
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * @return the location ('query', 'path', 'header', 'cookie') for parameters, null otherwise
+         */
+        public String getParameterLocation() {
+            return parameterLocation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SchemaUsage that = (SchemaUsage) o;
+            return Objects.equals(path, that.path) &&
+                    Objects.equals(httpMethod, that.httpMethod) &&
+                    Objects.equals(operationId, that.operationId) &&
+                    Objects.equals(mediaType, that.mediaType) &&
+                    Objects.equals(parameterLocation, that.parameterLocation);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, httpMethod, operationId, mediaType, parameterLocation);
+        }
+
+        @Override
+        public String toString() {
+            return (httpMethod == null ? "" : httpMethod + " ") + path
+                    + (mediaType == null ? "" : " " + mediaType)
+                    + (parameterLocation == null ? "" : " (" + parameterLocation + ")");
+        }
+    }
+}
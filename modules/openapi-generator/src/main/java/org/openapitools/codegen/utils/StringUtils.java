@@ -1,11 +1,7 @@
 package org.openapitools.codegen.utils;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.Ticker;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
-import org.openapitools.codegen.config.GlobalSettings;
 
 import java.util.Collections;
 import java.util.List;
@@ -13,52 +9,31 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class StringUtils {
 
     /**
-     * Set the cache size (entry count) of the sanitizedNameCache, camelizedWordsCache and underscoreWordsCache.
+     * Set a fixed cache size (entry count) of the sanitizedNameCache, camelizedWordsCache and underscoreWordsCache.
+     * By default, these caches are sized to the document being generated.
      */
     public static final String NAME_CACHE_SIZE_PROPERTY = "org.openapitools.codegen.utils.namecache.cachesize";
     /**
      * Set the cache expiry (in seconds) of the sanitizedNameCache, camelizedWordsCache and underscoreWordsCache.
+     * By default, entries do not expire, and the caches are cleared at the end of each generation run.
      */
     public static final String NAME_CACHE_EXPIRY_PROPERTY = "org.openapitools.codegen.utils.namecache.expireafter.seconds";
 
     // A cache of camelized words. The camelize() method is invoked many times with the same
     // arguments, this cache is used to optimized performance.
-    private static Cache<Pair<String, Boolean>, String> camelizedWordsCache;
+    private static final NameCache<Pair<String, Boolean>, String> camelizedWordsCache = new NameCache<>("camelize", 200);
 
     // A cache of underscored words, used to optimize the performance of the underscore() method.
-    private static Cache<String, String> underscoreWordsCache;
+    private static final NameCache<String, String> underscoreWordsCache = new NameCache<>("underscore", 200);
 
     // A cache of escaped words, used to optimize the performance of the escape() method.
-    private static Cache<EscapedNameOptions, String> escapedWordsCache;
-
-    static {
-        int cacheSize = Integer.parseInt(GlobalSettings.getProperty(NAME_CACHE_SIZE_PROPERTY, "200"));
-        int cacheExpiry = Integer.parseInt(GlobalSettings.getProperty(NAME_CACHE_EXPIRY_PROPERTY, "5"));
-        camelizedWordsCache = Caffeine.newBuilder()
-                .maximumSize(cacheSize)
-                .expireAfterAccess(cacheExpiry, TimeUnit.SECONDS)
-                .ticker(Ticker.systemTicker())
-                .build();
-
-        escapedWordsCache = Caffeine.newBuilder()
-                .maximumSize(cacheSize)
-                .expireAfterAccess(cacheExpiry, TimeUnit.SECONDS)
-                .ticker(Ticker.systemTicker())
-                .build();
-
-        underscoreWordsCache = Caffeine.newBuilder()
-                .maximumSize(cacheSize)
-                .expireAfterAccess(cacheExpiry, TimeUnit.SECONDS)
-                .ticker(Ticker.systemTicker())
-                .build();
-    }
+    private static final NameCache<EscapedNameOptions, String> escapedWordsCache = new NameCache<>("escape", 200);
 
     private static Pattern capitalLetterPattern = Pattern.compile("([A-Z]+)([A-Z][a-z][a-z]+)");
     private static Pattern lowercasePattern = Pattern.compile("([a-z\\d])([A-Z])");
@@ -8,15 +8,21 @@ import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.tags.Tag;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SchemaUsageIndex;
 import org.openapitools.codegen.validation.*;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 
 /**
  * A validator which evaluates an OpenAPI 3.x specification document
  */
 public class OpenApiEvaluator implements Validator<OpenAPI> {
     private RuleConfiguration ruleConfiguration;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean failFast = false;
 
     /**
      * Constructs a new instance of {@link OpenApiEvaluator} with applied rules.
@@ -27,14 +33,57 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
         this.ruleConfiguration = ruleConfiguration;
     }
 
+    /**
+     * Sets the number of threads evaluating the schemas, operations, security schemes and parameters of a document.
+     * Documents too small to be worth partitioning are evaluated on the calling thread.
+     *
+     * @param parallelism The number of threads, 1 to evaluate on the calling thread. Defaults to the number of processors.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets whether evaluation stops at the first error, e.g. to reject a document quickly. The result then holds the
+     * results up to the first error, and the unused schema recommendation is not evaluated.
+     *
+     * @param failFast {@code true} to stop at the first error
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
     /**
      * Validates input, resulting in a instance of {@link ValidationResult} which provides details on all validations performed (success, error, warning).
+     * <p>
+     * Schemas, operations, security schemes and parameters are evaluated concurrently, in partitions, and their
+     * results are merged in document order, so the result does not depend on the parallelism.
      *
      * @param specification The {@link OpenAPI} object instance to be validated.
      * @return A {@link ValidationResult} which details the success, error, and warning validation results.
      */
     @Override
     public ValidationResult validate(OpenAPI specification) {
+        return validate(specification, null);
+    }
+
+    /**
+     * Validates input, like {@link #validate(OpenAPI)}, looking up unused schemas in an index of the schema usages
+     * which the caller has already built for the same document.
+     *
+     * @param specification The {@link OpenAPI} object instance to be validated.
+     * @param schemaUsageIndex The index of the schema usages of the specification, or null to build it when needed.
+     * @return A {@link ValidationResult} which details the success, error, and warning validation results.
+     */
+    public ValidationResult validate(OpenAPI specification, SchemaUsageIndex schemaUsageIndex) {
         ValidationResult validationResult = new ValidationResult();
         if (specification == null) return validationResult;
 
@@ -43,18 +92,14 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
         OpenApiSchemaValidations schemaValidations = new OpenApiSchemaValidations(ruleConfiguration);
         OpenApiOperationValidations operationValidations = new OpenApiOperationValidations(ruleConfiguration);
 
-        if (ruleConfiguration.isEnableUnusedSchemasRecommendation()) {
-            ValidationRule unusedSchema = ValidationRule.create(Severity.WARNING, "Unused schema", "A schema was determined to be unused.", s -> ValidationRule.Pass.empty());
-            ModelUtils.getUnusedSchemas(specification).forEach(schemaName -> validationResult.addResult(Validated.invalid(unusedSchema, "Unused model: " + schemaName)));
-        }
+        // The validations of each schema, operation, security scheme and parameter, in the order they were evaluated
+        // in before they were evaluated concurrently.
+        List<Supplier<ValidationResult>> validations = new ArrayList<>();
 
         // Get list of all schemas under /components/schemas, including nested schemas defined inline and composed schema.
         // The validators must be able to validate every schema defined in the OAS document.
         List<Schema> schemas = ModelUtils.getAllSchemas(specification);
-        schemas.forEach(schema -> {
-            SchemaWrapper wrapper = new SchemaWrapper(specification, schema);
-            validationResult.consume(schemaValidations.validate(wrapper));
-        });
+        schemas.forEach(schema -> validations.add(() -> schemaValidations.validate(new SchemaWrapper(specification, schema))));
 
         List<Parameter> parameters = new ArrayList<>(50);
 
@@ -73,7 +118,7 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
                         }
 
                         OperationWrapper wrapper = new OperationWrapper(specification, op, httpMethod);
-                        validationResult.consume(operationValidations.validate(wrapper));
+                        validations.add(() -> operationValidations.validate(wrapper));
                     }
                 });
             });
@@ -83,10 +128,8 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
         if (components != null) {
             Map<String, SecurityScheme> securitySchemes = components.getSecuritySchemes();
             if (securitySchemes != null && !securitySchemes.isEmpty()) {
-                securitySchemes.values().forEach(securityScheme -> {
-                    SecuritySchemeWrapper wrapper = new SecuritySchemeWrapper(specification, securityScheme);
-                    validationResult.consume(securitySchemeValidations.validate(wrapper));
-                });
+                securitySchemes.values().forEach(securityScheme ->
+                        validations.add(() -> securitySchemeValidations.validate(new SecuritySchemeWrapper(specification, securityScheme))));
             }
 
             if (components.getParameters() != null) {
@@ -94,11 +137,39 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
             }
         }
 
-        parameters.forEach(parameter -> {
-            parameter = ModelUtils.getReferencedParameter(specification, parameter);
-            ParameterWrapper wrapper = new ParameterWrapper(specification, parameter);
-            validationResult.consume(parameterValidations.validate(wrapper));
-        });
+        parameters.forEach(parameter -> validations.add(() -> {
+            ParameterWrapper wrapper = new ParameterWrapper(specification, ModelUtils.getReferencedParameter(specification, parameter));
+            return parameterValidations.validate(wrapper);
+        }));
+
+        boolean unusedSchemas = ruleConfiguration.isEnableUnusedSchemasRecommendation() && !failFast;
+        ForkJoinPool pool = parallelism > 1 && validations.size() > ParallelValidation.PARTITION_SIZE ? new ForkJoinPool(parallelism) : null;
+        try {
+            // indexing the schema usages walks the whole document, alongside the other validations
+            ForkJoinTask<SchemaUsageIndex> index = null;
+            if (unusedSchemas && schemaUsageIndex == null && pool != null) {
+                index = pool.submit(() -> new SchemaUsageIndex(specification));
+            }
+
+            ParallelValidation evaluation = new ParallelValidation(validations, failFast);
+            ValidationResult results = evaluation.evaluate(pool);
+
+            if (unusedSchemas) {
+                ValidationRule unusedSchema = ValidationRule.create(Severity.WARNING, "Unused schema", "A schema was determined to be unused.", s -> ValidationRule.Pass.empty());
+                SchemaUsageIndex usages = schemaUsageIndex != null ? schemaUsageIndex
+                        : index != null ? index.join() : new SchemaUsageIndex(specification);
+                List<String> unusedNames = usages.getUnusedSchemas();
+                unusedNames.forEach(schemaName -> validationResult.addResult(Validated.invalid(unusedSchema, "Unused model: " + schemaName)));
+            }
+            validationResult.consume(results);
+            if (evaluation.hasFailed()) {
+                return validationResult;
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
 
         List<Tag> tags = specification.getTags();
         if (tags != null && tags.size() > 1) {
@@ -0,0 +1,95 @@
+package org.openapitools.codegen.validations.oas;
+
+import org.openapitools.codegen.validation.ValidationResult;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates validations (e.g. those of a schema, or of an operation) on a fork-join pool, in partitions of consecutive
+ * validations, and merges their results in the order of the validations, whatever the order they were evaluated in.
+ * <p>
+ * When failing fast, the validations following the first one which reports an error are skipped. Every validation
+ * preceding it is still evaluated, so the merged result is the same as stopping a sequential evaluation at the first
+ * error.
+ */
+class ParallelValidation {
+    // the number of validations below which a partition is evaluated by a single task
+    static final int PARTITION_SIZE = 32;
+
+    private final List<Supplier<ValidationResult>> validations;
+    private final boolean failFast;
+    private final ValidationResult[] results;
+    private final AtomicInteger firstError = new AtomicInteger(Integer.MAX_VALUE);
+
+    ParallelValidation(List<Supplier<ValidationResult>> validations, boolean failFast) {
+        this.validations = validations;
+        this.failFast = failFast;
+        this.results = new ValidationResult[validations.size()];
+    }
+
+    /**
+     * Evaluates the validations.
+     *
+     * @param pool The pool evaluating partitions concurrently, or null to evaluate them on the current thread
+     * @return The results of the validations, in their order
+     */
+    ValidationResult evaluate(ForkJoinPool pool) {
+        if (pool == null) {
+            evaluate(0, validations.size());
+        } else {
+            pool.invoke(new Partition(0, validations.size()));
+        }
+
+        ValidationResult merged = new ValidationResult();
+        int end = failFast ? (int) Math.min(firstError.get() + 1L, results.length) : results.length;
+        for (int i = 0; i < end; i++) {
+            merged.consume(results[i]);
+        }
+        return merged;
+    }
+
+    /**
+     * @return true if a validation reported an error, and the evaluation failed fast
+     */
+    boolean hasFailed() {
+        return failFast && firstError.get() != Integer.MAX_VALUE;
+    }
+
+    private void evaluate(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (i > firstError.get()) {
+                // failing fast, after an error in a preceding validation
+                return;
+            }
+            ValidationResult result = validations.get(i).get();
+            results[i] = result;
+            if (failFast && !result.getErrors().isEmpty()) {
+                firstError.accumulateAndGet(i, Math::min);
+            }
+        }
+    }
+
+    private final class Partition extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        Partition(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARTITION_SIZE) {
+                evaluate(from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Partition(from, middle), new Partition(middle, to));
+            }
+        }
+    }
+}
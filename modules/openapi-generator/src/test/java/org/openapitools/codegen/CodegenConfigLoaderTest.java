@@ -0,0 +1,44 @@
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.languages.JavaClientCodegen;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class CodegenConfigLoaderTest {
+
+    @Test
+    public void shouldLoadConfigByName() {
+        CodegenConfig config = CodegenConfigLoader.forName("java");
+
+        Assert.assertTrue(config instanceof JavaClientCodegen);
+        Assert.assertEquals(config.getName(), "java");
+    }
+
+    @Test
+    public void shouldLoadNewConfigEachTime() {
+        CodegenConfig first = CodegenConfigLoader.forName("java");
+        first.additionalProperties().put("foo", "bar");
+
+        CodegenConfig second = CodegenConfigLoader.forName("java");
+
+        Assert.assertNotSame(second, first);
+        Assert.assertFalse(second.additionalProperties().containsKey("foo"));
+    }
+
+    @Test
+    public void shouldLoadConfigByClassName() {
+        CodegenConfig config = CodegenConfigLoader.forName(JavaClientCodegen.class.getName());
+
+        Assert.assertTrue(config instanceof JavaClientCodegen);
+    }
+
+    @Test
+    public void shouldListAvailableConfigsForUnknownName() {
+        try {
+            CodegenConfigLoader.forName("unknown");
+            Assert.fail("Expected GeneratorNotFoundException");
+        } catch (GeneratorNotFoundException e) {
+            Assert.assertTrue(e.getMessage().contains("\njava\n"));
+        }
+    }
+}
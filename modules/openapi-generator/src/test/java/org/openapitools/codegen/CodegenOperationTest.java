@@ -0,0 +1,183 @@
+/*
+ * Copyright 2022 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.ExternalDocumentation;
+import io.swagger.v3.oas.models.tags.Tag;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+public class CodegenOperationTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void copyCopiesEveryField() throws Exception {
+        CodegenOperation operation = new CodegenOperation();
+        for (Field field : copiedFields()) {
+            Object value = sample(field.getName(), field.getGenericType());
+            if (Modifier.isFinal(field.getModifiers())) {
+                ((Collection<Object>) field.get(operation)).addAll((Collection<?>) value);
+            } else {
+                field.set(operation, value);
+            }
+        }
+
+        CodegenOperation copy = operation.copy();
+
+        for (Field field : copiedFields()) {
+            Object original = field.get(operation);
+            Object copied = field.get(copy);
+            assertEquals(copied, original, "CodegenOperation.copy() does not copy " + field.getName());
+            if (original instanceof Collection || original instanceof Map
+                    || original instanceof CodegenProperty || original instanceof CodegenParameter) {
+                assertNotSame(copied, original, "CodegenOperation.copy() shares " + field.getName());
+            }
+        }
+    }
+
+    @Test
+    public void copyCopiesNestedProperties() {
+        CodegenProperty innerItems = property("innerItems");
+        CodegenProperty items = property("items");
+        items.items = innerItems;
+
+        CodegenParameter parameter = new CodegenParameter();
+        parameter.paramName = "ids";
+        parameter.items = items;
+        parameter.mostInnerItems = innerItems;
+        parameter.vars.add(property("var"));
+
+        CodegenResponse response = new CodegenResponse();
+        response.items = property("responseItems");
+        response.additionalProperties = property("responseAdditionalProperties");
+
+        CodegenOperation operation = new CodegenOperation();
+        operation.allParams.add(parameter);
+        operation.queryParams.add(parameter);
+        operation.responses.add(response);
+        operation.returnProperty = property("return");
+        operation.returnProperty.items = response.items;
+
+        CodegenOperation copy = operation.copy();
+
+        CodegenParameter copiedParameter = copy.allParams.get(0);
+        assertSame(copy.queryParams.get(0), copiedParameter);
+        assertNotSame(copiedParameter.items, items);
+        assertEquals(copiedParameter.items, items);
+        assertNotSame(copiedParameter.items.items, innerItems);
+        // a property reachable from several places is copied once
+        assertSame(copiedParameter.mostInnerItems, copiedParameter.items.items);
+        assertNotSame(copiedParameter.vars.get(0), parameter.vars.get(0));
+
+        CodegenResponse copiedResponse = copy.responses.get(0);
+        assertNotSame(copiedResponse.items, response.items);
+        assertNotSame(copiedResponse.additionalProperties, response.additionalProperties);
+        assertSame(copy.returnProperty.items, copiedResponse.items);
+
+        copiedParameter.items.items.name = "renamed";
+        copy.returnProperty.items.name = "renamed";
+        assertEquals(innerItems.name, "innerItems");
+        assertEquals(response.items.name, "responseItems");
+    }
+
+    private static List<Field> copiedFields() {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : CodegenOperation.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @return A value differing from the default value of a field, so that fields left out by the copy are noticed
+     */
+    private static Object sample(String name, Type type) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (raw == List.class) {
+                return new ArrayList<>(Collections.singletonList(sample(name, arguments[0])));
+            } else if (raw == Set.class) {
+                return new HashSet<>(Collections.singletonList(sample(name, arguments[0])));
+            } else if (raw == Map.class) {
+                Map<Object, Object> map = new HashMap<>();
+                map.put(name, arguments[1] == Object.class ? name : sample(name, arguments[1]));
+                return map;
+            }
+        } else if (type == boolean.class) {
+            return true;
+        } else if (type == String.class) {
+            return name;
+        } else if (type == CodegenProperty.class) {
+            return property(name);
+        } else if (type == CodegenParameter.class) {
+            CodegenParameter parameter = new CodegenParameter();
+            parameter.paramName = name;
+            return parameter;
+        } else if (type == CodegenResponse.class) {
+            CodegenResponse response = new CodegenResponse();
+            response.code = name;
+            return response;
+        } else if (type == CodegenSecurity.class) {
+            CodegenSecurity security = new CodegenSecurity();
+            security.name = name;
+            return security;
+        } else if (type == CodegenCallback.class) {
+            CodegenCallback callback = new CodegenCallback();
+            callback.name = name;
+            return callback;
+        } else if (type == CodegenServer.class) {
+            CodegenServer server = new CodegenServer();
+            server.url = name;
+            return server;
+        } else if (type == CodegenDiscriminator.class) {
+            CodegenDiscriminator discriminator = new CodegenDiscriminator();
+            discriminator.setPropertyName(name);
+            return discriminator;
+        } else if (type == Tag.class) {
+            return new Tag().name(name);
+        } else if (type == ExternalDocumentation.class) {
+            return new ExternalDocumentation().url(name);
+        }
+        throw new AssertionError("No sample value for " + name + " of type " + type + ", check that CodegenOperation.copy() copies it");
+    }
+
+    private static CodegenProperty property(String name) {
+        CodegenProperty property = new CodegenProperty();
+        property.name = name;
+        property.baseName = name;
+        return property;
+    }
+}
@@ -44,6 +44,7 @@ import org.openapitools.codegen.templating.mustache.LowercaseLambda;
 import org.openapitools.codegen.templating.mustache.TitlecaseLambda;
 import org.openapitools.codegen.templating.mustache.UppercaseLambda;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SchemaInheritanceGraph;
 import org.openapitools.codegen.utils.SemVer;
 import org.testng.Assert;
 import org.testng.annotations.Ignore;
@@ -754,6 +755,85 @@ public class DefaultCodegenTest {
         }
     }
 
+    @Test
+    public void updateCodegenPropertyEnumLooksUpReferencedSchemaByModelName() {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        for (int i = 0; i < 100; i++) {
+            openAPI.getComponents().addSchemas("other_" + i, new ObjectSchema());
+        }
+        StringSchema animalKind = new StringSchema();
+        animalKind.addEnumItem("dog");
+        animalKind.addEnumItem("cat");
+        animalKind.addExtension("x-enum-varnames", Arrays.asList("DOGVAR", "CATVAR"));
+        openAPI.getComponents().addSchemas("animal_kind", animalKind);
+
+        List<String> converted = new ArrayList<>();
+        final DefaultCodegen codegen = new DefaultCodegen() {
+            @Override
+            public String toModelName(String name) {
+                converted.add(name);
+                return super.toModelName(name);
+            }
+        };
+        codegen.setOpenAPI(openAPI);
+
+        for (int i = 0; i < 10; i++) {
+            CodegenProperty enumProperty = codegenPropertyWithXEnumVarName(Arrays.asList("dog", "cat"), Arrays.asList("FOO", "BAR"));
+            enumProperty.dataType = "AnimalKind";
+            codegen.updateCodegenPropertyEnum(enumProperty);
+            List<Map<String, Object>> enumVars = (List<Map<String, Object>>) enumProperty.getAllowableValues().get("enumVars");
+            Assert.assertEquals(enumVars.get(0).get("name"), "DOGVAR");
+            Assert.assertEquals(enumVars.get(1).get("name"), "CATVAR");
+        }
+        // each schema key is converted once, not once per enum property
+        Assert.assertEquals(converted.size(), 101);
+        Assert.assertSame(codegen.getModelNameIndex().getSchema("AnimalKind"), openAPI.getComponents().getSchemas().get("animal_kind"));
+        Assert.assertEquals(codegen.getModelNameIndex().getSchemaKey("AnimalKind"), "animal_kind");
+        Assert.assertEquals(codegen.getModelNameIndex().getModelName("animal_kind"), "AnimalKind");
+
+        openAPI.getComponents().addSchemas("added", new ObjectSchema());
+        Assert.assertNotNull(codegen.getModelNameIndex().getSchema("Added"));
+    }
+
+    @Test
+    public void modelNameCollisionsKeepPreviousLookupBehavior() {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        Schema first = new ObjectSchema().description("first");
+        Schema second = new ObjectSchema().description("second");
+        openAPI.getComponents().addSchemas("pet_kind", first);
+        openAPI.getComponents().addSchemas("PetKind", second);
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(openAPI);
+
+        // enum post-processing used the first schema with the model name, the model name cache the last one
+        Assert.assertSame(codegen.getModelNameIndex().getSchema("PetKind"), first);
+        Assert.assertEquals(codegen.getModelNameIndex().getSchemaKey("PetKind"), "pet_kind");
+        Assert.assertSame(codegen.getModelNameToSchemaCache().get("PetKind"), second);
+        Assert.assertEquals(codegen.getModelNameToSchemaCache().size(), 1);
+    }
+
+    @Test
+    public void schemaIndexesAreRebuiltWhenTheDocumentIsSet() {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        Schema parent = new ObjectSchema();
+        ComposedSchema child = new ComposedSchema();
+        child.addAllOfItem(new Schema().$ref("#/components/schemas/Parent"));
+        openAPI.getComponents().addSchemas("Parent", parent);
+        openAPI.getComponents().addSchemas("Child", child);
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(openAPI);
+        SchemaInheritanceGraph graph = codegen.getInheritanceGraph(openAPI);
+        Assert.assertEquals(graph.getAllOfChildren("Parent"), Collections.singletonList("Child"));
+
+        // modified in place, as the inline model resolver does, which the graph does not notice by itself
+        child.setAllOf(new ArrayList<>());
+        Assert.assertSame(codegen.getInheritanceGraph(openAPI), graph);
+
+        codegen.setOpenAPI(openAPI);
+        Assert.assertNotSame(codegen.getInheritanceGraph(openAPI), graph);
+        Assert.assertTrue(codegen.getInheritanceGraph(openAPI).getAllOfChildren("Parent").isEmpty());
+    }
+
     @Test
     public void updateCodegenPropertyEnumWithPrefixRemoved() {
         final DefaultCodegen codegen = new DefaultCodegen();
@@ -2366,6 +2446,43 @@ public class DefaultCodegenTest {
         Assert.assertFalse(roundCOut.isCircularReference);
     }
 
+    @Test
+    public void testModelDependencyGraphHandlesLongCycles() {
+        // given: Model0 -> Model1 -> ... -> Model9999 -> Model0, plus Leaf
+        DefaultCodegen codegen = new DefaultCodegen();
+        final int count = 10000;
+        final Map<String, CodegenModel> models = new HashMap<>();
+        final List<CodegenProperty> nextProperties = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final CodegenProperty next = new CodegenProperty();
+            next.baseName = "next";
+            next.dataType = "Model" + ((i + 1) % count);
+            nextProperties.add(next);
+            final CodegenModel model = new CodegenModel();
+            model.setDataType("Model" + i);
+            model.setAllVars(Collections.singletonList(next));
+            models.put("Model" + i, model);
+        }
+        final CodegenProperty leaf = new CodegenProperty();
+        leaf.baseName = "leaf";
+        leaf.dataType = "Leaf";
+        models.get("Model0").setAllVars(Arrays.asList(nextProperties.get(0), leaf));
+        models.put("Leaf", new CodegenModel());
+
+        // when
+        codegen.setCircularReferences(models);
+
+        // then
+        Assert.assertTrue(nextProperties.stream().allMatch(p -> p.isCircularReference));
+        Assert.assertFalse(leaf.isCircularReference);
+        final ModelDependencyGraph graph = codegen.getModelDependencyGraph();
+        Assert.assertEquals(graph.getComponent("Model42").size(), count);
+        Assert.assertEquals(graph.getComponent("Leaf"), Collections.singleton("Leaf"));
+        Assert.assertEquals(graph.getStronglyConnectedComponents().get(0), Collections.singleton("Leaf"));
+        Assert.assertTrue(graph.isStronglyConnected("Model1", "Model9999"));
+        Assert.assertFalse(graph.isStronglyConnected("Model1", "Leaf"));
+    }
+
     @Test
     public void testUseOneOfInterfaces() {
         final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/composed-oneof.yaml");
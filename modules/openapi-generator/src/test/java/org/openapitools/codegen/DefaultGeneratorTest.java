@@ -1,9 +1,12 @@
 package org.openapitools.codegen;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.callbacks.Callback;
 import io.swagger.v3.oas.models.media.IntegerSchema;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.media.StringSchema;
@@ -11,21 +14,37 @@ import io.swagger.v3.oas.models.parameters.QueryParameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import io.swagger.v3.oas.models.servers.Server;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.languages.JavaClientCodegen;
 import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
 import org.openapitools.codegen.model.OperationsMap;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 public class DefaultGeneratorTest {
 
@@ -237,6 +256,252 @@ public class DefaultGeneratorTest {
         }
     }
 
+    @Test
+    public void parallelRenderingKeepsFileOrder() throws IOException {
+        Path sequentialTarget = Files.createTempDirectory("test");
+        Path parallelTarget = Files.createTempDirectory("test");
+        try {
+            List<String> sequential = generateWithRenderThreads(sequentialTarget, 1);
+            List<String> parallel = generateWithRenderThreads(parallelTarget, 4);
+
+            Assert.assertFalse(sequential.isEmpty());
+            Assert.assertEquals(parallel, sequential);
+            for (String file : sequential) {
+                Assert.assertEquals(
+                        Files.readAllBytes(parallelTarget.resolve(file)),
+                        Files.readAllBytes(sequentialTarget.resolve(file)),
+                        file);
+            }
+        } finally {
+            sequentialTarget.toFile().delete();
+            parallelTarget.toFile().delete();
+        }
+    }
+
+    private List<String> generateWithRenderThreads(Path target, int renderThreads) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setRenderThreads(renderThreads)
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setOutputDir(target.toAbsolutePath().toString());
+
+        DefaultGenerator generator = new DefaultGenerator(false);
+        generator.setGeneratorPropertyDefault(CodegenConstants.MODELS, "true");
+        generator.setGeneratorPropertyDefault(CodegenConstants.MODEL_TESTS, "true");
+        generator.setGeneratorPropertyDefault(CodegenConstants.MODEL_DOCS, "true");
+        generator.setGeneratorPropertyDefault(CodegenConstants.APIS, "true");
+        generator.setGeneratorPropertyDefault(CodegenConstants.API_TESTS, "true");
+        generator.setGeneratorPropertyDefault(CodegenConstants.API_DOCS, "true");
+        generator.setGeneratorPropertyDefault(CodegenConstants.SUPPORTING_FILES, "false");
+
+        List<String> relativePaths = new ArrayList<>();
+        for (File file : generator.opts(configurator.toClientOptInput()).generate()) {
+            relativePaths.add(target.toAbsolutePath().relativize(file.toPath().toAbsolutePath()).toString());
+        }
+        return relativePaths;
+    }
+
+    @Test
+    public void incrementalGenerationOnlyRegeneratesChangedFiles() throws IOException {
+        Path target = Files.createTempDirectory("test");
+        try {
+            List<File> first = generateIncrementally(target);
+            Path manifest = target.resolve(".openapi-generator/MANIFEST.json");
+            Path filesMetadata = target.resolve(".openapi-generator/FILES");
+            Assert.assertTrue(Files.exists(manifest));
+            byte[] filesMetadataContents = Files.readAllBytes(filesMetadata);
+
+            Path modelPath = target.resolve("src/main/java/org/openapitools/client/model");
+            Path category = modelPath.resolve("Category.java");
+            Path pet = modelPath.resolve("Pet.java");
+            Path petApi = target.resolve("src/main/java/org/openapitools/client/api/PetApi.java");
+            FileTime longAgo = FileTime.fromMillis(0);
+            Files.setLastModifiedTime(category, longAgo);
+            Files.setLastModifiedTime(petApi, longAgo);
+            byte[] petContents = Files.readAllBytes(pet);
+            Files.delete(pet);
+
+            List<File> second = generateIncrementally(target);
+
+            // the removed model is restored, while unchanged models and APIs are not rewritten
+            Assert.assertEquals(Files.readAllBytes(pet), petContents);
+            Assert.assertEquals(Files.getLastModifiedTime(category), longAgo);
+            Assert.assertEquals(Files.getLastModifiedTime(petApi), longAgo);
+            Assert.assertEquals(relativize(target, second), relativize(target, first));
+            Assert.assertEquals(Files.readAllBytes(filesMetadata), filesMetadataContents);
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
+    @Test
+    public void incrementalGenerationRegeneratesChangedSchemasAndOperations() throws IOException {
+        Path target = Files.createTempDirectory("test");
+        try {
+            Path spec = target.resolve("petstore.yaml");
+            Path output = target.resolve("out");
+            String original = FileUtils.readFileToString(new File("src/test/resources/3_0/petstore.yaml"), StandardCharsets.UTF_8);
+            Files.write(spec, original.getBytes(StandardCharsets.UTF_8));
+            generateIncrementally(output, spec.toString());
+
+            Path modelPath = output.resolve("src/main/java/org/openapitools/client/model");
+            Path apiPath = output.resolve("src/main/java/org/openapitools/client/api");
+            List<Path> generated = Arrays.asList(
+                    modelPath.resolve("User.java"), modelPath.resolve("Pet.java"), modelPath.resolve("Order.java"),
+                    modelPath.resolve("Category.java"), modelPath.resolve("Tag.java"),
+                    apiPath.resolve("UserApi.java"), apiPath.resolve("StoreApi.java"), apiPath.resolve("PetApi.java"));
+            FileTime longAgo = FileTime.fromMillis(0);
+            for (Path path : generated) {
+                Files.setLastModifiedTime(path, longAgo);
+            }
+
+            // one schema (used by the user API only) and one operation of the store API
+            String changed = original
+                    .replace("description: User Status", "description: Status of the user")
+                    .replace("summary: Returns pet inventories by status", "summary: Returns the pet inventories by status");
+            Assert.assertNotEquals(changed, original);
+            Files.write(spec, changed.getBytes(StandardCharsets.UTF_8));
+            generateIncrementally(output, spec.toString());
+
+            List<String> rewritten = new ArrayList<>();
+            for (Path path : generated) {
+                if (!Files.getLastModifiedTime(path).equals(longAgo)) {
+                    rewritten.add(path.getFileName().toString());
+                }
+            }
+            Assert.assertEquals(rewritten, Arrays.asList("User.java", "UserApi.java", "StoreApi.java"));
+            TestUtils.assertFileContains(modelPath.resolve("User.java"), "Status of the user");
+            TestUtils.assertFileContains(apiPath.resolve("StoreApi.java"), "Returns the pet inventories by status");
+            // the README lists the summary of every operation
+            TestUtils.assertFileContains(output.resolve("README.md"), "Returns the pet inventories by status");
+            TestUtils.assertFileContains(output.resolve("README.md"), "Find purchase order by ID");
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
+    @Test
+    public void incrementalGenerationKeepsSupportingFilesWhenOnlyPropertiesChange() throws IOException {
+        Path target = Files.createTempDirectory("test");
+        try {
+            Path spec = target.resolve("petstore.yaml");
+            Path output = target.resolve("out");
+            String original = FileUtils.readFileToString(new File("src/test/resources/3_0/petstore.yaml"), StandardCharsets.UTF_8);
+            Files.write(spec, original.getBytes(StandardCharsets.UTF_8));
+            generateIncrementally(output, spec.toString());
+            Path readme = output.resolve("README.md");
+            FileTime longAgo = FileTime.fromMillis(0);
+            Files.setLastModifiedTime(readme, longAgo);
+
+            String changed = original.replace("description: User Status", "description: Status of the user");
+            Assert.assertNotEquals(changed, original);
+            Files.write(spec, changed.getBytes(StandardCharsets.UTF_8));
+            generateIncrementally(output, spec.toString());
+
+            Assert.assertEquals(Files.getLastModifiedTime(readme), longAgo);
+            TestUtils.assertFileContains(output.resolve("src/main/java/org/openapitools/client/model/User.java"), "Status of the user");
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
+    @Test
+    public void incrementalGenerationRecordsRegeneratedSupportingFiles() throws IOException {
+        Path target = Files.createTempDirectory("test");
+        try {
+            generateIncrementally(target);
+            Path pom = target.resolve("pom.xml");
+            byte[] pomContents = Files.readAllBytes(pom);
+            Files.write(pom, "<project/>".getBytes(StandardCharsets.UTF_8));
+
+            // the edited supporting file forces a complete run, which restores it
+            generateIncrementally(target);
+            Assert.assertEquals(Files.readAllBytes(pom), pomContents);
+
+            // and records it as written, so that the following run is incremental again
+            Path category = target.resolve("src/main/java/org/openapitools/client/model/Category.java");
+            FileTime longAgo = FileTime.fromMillis(0);
+            Files.setLastModifiedTime(category, longAgo);
+            generateIncrementally(target);
+            Assert.assertEquals(Files.getLastModifiedTime(category), longAgo);
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
+    @Test
+    public void incrementalGenerationPostProcessesAllModels() throws IOException {
+        Path target = Files.createTempDirectory("test");
+        try {
+            Path spec = target.resolve("petstore.yaml");
+            Path output = target.resolve("out");
+            String original = FileUtils.readFileToString(new File("src/test/resources/3_0/petstore.yaml"), StandardCharsets.UTF_8);
+            Files.write(spec, original.getBytes(StandardCharsets.UTF_8));
+            String generatorName = RecordingJavaClientCodegen.class.getName();
+            generateIncrementally(output, spec.toString(), generatorName);
+            Set<String> allModels = new TreeSet<>(RecordingJavaClientCodegen.POST_PROCESSED_MODELS);
+            Path category = output.resolve("src/main/java/org/openapitools/client/model/Category.java");
+            FileTime longAgo = FileTime.fromMillis(0);
+            Files.setLastModifiedTime(category, longAgo);
+
+            String changed = original.replace("description: User Status", "description: Status of the user");
+            Files.write(spec, changed.getBytes(StandardCharsets.UTF_8));
+            generateIncrementally(output, spec.toString(), generatorName);
+
+            // models relate to each other when post-processed, so all of them are, even if only one is rendered
+            Assert.assertEquals(new TreeSet<>(RecordingJavaClientCodegen.POST_PROCESSED_MODELS), allModels);
+            Assert.assertTrue(allModels.containsAll(Arrays.asList("Category", "Pet", "Tag", "User")));
+            Assert.assertEquals(Files.getLastModifiedTime(category), longAgo);
+            TestUtils.assertFileContains(output.resolve("src/main/java/org/openapitools/client/model/User.java"), "Status of the user");
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
+    /**
+     * Records the models given to {@link #postProcessAllModels(Map)} by the last run.
+     */
+    public static class RecordingJavaClientCodegen extends JavaClientCodegen {
+        static final Set<String> POST_PROCESSED_MODELS = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+            POST_PROCESSED_MODELS.clear();
+            POST_PROCESSED_MODELS.addAll(objs.keySet());
+            return super.postProcessAllModels(objs);
+        }
+    }
+
+    private List<File> generateIncrementally(Path target) {
+        return generateIncrementally(target, "src/test/resources/3_0/petstore.yaml");
+    }
+
+    private List<File> generateIncrementally(Path target, String inputSpec) {
+        return generateIncrementally(target, inputSpec, "java");
+    }
+
+    private List<File> generateIncrementally(Path target, String inputSpec, String generatorName) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName(generatorName)
+                .setInputSpec(inputSpec)
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setOutputDir(target.toAbsolutePath().toString());
+
+        DefaultGenerator generator = new DefaultGenerator(false);
+        generator.setGeneratorPropertyDefault(CodegenConstants.MODEL_TESTS, "false");
+        generator.setGeneratorPropertyDefault(CodegenConstants.API_TESTS, "false");
+        generator.setGeneratorPropertyDefault(CodegenConstants.INCREMENTAL_GENERATION, "true");
+        return generator.opts(configurator.toClientOptInput()).generate();
+    }
+
+    private Set<Path> relativize(Path target, List<File> files) {
+        Path root = target.toAbsolutePath().normalize();
+        return files.stream()
+                .map(f -> root.relativize(f.toPath().toAbsolutePath().normalize()))
+                .collect(Collectors.toSet());
+    }
+
     @Test
     public void dryRunWithSupportFilesSelections() throws IOException {
         Path target = Files.createTempDirectory("test");
@@ -393,6 +658,196 @@ public class DefaultGeneratorTest {
         Assert.assertEquals(defaultList.get(3).allParams.size(), 1);
     }
 
+    @Test
+    public void testProcessPathsConvertsMultiTagOperationsOnce() throws Exception {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.setPaths(new Paths());
+        openAPI.getPaths().addPathItem("/path1", new PathItem().get(new Operation().operationId("op1").addTagsItem("first").addTagsItem("second")
+                .addParametersItem(new QueryParameter().name("p1").schema(new StringSchema()))
+                .addSecurityItem(new SecurityRequirement().addList("api_key"))
+                .responses(new ApiResponses().addApiResponse("201", new ApiResponse().description("OK")))
+                .callbacks(Collections.singletonMap("event", new Callback().addPathItem("{$request.query.p1}", new PathItem()
+                        .post(new Operation().operationId("onEvent").responses(new ApiResponses().addApiResponse("200", new ApiResponse().description("OK")))))))));
+        openAPI.getPaths().addPathItem("/path2", new PathItem().get(new Operation().operationId("op2").addTagsItem("second")
+                .addSecurityItem(new SecurityRequirement().addList("api_key"))
+                .responses(new ApiResponses().addApiResponse("201", new ApiResponse().description("OK")))));
+        openAPI.getComponents().addSecuritySchemes("api_key", new SecurityScheme().type(SecurityScheme.Type.APIKEY).in(SecurityScheme.In.HEADER).name("X-API-KEY"));
+
+        AtomicInteger fromOperation = new AtomicInteger();
+        AtomicInteger fromSecurity = new AtomicInteger();
+        DefaultCodegen config = new DefaultCodegen() {
+            @Override
+            public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, List<Server> servers) {
+                fromOperation.incrementAndGet();
+                return super.fromOperation(path, httpMethod, operation, servers);
+            }
+
+            @Override
+            public List<CodegenSecurity> fromSecurity(Map<String, SecurityScheme> securitySchemeMap) {
+                fromSecurity.incrementAndGet();
+                return super.fromSecurity(securitySchemeMap);
+            }
+        };
+        ClientOptInput opts = new ClientOptInput();
+        opts.openAPI(openAPI);
+        opts.config(config);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(opts);
+        Map<String, List<CodegenOperation>> result = generator.processPaths(openAPI.getPaths());
+
+        // op1, its callback request and op2
+        Assert.assertEquals(fromOperation.get(), 3);
+        Assert.assertEquals(fromSecurity.get(), 1);
+        CodegenOperation first = result.get("First").get(0);
+        CodegenOperation second = result.get("Second").get(0);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first.operationId, second.operationId);
+        Assert.assertEquals(first.tags.size(), 2);
+        Assert.assertEquals(first.allParams, second.allParams);
+        Assert.assertNotSame(first.allParams.get(0), second.allParams.get(0));
+        Assert.assertEquals(first.authMethods, second.authMethods);
+        Assert.assertNotSame(first.authMethods.get(0), second.authMethods.get(0));
+        Assert.assertNotSame(second.authMethods.get(0), result.get("Second").get(1).authMethods.get(0));
+
+        Assert.assertEquals(first.responses, second.responses);
+        Assert.assertNotSame(first.responses.get(0), second.responses.get(0));
+        Assert.assertEquals(first.callbacks, second.callbacks);
+        Assert.assertNotSame(first.callbacks.get(0).urls.get(0).requests.get(0), second.callbacks.get(0).urls.get(0).requests.get(0));
+
+        second.nickname = "renamed";
+        second.allParams.get(0).paramName = "renamed";
+        second.responses.get(0).message = "renamed";
+        second.responses.get(0).vendorExtensions.put("x-renamed", true);
+        second.callbacks.get(0).urls.get(0).requests.get(0).nickname = "renamed";
+        Assert.assertEquals(first.nickname, "op1");
+        Assert.assertEquals(first.allParams.get(0).paramName, "p1");
+        Assert.assertEquals(first.responses.get(0).message, "OK");
+        Assert.assertFalse(first.responses.get(0).vendorExtensions.containsKey("x-renamed"));
+        Assert.assertEquals(first.callbacks.get(0).urls.get(0).requests.get(0).nickname, "onEvent");
+    }
+
+    @Test
+    public void testProcessPathsConvertsMultiTagOperationsWithSubclassesPerTag() throws Exception {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.setPaths(new Paths());
+        openAPI.getPaths().addPathItem("/path1", new PathItem().get(new Operation().operationId("op1").addTagsItem("first").addTagsItem("second")
+                .addSecurityItem(new SecurityRequirement().addList("api_key"))
+                .responses(new ApiResponses().addApiResponse("201", new ApiResponse().description("OK")))));
+        openAPI.getComponents().addSecuritySchemes("api_key", new SecurityScheme().type(SecurityScheme.Type.APIKEY).in(SecurityScheme.In.HEADER).name("X-API-KEY"));
+
+        class ExtendedCodegenSecurity extends CodegenSecurity {
+        }
+        AtomicInteger fromOperation = new AtomicInteger();
+        DefaultCodegen config = new DefaultCodegen() {
+            @Override
+            public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, List<Server> servers) {
+                fromOperation.incrementAndGet();
+                return super.fromOperation(path, httpMethod, operation, servers);
+            }
+
+            @Override
+            public List<CodegenSecurity> fromSecurity(Map<String, SecurityScheme> securitySchemeMap) {
+                List<CodegenSecurity> securities = new ArrayList<>();
+                for (CodegenSecurity security : super.fromSecurity(securitySchemeMap)) {
+                    ExtendedCodegenSecurity extended = new ExtendedCodegenSecurity();
+                    extended.name = security.name;
+                    securities.add(extended);
+                }
+                return securities;
+            }
+        };
+        ClientOptInput opts = new ClientOptInput();
+        opts.openAPI(openAPI);
+        opts.config(config);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(opts);
+        Map<String, List<CodegenOperation>> result = generator.processPaths(openAPI.getPaths());
+
+        // copies would lose the generator's own types
+        Assert.assertEquals(fromOperation.get(), 2);
+        Assert.assertEquals(result.get("First").get(0).authMethods.get(0).getClass(), ExtendedCodegenSecurity.class);
+        Assert.assertEquals(result.get("Second").get(0).authMethods.get(0).getClass(), ExtendedCodegenSecurity.class);
+        Assert.assertNotSame(result.get("First").get(0).authMethods.get(0), result.get("Second").get(0).authMethods.get(0));
+    }
+
+    @Test
+    public void testProcessPathsCopiesNestedVendorExtensionsPerTag() throws Exception {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.setPaths(new Paths());
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("names", new ArrayList<>(Collections.singletonList("a")));
+        openAPI.getPaths().addPathItem("/path1", new PathItem().get(new Operation().operationId("op1").addTagsItem("first").addTagsItem("second")
+                .addExtension("x-nested", nested)
+                .responses(new ApiResponses().addApiResponse("201", new ApiResponse().description("OK")))));
+        openAPI.getPaths().addPathItem("/path2", new PathItem().get(new Operation().operationId("op2").addTagsItem("first").addTagsItem("second")
+                .addExtension("x-opaque", new StringBuilder("a"))
+                .responses(new ApiResponses().addApiResponse("201", new ApiResponse().description("OK")))));
+
+        AtomicInteger fromOperation = new AtomicInteger();
+        DefaultCodegen config = new DefaultCodegen() {
+            @Override
+            public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, List<Server> servers) {
+                fromOperation.incrementAndGet();
+                return super.fromOperation(path, httpMethod, operation, servers);
+            }
+        };
+        ClientOptInput opts = new ClientOptInput();
+        opts.openAPI(openAPI);
+        opts.config(config);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(opts);
+        Map<String, List<CodegenOperation>> result = generator.processPaths(openAPI.getPaths());
+
+        // op1 is copied, op2 holds a value which can't be copied and is converted again
+        Assert.assertEquals(fromOperation.get(), 3);
+        CodegenOperation first = result.get("First").get(0);
+        CodegenOperation second = result.get("Second").get(0);
+        Assert.assertEquals(first.vendorExtensions, second.vendorExtensions);
+        ((List<Object>) ((Map<String, Object>) second.vendorExtensions.get("x-nested")).get("names")).add("b");
+        Assert.assertEquals(((Map<String, Object>) first.vendorExtensions.get("x-nested")).get("names"), Collections.singletonList("a"));
+    }
+
+    @Test
+    public void testProcessPathsSetsHasAuthMethodsForMatchingSchemes() throws Exception {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.setPaths(new Paths());
+        openAPI.getPaths().addPathItem("/path1", new PathItem().get(new Operation().operationId("op1").addTagsItem("first").addTagsItem("second")
+                .addSecurityItem(new SecurityRequirement().addList("api_key"))
+                .responses(new ApiResponses().addApiResponse("201", new ApiResponse().description("OK")))));
+        openAPI.getPaths().addPathItem("/path2", new PathItem().get(new Operation().operationId("op2").addTagsItem("first")
+                .addSecurityItem(new SecurityRequirement().addList("other"))
+                .responses(new ApiResponses().addApiResponse("201", new ApiResponse().description("OK")))));
+        openAPI.getPaths().addPathItem("/path3", new PathItem().get(new Operation().operationId("op3").addTagsItem("first")
+                .responses(new ApiResponses().addApiResponse("201", new ApiResponse().description("OK")))));
+        openAPI.getComponents().addSecuritySchemes("api_key", new SecurityScheme().type(SecurityScheme.Type.APIKEY).in(SecurityScheme.In.HEADER).name("X-API-KEY"));
+        openAPI.getComponents().addSecuritySchemes("other", new SecurityScheme().type(SecurityScheme.Type.APIKEY).in(SecurityScheme.In.HEADER).name("X-OTHER"));
+
+        DefaultCodegen config = new DefaultCodegen() {
+            @Override
+            public List<CodegenSecurity> fromSecurity(Map<String, SecurityScheme> securitySchemeMap) {
+                return securitySchemeMap.containsKey("api_key") ? Collections.emptyList() : null;
+            }
+        };
+        ClientOptInput opts = new ClientOptInput();
+        opts.openAPI(openAPI);
+        opts.config(config);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(opts);
+        Map<String, List<CodegenOperation>> result = generator.processPaths(openAPI.getPaths());
+
+        List<CodegenOperation> first = result.get("First");
+        Assert.assertTrue(first.get(0).hasAuthMethods);
+        Assert.assertEquals(first.get(0).authMethods, Collections.emptyList());
+        Assert.assertTrue(result.get("Second").get(0).hasAuthMethods);
+        Assert.assertTrue(first.get(1).hasAuthMethods);
+        Assert.assertNull(first.get(1).authMethods);
+        Assert.assertFalse(first.get(2).hasAuthMethods);
+    }
+
     @Test
     public void testRefModelValidationProperties() {
         OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/2_0/refAliasedPrimitiveWithValidation.yml");
@@ -766,4 +1221,118 @@ public class DefaultGeneratorTest {
         generator.generateModels(files, allModels, filteredSchemas);
         // all fine, we have passed
     }
+
+    @Test
+    public void testGenerateToZipOutputStream() throws IOException {
+        Path target = Files.createTempDirectory("test");
+        File output = new File(target.toFile(), "petstore");
+        try {
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setOutputDir(output.getAbsolutePath());
+
+            final ClientOptInput clientOptInput = configurator.toClientOptInput();
+            DefaultGenerator generator = new DefaultGenerator(false);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            List<File> files;
+            try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+                generator.setZipOutputStream(zip);
+                files = generator.opts(clientOptInput).generate();
+            }
+
+            Map<String, String> entries = new HashMap<>();
+            try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    entries.put(entry.getName(), new String(IOUtils.toByteArray(zip), StandardCharsets.UTF_8));
+                }
+            }
+
+            Assert.assertFalse(output.exists());
+            Assert.assertEquals(entries.size(), files.size());
+            TestUtils.ensureContainsFile(files, output, "src/main/java/org/openapitools/client/api/PetApi.java");
+            Assert.assertTrue(entries.get("petstore/src/main/java/org/openapitools/client/api/PetApi.java").contains("public class PetApi"));
+            Assert.assertTrue(entries.containsKey("petstore/build.gradle"));
+            Assert.assertTrue(entries.containsKey("petstore/.openapi-generator-ignore"));
+            Assert.assertTrue(entries.get("petstore/.openapi-generator/FILES").contains("build.gradle"));
+        } finally {
+            target.toFile().delete();
+        }
+    }
+
+    @Test
+    public void testGenerateWithProfiler() throws IOException {
+        Path target = Files.createTempDirectory("test");
+        try {
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setOutputDir(target.toAbsolutePath().toString());
+
+            final ClientOptInput clientOptInput = configurator.toClientOptInput();
+            DefaultGenerator generator = new DefaultGenerator(false);
+            GenerationProfiler profiler = new GenerationProfiler();
+            generator.setProfiler(profiler);
+            generator.opts(clientOptInput).generate();
+
+            File report = new File(target.toFile(), "profile/report.json");
+            profiler.writeReport(report);
+            JsonNode phases = new ObjectMapper().readTree(report).get("phases");
+            Map<String, JsonNode> phasesByName = new HashMap<>();
+            phases.forEach(phase -> phasesByName.put(phase.get("name").asText(), phase));
+
+            Assert.assertTrue(phasesByName.keySet().containsAll(Arrays.asList(
+                    "flatten", "processOpenAPI", "fromModel", "updateAllModels", "postProcessAllModels",
+                    "processPaths", "processOperations", "render", "write")), phasesByName.keySet().toString());
+            Assert.assertEquals(phasesByName.get("fromModel").get("slowest").size(), 6);
+            Assert.assertEquals(phasesByName.get("processOperations").get("items").asInt(), 3);
+            // files which are not templates are written without rendering
+            Assert.assertTrue(phasesByName.get("write").get("count").asLong() >= phasesByName.get("render").get("count").asLong());
+            Assert.assertTrue(phasesByName.get("render").get("slowest").size() > 0);
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
+    @Test
+    public void testPostProcessFilesInBatches() throws IOException {
+        Path target = Files.createTempDirectory("test");
+        try {
+            Map<String, List<List<File>>> batchesByType = new ConcurrentHashMap<>();
+            JavaClientCodegen config = new JavaClientCodegen() {
+                @Override
+                public void postProcessFiles(List<File> files, String fileType) {
+                    // files must have been written before they are post-processed
+                    files.forEach(file -> Assert.assertTrue(file.exists(), file.toString()));
+                    batchesByType.computeIfAbsent(fileType, k -> Collections.synchronizedList(new ArrayList<>())).add(new ArrayList<>(files));
+                }
+            };
+            config.setOutputDir(target.toAbsolutePath().toString());
+            config.setEnablePostProcessFile(true);
+            config.setRenderThreads(2);
+            config.setPostProcessThreads(4);
+            config.setPostProcessBatchSize(5);
+
+            ClientOptInput opts = new ClientOptInput();
+            opts.openAPI(TestUtils.parseFlattenSpec("src/test/resources/3_0/petstore.yaml"));
+            opts.config(config);
+            DefaultGenerator generator = new DefaultGenerator();
+            List<File> files = generator.opts(opts).generate();
+
+            Set<File> postProcessed = new HashSet<>();
+            batchesByType.forEach((fileType, batches) -> batches.forEach(batch -> {
+                Assert.assertTrue(batch.size() <= 5, fileType);
+                postProcessed.addAll(batch);
+            }));
+            // every model is post-processed, in batches of up to 5 files
+            Assert.assertEquals(batchesByType.get("model").stream().mapToInt(List::size).sum(), 6);
+            Assert.assertEquals(batchesByType.get("model").size(), 2);
+            Assert.assertTrue(batchesByType.containsKey("api"));
+            Assert.assertTrue(batchesByType.containsKey("supporting-file"));
+            Assert.assertTrue(files.containsAll(postProcessed));
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
 }
@@ -1,6 +1,14 @@
 package org.openapitools.codegen;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.openapitools.codegen.examples.ExampleCache;
 import org.openapitools.codegen.examples.ExampleGenerator;
 import org.testng.annotations.Test;
 
@@ -8,6 +16,7 @@ import java.util.*;
 
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
 
 public class ExampleGeneratorTest {
     @Test
@@ -151,4 +160,60 @@ public class ExampleGeneratorTest {
         assertEquals(String.format(Locale.ROOT, "{%n  \"example_schema_property\" : \"example schema property value\"%n}"), examples.get(0).get("example"));
         assertEquals("200", examples.get(0).get("statusCode"));
     }
+
+    @Test
+    public void generateSharesModelExamplesAcrossGenerators() {
+        OpenAPI openAPI = recursiveModelSpec();
+        ExampleCache cache = new ExampleCache();
+        List<String> mediaTypes = Arrays.asList("application/json", "application/xml");
+
+        List<Map<String, String>> first = new ExampleGenerator(openAPI.getComponents().getSchemas(), openAPI, cache).generate(null, mediaTypes, "Node");
+        assertEquals(2, cache.size());
+        List<Map<String, String>> second = new ExampleGenerator(openAPI.getComponents().getSchemas(), openAPI, cache).generate(null, mediaTypes, "Node");
+
+        assertEquals(2, cache.size());
+        assertEquals(first, second);
+        assertEquals(new ExampleGenerator(recursiveModelSpec().getComponents().getSchemas(), recursiveModelSpec()).generate(null, mediaTypes, "Node").get(0), first.get(0));
+    }
+
+    @Test
+    public void generateKeysExamplesByMediaType() {
+        OpenAPI openAPI = recursiveModelSpec();
+        ExampleCache cache = new ExampleCache(2, 1);
+        List<String> mediaTypes = Arrays.asList("application/json", "application/json; charset=utf-8", "*/*");
+
+        List<Map<String, String>> examples = new ExampleGenerator(openAPI.getComponents().getSchemas(), openAPI, cache).generate(null, mediaTypes, "Node");
+
+        assertEquals(3, cache.size());
+        for (int i = 0; i < mediaTypes.size(); i++) {
+            assertEquals(mediaTypes.get(i), examples.get(i).get("contentType"));
+            assertEquals(examples.get(0).get("example"), examples.get(i).get("example"));
+        }
+    }
+
+    @Test
+    public void generateLimitsDepthAndArrayItems() throws Exception {
+        OpenAPI openAPI = recursiveModelSpec();
+        ExampleGenerator exampleGenerator = new ExampleGenerator(openAPI.getComponents().getSchemas(), openAPI, new ExampleCache(2, 1));
+
+        List<Map<String, String>> examples = exampleGenerator.generate(null, Collections.singletonList("application/json"), "Node");
+
+        JsonNode example = Json.mapper().readTree(examples.get(0).get("example"));
+        assertEquals("name", example.get("name").asText());
+        assertEquals(1, example.get("children").size());
+        JsonNode child = example.get("children").get(0);
+        assertEquals("name", child.get("name").asText());
+        assertEquals(1, child.get("children").size());
+        assertTrue(child.get("children").get(0).isNull());
+        // the spec is left as is
+        assertNull(openAPI.getComponents().getSchemas().get("Node").getExample());
+    }
+
+    private static OpenAPI recursiveModelSpec() {
+        Schema node = new ObjectSchema()
+                .addProperties("name", new StringSchema())
+                .addProperties("children", new ArraySchema().items(new Schema().$ref("#/components/schemas/Node")));
+        node.setName("Node");
+        return new OpenAPI().components(new Components().addSchemas("Node", node));
+    }
 }
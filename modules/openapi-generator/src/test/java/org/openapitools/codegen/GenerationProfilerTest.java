@@ -0,0 +1,76 @@
+package org.openapitools.codegen;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class GenerationProfilerTest {
+
+    @Test
+    public void shouldRecordPhasesInOrder() {
+        GenerationProfiler profiler = new GenerationProfiler();
+
+        Assert.assertEquals(profiler.time("parse", () -> "parsed"), "parsed");
+        try (GenerationProfiler.Span ignored = profiler.start("render", "model.mustache")) {
+            busyWork();
+        }
+        try (GenerationProfiler.Span ignored = profiler.start("render", "api.mustache")) {
+            busyWork();
+        }
+        try (GenerationProfiler.Span ignored = profiler.start("render", "model.mustache")) {
+            busyWork();
+        }
+
+        List<Map<String, Object>> phases = phases(profiler.toReport());
+        Assert.assertEquals(phases.size(), 2);
+        Assert.assertEquals(phases.get(0).get("name"), "parse");
+        Assert.assertEquals(phases.get(0).get("count"), 1L);
+        Assert.assertFalse(phases.get(0).containsKey("slowest"));
+
+        Map<String, Object> render = phases.get(1);
+        Assert.assertEquals(render.get("name"), "render");
+        Assert.assertEquals(render.get("count"), 3L);
+        Assert.assertEquals(render.get("items"), 2);
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> slowest = (List<Map<String, Object>>) render.get("slowest");
+        Assert.assertEquals(slowest.size(), 2);
+        Map<String, Object> model = slowest.get(0).get("name").equals("model.mustache") ? slowest.get(0) : slowest.get(1);
+        Assert.assertEquals(model.get("count"), 2L);
+        Assert.assertTrue((Double) slowest.get(0).get("wallMillis") >= (Double) slowest.get(1).get("wallMillis"));
+    }
+
+    @Test
+    public void shouldLimitSlowestItems() {
+        GenerationProfiler profiler = new GenerationProfiler(2);
+        for (int i = 0; i < 5; i++) {
+            profiler.start("fromModel", "Model" + i).close();
+        }
+
+        Map<String, Object> fromModel = phases(profiler.toReport()).get(0);
+        Assert.assertEquals(fromModel.get("items"), 5);
+        Assert.assertEquals(((List<?>) fromModel.get("slowest")).size(), 2);
+    }
+
+    @Test
+    public void disabledProfilerShouldRecordNothing() {
+        GenerationProfiler.DISABLED.start("parse").close();
+
+        Assert.assertFalse(GenerationProfiler.DISABLED.isEnabled());
+        Assert.assertTrue(phases(GenerationProfiler.DISABLED.toReport()).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> phases(Map<String, Object> report) {
+        return (List<Map<String, Object>>) report.get("phases");
+    }
+
+    private static void busyWork() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i);
+        }
+        Assert.assertTrue(sb.length() > 0);
+    }
+}
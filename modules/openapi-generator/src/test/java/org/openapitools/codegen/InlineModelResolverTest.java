@@ -17,7 +17,10 @@
 
 package org.openapitools.codegen;
 
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
@@ -31,9 +34,13 @@ import org.openapitools.codegen.utils.ModelUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
+import java.util.TreeMap;
 
 import static org.testng.AssertJUnit.*;
 
@@ -1050,6 +1057,95 @@ public class InlineModelResolverTest {
         assertTrue(nothingNew.getProperties().get("arbitrary_request_body_array_property") instanceof ObjectSchema);
     }
 
+    @Test
+    public void deduplicatesInlineModelsLikeTheirSerializedStructure() throws Exception {
+        ObjectMapper structureMapper = Json.mapper().copy();
+        structureMapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+
+        // near-identical schemas, some of them differing only in keywords which are left out of the structural hash
+        List<Schema> variants = new ArrayList<>();
+        variants.add(objectSchema());
+        variants.add(objectSchema());
+        variants.add(objectSchema().addProperties("b", new IntegerSchema().format("int64")));
+        variants.add(objectSchema().example(Collections.singletonMap("a", "x")));
+        variants.add(objectSchema().example(Collections.singletonMap("a", "y")));
+        variants.add(objectSchema().example(Collections.singletonMap("a", "y")));
+        variants.add(objectSchema().extensions(Collections.singletonMap("x-meta", Collections.singletonMap("k", 1))));
+        variants.add(objectSchema().extensions(Collections.singletonMap("x-meta", Collections.singletonMap("k", 2))));
+        variants.add(new ObjectSchema().addProperties("b", new IntegerSchema()).addProperties("a", new StringSchema()));
+        variants.add(objectSchema().addProperties("b", new IntegerSchema().minimum(BigDecimal.ONE).exclusiveMinimum(true)));
+        variants.add(objectSchema().addProperties("b", new IntegerSchema().minimum(BigDecimal.ONE)));
+        variants.add(objectSchema().addProperties("a", new StringSchema().description("x")));
+        variants.add(objectSchema().addProperties("c", new ObjectSchema().addProperties("d", new StringSchema())));
+        variants.add(objectSchema().addProperties("c", new ObjectSchema().addProperties("d", new StringSchema())));
+        variants.add(objectSchema().addProperties("c", new ObjectSchema().addProperties("d", new StringSchema().maxLength(3))));
+
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        List<String> serialized = new ArrayList<>();
+        for (int i = 0; i < variants.size(); i++) {
+            serialized.add(structureMapper.writeValueAsString(variants.get(i)));
+            openAPI.path("/v" + i, new PathItem().get(new Operation().operationId("v" + i).responses(new ApiResponses()
+                    .addApiResponse("200", new ApiResponse().description("ok").content(new Content()
+                            .addMediaType("application/json", new MediaType().schema(variants.get(i))))))));
+        }
+
+        new InlineModelResolver().flatten(openAPI);
+
+        List<String> refs = new ArrayList<>();
+        for (int i = 0; i < variants.size(); i++) {
+            refs.add(openAPI.getPaths().get("/v" + i).getGet().getResponses().get("200").getContent()
+                    .get("application/json").getSchema().get$ref());
+        }
+        for (int i = 0; i < variants.size(); i++) {
+            for (int j = i + 1; j < variants.size(); j++) {
+                Assert.assertEquals(refs.get(i).equals(refs.get(j)), serialized.get(i).equals(serialized.get(j)),
+                        "variants " + i + " and " + j + ": " + serialized.get(i) + " / " + serialized.get(j));
+            }
+        }
+        Assert.assertEquals(refs.get(1), refs.get(0));
+        Assert.assertNotEquals(refs.get(4), refs.get(3));
+        Assert.assertEquals(refs.get(5), refs.get(4));
+        Assert.assertNotEquals(refs.get(7), refs.get(6));
+        Assert.assertNotEquals(refs.get(10), refs.get(9));
+        Assert.assertEquals(refs.get(13), refs.get(12));
+        Assert.assertNotEquals(refs.get(14), refs.get(12));
+    }
+
+    @Test
+    public void matchesGeneratedModelsAsTheyWereWhenAdded() {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        // sorted, so that the generated 'a_200_response' is flattened before 'zoo'
+        openAPI.getComponents().setSchemas(new TreeMap<>());
+        openAPI.path("/a", new PathItem().get(new Operation().operationId("a").responses(new ApiResponses()
+                .addApiResponse("200", new ApiResponse().description("ok").content(new Content()
+                        .addMediaType("application/json", new MediaType().schema(enumOrInteger())))))));
+        openAPI.getComponents().addSchemas("zoo", new ObjectSchema().addProperties("p", enumOrInteger()));
+
+        new InlineModelResolver().flatten(openAPI);
+
+        // the inline enum of the generated model is flattened once the model was added
+        ComposedSchema generated = (ComposedSchema) openAPI.getComponents().getSchemas().get("a_200_response");
+        assertEquals("#/components/schemas/a_200_response_anyOf", generated.getAnyOf().get(0).get$ref());
+        // as before, the property is matched with the model as it was added
+        assertEquals("#/components/schemas/a_200_response",
+                ((Schema<?>) openAPI.getComponents().getSchemas().get("zoo").getProperties().get("p")).get$ref());
+        assertFalse(openAPI.getComponents().getSchemas().containsKey("zoo_p"));
+    }
+
+    private static ComposedSchema enumOrInteger() {
+        ComposedSchema schema = new ComposedSchema();
+        schema.addAnyOfItem(new StringSchema().addEnumItem("x").addEnumItem("y"));
+        schema.addAnyOfItem(new IntegerSchema());
+        return schema;
+    }
+
+    private static ObjectSchema objectSchema() {
+        ObjectSchema schema = new ObjectSchema();
+        schema.addProperties("a", new StringSchema());
+        schema.addProperties("b", new IntegerSchema());
+        return schema;
+    }
+
     @Test
     public void resolveInlineRequestBodyAllOf() {
         OpenAPI openAPI = TestUtils.parseSpec("src/test/resources/3_0/inline_model_resolver.yaml");
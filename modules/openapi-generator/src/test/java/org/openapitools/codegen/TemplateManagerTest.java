@@ -16,6 +16,7 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.testng.Assert.*;
 
@@ -47,6 +48,26 @@ public class TemplateManagerTest {
         assertEquals(manager.getFullTemplateContents("simple.mustache"), "{{name}} and {{age}}");
     }
 
+    @Test
+    public void cachesTemplateLookups(){
+        AtomicInteger lookups = new AtomicInteger();
+        TemplatePathLocator countingLocator = name -> {
+            lookups.incrementAndGet();
+            return locator.getFullTemplatePath(name);
+        };
+        TemplateManagerOptions opts = new TemplateManagerOptions(false,false);
+        TemplateManager manager = new TemplateManager(opts, mustacheEngineAdapter, new TemplatePathLocator[]{ countingLocator });
+
+        assertEquals(manager.getFullTemplateContents("simple.mustache"), "{{name}} and {{age}}");
+        assertEquals(manager.getFullTemplateContents("simple.mustache"), "{{name}} and {{age}}");
+        assertEquals(manager.getFullTemplatePath("simple.mustache"), Paths.get("templating","templates", "simple.mustache"));
+        assertEquals(lookups.get(), 1);
+
+        manager.clearTemplateCache();
+        manager.getFullTemplateContents("simple.mustache");
+        assertEquals(lookups.get(), 2);
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "Template location must be constrained to template directory\\.")
     public void loadTemplateContentsThrowsForEscapingTemplates(){
         TemplateManagerOptions opts = new TemplateManagerOptions(false,false);
@@ -109,6 +130,64 @@ public class TemplateManagerTest {
         }
     }
 
+    @Test
+    public void reusesCompiledTemplatesAcrossWrites() throws IOException {
+        MustacheEngineAdapter mustache = new MustacheEngineAdapter();
+        HandlebarsEngineAdapter handlebars = new HandlebarsEngineAdapter();
+        TemplateManagerOptions opts = new TemplateManagerOptions(false,false);
+        TemplateManager mustacheManager = new TemplateManager(opts, mustache, new TemplatePathLocator[]{ locator });
+        TemplateManager handlebarsManager = new TemplateManager(opts, handlebars, new TemplatePathLocator[]{ locator });
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Teddy");
+        data.put("age", "3");
+        data.put("numbers", Arrays.asList(1, 2, 3));
+
+        Path target = Files.createTempDirectory("test-templatemanager");
+        try {
+            for (int i = 0; i < 3; i++) {
+                File written = mustacheManager.write(data, "simple.mustache", new File(target.toFile(), "simple" + i + ".txt"));
+                assertEquals(Files.readAllLines(written.toPath()).get(0), "Teddy and 3");
+
+                written = handlebarsManager.write(data, "numbers.handlebars", new File(target.toFile(), "numbers" + i + ".txt"));
+                assertEquals(Files.readAllLines(written.toPath()).get(0), "Teddy counts 1 2 3");
+            }
+
+            assertEquals(mustache.getCompiledTemplateCache().getMissCount(), 1);
+            assertEquals(mustache.getCompiledTemplateCache().getHitCount(), 2);
+            assertEquals(handlebars.getCompiledTemplateCache().getMissCount(), 1);
+            assertEquals(handlebars.getCompiledTemplateCache().getHitCount(), 2);
+
+            mustache.getCompiledTemplateCache().clear();
+            assertEquals(mustache.getCompiledTemplateCache().size(), 0);
+        } finally {
+            target.toFile().delete();
+        }
+    }
+
+    @Test
+    public void doesNotShareCompiledTemplatesBetweenExecutors() throws IOException {
+        MustacheEngineAdapter mustache = new MustacheEngineAdapter();
+        TemplateManagerOptions opts = new TemplateManagerOptions(false,false);
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Teddy");
+        data.put("age", "3");
+
+        Path target = Files.createTempDirectory("test-templatemanager");
+        try {
+            for (int i = 0; i < 2; i++) {
+                // e.g. two generation runs, whose partials may resolve against other template directories
+                TemplateManager manager = new TemplateManager(opts, mustache, new TemplatePathLocator[]{ locator });
+                File written = manager.write(data, "simple.mustache", new File(target.toFile(), "simple" + i + ".txt"));
+                assertEquals(Files.readAllLines(written.toPath()).get(0), "Teddy and 3");
+            }
+
+            assertEquals(mustache.getCompiledTemplateCache().getMissCount(), 2);
+            assertEquals(mustache.getCompiledTemplateCache().getHitCount(), 0);
+        } finally {
+            target.toFile().delete();
+        }
+    }
+
     @Test
     public void writeUsingMustacheAdapterSkipsNonMustache() throws IOException {
         TemplateManagerOptions opts = new TemplateManagerOptions(false,false);
@@ -186,6 +265,58 @@ public class TemplateManagerTest {
         }
     }
 
+    @Test
+    public void minimalUpdateCountsWrittenUnchangedAndSkippedFiles() throws IOException {
+        TemplateManagerOptions opts = new TemplateManagerOptions(true,false);
+        TemplateManager manager = new TemplateManager(opts, mustacheEngineAdapter, new TemplatePathLocator[]{ locator });
+        Map<String, Object> data = new HashMap<>();
+        data.put("name","Teddy");
+        data.put("age", "3");
+
+        Path target = Files.createTempDirectory("test-templatemanager");
+        try {
+            File output = new File(target.toFile(), "simple.txt");
+            Files.write(output.toPath(), "Teddy and 4".getBytes(StandardCharsets.UTF_8));
+
+            // same length, different contents
+            manager.write(data, "simple.mustache", output);
+            assertEquals(Files.readAllLines(output.toPath()).get(0), "Teddy and 3");
+
+            manager.write(data, "simple.mustache", output);
+            manager.skip(output.toPath(), "testing");
+
+            assertEquals(manager.getWrittenCount(), 1);
+            assertEquals(manager.getUnchangedCount(), 1);
+            assertEquals(manager.getSkippedCount(), 1);
+            assertFalse(new File(target.toFile(), "simple.txt.tmp").exists());
+        } finally {
+            target.toFile().delete();
+        }
+    }
+
+    @Test
+    public void minimalUpdateRewritesChangedContentsDespiteSkipOverwrite() throws IOException {
+        TemplateManagerOptions opts = new TemplateManagerOptions(true,true);
+        TemplateManager manager = new TemplateManager(opts, mustacheEngineAdapter, new TemplatePathLocator[]{ locator });
+        Map<String, Object> data = new HashMap<>();
+        data.put("name","Teddy");
+        data.put("age", "3");
+
+        Path target = Files.createTempDirectory("test-templatemanager");
+        try {
+            File output = new File(target.toFile(), "simple.txt");
+            Files.write(output.toPath(), "original data".getBytes(StandardCharsets.UTF_8));
+
+            File written = manager.write(data, "simple.mustache", output);
+
+            assertEquals(Files.readAllLines(written.toPath()).get(0), "Teddy and 3");
+            assertEquals(manager.getWrittenCount(), 1);
+            assertEquals(manager.getSkippedCount(), 0);
+        } finally {
+            target.toFile().delete();
+        }
+    }
+
     @Test
     public void overwritesWhenSkipOverwriteFalse() throws IOException {
         TemplateManagerOptions opts = new TemplateManagerOptions(false,false);
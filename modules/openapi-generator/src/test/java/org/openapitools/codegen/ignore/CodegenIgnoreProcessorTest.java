@@ -0,0 +1,89 @@
+package org.openapitools.codegen.ignore;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+
+public class CodegenIgnoreProcessorTest {
+    private Path outputDir;
+    private CodegenIgnoreProcessor processor;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        outputDir = Files.createTempDirectory("codegen-ignore");
+        Files.write(outputDir.resolve(".openapi-generator-ignore"), Arrays.asList(
+                "# hand-maintained code",
+                "",
+                "README.md",
+                "docs/api/Pet.md",
+                "src/main/java/org/example/custom/",
+                "build/**",
+                "**/*.log",
+                "!important.log",
+                "src/test/**/*Test.java",
+                "!src/test/java/GeneratedTest.java",
+                "/*.txt",
+                "generated/",
+                "!generated/keep/",
+                "vendor/",
+                "!vendor/lib.js",
+                "config/*.yaml",
+                "!config/application.yaml"
+        ), StandardCharsets.UTF_8);
+        processor = new CodegenIgnoreProcessor(outputDir.toString());
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        Files.walk(outputDir).sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+    }
+
+    @DataProvider(name = "files")
+    public Object[][] files() {
+        return new Object[][]{
+                {"README.md", false},
+                {"docs/README.md", true},
+                {"docs/api/Pet.md", false},
+                {"docs/api/Pet.md.bak", true},
+                {"src/main/java/org/example/custom/Handler.java", false},
+                {"src/main/java/org/example/custom/nested/Handler.java", false},
+                {"src/main/java/org/example/Model.java", true},
+                {"build/classes/Model.class", false},
+                {"logs/server.log", false},
+                {"important.log", true},
+                {"src/test/java/ModelTest.java", false},
+                {"src/test/java/GeneratedTest.java", true},
+                {"src/test/java/Model.java", true},
+                {"notes.txt", false},
+                {"docs/notes.txt", true},
+                // a file excluded by a directory rule can only be included by a directory rule
+                {"generated/Model.java", false},
+                {"generated/keep/Model.java", true},
+                {"vendor/lib.js", false},
+                {"config/server.yaml", false},
+                {"config/application.yaml", true},
+                {"config/nested/server.yaml", true},
+        };
+    }
+
+    @Test(dataProvider = "files")
+    public void testAllowsFile(String relativePath, boolean allowed) {
+        assertEquals(processor.allowsFile(outputDir.resolve(relativePath).toFile()), allowed, relativePath);
+    }
+
+    @Test
+    public void testAllowsFilesOutsideOfTheRules() throws IOException {
+        CodegenIgnoreProcessor empty = new CodegenIgnoreProcessor(outputDir.resolve("missing").toString());
+        assertEquals(empty.allowsFile(outputDir.resolve("README.md").toFile()), true);
+    }
+}
@@ -40,6 +40,7 @@ import java.io.File;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Collections;
@@ -861,6 +862,55 @@ public class AbstractJavaCodegenTest {
                 .minItems(1);
     }
 
+    @Test
+    public void postProcessFilesGivesEachFileToAnOverriddenPostProcessFile() {
+        final List<File> postProcessed = new ArrayList<>();
+        final AbstractJavaCodegen codegen = new P_AbstractJavaCodegen() {
+            @Override
+            public void postProcessFile(File file, String fileType) {
+                postProcessed.add(file);
+            }
+
+            @Override
+            public boolean supportsBatchPostProcessing() {
+                return false;
+            }
+        };
+        final List<File> files = Arrays.asList(new File("First.java"), new File("Second.java"));
+
+        codegen.postProcessFiles(files, "model");
+
+        Assert.assertEquals(codegen.getPostProcessBatchSize(), 1);
+        Assert.assertEquals(postProcessed, files);
+    }
+
+    @Test
+    public void postProcessFilesRunsTheCommandOnceForTheJavaFilesOfTheBatch() {
+        final List<List<File>> commands = new ArrayList<>();
+        final AbstractJavaCodegen codegen = new P_AbstractJavaCodegen() {
+            @Override
+            protected String getPostProcessFileVariable() {
+                // any variable which is set, as the command is not run
+                return "PATH";
+            }
+
+            @Override
+            public void postProcessFile(File file, String fileType) {
+                Assert.fail("post-processed per file although the generator supports batches");
+            }
+
+            @Override
+            protected boolean runPostProcessCommand(String command, List<File> files) {
+                commands.add(files);
+                return true;
+            }
+        };
+
+        codegen.postProcessFiles(Arrays.asList(new File("First.java"), new File("README.md"), new File("Second.java")), "model");
+
+        Assert.assertEquals(commands, Collections.singletonList(Arrays.asList(new File("First.java"), new File("Second.java"))));
+    }
+
     private static class P_AbstractJavaCodegen extends AbstractJavaCodegen {
         @Override
         public CodegenType getTag() {
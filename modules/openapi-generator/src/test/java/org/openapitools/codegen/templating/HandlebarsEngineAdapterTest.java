@@ -1,8 +1,23 @@
 package org.openapitools.codegen.templating;
 
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.CodegenProperty;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.config.CodegenConfigurator;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.testng.Assert.*;
 
 public class HandlebarsEngineAdapterTest {
@@ -13,6 +28,72 @@ public class HandlebarsEngineAdapterTest {
         assertEquals(handles, shouldHandle, message);
     }
 
+    @Test
+    public void reusesEngineWithEitherValueResolverChain() throws IOException {
+        Map<String, String> templates = new HashMap<>();
+        templates.put("property.handlebars", "{{#with property}}{{name}}: {{dataType}}{{#if required}} (required){{/if}}{{/with}}");
+        TemplatingExecutor executor = new TemplatingExecutor() {
+            @Override
+            public String getFullTemplateContents(String name) {
+                if (!templates.containsKey(name)) {
+                    throw new TemplateNotFoundException(name);
+                }
+                return templates.get(name);
+            }
+
+            @Override
+            public Path getFullTemplatePath(String name) {
+                return Paths.get(name);
+            }
+        };
+
+        CodegenProperty property = new CodegenProperty();
+        property.name = "id";
+        property.dataType = "Long";
+        property.required = true;
+        Map<String, Object> bundle = Collections.singletonMap("property", property);
+
+        HandlebarsEngineAdapter adapter = new HandlebarsEngineAdapter();
+        assertEquals(adapter.compileTemplate(executor, bundle, "property.handlebars"), "id: Long (required)");
+        assertEquals(adapter.compileTemplate(executor, bundle, "property.handlebars"), "id: Long (required)");
+
+        adapter.valueResolvers(HandlebarsEngineAdapter.FIELD_FIRST_VALUE_RESOLVERS);
+        assertEquals(adapter.compileTemplate(executor, bundle, "property.handlebars"), "id: Long (required)");
+        assertEquals(adapter.getCompiledTemplateCache().getMissCount(), 1);
+    }
+
+    @Test
+    public void valueResolverChainsCannotBeModified() {
+        assertThrows(UnsupportedOperationException.class, () -> HandlebarsEngineAdapter.DEFAULT_VALUE_RESOLVERS.set(0, null));
+        assertThrows(UnsupportedOperationException.class, () -> HandlebarsEngineAdapter.FIELD_FIRST_VALUE_RESOLVERS.clear());
+
+        HandlebarsEngineAdapter adapter = new HandlebarsEngineAdapter();
+        assertEquals(adapter.getValueResolvers(), HandlebarsEngineAdapter.DEFAULT_VALUE_RESOLVERS);
+        assertThrows(UnsupportedOperationException.class, () -> adapter.getValueResolvers().clear());
+    }
+
+    @Test
+    public void fieldFirstResolutionIsEnabledByAdditionalProperty() throws IOException {
+        Path target = Files.createTempDirectory("test");
+        try {
+            ClientOptInput input = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setTemplatingEngineName("handlebars")
+                    .setInputSpec("src/test/resources/3_0/ping.yaml")
+                    .setOutputDir(target.toAbsolutePath().toString())
+                    .addAdditionalProperty(CodegenConstants.HANDLEBARS_FIELD_FIRST_RESOLUTION, "true")
+                    .toClientOptInput();
+            HandlebarsEngineAdapter adapter = (HandlebarsEngineAdapter) input.getConfig().getTemplatingEngine();
+            assertEquals(adapter.getValueResolvers(), HandlebarsEngineAdapter.DEFAULT_VALUE_RESOLVERS);
+
+            new DefaultGenerator(true).opts(input).generate();
+
+            assertEquals(adapter.getValueResolvers(), HandlebarsEngineAdapter.FIELD_FIRST_VALUE_RESOLVERS);
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
     @DataProvider(name = "handlesFileExpectations")
     public Object[][] handlesFileExpectations() {
         // input, shouldHandle, message
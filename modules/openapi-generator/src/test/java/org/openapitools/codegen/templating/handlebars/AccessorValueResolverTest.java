@@ -0,0 +1,68 @@
+package org.openapitools.codegen.templating.handlebars;
+
+import com.github.jknack.handlebars.ValueResolver;
+import org.openapitools.codegen.CodegenProperty;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class AccessorValueResolverTest {
+    public static class Sample {
+        public String name = "field";
+        private final int count = 3;
+        private final boolean active = true;
+
+        public String getName() {
+            return "getter";
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public String describe() {
+            return "described";
+        }
+
+        public String getLabel() {
+            return "label";
+        }
+    }
+
+    @Test
+    public void resolvesFieldsBeforeGettersAndMethods() {
+        AccessorValueResolver resolver = new AccessorValueResolver();
+        Sample sample = new Sample();
+
+        assertEquals(resolver.resolve(sample, "name"), "field");
+        assertEquals(resolver.resolve(sample, "count"), 3);
+        assertEquals(resolver.resolve(sample, "active"), true);
+        assertEquals(resolver.resolve(sample, "label"), "label");
+        assertEquals(resolver.resolve(sample, "describe"), "described");
+        assertSame(resolver.resolve(sample, "missing"), ValueResolver.UNRESOLVED);
+        assertSame(resolver.resolve(null, "name"), ValueResolver.UNRESOLVED);
+    }
+
+    @Test
+    public void reusesAccessorsForInstancesOfTheSameClass() {
+        AccessorValueResolver resolver = new AccessorValueResolver();
+        CodegenProperty first = new CodegenProperty();
+        first.name = "id";
+        CodegenProperty second = new CodegenProperty();
+        second.name = "name";
+
+        assertEquals(resolver.resolve(first, "name"), "id");
+        assertEquals(resolver.resolve(second, "name"), "name");
+        assertSame(resolver.resolve(first, "missing"), ValueResolver.UNRESOLVED);
+        assertSame(resolver.resolve(second, "missing"), ValueResolver.UNRESOLVED);
+    }
+
+    @Test
+    public void resolvesMethodsOfCollections() {
+        assertEquals(AccessorValueResolver.INSTANCE.resolve(Collections.singletonList("a"), "size"), 1);
+        assertEquals(AccessorValueResolver.INSTANCE.resolve(Collections.emptyList(), "empty"), true);
+    }
+}
@@ -18,10 +18,13 @@
 package org.openapitools.codegen.utils;
 
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.media.*;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
 import org.openapitools.codegen.TestUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -116,6 +119,98 @@ public class ModelUtilsTest {
         Assert.assertTrue(unusedSchemas.contains("SomeObj7"), "contains 'SomeObj7'");
     }
 
+    @Test
+    public void testSchemaUsageIndex() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/unusedSchemas.yaml");
+        SchemaUsageIndex index = new SchemaUsageIndex(openAPI);
+        Assert.assertEquals(index.getAllUsedSchemas(), ModelUtils.getAllUsedSchemas(openAPI));
+        Assert.assertEquals(index.getUnusedSchemas(), ModelUtils.getUnusedSchemas(openAPI));
+        Assert.assertEquals(index.getSchemasUsedOnlyInFormParam(), ModelUtils.getSchemasUsedOnlyInFormParam(openAPI));
+        Assert.assertTrue(index.isUsed("SomeObj2"));
+        Assert.assertFalse(index.isUsed("UnusedObj1"));
+
+        Set<SchemaUsageIndex.SchemaUsage> usages = index.getUsages("SomeObj2");
+        Assert.assertEquals(usages.size(), 1);
+        SchemaUsageIndex.SchemaUsage usage = usages.iterator().next();
+        Assert.assertEquals(usage.getPath(), "/some/p2");
+        Assert.assertEquals(usage.getHttpMethod(), "POST");
+        Assert.assertEquals(usage.getOperationId(), "p2");
+        Assert.assertEquals(usage.getMediaType(), "application/x-www-form-urlencoded");
+        Assert.assertNull(usage.getParameterLocation());
+
+        usage = index.getUsages("Param27").iterator().next();
+        Assert.assertEquals(usage.getPath(), "/some/p27/{q}");
+        Assert.assertNull(usage.getHttpMethod());
+        Assert.assertEquals(usage.getParameterLocation(), "path");
+        Assert.assertTrue(index.getUsages("UnusedObj1").isEmpty());
+    }
+
+    @Test
+    public void testSchemaUsageIndexRecordsTransitiveUsagesOfEachOperation() {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.getComponents()
+                .addSchemas("Country", new ObjectSchema().addProperties("code", new StringSchema()))
+                .addSchemas("Address", new ObjectSchema().addProperties("street", new StringSchema())
+                        .addProperties("country", new Schema().$ref("#/components/schemas/Country")))
+                .addSchemas("Person", new ObjectSchema().addProperties("address", new Schema().$ref("#/components/schemas/Address")))
+                .addSchemas("Company", new ObjectSchema()
+                        .addProperties("offices", new ArraySchema().items(new Schema().$ref("#/components/schemas/Address"))));
+        openAPI.path("/persons", new PathItem().get(new Operation().operationId("getPerson").responses(new ApiResponses()
+                .addApiResponse("200", new ApiResponse().content(new Content().addMediaType("application/json",
+                        new MediaType().schema(new Schema().$ref("#/components/schemas/Person"))))))));
+        openAPI.path("/companies", new PathItem().post(new Operation().operationId("addCompany").requestBody(new RequestBody()
+                .content(new Content().addMediaType("application/json",
+                        new MediaType().schema(new Schema().$ref("#/components/schemas/Company")))))));
+
+        SchemaUsageIndex index = new SchemaUsageIndex(openAPI);
+        for (String name : Arrays.asList("Address", "Country")) {
+            Set<String> operationIds = new HashSet<>();
+            for (SchemaUsageIndex.SchemaUsage usage : index.getUsages(name)) {
+                operationIds.add(usage.getOperationId());
+            }
+            Assert.assertEquals(operationIds, new HashSet<>(Arrays.asList("getPerson", "addCompany")), name);
+        }
+        Assert.assertEquals(index.getUsages("Person").size(), 1);
+        Assert.assertEquals(index.getUsages("Company").iterator().next().getHttpMethod(), "POST");
+    }
+
+    @Test
+    public void testSchemaInheritanceGraph() {
+        Map<String, Schema> schemas = new LinkedHashMap<>();
+        schemas.put("Animal", new ObjectSchema().discriminator(new Discriminator().propertyName("type"))
+                .addProperties("type", new StringSchema()));
+        schemas.put("Dog", new ComposedSchema().addAllOfItem(new Schema().$ref("#/components/schemas/Animal")));
+        schemas.put("Cat", new ComposedSchema().addAllOfItem(new Schema().$ref("#/components/schemas/Animal")));
+        schemas.put("Puppy", new ComposedSchema().addAllOfItem(new Schema().$ref("#/components/schemas/Dog"))
+                .addAllOfItem(new ObjectSchema().addProperties("age", new IntegerSchema())));
+        schemas.put("Plain", new ObjectSchema());
+        schemas.put("Mixin", new ComposedSchema().addAllOfItem(new Schema().$ref("#/components/schemas/Plain")));
+
+        SchemaInheritanceGraph graph = new SchemaInheritanceGraph(schemas);
+        Assert.assertTrue(graph.isFor(schemas));
+        Assert.assertEquals(graph.getParentName("Dog"), "Animal");
+        Assert.assertEquals(graph.getParentName("Puppy"), "Dog");
+        Assert.assertNull(graph.getParentName("Mixin"));
+        Assert.assertEquals(graph.getAncestors("Puppy"), Arrays.asList("Dog", "Animal"));
+        Assert.assertEquals(graph.getAllParentsName((ComposedSchema) schemas.get("Puppy")), Collections.singletonList("Dog"));
+        Assert.assertEquals(graph.getChildrenMap().get("Animal"), Arrays.asList("Dog", "Cat"));
+        Assert.assertEquals(graph.getAllOfDescendants("Animal"), Arrays.asList("Dog", "Cat", "Puppy"));
+        Assert.assertEquals(graph.getAllOfChildren("Plain"), Collections.singletonList("Mixin"));
+        Assert.assertEquals(graph.getDiscriminator("Puppy").getPropertyName(), "type");
+        Assert.assertFalse(graph.hasOrInheritsDiscriminator("Mixin"));
+
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.getComponents().setSchemas(schemas);
+        Assert.assertEquals(ModelUtils.getChildrenMap(openAPI), graph.getChildrenMap());
+        Assert.assertEquals(ModelUtils.getParentName((ComposedSchema) schemas.get("Puppy"), schemas), "Dog");
+        Assert.assertEquals(ModelUtils.getAllParentsName((ComposedSchema) schemas.get("Puppy"), schemas, true), Arrays.asList("Dog", "Animal"));
+
+        schemas.put("Diamond", new ComposedSchema().addAllOfItem(new Schema().$ref("#/components/schemas/Cat"))
+                .addAllOfItem(new Schema().$ref("#/components/schemas/Puppy")));
+        Assert.assertFalse(graph.isFor(schemas));
+        Assert.assertThrows(RuntimeException.class, () -> new SchemaInheritanceGraph(schemas).getAllOfDescendants("Animal"));
+    }
+
     @Test
     public void testNoComponentsSection() {
         final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/ping.yaml");
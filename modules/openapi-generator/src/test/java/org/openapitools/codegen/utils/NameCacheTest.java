@@ -0,0 +1,72 @@
+package org.openapitools.codegen.utils;
+
+import org.testng.annotations.Test;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class NameCacheTest {
+    @Test
+    public void cachesUntilCleared() {
+        NameCache<String, String> cache = new NameCache<>("upper", 2);
+        AtomicInteger conversions = new AtomicInteger();
+
+        assertEquals(cache.get("a", k -> { conversions.incrementAndGet(); return k.toUpperCase(Locale.ROOT); }), "A");
+        assertEquals(cache.get("a", k -> { conversions.incrementAndGet(); return k.toUpperCase(Locale.ROOT); }), "A");
+        assertEquals(cache.get("b", k -> { conversions.incrementAndGet(); return k.toUpperCase(Locale.ROOT); }), "B");
+
+        assertEquals(conversions.get(), 2);
+        assertEquals(cache.stats().hitCount(), 1);
+        assertEquals(cache.stats().missCount(), 2);
+        assertTrue(cache.toString().startsWith("upper: 2/2 entries, 3 requests"), cache.toString());
+
+        cache.clear();
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.stats().requestCount(), 0);
+        cache.get("a", k -> { conversions.incrementAndGet(); return k.toUpperCase(Locale.ROOT); });
+        assertEquals(conversions.get(), 3);
+    }
+
+    @Test
+    public void resizesForGenerationRun() {
+        NameCache<Integer, Integer> cache = new NameCache<>("identity", 2);
+
+        try (NameCache.Run ignored = NameCache.startRun(100)) {
+            for (int i = 0; i < 100; i++) {
+                cache.get(i, k -> k);
+            }
+            for (int i = 0; i < 100; i++) {
+                cache.get(i, k -> k);
+            }
+            assertEquals(cache.stats().hitCount(), 100);
+            assertTrue(cache.toString().contains("/100 entries"), cache.toString());
+        }
+
+        assertTrue(cache.toString().startsWith("identity: 0/2 entries"), cache.toString());
+    }
+
+    @Test
+    public void concurrentRunsShareCaches() {
+        NameCache<Integer, Integer> cache = new NameCache<>("shared", 2);
+
+        NameCache.Run first = NameCache.startRun(100);
+        NameCache.Run second = NameCache.startRun(50);
+        assertTrue(cache.toString().contains("/150 entries"), cache.toString());
+        cache.get(1, k -> k);
+
+        // the end of one run neither empties the caches nor shrinks them below the needs of the other
+        first.close();
+        first.close();
+        assertEquals(cache.size(), 1);
+        assertTrue(cache.toString().contains("/50 entries"), cache.toString());
+
+        NameCache<Integer, Integer> late = new NameCache<>("late", 2);
+        assertTrue(late.toString().contains("/50 entries"), late.toString());
+
+        second.close();
+        assertEquals(cache.size(), 0);
+        assertTrue(cache.toString().startsWith("shared: 0/2 entries"), cache.toString());
+    }
+}
@@ -0,0 +1,139 @@
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import org.openapitools.codegen.TestUtils;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class OpenAPICopierTest {
+    @Test
+    public void copiesSwagger2DocumentsWithoutAddingDefaults() throws Exception {
+        OpenAPI openAPI = TestUtils.parseSpec("src/test/resources/2_0/petstore-with-fake-endpoints-models-for-testing.yaml");
+        OpenAPI copy = OpenAPICopier.copy(openAPI);
+
+        assertNotSame(copy, openAPI);
+        assertEquals(Json.pretty(copy), Json.pretty(openAPI));
+        List<Parameter> parameters = parameters(openAPI);
+        List<Parameter> copiedParameters = parameters(copy);
+        assertFalse(parameters.isEmpty());
+        for (int i = 0; i < parameters.size(); i++) {
+            assertNotSame(copiedParameters.get(i), parameters.get(i));
+            assertEquals(copiedParameters.get(i).getStyle(), parameters.get(i).getStyle(), parameters.get(i).getName());
+            assertEquals(copiedParameters.get(i).getExplode(), parameters.get(i).getExplode(), parameters.get(i).getName());
+        }
+        for (Map.Entry<String, Schema> entry : openAPI.getComponents().getSchemas().entrySet()) {
+            assertSameExamples(copy.getComponents().getSchemas().get(entry.getKey()), entry.getValue(), entry.getKey());
+        }
+    }
+
+    @DataProvider(name = "openAPI3Specs")
+    public Object[][] openAPI3Specs() {
+        return new Object[][]{
+                // security schemes, xml, examples, enums and maps
+                {"src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml"},
+                {"src/test/resources/3_0/callbacks.yaml"},
+                {"src/test/resources/3_0/content-data.yaml"},
+                {"src/test/resources/3_0/petstore-with-complex-headers.yaml"}
+        };
+    }
+
+    @Test(dataProvider = "openAPI3Specs")
+    public void copiesOpenAPI3Documents(String spec) {
+        OpenAPI openAPI = TestUtils.parseSpec(spec);
+
+        assertEquals(Json.pretty(OpenAPICopier.copy(openAPI)), Json.pretty(openAPI));
+    }
+
+    @DataProvider(name = "allOfSpecs")
+    public Object[][] allOfSpecs() {
+        return new Object[][]{
+                {"src/test/resources/3_0/allOfMappingDuplicatedProperties.yaml"},
+                {"src/test/resources/3_0/allOfMultiParent.yaml"},
+                {"src/test/resources/3_0/allOf_composition.yaml"},
+                {"src/test/resources/3_0/issue_11772.yml"},
+                {"src/test/resources/3_0/rust-server/no-example-v3.yaml"},
+                {"src/test/resources/bugs/issue_11731.yaml"},
+                {"src/test/resources/bugs/issue_12622.json"}
+        };
+    }
+
+    @Test(dataProvider = "allOfSpecs")
+    public void copiesRequiredPropertiesInheritedThroughAllOf(String spec) {
+        OpenAPI openAPI = TestUtils.parseSpec(spec);
+
+        assertEquals(Json.pretty(OpenAPICopier.copy(openAPI)), Json.pretty(openAPI));
+    }
+
+    @Test
+    public void copiesRequiredNamesAsTheyAre() {
+        // required names which are not properties of the schema, and not sorted
+        Schema schema = new ObjectSchema();
+        schema.setRequired(Arrays.asList("c", "a"));
+        schema.getRequired().add("b");
+        schema.addProperties("b", new StringSchema());
+        OpenAPI openAPI = new OpenAPI().components(new Components().addSchemas("Child", schema));
+
+        Schema copy = OpenAPICopier.copy(openAPI).getComponents().getSchemas().get("Child");
+
+        assertEquals(copy.getRequired(), Arrays.asList("a", "c", "b"));
+    }
+
+    @Test
+    public void copiesAreIndependentAndKeepSharedObjects() {
+        OpenAPI openAPI = TestUtils.parseSpec("src/test/resources/3_0/petstore.yaml");
+        Schema shared = new StringSchema();
+        openAPI.getComponents().getSchemas().get("Pet").addProperties("first", shared);
+        openAPI.getComponents().getSchemas().get("Pet").addProperties("second", shared);
+        String serialized = Json.pretty(openAPI);
+
+        OpenAPI copy = OpenAPICopier.copy(openAPI);
+        Schema pet = copy.getComponents().getSchemas().get("Pet");
+        assertSame(pet.getProperties().get("second"), pet.getProperties().get("first"));
+        assertNotSame(pet.getProperties().get("first"), shared);
+
+        pet.getProperties().remove("name");
+        copy.getPaths().remove("/pet");
+        copy.getComponents().getSchemas().get("Order").setDescription("changed");
+        assertEquals(Json.pretty(openAPI), serialized);
+        assertNull(OpenAPICopier.copy(null));
+    }
+
+    private static List<Parameter> parameters(OpenAPI openAPI) {
+        List<Parameter> parameters = new ArrayList<>();
+        openAPI.getPaths().values().forEach(path -> {
+            for (Operation operation : path.readOperations()) {
+                if (operation.getParameters() != null) {
+                    parameters.addAll(operation.getParameters());
+                }
+            }
+        });
+        return parameters;
+    }
+
+    private static void assertSameExamples(Schema copy, Schema schema, String name) {
+        assertEquals(copy.getExampleSetFlag(), schema.getExampleSetFlag(), name);
+        assertEquals(copy.getExample(), schema.getExample(), name);
+        if (schema.getExample() != null) {
+            assertEquals(copy.getExample().getClass(), schema.getExample().getClass(), name);
+        }
+        if (schema.getProperties() != null) {
+            for (Object key : schema.getProperties().keySet()) {
+                assertSameExamples((Schema) copy.getProperties().get(key), (Schema) schema.getProperties().get(key), name + "." + key);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package org.openapitools.codegen.utils;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConfigLoader;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.testng.Assert.*;
+
+public class ParsedSpecCacheTest {
+    private static final String SPEC = "{\"openapi\": \"3.0.1\", \"info\": {\"title\": \"test\", \"version\": \"1.0\"}, \"paths\": {}, " +
+            "\"components\": {\"schemas\": {\"Pet\": {\"type\": \"object\", \"properties\": {\"name\": {\"type\": \"string\"}}}}}}";
+
+    private final AtomicInteger parses = new AtomicInteger();
+
+    private Supplier<SwaggerParseResult> countingParser(String content) {
+        return () -> {
+            parses.incrementAndGet();
+            ParseOptions options = new ParseOptions();
+            options.setResolve(true);
+            return new OpenAPIParser().readContents(content, null, options);
+        };
+    }
+
+    @Test
+    public void parsesOnceAndReturnsPrivateCopies() throws Exception {
+        parses.set(0);
+        ParsedSpecCache cache = new ParsedSpecCache();
+        String key = ParsedSpecCache.contentKey(SPEC);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<CompletableFuture<SwaggerParseResult>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> cache.get(key, SPEC.length(), countingParser(SPEC)), executor));
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        OpenAPI first = results.get(0).join().getOpenAPI();
+        first.getComponents().getSchemas().get("Pet").addProperties("age", new Schema().type("integer"));
+        for (CompletableFuture<SwaggerParseResult> result : results.subList(1, results.size())) {
+            OpenAPI copy = result.join().getOpenAPI();
+            assertNotSame(copy, first);
+            Schema pet = copy.getComponents().getSchemas().get("Pet");
+            assertEquals(pet.getType(), "object");
+            assertTrue(pet.getProperties().containsKey("name"));
+            assertFalse(pet.getProperties().containsKey("age"));
+        }
+        assertEquals(parses.get(), 1);
+        assertEquals(cache.getParsedCount(), 1L);
+        assertEquals(cache.getHitCount(), 7L);
+        assertEquals(cache.getCachedBytes(), (long) SPEC.length());
+    }
+
+    @Test
+    public void measuresWithoutCountingHits() {
+        parses.set(0);
+        ParsedSpecCache cache = new ParsedSpecCache();
+        String key = ParsedSpecCache.contentKey(SPEC);
+
+        ParsedSpecCache.SpecStats stats = cache.stats(key, SPEC.length(), countingParser(SPEC));
+        cache.get(key, SPEC.length(), countingParser(SPEC));
+
+        assertEquals(stats.getSchemas(), 1);
+        assertEquals(stats.getOperations(), 0);
+        assertEquals(stats.getSourceBytes(), (long) SPEC.length());
+        assertEquals(parses.get(), 1);
+        assertEquals(cache.getHitCount(), 1L);
+    }
+
+    @Test
+    public void doesNotCacheInvalidSpecifications() {
+        parses.set(0);
+        ParsedSpecCache cache = new ParsedSpecCache(1024 * 1024, 60);
+        String key = ParsedSpecCache.locationKey("http://localhost/invalid.json");
+
+        SwaggerParseResult first = cache.get(key, ParsedSpecCache.UNKNOWN_SIZE, countingParser("not a specification"));
+        SwaggerParseResult second = cache.get(key, ParsedSpecCache.UNKNOWN_SIZE, countingParser("not a specification"));
+
+        assertNull(first.getOpenAPI());
+        assertNull(second.getOpenAPI());
+        assertEquals(parses.get(), 2);
+        assertEquals(cache.getParsedCount(), 0L);
+        assertSame(cache.stats(key, ParsedSpecCache.UNKNOWN_SIZE, () -> null), ParsedSpecCache.SpecStats.EMPTY);
+    }
+
+    @Test
+    public void doesNotCacheOpenAPI31Documents() {
+        parses.set(0);
+        ParsedSpecCache cache = new ParsedSpecCache();
+        String spec = SPEC.replace("3.0.1", "3.1.0");
+        String key = ParsedSpecCache.contentKey(spec);
+
+        OpenAPI first = cache.get(key, spec.length(), countingParser(spec)).getOpenAPI();
+        OpenAPI second = cache.get(key, spec.length(), countingParser(spec)).getOpenAPI();
+
+        assertNotNull(first);
+        assertNotSame(second, first);
+        assertEquals(parses.get(), 2);
+        assertEquals(cache.getParsedCount(), 0L);
+    }
+
+    @Test
+    public void weighsSpecificationsOfUnknownSize() {
+        ParsedSpecCache cache = new ParsedSpecCache(64L * 1024 * 1024, 60);
+
+        cache.get(ParsedSpecCache.locationKey("http://localhost/spec.json"), ParsedSpecCache.UNKNOWN_SIZE, countingParser(SPEC));
+
+        assertEquals(cache.getCachedBytes(), 1024L * 1024);
+    }
+
+    @Test
+    public void keysDependOnContent() {
+        assertEquals(ParsedSpecCache.contentKey(SPEC), ParsedSpecCache.contentKey(SPEC));
+        assertNotEquals(ParsedSpecCache.contentKey(SPEC), ParsedSpecCache.contentKey(SPEC.replace("test", "other")));
+        assertNotEquals(ParsedSpecCache.locationKey("http://localhost/spec.json"), ParsedSpecCache.contentKey("http://localhost/spec.json"));
+    }
+
+    @DataProvider(name = "specs")
+    public Object[][] specs() {
+        return new Object[][]{
+                {"src/test/resources/2_0/petstore-with-fake-endpoints-models-for-testing.yaml"},
+                // required properties inherited through allOf
+                {"src/test/resources/3_0/allOfMultiParent.yaml"}
+        };
+    }
+
+    @Test(dataProvider = "specs")
+    public void generatesTheSameFilesOnMissAndHit(String spec) throws IOException {
+        parses.set(0);
+        // generate() resets the global settings when it ends, so the first generation must not see those of other tests
+        GlobalSettings.reset();
+        String content = new String(Files.readAllBytes(Paths.get(spec)), StandardCharsets.UTF_8);
+        ParsedSpecCache cache = new ParsedSpecCache(64L * 1024 * 1024, 60);
+        String key = ParsedSpecCache.contentKey(content);
+
+        Map<String, String> uncached = generateJava(countingParser(content).get().getOpenAPI());
+        Map<String, String> miss = generateJava(cache.get(key, content.length(), countingParser(content)).getOpenAPI());
+        Map<String, String> hit = generateJava(cache.get(key, content.length(), countingParser(content)).getOpenAPI());
+
+        assertEquals(parses.get(), 2);
+        assertFalse(uncached.isEmpty());
+        assertEquals(miss, uncached);
+        assertEquals(hit, uncached);
+    }
+
+    private static Map<String, String> generateJava(OpenAPI openAPI) throws IOException {
+        CodegenConfig config = CodegenConfigLoader.forName("java");
+        config.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        config.setOutputDir(new File("target", "parsed-spec-cache-test").getAbsolutePath());
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(zip)) {
+            DefaultGenerator generator = new DefaultGenerator();
+            generator.setZipOutputStream(out);
+            generator.opts(new ClientOptInput().openAPI(openAPI).config(config)).generate();
+        }
+
+        Map<String, String> files = new TreeMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
+            byte[] buffer = new byte[8192];
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                ByteArrayOutputStream file = new ByteArrayOutputStream();
+                for (int read = in.read(buffer); read > 0; read = in.read(buffer)) {
+                    file.write(buffer, 0, read);
+                }
+                files.put(entry.getName(), new String(file.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+        return files;
+    }
+}
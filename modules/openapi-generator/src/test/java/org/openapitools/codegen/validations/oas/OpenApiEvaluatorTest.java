@@ -0,0 +1,97 @@
+package org.openapitools.codegen.validations.oas;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.TestUtils;
+import org.openapitools.codegen.utils.SchemaUsageIndex;
+import org.openapitools.codegen.validation.Invalid;
+import org.openapitools.codegen.validation.Valid;
+import org.openapitools.codegen.validation.ValidationResult;
+import org.openapitools.codegen.validation.ValidationRule;
+import org.openapitools.codegen.validation.Validated;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class OpenApiEvaluatorTest {
+    @Test(description = "Merge the results of concurrent validations in document order")
+    public void testParallelValidationMatchesSequentialValidation() {
+        OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml");
+        RuleConfiguration config = new RuleConfiguration();
+        config.setEnableRecommendations(true);
+
+        OpenApiEvaluator sequential = new OpenApiEvaluator(config);
+        sequential.setParallelism(1);
+        OpenApiEvaluator parallel = new OpenApiEvaluator(config);
+        parallel.setParallelism(4);
+
+        List<String> expected = messages(sequential.validate(openAPI));
+        Assert.assertFalse(expected.isEmpty());
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(messages(parallel.validate(openAPI)), expected);
+        }
+    }
+
+    @Test(description = "Look up unused schemas in an index of the schema usages built by the caller")
+    public void testValidationWithSharedSchemaUsageIndex() {
+        OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/unusedSchemas.yaml");
+        RuleConfiguration config = new RuleConfiguration();
+        config.setEnableRecommendations(true);
+        OpenApiEvaluator evaluator = new OpenApiEvaluator(config);
+
+        List<String> expected = messages(evaluator.validate(openAPI));
+        Assert.assertTrue(expected.contains("Unused schema: Unused model: UnusedObj1"));
+        Assert.assertEquals(messages(evaluator.validate(openAPI, new SchemaUsageIndex(openAPI))), expected);
+    }
+
+    @Test(description = "Stop at the first error, with the results of every preceding validation")
+    public void testFailFastStopsAtFirstError() {
+        ValidationRule error = ValidationRule.error("failed", s -> ValidationRule.Fail.empty());
+        ValidationRule warning = ValidationRule.warn("warning", "warned", s -> ValidationRule.Fail.empty());
+        AtomicInteger evaluated = new AtomicInteger();
+        List<Supplier<ValidationResult>> validations = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final int index = i;
+            validations.add(() -> {
+                evaluated.incrementAndGet();
+                ValidationResult result = new ValidationResult();
+                result.addResult(index == 100 || index == 700
+                        ? Validated.invalid(error, "error " + index)
+                        : Validated.invalid(warning, "warning " + index));
+                return result;
+            });
+        }
+
+        ParallelValidation sequential = new ParallelValidation(validations, true);
+        assertStoppedAtFirstError(sequential, sequential.evaluate(null));
+        Assert.assertEquals(evaluated.get(), 101);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelValidation parallel = new ParallelValidation(validations, true);
+            assertStoppedAtFirstError(parallel, parallel.evaluate(pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void assertStoppedAtFirstError(ParallelValidation evaluation, ValidationResult result) {
+        Assert.assertTrue(evaluation.hasFailed());
+        Assert.assertEquals(result.getErrors().stream().map(Invalid::getMessage).collect(Collectors.toList()), Collections.singletonList("error 100"));
+        Assert.assertEquals(result.getWarnings().size(), 100);
+    }
+
+    private static List<String> messages(ValidationResult result) {
+        return result.getAll().stream()
+                .map(validated -> validated instanceof Invalid
+                        ? ((Invalid) validated).getRule().getDescription() + ": " + ((Invalid) validated).getMessage()
+                        : ((Valid) validated).getRule().getDescription())
+                .collect(Collectors.toList());
+    }
+}